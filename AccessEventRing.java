@@ -0,0 +1,295 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           AccessEventRing.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A ring buffer of the accesses of a sort, written by the sorting
+ *                  thread (the single producer) and drained by the Swing GUI or a
+ *                  recorder (the single consumer) at its own pace. Each event is two
+ *                  longs of a preallocated array: the operation, the ID of the array
+ *                  (see AnalyzedArrayGroup.getArrayId()), and the index packed into
+ *                  the first, and the value (or the bits of a double) in the second.
+ *                  Offering and draining take no locks and allocate nothing; the
+ *                  producer and consumer only share the two counters of events
+ *                  written and read. When the ring is full, the backpressure policy
+ *                  decides what happens to the producer:
+ *                  "block" waits for the consumer, so no event is ever lost;
+ *                  "drop-oldest" overwrites the oldest events, which the consumer
+ *                  skips and counts as dropped; and "sample" only offers every
+ *                  SAMPLE_INTERVAL-th event once the ring is half full and drops the
+ *                  event if it is full.
+ *                  NOTE: EXACTLY ONE THREAD MAY OFFER AND ONE THREAD MAY DRAIN.
+ */
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class AccessEventRing {
+    public static final int CAPACITY_DEFAULT = 1 << 16;
+    public static final int CAPACITY_MAXIMUM = 1 << 24;
+
+    // The operations of the events.
+    public static final int OP_GET = 0;
+    public static final int OP_SET = 1;
+
+    // The longs of each event.
+    public static final int EVENT_LONGS = 2;
+
+    // Once the ring is half full, the "sample" policy only offers one of every this
+    // many events.
+    public static final int SAMPLE_INTERVAL = 8;
+
+    private static final List<String> POLICY_LIST = Arrays.asList(
+            "block",
+            "drop-oldest",
+            "sample");
+
+    // How long a blocked producer parks between checks for room.
+    private static final long BLOCK_PARK_NANOS = 50_000;
+
+    private String policy;
+    private boolean blockEnabled, sampleEnabled;
+    private int capacity, mask;
+    private long[] events;
+
+    // The amount of events ever offered (written only by the producer) and drained
+    // (written only by the consumer).
+    private final AtomicLong writeCount, readCount;
+
+    // PRODUCER ONLY: the last read count the producer saw (so it only reads the
+    // shared counter when the ring looks full) and the events it sampled or dropped.
+    private long readCountCache;
+    private long offerCount;
+    private final AtomicLong producerDropCount;
+
+    // CONSUMER ONLY: the events that were overwritten before they were drained.
+    private long consumerDropCount;
+
+    /**
+     * Initializes an empty AccessEventRing that holds at least the provided
+     * amount of events (rounded up to a power of two) with the provided
+     * backpressure policy. If the policy is not supported, then "drop-oldest" is
+     * used, since it never slows down the sort.
+     *
+     * @param capacity the int least amount of events the ring holds (2 to
+     *                 CAPACITY_MAXIMUM)
+     * @param policy   the String backpressure policy (block, drop-oldest, sample)
+     */
+    public AccessEventRing(int capacity, String policy) {
+        this.policy = POLICY_LIST.contains(policy) ? policy : "drop-oldest";
+        blockEnabled = this.policy.equals("block");
+        sampleEnabled = this.policy.equals("sample");
+        this.capacity = Integer.highestOneBit(Math.max(2, Math.min(capacity, CAPACITY_MAXIMUM)) * 2 - 1);
+        mask = this.capacity - 1;
+        events = new long[this.capacity * EVENT_LONGS];
+
+        writeCount = new AtomicLong(0);
+        readCount = new AtomicLong(0);
+        readCountCache = 0;
+        offerCount = 0;
+        producerDropCount = new AtomicLong(0);
+        consumerDropCount = 0;
+    }
+
+    /**
+     * Returns the list of the supported backpressure policies.
+     *
+     * @return the List of String names of the policies
+     */
+    public static List<String> getPolicyList() {
+        return POLICY_LIST;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // PRODUCER (THE SORTING THREAD)
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Offers an event to the ring, applying the backpressure policy if it is
+     * full. With "block", this waits (parking the thread) until the consumer
+     * makes room.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the single producer.
+     *
+     * @param op      the int operation (OP_GET or OP_SET)
+     * @param arrayId the int ID of the array (0 to 2^24 - 1)
+     * @param index   the int index of the element in its array
+     * @param value   the long value of the element (the bits of a double)
+     */
+    public void offer(int op, int arrayId, int index, long value) {
+        long write = writeCount.get();
+        offerCount++;
+
+        if (blockEnabled || sampleEnabled) {
+            long used = write - readCountCache;
+            if (used >= capacity || (sampleEnabled && used >= capacity / 2)) {
+                readCountCache = readCount.get();
+                used = write - readCountCache;
+            }
+
+            if (sampleEnabled) {
+                if (used >= capacity || (used >= capacity / 2 && offerCount % SAMPLE_INTERVAL != 0)) {
+                    producerDropCount.lazySet(producerDropCount.get() + 1);
+                    return;
+                }
+            } else {
+                while (used >= capacity) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    readCountCache = readCount.get();
+                    used = write - readCountCache;
+                }
+            }
+        }
+
+        if (!blockEnabled && !sampleEnabled) {
+            // The slot may hold an event the consumer is still copying. The count
+            // that was published last must be visible before the slot is
+            // overwritten (like the writer of a seqlock), or the consumer could
+            // validate a count that is older than the overwrite it copied.
+            VarHandle.storeStoreFence();
+        }
+
+        int slot = (int) (write & mask) * EVENT_LONGS;
+        events[slot] = encodeHeader(op, arrayId, index);
+        events[slot + 1] = value;
+
+        // Publishes the event: the consumer that reads the new count sees its longs.
+        writeCount.lazySet(write + 1);
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // CONSUMER (THE SWING GUI OR A RECORDER)
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Copies the oldest events of the ring into the provided array (EVENT_LONGS
+     * longs per event, see getOp(), getArrayId(), getIndex()) and removes them
+     * from the ring. With "drop-oldest", the events that were overwritten before
+     * they could be drained are skipped and counted by getDroppedCount(); since
+     * the producer may be writing the oldest slot, the oldest event of a full ring
+     * is skipped as well.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the single consumer.
+     *
+     * @param destination the long array to copy the events into
+     * @return the int amount of events copied (the longs copied / EVENT_LONGS)
+     */
+    public int drain(long[] destination) {
+        long read = readCount.get();
+        long write = writeCount.get();
+        int maxEvents = destination.length / EVENT_LONGS;
+        if (read == write || maxEvents == 0) {
+            return 0;
+        }
+
+        if (blockEnabled || sampleEnabled) {
+            // The producer never writes over an event that was not drained.
+            int amount = (int) Math.min(write - read, maxEvents);
+            copyEvents(read, amount, destination, 0);
+            readCount.lazySet(read + amount);
+            return amount;
+        }
+
+        // The producer may be writing the slot of event (write - capacity) at any
+        // time, so only the events after it can be read.
+        long start = Math.max(read, write - capacity + 1);
+        int amount = (int) Math.min(write - start, maxEvents);
+        copyEvents(start, amount, destination, 0);
+
+        // The longs must be read before the count is read again (like
+        // StampedLock.validate()). Any event that the producer could have started
+        // to overwrite since then is skipped.
+        VarHandle.acquireFence();
+        long firstValid = Math.max(start, writeCount.get() - capacity + 1);
+        int skipped = (int) Math.min(amount, firstValid - start);
+        if (skipped > 0) {
+            amount -= skipped;
+            System.arraycopy(destination, skipped * EVENT_LONGS, destination, 0, amount * EVENT_LONGS);
+        }
+
+        consumerDropCount += (start - read) + skipped;
+        readCount.lazySet(start + skipped + amount);
+        return amount;
+    }
+
+    /**
+     * Returns true if there are no events to drain.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the consumer.
+     *
+     * @return true if the ring is empty and false if otherwise
+     */
+    public boolean isEmpty() {
+        return readCount.get() == writeCount.get();
+    }
+
+    /**
+     * Returns the amount of events that were lost to the policy: overwritten
+     * before they were drained ("drop-oldest") or not offered ("sample").
+     *
+     * NOT SYNCHRONIZED: expected to be called by the consumer; a count of the
+     * producer may be slightly behind.
+     *
+     * @return the long amount of dropped events
+     */
+    public long getDroppedCount() {
+        return consumerDropCount + producerDropCount.get();
+    }
+
+    public String getPolicy() {
+        return policy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // EVENT ENCODING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the first long of an event: the operation in the top 8 bits, the
+     * array ID in the next 24 bits, and the index in the low 32 bits.
+     *
+     * @param op      the int operation
+     * @param arrayId the int ID of the array
+     * @param index   the int index of the element
+     * @return the long header of the event
+     */
+    public static long encodeHeader(int op, int arrayId, int index) {
+        return ((long) op << 56) | ((long) (arrayId & 0xFFFFFF) << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    public static int getOp(long header) {
+        return (int) (header >>> 56);
+    }
+
+    public static int getArrayId(long header) {
+        return (int) (header >>> 32) & 0xFFFFFF;
+    }
+
+    public static int getIndex(long header) {
+        return (int) header;
+    }
+
+    /**
+     * Copies the events from the provided count into the destination.
+     *
+     * NOT SYNCHRONIZED: expected to be called by drain().
+     *
+     * @param first       the long count of the first event to copy
+     * @param amount      the int amount of events to copy
+     * @param destination the long array to copy the events into
+     * @param offset      the int event to start copying at in the destination
+     */
+    private void copyEvents(long first, int amount, long[] destination, int offset) {
+        int slot = (int) (first & mask);
+        int firstPart = Math.min(amount, capacity - slot);
+        System.arraycopy(events, slot * EVENT_LONGS, destination, offset * EVENT_LONGS, firstPart * EVENT_LONGS);
+        System.arraycopy(events, 0, destination, (offset + firstPart) * EVENT_LONGS,
+                (amount - firstPart) * EVENT_LONGS);
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           AccessTraceReader.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Reads the records of an access trace file written by an
+ *                  AccessTraceWriter (the format is described there) one at a time.
+ *                  The deltas of the accesses are decoded with the state of the
+ *                  previous accesses (the last index of each array, the last array,
+ *                  and the last value), which can be saved with the position in the
+ *                  file and restored later, so a replay can jump back to any record
+ *                  it saved without decoding the trace from the start.
+ *                  NOT SYNCHRONIZED: A READER BELONGS TO A SINGLE THREAD.
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class AccessTraceReader {
+    // The kind of next() for an access (the other kinds are the RECORD_ constants of
+    // AccessTraceWriter).
+    public static final int RECORD_ACCESS = -1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private String filePath;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private long bufferStart;
+
+    // The state of the deltas of the accesses.
+    private int[] lastIndices;
+    private int lastArrayId;
+    private long lastValue;
+    private long accessCount;
+
+    // The fields of the last record that was read.
+    private int op, arrayId, index, arrayType;
+    private long value;
+    private boolean visible;
+    private String arrayName;
+    private long[] arrayValues;
+
+    /**
+     * Initializes the AccessTraceReader of the trace file of the provided path.
+     * The file is not opened until open() is called.
+     *
+     * @param filePath the String path to the trace file
+     */
+    public AccessTraceReader(String filePath) {
+        this.filePath = filePath;
+        lastIndices = new int[16];
+        lastArrayId = -1;
+        lastValue = 0;
+        accessCount = 0;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // THE FILE
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Opens the trace file and reads its header. If the file cannot be opened or
+     * is not a trace, then an error is printed and false is returned.
+     *
+     * @return true if the records can be read and false if otherwise
+     */
+    public boolean open() {
+        try {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            seekPosition(0);
+
+            byte[] magic = new byte[AccessTraceWriter.FILE_MAGIC.length];
+            for (int i = 0; i < magic.length; i++) {
+                magic[i] = readByte();
+            }
+            if (!Arrays.equals(magic, AccessTraceWriter.FILE_MAGIC)) {
+                System.err.printf("ERROR: the file \"%s\" is not an access trace.\n", filePath);
+                close();
+                return false;
+            }
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the trace file \"%s\" could not be read.\n", filePath);
+            close();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Closes the trace file.
+     */
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            // Nothing was written, so nothing is lost.
+        }
+        channel = null;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // READING THE RECORDS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Reads the next record and returns its kind: RECORD_ACCESS, or one of the
+     * RECORD_ constants of AccessTraceWriter. The fields of the record are then
+     * returned by the getters (an access has the op, array ID, index, and value;
+     * ADDED has the array ID, type, visibility, name, and values; REMOVED has the
+     * array ID; VISIBILITY has the array ID and visibility; END has the amount of
+     * accesses as its value).
+     *
+     * @return the int kind of the record
+     * @throws IOException if the file cannot be read or ends before END
+     */
+    public int next() throws IOException {
+        long tag = readVarint();
+
+        if ((tag & 1) == 0) {
+            op = (int) ((tag >>> 2) & 1);
+            if ((tag & 2) != 0) {
+                lastArrayId = (int) readVarint();
+                if (lastArrayId >= lastIndices.length) {
+                    lastIndices = Arrays.copyOf(lastIndices, Math.max(lastIndices.length * 2, lastArrayId + 1));
+                }
+            }
+            if (lastArrayId < 0) {
+                throw new IOException("access without an array");
+            }
+            arrayId = lastArrayId;
+            index = (int) (lastIndices[arrayId] + unzigzag(tag >>> 3));
+            value = lastValue + unzigzag(readVarint());
+
+            lastIndices[arrayId] = index;
+            lastValue = value;
+            accessCount++;
+            return RECORD_ACCESS;
+        }
+
+        int kind = (int) (tag >>> 1);
+        switch (kind) {
+            case AccessTraceWriter.RECORD_END:
+                value = readVarint();
+                return kind;
+            case AccessTraceWriter.RECORD_ADDED:
+                arrayId = (int) readVarint();
+                arrayType = (int) readVarint();
+                visible = readVarint() == 1;
+                byte[] nameBytes = new byte[(int) readVarint()];
+                for (int i = 0; i < nameBytes.length; i++) {
+                    nameBytes[i] = readByte();
+                }
+                arrayName = new String(nameBytes, StandardCharsets.UTF_8);
+
+                arrayValues = new long[(int) readVarint()];
+                long previous = 0;
+                for (int i = 0; i < arrayValues.length; i++) {
+                    previous += unzigzag(readVarint());
+                    arrayValues[i] = previous;
+                }
+                return kind;
+            case AccessTraceWriter.RECORD_REMOVED:
+                arrayId = (int) readVarint();
+                return kind;
+            case AccessTraceWriter.RECORD_VISIBILITY:
+                arrayId = (int) readVarint();
+                visible = readVarint() == 1;
+                return kind;
+            default:
+                throw new IOException("unknown record " + kind);
+        }
+    }
+
+    public int getOp() {
+        return op;
+    }
+
+    public int getArrayId() {
+        return arrayId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public int getArrayType() {
+        return arrayType;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public String getArrayName() {
+        return arrayName;
+    }
+
+    public long[] getArrayValues() {
+        return arrayValues;
+    }
+
+    /**
+     * Returns the amount of accesses read so far (the step of the replay).
+     *
+     * @return the long amount of accesses
+     */
+    public long getAccessCount() {
+        return accessCount;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // SAVING AND RESTORING THE POSITION
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the position in the file of the next record.
+     *
+     * @return the long byte offset of the next record
+     */
+    public long getPosition() {
+        return bufferStart + buffer.position();
+    }
+
+    /**
+     * Returns a copy of the last index of each array (for a saved position).
+     *
+     * @return the int array of the last indices by array ID
+     */
+    public int[] copyLastIndices() {
+        return lastIndices.clone();
+    }
+
+    public int getLastArrayId() {
+        return lastArrayId;
+    }
+
+    public long getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * Moves to a record that was saved with getPosition() and the state of the
+     * deltas at that record, so that the next() reads that record again.
+     *
+     * @param position    the long byte offset of the record
+     * @param lastIndices the int array of the last indices from copyLastIndices()
+     *                    (copied)
+     * @param lastArrayId the int last array ID from getLastArrayId()
+     * @param lastValue   the long last value from getLastValue()
+     * @param accessCount the long amount of accesses before the record
+     * @throws IOException if the file cannot be read
+     */
+    public void restore(long position, int[] lastIndices, int lastArrayId, long lastValue, long accessCount)
+            throws IOException {
+        seekPosition(position);
+        this.lastIndices = lastIndices.clone();
+        this.lastArrayId = lastArrayId;
+        this.lastValue = lastValue;
+        this.accessCount = accessCount;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // DECODING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the signed number of a zigzag number (see AccessTraceWriter.zigzag()).
+     *
+     * @param value the long zigzag number
+     * @return the long signed number
+     */
+    public static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     *
+     * @return the long number
+     * @throws IOException if the file ends or the varint is too long
+     */
+    private long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte next = readByte();
+            result |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return result;
+            }
+        }
+        throw new IOException("varint is too long");
+    }
+
+    /**
+     * Reads the next byte of the file, filling the buffer if it is empty.
+     *
+     * @return the byte read
+     * @throws IOException if the file ends
+     */
+    private byte readByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            bufferStart += buffer.limit();
+            buffer.clear();
+            while (buffer.position() == 0) {
+                if (channel.read(buffer) < 0) {
+                    buffer.limit(0);
+                    throw new IOException("the trace ends early");
+                }
+            }
+            buffer.flip();
+        }
+        return buffer.get();
+    }
+
+    /**
+     * Moves the buffer to the provided position of the file.
+     *
+     * @param position the long byte offset
+     * @throws IOException if the file cannot be read
+     */
+    private void seekPosition(long position) throws IOException {
+        channel.position(position);
+        bufferStart = position;
+        buffer.clear();
+        buffer.limit(0);
+    }
+}
@@ -0,0 +1,516 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           AccessTraceWriter.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Records the complete access trace of a sort (every get and set
+ *                  of every array of an AnalyzedArrayGroup, with the array, index,
+ *                  and value) to a file in a few bytes per access. The sorting thread
+ *                  encodes each access into a direct ByteBuffer, and full buffers are
+ *                  handed to a background thread that writes them with a FileChannel,
+ *                  so the sort never waits for the disk unless every buffer is full.
+ *                  The buffers are reused, so recording allocates nothing per access.
+ *
+ *                  The file is the 8 bytes "SORTTRC1" followed by records, each of
+ *                  which starts with an unsigned LEB128 varint tag. All other numbers
+ *                  are varints as well, and a signed number is zigzag-encoded first
+ *                  (0, -1, 1, -2, ... become 0, 1, 2, 3, ...).
+ *                  An access has a tag with a low bit of 0:
+ *                      tag = zigzag(index - last index of the array) << 3
+ *                            | op << 2 | (array changed) << 1
+ *                  followed by the array ID if it is not the array of the previous
+ *                  access, and then zigzag(value - value of the previous access).
+ *                  Any other record has a tag of (kind << 1) | 1:
+ *                      0 END:        the amount of accesses of the trace
+ *                      1 ADDED:      the array ID, the type (0 int, 1 long, 2
+ *                                    double), visible (0 or 1), the length and
+ *                                    UTF-8 bytes of the name, the amount of
+ *                                    elements, and each element as a zigzag
+ *                                    delta from the one before it
+ *                      2 REMOVED:    the array ID
+ *                      3 VISIBILITY: the array ID and visible (0 or 1)
+ *                  A double is recorded as its raw long bits.
+ *                  NOTE: EXACTLY ONE THREAD MAY RECORD (THE SORTING THREAD).
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+public class AccessTraceWriter {
+    public static final byte[] FILE_MAGIC = "SORTTRC1".getBytes(StandardCharsets.US_ASCII);
+
+    // The kinds of the records that are not accesses.
+    public static final int RECORD_END = 0;
+    public static final int RECORD_ADDED = 1;
+    public static final int RECORD_REMOVED = 2;
+    public static final int RECORD_VISIBILITY = 3;
+
+    // The types of the arrays.
+    public static final int TYPE_INT = 0;
+    public static final int TYPE_LONG = 1;
+    public static final int TYPE_DOUBLE = 2;
+
+    public static final int BUFFER_SIZE_DEFAULT = 1 << 20;
+
+    // The buffers that the sorting thread and the writer thread pass between them.
+    private static final int BUFFER_AMOUNT = 4;
+
+    // The most bytes of a record (or of one element of an ADDED record) besides a
+    // name: a tag, an array ID, and a value of 10 bytes each.
+    private static final int RECORD_BYTES_MAXIMUM = 30;
+
+    // Handed to the writer thread after the last buffer.
+    private static final ByteBuffer END_OF_TRACE = ByteBuffer.allocate(0);
+
+    private String filePath;
+    private int bufferSize;
+
+    private FileChannel channel;
+    private Thread writerThread;
+    private BlockingQueue<ByteBuffer> freeBuffers, fullBuffers;
+    private volatile boolean writeFailed;
+    private volatile long bytesWritten;
+
+    // SORTING THREAD ONLY: the buffer being encoded into and the state of the
+    // deltas.
+    private ByteBuffer buffer;
+    private int[] lastIndices;
+    private int lastArrayId;
+    private long lastValue;
+    private long accessCount;
+    private boolean closed;
+
+    /**
+     * Initializes the AccessTraceWriter of the file of the provided path with the
+     * default buffer size. The file is not created until open() is called.
+     *
+     * @param filePath the String path to the trace file
+     */
+    public AccessTraceWriter(String filePath) {
+        this(filePath, BUFFER_SIZE_DEFAULT);
+    }
+
+    /**
+     * Initializes the AccessTraceWriter of the file of the provided path with
+     * buffers of the provided size. The file is not created until open() is
+     * called.
+     *
+     * @param filePath   the String path to the trace file
+     * @param bufferSize the int bytes of each buffer (at least 4096)
+     */
+    public AccessTraceWriter(String filePath, int bufferSize) {
+        this.filePath = filePath;
+        this.bufferSize = Math.max(4096, bufferSize);
+
+        lastIndices = new int[16];
+        lastArrayId = -1;
+        lastValue = 0;
+        accessCount = 0;
+        closed = false;
+        writeFailed = false;
+        bytesWritten = 0;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // THE FILE
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Creates (or truncates) the trace file, writes its header, and starts the
+     * writer thread. If the file cannot be created, then an error is printed and
+     * false is returned.
+     *
+     * @return true if the trace can be recorded and false if otherwise
+     */
+    public boolean open() {
+        try {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the trace file \"%s\" could not be created.\n", filePath);
+            return false;
+        }
+
+        freeBuffers = new ArrayBlockingQueue<ByteBuffer>(BUFFER_AMOUNT);
+        fullBuffers = new ArrayBlockingQueue<ByteBuffer>(BUFFER_AMOUNT + 1);
+        for (int i = 0; i < BUFFER_AMOUNT - 1; i++) {
+            freeBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+        buffer.put(FILE_MAGIC);
+
+        writerThread = new Thread(this::writeBuffers, "trace-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        return true;
+    }
+
+    /**
+     * Writes the END record, hands the last buffer to the writer thread, and
+     * waits for it to write everything and close the file. If anything could not
+     * be written, then an error is printed and false is returned. Does nothing
+     * after the first call.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the recording thread once the
+     * sort finished.
+     *
+     * @return true if the whole trace was written and false if otherwise
+     */
+    public boolean close() {
+        if (closed || channel == null) {
+            return !writeFailed;
+        }
+        ensureRoom(RECORD_BYTES_MAXIMUM);
+        putVarint(((long) RECORD_END << 1) | 1);
+        putVarint(accessCount);
+        closed = true;
+
+        handOff(buffer);
+        handOff(END_OF_TRACE);
+        buffer = null;
+
+        boolean isInterrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException exception) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException exception) {
+            writeFailed = true;
+        }
+        if (writeFailed) {
+            System.err.printf("ERROR: the trace file \"%s\" could not be written.\n", filePath);
+        }
+        return !writeFailed;
+    }
+
+    /**
+     * Returns the amount of accesses recorded so far.
+     *
+     * @return the long amount of accesses
+     */
+    public long getAccessCount() {
+        return accessCount;
+    }
+
+    /**
+     * Returns the amount of bytes the writer thread has written to the file so
+     * far (all of them once close() returned).
+     *
+     * @return the long amount of bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // RECORDING (THE SORTING THREAD)
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Records a get or set of an element.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the sorting thread after every
+     * access (see AnalyzedArrayGroup.arrayAccessUpdate()).
+     *
+     * @param arrayId the int ID of the array (see AnalyzedArrayGroup.getArrayId())
+     * @param op      the int operation (AccessEventRing.OP_GET or OP_SET)
+     * @param index   the int index of the element
+     * @param value   the long value of the element (the bits of a double)
+     */
+    public void recordAccess(int arrayId, int op, int index, long value) {
+        if (closed) {
+            return;
+        }
+        ensureRoom(RECORD_BYTES_MAXIMUM);
+        if (arrayId >= lastIndices.length) {
+            growLastIndices(arrayId);
+        }
+
+        boolean arrayChanged = arrayId != lastArrayId;
+        long indexDelta = zigzag((long) index - lastIndices[arrayId]);
+        putVarint((indexDelta << 3) | ((long) op << 2) | (arrayChanged ? 2 : 0));
+        if (arrayChanged) {
+            putVarint(arrayId);
+            lastArrayId = arrayId;
+        }
+        putVarint(zigzag(value - lastValue));
+
+        lastIndices[arrayId] = index;
+        lastValue = value;
+        accessCount++;
+    }
+
+    /**
+     * Records that an int array was added to the group, with all of its elements.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the group while it is locked.
+     *
+     * @param arrayId the int ID of the array
+     * @param array   the AnalyzedArray that was added
+     * @param visible true if the array is visible
+     */
+    public void recordArrayAdded(int arrayId, AnalyzedArray array, boolean visible) {
+        int size = array.size();
+        putAddedHeader(arrayId, TYPE_INT, visible, array.getName(), size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long element = array.getExternal(i);
+            putElement(element - previous);
+            previous = element;
+        }
+    }
+
+    /**
+     * Records that a long array was added to the group, with all of its elements.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the group while it is locked.
+     *
+     * @param arrayId the int ID of the array
+     * @param array   the AnalyzedLongArray that was added
+     */
+    public void recordArrayAdded(int arrayId, AnalyzedLongArray array) {
+        int size = array.size();
+        putAddedHeader(arrayId, TYPE_LONG, false, array.getName(), size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long element = array.getExternal(i);
+            putElement(element - previous);
+            previous = element;
+        }
+    }
+
+    /**
+     * Records that a double array was added to the group, with all of its
+     * elements (as their raw long bits).
+     *
+     * NOT SYNCHRONIZED: expected to be called by the group while it is locked.
+     *
+     * @param arrayId the int ID of the array
+     * @param array   the AnalyzedDoubleArray that was added
+     */
+    public void recordArrayAdded(int arrayId, AnalyzedDoubleArray array) {
+        int size = array.size();
+        putAddedHeader(arrayId, TYPE_DOUBLE, false, array.getName(), size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long element = Double.doubleToRawLongBits(array.getExternal(i));
+            putElement(element - previous);
+            previous = element;
+        }
+    }
+
+    /**
+     * Records that an array was removed from the group.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the group while it is locked.
+     *
+     * @param arrayId the int ID of the array
+     */
+    public void recordArrayRemoved(int arrayId) {
+        if (closed) {
+            return;
+        }
+        ensureRoom(RECORD_BYTES_MAXIMUM);
+        putVarint(((long) RECORD_REMOVED << 1) | 1);
+        putVarint(arrayId);
+    }
+
+    /**
+     * Records that the visibility of an array changed.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the group while it is locked.
+     *
+     * @param arrayId the int ID of the array
+     * @param visible true if the array is now visible
+     */
+    public void recordVisibility(int arrayId, boolean visible) {
+        if (closed) {
+            return;
+        }
+        ensureRoom(RECORD_BYTES_MAXIMUM);
+        putVarint(((long) RECORD_VISIBILITY << 1) | 1);
+        putVarint(arrayId);
+        putVarint(visible ? 1 : 0);
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // ENCODING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the zigzag encoding of a signed number, so that numbers close to 0
+     * (of either sign) have short varints.
+     *
+     * @param value the long signed number
+     * @return the long unsigned zigzag number
+     */
+    public static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Puts the header of an ADDED record (everything but the elements).
+     *
+     * NOT SYNCHRONIZED: expected to be called by the recordArrayAdded() methods.
+     *
+     * @param arrayId the int ID of the array
+     * @param type    the int type of the array
+     * @param visible true if the array is visible
+     * @param name    the String name of the array
+     * @param size    the int amount of elements
+     */
+    private void putAddedHeader(int arrayId, int type, boolean visible, String name, int size) {
+        if (closed) {
+            return;
+        }
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ensureRoom(RECORD_BYTES_MAXIMUM * 2);
+        putVarint(((long) RECORD_ADDED << 1) | 1);
+        putVarint(arrayId);
+        putVarint(type);
+        putVarint(visible ? 1 : 0);
+        putVarint(nameBytes.length);
+        for (byte nameByte : nameBytes) {
+            ensureRoom(1);
+            buffer.put(nameByte);
+        }
+        ensureRoom(RECORD_BYTES_MAXIMUM);
+        putVarint(size);
+    }
+
+    /**
+     * Puts one element of an ADDED record as a zigzag delta.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the recordArrayAdded() methods.
+     *
+     * @param delta the long difference from the previous element
+     */
+    private void putElement(long delta) {
+        if (closed) {
+            return;
+        }
+        ensureRoom(RECORD_BYTES_MAXIMUM);
+        putVarint(zigzag(delta));
+    }
+
+    /**
+     * Puts an unsigned LEB128 varint: 7 bits per byte from the lowest, with the
+     * high bit set on every byte but the last.
+     *
+     * NOT SYNCHRONIZED: expected to be called after ensureRoom().
+     *
+     * @param value the long unsigned number
+     */
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Hands the current buffer to the writer thread and takes a free one if the
+     * current buffer has fewer than the provided bytes left. Waits for the writer
+     * thread if every buffer is full, so that no access is lost.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the recording thread.
+     *
+     * @param bytes the int bytes that are about to be put
+     */
+    private void ensureRoom(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        handOff(buffer);
+
+        boolean isInterrupted = false;
+        ByteBuffer next = null;
+        while (next == null) {
+            try {
+                next = freeBuffers.take();
+            } catch (InterruptedException exception) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        buffer = next;
+    }
+
+    /**
+     * Puts a buffer on the queue of the writer thread (there is always room, since
+     * there are more places than buffers).
+     *
+     * @param full the ByteBuffer to write
+     */
+    private void handOff(ByteBuffer full) {
+        full.flip();
+        fullBuffers.add(full);
+    }
+
+    /**
+     * Grows the last index of each array to fit the provided array ID.
+     *
+     * @param arrayId the int ID of the array
+     */
+    private void growLastIndices(int arrayId) {
+        int[] grown = new int[Math.max(lastIndices.length * 2, arrayId + 1)];
+        System.arraycopy(lastIndices, 0, grown, 0, lastIndices.length);
+        lastIndices = grown;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // THE WRITER THREAD
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Writes the full buffers to the file in order and returns them to the free
+     * buffers until the end of the trace. After a write fails, the buffers are
+     * still returned (but not written) so that the sort is never stuck.
+     */
+    private void writeBuffers() {
+        while (true) {
+            ByteBuffer full;
+            try {
+                full = fullBuffers.take();
+            } catch (InterruptedException exception) {
+                continue;
+            }
+            if (full == END_OF_TRACE) {
+                return;
+            }
+
+            if (!writeFailed) {
+                try {
+                    while (full.hasRemaining()) {
+                        bytesWritten += channel.write(full);
+                    }
+                } catch (IOException exception) {
+                    writeFailed = true;
+                }
+            }
+            full.clear();
+            freeBuffers.offer(full);
+        }
+    }
+}
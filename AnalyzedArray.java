@@ -134,7 +134,9 @@ public class AnalyzedArray {
     /**
      * Returns the value of the element at the index.
      * Since this is expected to be called by a sorting algorithm, it updates the
-     * access count, updates the last-get index, and notifies the group.
+     * access count, updates the last-get index, and notifies the group. The
+     * updates are made in a write section of the group, so that the Swing GUI
+     * never paints half of them.
      * 
      * SYNCHRONIZED: expected to be called by the sorting algorithm in the sorting
      * thread.
@@ -143,17 +145,27 @@ public class AnalyzedArray {
      * @return the int value of the element
      */
     public synchronized int get(int index) {
-        accessCount++;
-        indexLastGet = index;
-        group.arrayGetUpdate(name);
-        return array[index];
+        long stamp = group.beginWrite();
+        try {
+            accessCount++;
+            indexLastGet = index;
+            group.arrayGetUpdate(name);
+        } finally {
+            group.endWrite(stamp);
+        }
+        int value = array[index];
+        group.arrayAccessUpdate(name, AccessEventRing.OP_GET, index, value);
+        return value;
 
     }
 
     /**
      * Updates the value of the element at the index wit the given value.
      * Since this is expected to be called by a sorting algorithm, it updates the
-     * access count, updates the last-set index, and notifies the group.
+     * access count, updates the last-set index, and notifies the group. The
+     * element, min, max, and last-set index are updated in a write section of the
+     * group, so that the Swing GUI never paints an element outside of the min and
+     * max.
      * 
      * SYNCHRONIZED: expected to be called by the sorting algorithm in the sorting
      * thread.
@@ -162,13 +174,40 @@ public class AnalyzedArray {
      * @param value the new int value of the element
      */
     public synchronized void set(int index, int value) {
-        array[index] = value;
-        accessCount++;
-        indexLastSet = index;
-        if (value < minValue || value > maxValue) {
-            scanMinMax(true);
+        long stamp = group.beginWrite();
+        try {
+            // The bar graph may aggregate the elements into pixel columns, which must be
+            // updated along with the write.
+            if (!group.columnWrite(name, array, index, value)) {
+                array[index] = value;
+            }
+            accessCount++;
+            indexLastSet = index;
+            if (value < minValue || value > maxValue) {
+                scanMinMax(true);
+            }
+            group.arraySetUpdate(name);
+        } finally {
+            group.endWrite(stamp);
         }
-        group.arraySetUpdate(name);
+        group.arrayAccessUpdate(name, AccessEventRing.OP_SET, index, value);
+    }
+
+    /**
+     * Replaces every element with the elements of the provided array and scans
+     * for the new minimum and maximum. Unlike set(), this is not an access of a
+     * sorting algorithm, so nothing is counted and the group is not notified; it
+     * is expected to be called by AnalyzedArrayGroup.replaceElements(), which
+     * updates the group itself.
+     *
+     * SYNCHRONIZED: expected to be called by the group while it holds its write
+     * section.
+     *
+     * @param values the int array of the new elements (of the same length)
+     */
+    public synchronized void replaceElements(int[] values) {
+        System.arraycopy(values, 0, array, 0, array.length);
+        scanMinMax(false);
     }
 
     // assumed to be called by synchronized methods, should be thread safe
@@ -335,6 +374,34 @@ public class AnalyzedArray {
         return array[index];
     }
 
+    /**
+     * Returns the length of the primitive int array without locking the
+     * AnalyzedArray, which the sorting thread holds while it sleeps between its
+     * accesses. The length never changes after construction.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the Swing GUI in the main thread
+     * once per frame.
+     *
+     * @return the int length of the primitive int array
+     */
+    public int sizeExternal() {
+        return array.length;
+    }
+
+    /**
+     * Copies every element into the provided array (of at least sizeExternal()
+     * elements) without increasing the access count, updating the last-get
+     * index, or notifying the group.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup in an
+     * optimistic read of its write sections.
+     *
+     * @param destination the int array to copy the elements into
+     */
+    public void copyExternal(int[] destination) {
+        System.arraycopy(array, 0, destination, 0, array.length);
+    }
+
     /**
      * Returns the String name of the AnalyzedArray.
      * 
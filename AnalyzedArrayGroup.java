@@ -7,6 +7,16 @@
  *                  retrieving information about the entire group (size, min, max, individual
  *                  elements). It also serves as an interface between sorting algorithms and the
  *                  Swing GUI.
+ *                  Every write to the state that the bar graph paints (the elements,
+ *                  min, max, get/set indices, and global indices) happens inside a
+ *                  write section of a StampedLock, and the Swing GUI copies that state
+ *                  with an optimistic read that is retried if a write happened in the
+ *                  meantime (a sequence lock), so a frame never mixes two moments of
+ *                  the sort and the GUI never blocks the sorting thread.
+ *                  The group can also publish every access to an AccessEventRing,
+ *                  which the Swing GUI (or a recorder) drains at its own pace instead
+ *                  of being notified of each access, and record every access and
+ *                  every change of its arrays with an AccessTraceWriter.
  *                  NOTE: THIS CLASS IS DESIGNED TO WORK WITH MULTIPLE THREADS.
  */
 
@@ -14,15 +24,32 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.locks.StampedLock;
 
 public class AnalyzedArrayGroup {
+    // The most global indices that are recorded as dirty between two frames of the
+    // bar graph before the whole graph is considered dirty.
+    public static final int DIRTY_INDEX_CAPACITY = 4096;
+
+    // The most optimistic reads that copySnapshot() tries before giving up on a
+    // frame.
+    private static final int SNAPSHOT_ATTEMPTS = 16;
+
     // Swing GUI
-    private SortDemoSwing visualizer;
+    private SortListener visualizer;
 
     // Analyzed Arrays and Visibility
     private Map<String, AnalyzedArray> arrayMap;
     private Map<String, Boolean> arrayVisibility;
 
+    // Every AnalyzedArray (visible or not) in the order they were added, replaced
+    // whenever an array is added or removed so the Swing GUI can read it unlocked
+    private volatile AnalyzedArray[] arraysInOrder;
+
+    // Long and Double Specializations (not part of the global index)
+    private Map<String, AnalyzedLongArray> longArrayMap;
+    private Map<String, AnalyzedDoubleArray> doubleArrayMap;
+
     // Minimum and Maximum
     private int globalMinValue, globalMaxValue;
 
@@ -39,6 +66,35 @@ public class AnalyzedArrayGroup {
     private boolean applyDelay;
     private boolean reportArrayUpdates;
 
+    // Partial Sorting
+    private int selectionK;
+
+    // Dirty Global Indices (set since the bar graph last drained them)
+    private final Object dirtyLock;
+    private int[] dirtyIndices;
+    private int dirtyIndexAmount;
+    private boolean dirtyAll;
+
+    // Pixel Column Aggregates (null unless the bar graph has more elements than pixels)
+    private volatile ColumnAggregates columnAggregates;
+
+    // Write Sections of the Painted State (only used by a group with a GUI)
+    private final StampedLock snapshotLock;
+
+    // Access Events (null unless a consumer drains them) and the IDs of the arrays in
+    // the events, in the order the arrays were first added.
+    private volatile AccessEventRing eventRing;
+    private Map<String, Integer> arrayIdMap;
+    private List<String> arrayIdNames;
+
+    // Access Trace (null unless the accesses are recorded)
+    private volatile AccessTraceWriter traceWriter;
+
+    // Shared Pacing Clock (null unless the group is a lane of a race) and the
+    // accesses paced by it so far
+    private volatile RaceClock pacingClock;
+    private volatile long pacedAccessCount;
+
     /**
      * Initialize the array group by setting reasonable default values.
      * 
@@ -47,14 +103,18 @@ public class AnalyzedArrayGroup {
      * arbitrary but it ensures that the sleeping is not instantaneous for the sake
      * of visualization in the GUI.
      * 
-     * @param visualizer the reference to the Swing GUI object
+     * @param visualizer the SortListener to notify (the Swing GUI), or null if
+     *                   nothing should be notified
      */
-    public AnalyzedArrayGroup(SortDemoSwing visualizer) {
+    public AnalyzedArrayGroup(SortListener visualizer) {
         this.visualizer = visualizer;
 
         // Analyzed Array Info
         arrayMap = new HashMap<>();
         arrayVisibility = new HashMap<>();
+        arraysInOrder = new AnalyzedArray[0];
+        longArrayMap = new HashMap<>();
+        doubleArrayMap = new HashMap<>();
 
         // Index
         globalIndexLastGet = -1;
@@ -75,6 +135,25 @@ public class AnalyzedArrayGroup {
         delay = 5;
         applyDelay = true;
         reportArrayUpdates = true;
+        selectionK = 1;
+
+        // Dirty Indices
+        dirtyLock = new Object();
+        dirtyIndices = new int[DIRTY_INDEX_CAPACITY];
+        dirtyIndexAmount = 0;
+        dirtyAll = true;
+
+        // Column Aggregates
+        columnAggregates = null;
+
+        // Snapshots
+        snapshotLock = new StampedLock();
+
+        // Access Events
+        eventRing = null;
+        arrayIdMap = new HashMap<>();
+        arrayIdNames = new ArrayList<>();
+        traceWriter = null;
     }
 
     // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
@@ -165,6 +244,116 @@ public class AnalyzedArrayGroup {
         return initNewArray(new AnalyzedArray(array, low, high, name, this), name, visible);
     }
 
+    /**
+     * Create a new AnalyzedLongArray in the group with a given capacity and no
+     * initial values to copy from.
+     * The long specialization is tracked for the access count, delays, and Swing
+     * GUI notifications, but it is NOT part of the global index, minimum, or
+     * maximum because the bar graph only displays int arrays. If the capacity is
+     * less than 1 or the name is null or the length of name is zero, then nothing
+     * happens and null is returned.
+     * 
+     * SYNCHRONIZED: this is expected to be called by a sorting algorithm in a
+     * separate sorting thread.
+     * 
+     * @param capacity the int capacity of the new AnalyzedLongArray
+     * @param name     the String name for the AnalyzedLongArray to be referenced by
+     * @return the new AnalyzedLongArray
+     */
+    public synchronized AnalyzedLongArray addLongArray(int capacity, String name) {
+        if (capacity < 1 || name == null || name.length() == 0) {
+            return null;
+        }
+        AnalyzedLongArray array = new AnalyzedLongArray(capacity, name, this);
+        longArrayMap.put(name, array);
+        registerArrayId(name);
+        traceArrayAdded(name);
+        return array;
+    }
+
+    /**
+     * Create a new AnalyzedLongArray in the group with initial values provided by
+     * a primitive array of longs between the low and high indices, inclusive.
+     * If low is greater than high, the array or name is null or the length of
+     * name is zero, then nothing happens and null is returned.
+     * 
+     * SYNCHRONIZED: although this is expected to be called by the main thread in
+     * the Swing GUI, it is so infrequently used that the risk of dead-locks is low,
+     * so it is best to keep it synchronized to be safe.
+     * 
+     * @param array the long array to initialize the AnalyzedLongArray with
+     * @param low   the inclusive lower bound of indices to copy from the array
+     * @param high  the inclusive upper bound of indices to copy from the array
+     * @param name  the String name for the AnalyzedLongArray to be referenced by
+     * @return the new AnalyzedLongArray
+     */
+    public synchronized AnalyzedLongArray addLongArray(long[] array, int low, int high, String name) {
+        if (low > high || array == null || name == null || name.length() == 0) {
+            return null;
+        }
+        AnalyzedLongArray newArray = new AnalyzedLongArray(array, low, high, name, this);
+        longArrayMap.put(name, newArray);
+        registerArrayId(name);
+        traceArrayAdded(name);
+        return newArray;
+    }
+
+    /**
+     * Create a new AnalyzedDoubleArray in the group with a given capacity and no
+     * initial values to copy from.
+     * The double specialization is tracked for the access count, delays, and Swing
+     * GUI notifications, but it is NOT part of the global index, minimum, or
+     * maximum because the bar graph only displays int arrays. If the capacity is
+     * less than 1 or the name is null or the length of name is zero, then nothing
+     * happens and null is returned.
+     * 
+     * SYNCHRONIZED: this is expected to be called by a sorting algorithm in a
+     * separate sorting thread.
+     * 
+     * @param capacity the int capacity of the new AnalyzedDoubleArray
+     * @param name     the String name for the AnalyzedDoubleArray to be referenced
+     *                 by
+     * @return the new AnalyzedDoubleArray
+     */
+    public synchronized AnalyzedDoubleArray addDoubleArray(int capacity, String name) {
+        if (capacity < 1 || name == null || name.length() == 0) {
+            return null;
+        }
+        AnalyzedDoubleArray array = new AnalyzedDoubleArray(capacity, name, this);
+        doubleArrayMap.put(name, array);
+        registerArrayId(name);
+        traceArrayAdded(name);
+        return array;
+    }
+
+    /**
+     * Create a new AnalyzedDoubleArray in the group with initial values provided
+     * by a primitive array of doubles between the low and high indices, inclusive.
+     * If low is greater than high, the array or name is null or the length of
+     * name is zero, then nothing happens and null is returned.
+     * 
+     * SYNCHRONIZED: although this is expected to be called by the main thread in
+     * the Swing GUI, it is so infrequently used that the risk of dead-locks is low,
+     * so it is best to keep it synchronized to be safe.
+     * 
+     * @param array the double array to initialize the AnalyzedDoubleArray with
+     * @param low   the inclusive lower bound of indices to copy from the array
+     * @param high  the inclusive upper bound of indices to copy from the array
+     * @param name  the String name for the AnalyzedDoubleArray to be referenced
+     *              by
+     * @return the new AnalyzedDoubleArray
+     */
+    public synchronized AnalyzedDoubleArray addDoubleArray(double[] array, int low, int high, String name) {
+        if (low > high || array == null || name == null || name.length() == 0) {
+            return null;
+        }
+        AnalyzedDoubleArray newArray = new AnalyzedDoubleArray(array, low, high, name, this);
+        doubleArrayMap.put(name, newArray);
+        registerArrayId(name);
+        traceArrayAdded(name);
+        return newArray;
+    }
+
     /**
      * Register an AnalyzedArray with the group by assigning it a name, visibility
      * status, and performing other needed housekeeping work.
@@ -185,16 +374,24 @@ public class AnalyzedArrayGroup {
             return null;
         }
 
-        arrayMap.put(name, array);
-        arrayVisibility.put(name, visible);
-        arrayNameInOrder.add(name);
+        long stamp = beginWrite();
+        try {
+            arrayMap.put(name, array);
+            arrayVisibility.put(name, visible);
+            arrayNameInOrder.add(name);
+            arraysInOrder = arraysInOrderCopy();
+            registerArrayId(name);
 
-        // Update the minimum and maximum in case they changed.
-        scanMin();
-        scanMax();
+            // Update the minimum and maximum in case they changed.
+            scanMin();
+            scanMax();
 
-        // Update the global indices.
-        globalIndexAppend(name);
+            // Update the global indices.
+            globalIndexAppend(name);
+        } finally {
+            endWrite(stamp);
+        }
+        traceArrayAdded(name);
 
         return array;
     }
@@ -216,25 +413,37 @@ public class AnalyzedArrayGroup {
             return null;
         }
 
-        // Removed the array from any containers that hold a reference to it.
-        AnalyzedArray array = arrayMap.remove(name);
-        arrayVisibility.remove(name);
-        arrayNameInOrder.remove(name);
+        AnalyzedArray array;
+        long stamp = beginWrite();
+        try {
+            // Removed the array from any containers that hold a reference to it.
+            array = arrayMap.remove(name);
+            arrayVisibility.remove(name);
+            arrayNameInOrder.remove(name);
+            arraysInOrder = arraysInOrderCopy();
+
+            // Update the global indices.
+            globalIndexCalculate();
 
-        // Update the global indices.
-        globalIndexCalculate();
+            // Update the minimum and minimum and maximum in case they changed.
+            scanMin();
+            scanMax();
 
-        // Update the minimum and minimum and maximum in case they changed.
-        scanMin();
-        scanMax();
+            // Since the size of the entire group changed, the last get or set indices may
+            // no longer be valid, so they are always set to -1 to be safe.
+            globalIndexLastGet = -1;
+            globalIndexLastSet = -1;
+        } finally {
+            endWrite(stamp);
+        }
 
-        // Since the size of the entire group changed, the last get or set indices may
-        // no longer be valid, so they are always set to -1 to be safe.
-        globalIndexLastGet = -1;
-        globalIndexLastSet = -1;
+        AccessTraceWriter trace = traceWriter;
+        if (trace != null) {
+            trace.recordArrayRemoved(arrayIdMap.get(name));
+        }
 
         // Notify the Swing GUI so the visualization can react.
-        if (reportArrayUpdates) {
+        if (reportArrayUpdates && visualizer != null) {
             visualizer.testCaseArrayUpdated();
         }
 
@@ -263,23 +472,69 @@ public class AnalyzedArrayGroup {
         // If the new visibility is not the same as the current visibility
         // Important check because changing visibility is EXPENSIVE and COSTLY
         if (visible != arrayVisibility.get(name)) {
-            arrayVisibility.put(name, visible);
+            long stamp = beginWrite();
+            try {
+                arrayVisibility.put(name, visible);
 
-            // Only reset GIM and min/max for VISIBLE arrays, because the general
-            // GIM and min/max already includes hidden and non-hidden arrays.
-            globalIndexCalculate();
-            globalIndexLastGet = -1;
-            globalIndexLastSet = -1;
+                // Only reset GIM and min/max for VISIBLE arrays, because the general
+                // GIM and min/max already includes hidden and non-hidden arrays.
+                globalIndexCalculate();
+                globalIndexLastGet = -1;
+                globalIndexLastSet = -1;
 
-            scanMin();
-            scanMax();
+                scanMin();
+                scanMax();
+            } finally {
+                endWrite(stamp);
+            }
+
+            AccessTraceWriter trace = traceWriter;
+            if (trace != null) {
+                trace.recordVisibility(arrayIdMap.get(name), visible);
+            }
 
-            if (reportArrayUpdates) {
+            if (reportArrayUpdates && visualizer != null) {
                 visualizer.testCaseArrayUpdated();
             }
         }
     }
 
+    /**
+     * Replaces every element of the AnalyzedArray of the provided name with the
+     * elements of the provided array, such as when a TraceReplay seeks to another
+     * step of a trace. The global indices do not change, so only the minimum and
+     * maximum are scanned again, the pixel columns are recomputed if the array is
+     * visible, and every element is marked dirty. If there is no such array or the
+     * lengths differ, then nothing happens.
+     *
+     * SYNCHRONIZED: expected to be called by the thread that replays a trace,
+     * while no sort is running on the group.
+     *
+     * @param name   the String name of the AnalyzedArray to replace
+     * @param values the int array of the new elements
+     */
+    public synchronized void replaceElements(String name, int[] values) {
+        AnalyzedArray array = name == null ? null : arrayMap.get(name);
+        if (array == null || values.length != array.size()) {
+            return;
+        }
+
+        long stamp = beginWrite();
+        try {
+            array.replaceElements(values);
+            scanMin();
+            scanMax();
+            if (columnAggregates != null && arrayVisibility.get(name)) {
+                columnAggregates.rebuild();
+            }
+            globalIndexLastGet = -1;
+            globalIndexLastSet = -1;
+            markAllDirty();
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
     // === === === === === === === === ===
     // RETRIEVING INFO ABOUT ANALYZED ARRAYS
     // === === === === === === === === ===
@@ -321,6 +576,42 @@ public class AnalyzedArrayGroup {
         return arrayMap.get(name);
     }
 
+    /**
+     * Returns the AnalyzedLongArray by the name provided.
+     * If the name is null or there is no AnalyzedLongArray associated with the
+     * name, then null is returned.
+     * 
+     * SYNCHRONIZED: expected to be called infrequently by BOTH the sorting thread
+     * and the main thread in the Swing GUI.
+     * 
+     * @param name the String name of the AnalyzedLongArray to retrieve
+     * @return the AnalyzedLongArray of the provided name
+     */
+    public synchronized AnalyzedLongArray getLongArray(String name) {
+        if (name == null) {
+            return null;
+        }
+        return longArrayMap.get(name);
+    }
+
+    /**
+     * Returns the AnalyzedDoubleArray by the name provided.
+     * If the name is null or there is no AnalyzedDoubleArray associated with the
+     * name, then null is returned.
+     * 
+     * SYNCHRONIZED: expected to be called infrequently by BOTH the sorting thread
+     * and the main thread in the Swing GUI.
+     * 
+     * @param name the String name of the AnalyzedDoubleArray to retrieve
+     * @return the AnalyzedDoubleArray of the provided name
+     */
+    public synchronized AnalyzedDoubleArray getDoubleArray(String name) {
+        if (name == null) {
+            return null;
+        }
+        return doubleArrayMap.get(name);
+    }
+
     // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
     // METHODS CALLED BY ANALYZED ARRAYS
     // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
@@ -329,16 +620,79 @@ public class AnalyzedArrayGroup {
     // GET/SET
     // === === === === === === === === ===
 
+    /**
+     * Starts a write section of the state that the bar graph paints, so that a
+     * snapshot that is copied while it lasts is retried (see copySnapshot()).
+     * Every write section must be ended with endWrite() in a finally block, and
+     * write sections must not be nested. The lock is not taken if the group has
+     * no GUI (nothing copies snapshots then), so the sorts of the scatter plot
+     * and the headless runner are not slowed down.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by an AnalyzedArray in the sorting
+     * thread and by the synchronized methods that change the arrays. The Swing
+     * GUI only reads optimistically, so the only writer this can wait for is
+     * another write section (such as the GUI adding an array). An AnalyzedArray
+     * begins it while holding its own monitor, so the arrays must only be added,
+     * removed, or hidden by the sorting thread or while no sort is running.
+     * 
+     * @return the long stamp to pass to endWrite(), or 0 if nothing was locked
+     */
+    public long beginWrite() {
+        if (visualizer == null) {
+            return 0;
+        }
+        return snapshotLock.writeLock();
+    }
+
+    /**
+     * Ends the write section of the provided stamp from beginWrite().
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the same thread that called
+     * beginWrite().
+     * 
+     * @param stamp the long stamp from beginWrite()
+     */
+    public void endWrite(long stamp) {
+        if (stamp != 0) {
+            snapshotLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Called by an AnalyzedArray of the provided name to write an element while
+     * the group has ColumnAggregates, so that the column of the element is
+     * updated in the same step as the write. If the group has no ColumnAggregates
+     * or the array is not visible, then nothing is written and false is returned
+     * (the AnalyzedArray writes the element itself).
+     * 
+     * NOT SYNCHRONIZED: expected to be called by a method in an AnalyzedArray that
+     * is in a synchronized context; the ColumnAggregates are locked instead.
+     * 
+     * @param name  the String name of the AnalyzedArray that is setting
+     * @param array the int array of the AnalyzedArray
+     * @param index the int local index of the element
+     * @param value the new int value of the element
+     * @return true if the element was written and false if otherwise
+     */
+    public boolean columnWrite(String name, int[] array, int index, int value) {
+        ColumnAggregates aggregates = columnAggregates;
+        Boolean visible = arrayVisibility.get(name);
+        if (aggregates == null || visible == null || !visible) {
+            return false;
+        }
+        aggregates.write(array, index, index + capacityOffset.get(name), value);
+        return true;
+    }
+
     /**
      * Called by an AnalyzedArray of the provided name to notify the group that an
      * element in that array was just set.
-     * The global set index is updated, the Swing GUI is notified (if
-     * reportArrayUpdates is true), and the current thread is slept (if applyDelay
-     * is true).
+     * The global set index is updated and the index is marked dirty. The Swing
+     * GUI is notified and the thread is slept by arrayAccessUpdate() afterwards.
      * 
      * NOT SYNCHRONIZED: expected to be called by a method in an AnalyzedArray that
-     * is in a synchronized context, so this method is not synchronized to avoid
-     * performance drawbacks or dead-locks.
+     * is in a synchronized context and inside its write section, so this method is
+     * not synchronized to avoid performance drawbacks or dead-locks.
      * 
      * @param name the String name of the AnalyzedArray that experienced a set
      */
@@ -351,17 +705,10 @@ public class AnalyzedArrayGroup {
             // The global set index is updated with the local set index of the array, which
             // is made global by adding it by that array's index offset.
             globalIndexLastSet = arrayMap.get(name).getIndexLastSet() + capacityOffset.get(name);
-        }
-
-        if (reportArrayUpdates) {
-            visualizer.testCaseArrayUpdated();
-        }
 
-        if (applyDelay) {
-            try {
-                Thread.sleep(delay);
-            } catch (InterruptedException exception) {
-                Thread.currentThread().interrupt();
+            // Only a group with a GUI has a bar graph that drains the dirty indices.
+            if (visualizer != null) {
+                markDirty(globalIndexLastSet);
             }
         }
     }
@@ -369,13 +716,12 @@ public class AnalyzedArrayGroup {
     /**
      * Called by an AnalyzedArray of the provided name to notify the group that an
      * element in that array was just retrieved.
-     * The global get index is updated, the Swing GUI is notified (if
-     * reportArrayUpdates is true), and the current thread is slept (if applyDelay
-     * is true).
+     * The global get index is updated. The Swing GUI is notified and the thread is
+     * slept by arrayAccessUpdate() afterwards.
      * 
      * NOT SYNCHRONIZED: expected to be called by a method in an AnalyzedArray that
-     * is in a synchronized context, so this method is not synchronized to avoid
-     * performance drawbacks or dead-locks.
+     * is in a synchronized context and inside its write section, so this method is
+     * not synchronized to avoid performance drawbacks or dead-locks.
      * 
      * @param name the String name of the AnalyzedArray that experienced a get
      */
@@ -385,12 +731,71 @@ public class AnalyzedArrayGroup {
             // is made global by adding it by that array's index offset.
             globalIndexLastGet = arrayMap.get(name).getIndexLastGet() + capacityOffset.get(name);
         }
+    }
 
-        if (reportArrayUpdates) {
+    /**
+     * Called by an AnalyzedLongArray or AnalyzedDoubleArray of the provided name to
+     * notify the group that one of its elements was just retrieved or set.
+     * Since the long and double specializations are not part of the global index,
+     * there is nothing to update besides arrayAccessUpdate().
+     * 
+     * NOT SYNCHRONIZED: expected to be called by a method in an AnalyzedLongArray
+     * or AnalyzedDoubleArray that is in a synchronized context.
+     * 
+     * @param name  the String name of the array that experienced a get or set
+     * @param op    the int operation (AccessEventRing.OP_GET or OP_SET)
+     * @param index the int index of the element
+     * @param value the long value of the element (the bits of a double)
+     */
+    public void typedArrayUpdate(String name, int op, int index, long value) {
+        arrayAccessUpdate(name, op, index, value);
+    }
+
+    /**
+     * Called after any get or set of an array of the group (once its write section
+     * ended): the access is recorded by the AccessTraceWriter if there is one, it
+     * is offered to the AccessEventRing if there is one, or otherwise the Swing GUI
+     * is notified (if reportArrayUpdates is true), and the
+     * current thread is slept (if applyDelay is true), either for the delay or
+     * until the access is due on the RaceClock if there is one. The sleep is
+     * outside of the write section so that the Swing GUI can copy a snapshot while
+     * the sorting thread sleeps.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by a method in an array of the group
+     * that is in a synchronized context.
+     * 
+     * @param name  the String name of the array that experienced a get or set
+     * @param op    the int operation (AccessEventRing.OP_GET or OP_SET)
+     * @param index the int index of the element
+     * @param value the long value of the element (the bits of a double)
+     */
+    public void arrayAccessUpdate(String name, int op, int index, long value) {
+        // The ring replaces the notifications, since its consumer repaints at its own
+        // pace.
+        AccessEventRing ring = eventRing;
+        AccessTraceWriter trace = traceWriter;
+        if (ring != null || trace != null) {
+            int arrayId = arrayIdMap.get(name);
+            if (ring != null) {
+                ring.offer(op, arrayId, index, value);
+            }
+            if (trace != null) {
+                trace.recordAccess(arrayId, op, index, value);
+            }
+        }
+        if (ring == null && reportArrayUpdates && visualizer != null) {
             visualizer.testCaseArrayUpdated();
         }
 
         if (applyDelay) {
+            RaceClock clock = pacingClock;
+            if (clock != null) {
+                // Only the sorting thread writes the count, so the increment is safe.
+                long step = pacedAccessCount + 1;
+                pacedAccessCount = step;
+                clock.awaitStep(step);
+                return;
+            }
             try {
                 Thread.sleep(delay);
             } catch (InterruptedException exception) {
@@ -495,9 +900,13 @@ public class AnalyzedArrayGroup {
      * SYNCHRONIZED: this is expected to be called in a separate sorting thread.
      */
     public synchronized void algorithmFinished() {
+        long stamp = beginWrite();
         globalIndexLastGet = -1;
         globalIndexLastSet = -1;
-        visualizer.testCaseFinished();
+        endWrite(stamp);
+        if (visualizer != null) {
+            visualizer.testCaseFinished();
+        }
     }
 
     // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
@@ -554,13 +963,209 @@ public class AnalyzedArrayGroup {
         reportArrayUpdates = enabled;
     }
 
+    /**
+     * Sets the RaceClock that paces the accesses of the group instead of the
+     * fixed delay (if sleeping is enabled), or goes back to the delay if the
+     * clock is null. Every group that shares a clock advances at the same amount
+     * of accesses per period. The count of paced accesses is reset.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * before the sorting thread starts.
+     * 
+     * @param clock the RaceClock to pace the accesses with, or null
+     */
+    public void setPacingClock(RaceClock clock) {
+        pacingClock = clock;
+        pacedAccessCount = 0;
+    }
+
+    /**
+     * Returns the amount of accesses paced by the RaceClock so far. Unlike
+     * getAccessCount(), this can be read while the sorting thread adds arrays.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * while the sorting thread writes the count.
+     * 
+     * @return the long amount of paced accesses
+     */
+    public long getPacedAccessCount() {
+        return pacedAccessCount;
+    }
+
+    // === === === === === === === === ===
+    // ACCESS EVENTS
+    // === === === === === === === === ===
+
+    /**
+     * Sets the AccessEventRing that every get and set of the arrays is offered to
+     * (in the sorting thread), or stops offering them if the ring is null. While
+     * there is a ring, the Swing GUI is not notified of each access; it is
+     * expected to drain the ring instead.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * before the sorting thread starts, since the ring only has one producer.
+     * 
+     * @param ring the AccessEventRing to offer the accesses to, or null
+     */
+    public void setEventRing(AccessEventRing ring) {
+        eventRing = ring;
+    }
+
+    /**
+     * Returns the AccessEventRing of the group, or null if there is none.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the consumer of the ring.
+     * 
+     * @return the AccessEventRing or null
+     */
+    public AccessEventRing getEventRing() {
+        return eventRing;
+    }
+
+    /**
+     * Sets the AccessTraceWriter that every get and set of the arrays (and every
+     * array that is added, removed, or hidden) is recorded by, or stops recording
+     * if the writer is null. The arrays that the group already has are recorded
+     * right away with all of their elements, so the trace starts from the state
+     * of the group. The writer is not closed by the group.
+     * 
+     * SYNCHRONIZED: expected to be called before the sorting thread starts (the
+     * writer only has one recording thread).
+     * 
+     * @param writer the open AccessTraceWriter to record with, or null
+     */
+    public synchronized void setTraceWriter(AccessTraceWriter writer) {
+        traceWriter = writer;
+        if (writer != null) {
+            // The int arrays are recorded in the order of the global index.
+            for (String name : arrayNameInOrder) {
+                traceArrayAdded(name);
+            }
+            for (String name : arrayIdNames) {
+                if (!arrayMap.containsKey(name)) {
+                    traceArrayAdded(name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of the array of the provided name in the access events, or -1
+     * if no array of the name was ever added. An ID is never reused, so an array
+     * that is removed and added again keeps it.
+     * 
+     * SYNCHRONIZED: expected to be called by the consumer of the access events
+     * while the sorting thread may be adding arrays.
+     * 
+     * @param name the String name of the array
+     * @return the int ID of the array or -1
+     */
+    public synchronized int getArrayId(String name) {
+        Integer id = arrayIdMap.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the name of the array of the provided ID in the access events, or
+     * null if there is no such ID.
+     * 
+     * SYNCHRONIZED: expected to be called by the consumer of the access events
+     * while the sorting thread may be adding arrays.
+     * 
+     * @param id the int ID of the array
+     * @return the String name of the array or null
+     */
+    public synchronized String getArrayName(int id) {
+        if (id < 0 || id >= arrayIdNames.size()) {
+            return null;
+        }
+        return arrayIdNames.get(id);
+    }
+
+    // === === === === === === === === ===
+    // PARTIAL SORTING (SELECTION K)
+    // === === === === === === === === ===
+
+    /**
+     * Updates the K used by the algorithms in PartialSorts: the rank of the nth
+     * element, the number of largest elements for top-K, and the number of
+     * smallest elements for a partial sort.
+     * If K is less than 1, then nothing happens. A K larger than the input is
+     * limited to the size of the input by the algorithm.
+     * 
+     * NOT SYNCHRONIZED: expected to only be called by the main thread in the Swing
+     * GUI before the sorting thread is started.
+     * 
+     * @param selectionK the new int selection K
+     */
+    public void setSelectionK(int selectionK) {
+        if (selectionK < 1) {
+            return;
+        }
+        this.selectionK = selectionK;
+    }
+
+    /**
+     * Returns the K used by the algorithms in PartialSorts.
+     * 
+     * NOT SYNCHRONIZED: expected to be read by the sorting thread after it was
+     * set by the main thread.
+     * 
+     * @return the int selection K
+     */
+    public int getSelectionK() {
+        return selectionK;
+    }
+
+    /**
+     * Selects the K-th smallest element of the "input" AnalyzedArray into index
+     * K - 1 with Introselect (see PartialSorts).
+     * 
+     * NOT SYNCHRONIZED: this runs the algorithm in the calling thread, which is
+     * expected to be a sorting thread.
+     * 
+     * @param k the int rank of the element to select, starting at 1
+     */
+    public void nthElement(int k) {
+        setSelectionK(k);
+        PartialSorts.nthElement(this);
+    }
+
+    /**
+     * Moves the K largest elements of the "input" AnalyzedArray to its end in
+     * ascending order (see PartialSorts).
+     * 
+     * NOT SYNCHRONIZED: this runs the algorithm in the calling thread, which is
+     * expected to be a sorting thread.
+     * 
+     * @param k the int number of largest elements to select
+     */
+    public void topK(int k) {
+        setSelectionK(k);
+        PartialSorts.topK(this);
+    }
+
+    /**
+     * Sorts the K smallest elements of the "input" AnalyzedArray into its front
+     * (see PartialSorts).
+     * 
+     * NOT SYNCHRONIZED: this runs the algorithm in the calling thread, which is
+     * expected to be a sorting thread.
+     * 
+     * @param k the int number of smallest elements to sort
+     */
+    public void partialSort(int k) {
+        setSelectionK(k);
+        PartialSorts.partialSort(this);
+    }
+
     // === === === === === === === === ===
     // ACCESS COUNT
     // === === === === === === === === ===
 
     /**
-     * Return the total access count across all of the AnalyzedArrays as a long
-     * value.
+     * Return the total access count across all of the AnalyzedArrays (including
+     * the long and double specializations) as a long value.
      * A long was chosen over an int due to the high likelihood that the access
      * count exceeds that maximum value of the signed 32-bit int (especially for
      * large inputs and slow sorting algorithms).
@@ -576,6 +1181,12 @@ public class AnalyzedArrayGroup {
         for (AnalyzedArray array : arrayMap.values()) {
             totalCount += array.getAccessCount();
         }
+        for (AnalyzedLongArray array : longArrayMap.values()) {
+            totalCount += array.getAccessCount();
+        }
+        for (AnalyzedDoubleArray array : doubleArrayMap.values()) {
+            totalCount += array.getAccessCount();
+        }
 
         return totalCount;
     }
@@ -590,6 +1201,12 @@ public class AnalyzedArrayGroup {
         for (AnalyzedArray array : arrayMap.values()) {
             array.resetAccessCount();
         }
+        for (AnalyzedLongArray array : longArrayMap.values()) {
+            array.resetAccessCount();
+        }
+        for (AnalyzedDoubleArray array : doubleArrayMap.values()) {
+            array.resetAccessCount();
+        }
     }
 
     // === === === === === === === === ===
@@ -678,6 +1295,190 @@ public class AnalyzedArrayGroup {
         return globalIndexToArray[index].getExternal(index - globalIndexOffsets[index]);
     }
 
+    /**
+     * Copies the state that the bar graph paints into the provided snapshot: the
+     * size, min, max, and get/set indices, and the elements if requested. The
+     * copy is an optimistic read of the write sections (see beginWrite()): if the
+     * sorting thread wrote anything while it was copied, then it is copied again,
+     * up to SNAPSHOT_ATTEMPTS times. The sorting thread is never blocked, and a
+     * snapshot that is returned is exactly the state between two of its writes,
+     * so every element is within the min and max of the snapshot.
+     * If every attempt was interrupted by a write, then false is returned and the
+     * snapshot is not valid (the frame should be skipped). The GUI sleeps the
+     * sorting thread between its accesses, so this is not expected to happen.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * once per frame; it takes no lock at all.
+     * 
+     * @param snapshot   the GroupSnapshot to copy into
+     * @param copyValues if true, the elements are copied as well
+     * @return true if the snapshot is consistent and false if otherwise
+     */
+    public boolean copySnapshot(GroupSnapshot snapshot, boolean copyValues) {
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            long stamp = snapshotLock.tryOptimisticRead();
+            if (stamp == 0) {
+                // The sorting thread is inside a write section.
+                Thread.onSpinWait();
+                continue;
+            }
+
+            try {
+                // The fields are read once, since a write may replace them at any time.
+                int size = globalCapacity;
+                int minValue = globalMinValue;
+                int maxValue = globalMaxValue;
+                int indexLastGet = globalIndexLastGet;
+                int indexLastSet = globalIndexLastSet;
+
+                if (copyValues) {
+                    AnalyzedArray[] indexToArray = globalIndexToArray;
+                    int[] indexOffsets = globalIndexOffsets;
+                    int[] values = snapshot.getValueBuffer(size);
+                    for (int i = 0; i < size; i++) {
+                        values[i] = indexToArray[i].getExternal(i - indexOffsets[i]);
+                    }
+                }
+
+                if (snapshotLock.validate(stamp)) {
+                    if (copyValues) {
+                        snapshot.updateValues(size, minValue, maxValue, indexLastGet, indexLastSet);
+                    } else {
+                        snapshot.update(size, minValue, maxValue, indexLastGet, indexLastSet);
+                    }
+                    return true;
+                }
+            } catch (RuntimeException exception) {
+                // A read that overlapped a change of the global indices may see index
+                // arrays of different sizes; validate() would have failed too.
+            }
+            Thread.onSpinWait();
+        }
+        return false;
+    }
+
+    /**
+     * Returns every AnalyzedArray of the group in the order they were added,
+     * whether or not they are visible, such as for a bar graph that draws each
+     * array in its own lane. The returned array must not be modified.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * once per frame; the array is replaced (not changed) when arrays are added or
+     * removed.
+     * 
+     * @return the AnalyzedArray array in the order the arrays were added
+     */
+    public AnalyzedArray[] getArraysInOrder() {
+        return arraysInOrder;
+    }
+
+    /**
+     * Copies the state of a single AnalyzedArray of the group into the provided
+     * snapshot: its elements, its own min and max, and its own get/set indices
+     * (local to the array). Like copySnapshot(), the copy is an optimistic read
+     * of the write sections, so it never blocks the sorting thread, and the array
+     * does not have to be visible (it takes no part in the global indices).
+     * If every attempt was interrupted by a write, then false is returned and the
+     * snapshot is not changed (the elements are copied into its scratch array,
+     * which only replaces its elements once the copy is validated).
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * once per frame for each array; it takes no lock at all.
+     * 
+     * @param array    the AnalyzedArray of the group to copy
+     * @param snapshot the GroupSnapshot to copy into
+     * @return true if the snapshot is consistent and false if otherwise
+     */
+    public boolean copyArraySnapshot(AnalyzedArray array, GroupSnapshot snapshot) {
+        for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+            long stamp = snapshotLock.tryOptimisticRead();
+            if (stamp == 0) {
+                // The sorting thread is inside a write section.
+                Thread.onSpinWait();
+                continue;
+            }
+
+            try {
+                int size = array.sizeExternal();
+                int minValue = array.getMin();
+                int maxValue = array.getMax();
+                int indexLastGet = array.getIndexLastGet();
+                int indexLastSet = array.getIndexLastSet();
+                array.copyExternal(snapshot.getValueBuffer(size));
+
+                if (snapshotLock.validate(stamp)) {
+                    snapshot.updateValues(size, minValue, maxValue, indexLastGet, indexLastSet);
+                    return true;
+                }
+            } catch (RuntimeException exception) {
+                // A read that overlapped a write may see an inconsistent array;
+                // validate() would have failed too.
+            }
+            Thread.onSpinWait();
+        }
+        return false;
+    }
+
+    /**
+     * Sets the amount of pixel columns that the elements are aggregated into for
+     * the bar graph (see ColumnAggregates), or stops aggregating if the amount is
+     * less than 1. The aggregates are computed from every element, so this should
+     * only be called when the graph is resized.
+     * 
+     * SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * while the sorting thread may be adding or removing arrays.
+     * 
+     * @param columnAmount the int amount of columns, or 0 to stop aggregating
+     */
+    public synchronized void setColumnAmount(int columnAmount) {
+        if (columnAmount < 1) {
+            columnAggregates = null;
+        } else if (columnAggregates == null || columnAggregates.getColumnAmount() != columnAmount) {
+            columnAggregates = new ColumnAggregates(this, columnAmount);
+        }
+    }
+
+    /**
+     * Returns the ColumnAggregates of the bar graph, or null if the elements are
+     * not aggregated.
+     * 
+     * NOT SYNCHRONIZED: expected to be FREQUENTLY called by the main thread in the
+     * Swing GUI by its visualization code.
+     * 
+     * @return the ColumnAggregates or null
+     */
+    public ColumnAggregates getColumnAggregates() {
+        return columnAggregates;
+    }
+
+    /**
+     * Copies the global indices that were set since the last call into the
+     * provided array and returns how many there are, so that the bar graph only
+     * redraws the bars that changed. An index may be copied more than once. If
+     * every element must be redrawn (the global indices changed, or more than
+     * DIRTY_INDEX_CAPACITY indices were set), then -1 is returned instead.
+     * Either way, the group has no dirty indices afterwards.
+     * 
+     * SYNCHRONIZED ON THE DIRTY INDICES ONLY: expected to be called by the main
+     * thread in the Swing GUI once per frame while the sorting thread sets
+     * elements, so it does not lock the whole group.
+     * 
+     * @param destination the int array of at least DIRTY_INDEX_CAPACITY elements
+     *                    to copy the dirty indices into
+     * @return the int amount of dirty indices, or -1 if everything is dirty
+     */
+    public int drainDirtyIndices(int[] destination) {
+        synchronized (dirtyLock) {
+            int amount = dirtyAll ? -1 : dirtyIndexAmount;
+            if (amount > 0) {
+                System.arraycopy(dirtyIndices, 0, destination, 0, amount);
+            }
+            dirtyIndexAmount = 0;
+            dirtyAll = false;
+            return amount;
+        }
+    }
+
     /**
      * The total number of elements across all of the AnalyzedArrays in the group.
      * 
@@ -709,6 +1510,8 @@ public class AnalyzedArrayGroup {
      * In short, in exchange for high spacial complexity, this method generates
      * arrays that ensure that a global index can be used to retrieve the correct
      * element from the correct AnalyzedArray in O(1) time.
+     * The new arrays are built in locals and only then published (see
+     * globalIndexPublish()), so they are never seen half filled.
      * 
      * NOT SYNCHRONIZED: expected to be called by synchronized methods in the
      * AnalyzedArrayGroup class and the constructor.
@@ -716,8 +1519,9 @@ public class AnalyzedArrayGroup {
     private void globalIndexCalculate() {
         AnalyzedArray array;
         int currentCap = 0;
-        capacityOffset = new HashMap<>();
-        globalCapacity = 0;
+        markAllDirty();
+        HashMap<String, Integer> newCapacityOffset = new HashMap<>();
+        int newCapacity = 0;
 
         /*
          * Calculate the total number of elements of the entire group (global capacity)
@@ -733,13 +1537,13 @@ public class AnalyzedArrayGroup {
                  * capacities of the preceding AnalyzedArrays. This is actually what is added
                  * to a local index to make it global and vice versa.
                  */
-                capacityOffset.put(name, globalCapacity);
-                globalCapacity += array.size();
+                newCapacityOffset.put(name, newCapacity);
+                newCapacity += array.size();
             }
         }
 
-        globalIndexOffsets = new int[globalCapacity];
-        globalIndexToArray = new AnalyzedArray[globalCapacity];
+        int[] newIndexOffsets = new int[newCapacity];
+        AnalyzedArray[] newIndexToArray = new AnalyzedArray[newCapacity];
 
         for (String name : arrayNameInOrder) {
             if (arrayVisibility.get(name)) {
@@ -752,13 +1556,15 @@ public class AnalyzedArrayGroup {
                  * local and global indices and vice versa.
                  */
                 for (int i = currentCap; i < currentCap + array.size(); i++) {
-                    globalIndexToArray[i] = array;
-                    globalIndexOffsets[i] = currentCap;
+                    newIndexToArray[i] = array;
+                    newIndexOffsets[i] = currentCap;
                 }
 
                 currentCap += array.size();
             }
         }
+
+        globalIndexPublish(newCapacityOffset, newIndexToArray, newIndexOffsets, newCapacity);
     }
 
     /**
@@ -775,6 +1581,7 @@ public class AnalyzedArrayGroup {
      */
     private void globalIndexAppend(String name) {
         if (arrayVisibility.get(name)) {
+            markAllDirty();
             AnalyzedArray array = arrayMap.get(name);
             int newCapacity = globalCapacity + array.size();
 
@@ -783,7 +1590,8 @@ public class AnalyzedArrayGroup {
             int[] globalIndexOffsetsTemp = new int[newCapacity];
             AnalyzedArray[] globalIndexToArrayTemp = new AnalyzedArray[newCapacity];
 
-            capacityOffset.put(name, globalCapacity);
+            HashMap<String, Integer> capacityOffsetTemp = new HashMap<>(capacityOffset);
+            capacityOffsetTemp.put(name, globalCapacity);
 
             // Copy the existing values to the temporary arrays.
             for (int i = 0; i < globalCapacity; i++) {
@@ -798,10 +1606,136 @@ public class AnalyzedArrayGroup {
             }
 
             // Update the references of the index arrays.
-            globalIndexOffsets = globalIndexOffsetsTemp;
-            globalIndexToArray = globalIndexToArrayTemp;
+            globalIndexPublish(capacityOffsetTemp, globalIndexToArrayTemp, globalIndexOffsetsTemp, newCapacity);
+        }
+    }
+
+    /**
+     * Replaces the capacityOffset, globalIndexToArray, globalIndexOffsets, and
+     * globalCapacity with the provided ones, which must be completely filled. If
+     * the elements are aggregated, then they are replaced and the ColumnAggregates
+     * rebuilt while holding the lock of the aggregates, so that copyColumns() in
+     * the main thread never rescans a column with index arrays that do not match
+     * the columns (or that are smaller than them).
+     * 
+     * NOT SYNCHRONIZED: expected to be called by globalIndexCalculate() and
+     * globalIndexAppend().
+     * 
+     * @param newCapacityOffset the HashMap of the name of each visible array to
+     *                          its global offset
+     * @param newIndexToArray   the AnalyzedArray array of each global index
+     * @param newIndexOffsets   the int array of the offset of each global index
+     * @param newCapacity       the int total amount of visible elements
+     */
+    private void globalIndexPublish(HashMap<String, Integer> newCapacityOffset, AnalyzedArray[] newIndexToArray,
+            int[] newIndexOffsets, int newCapacity) {
+        ColumnAggregates aggregates = columnAggregates;
+        if (aggregates == null) {
+            capacityOffset = newCapacityOffset;
+            globalIndexToArray = newIndexToArray;
+            globalIndexOffsets = newIndexOffsets;
+            globalCapacity = newCapacity;
+            return;
+        }
+
+        synchronized (aggregates) {
+            capacityOffset = newCapacityOffset;
+            globalIndexToArray = newIndexToArray;
+            globalIndexOffsets = newIndexOffsets;
+            globalCapacity = newCapacity;
+            aggregates.rebuild();
+        }
+    }
+
+    /**
+     * Returns a new array of every AnalyzedArray in the order of arrayNameInOrder,
+     * which replaces arraysInOrder after an array was added or removed.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the synchronized methods that add
+     * or remove arrays.
+     * 
+     * @return the AnalyzedArray array in the order the arrays were added
+     */
+    private AnalyzedArray[] arraysInOrderCopy() {
+        AnalyzedArray[] arrays = new AnalyzedArray[arrayNameInOrder.size()];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = arrayMap.get(arrayNameInOrder.get(i));
+        }
+        return arrays;
+    }
+
+    /**
+     * Gives the array of the provided name the next ID of the access events, if it
+     * does not have one yet.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the synchronized methods that add
+     * arrays.
+     * 
+     * @param name the String name of the array
+     */
+    private void registerArrayId(String name) {
+        if (!arrayIdMap.containsKey(name)) {
+            arrayIdMap.put(name, arrayIdNames.size());
+            arrayIdNames.add(name);
+        }
+    }
+
+    /**
+     * Records the array of the provided name with all of its elements in the
+     * access trace, if there is one and the group has the array.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the synchronized methods that add
+     * arrays.
+     * 
+     * @param name the String name of the array
+     */
+    private void traceArrayAdded(String name) {
+        AccessTraceWriter trace = traceWriter;
+        if (trace == null) {
+            return;
+        }
+        int id = arrayIdMap.get(name);
+        if (arrayMap.containsKey(name)) {
+            trace.recordArrayAdded(id, arrayMap.get(name), arrayVisibility.get(name));
+        } else if (longArrayMap.containsKey(name)) {
+            trace.recordArrayAdded(id, longArrayMap.get(name));
+        } else if (doubleArrayMap.containsKey(name)) {
+            trace.recordArrayAdded(id, doubleArrayMap.get(name));
+        }
+    }
 
-            globalCapacity += array.size();
+    /**
+     * Records that the element of the provided global index was set. Past
+     * DIRTY_INDEX_CAPACITY indices, the whole group is dirty instead.
+     * 
+     * NOT SYNCHRONIZED ON THE GROUP: expected to be called by arraySetUpdate() in
+     * the sorting thread.
+     * 
+     * @param index the int global index of the element that was set
+     */
+    private void markDirty(int index) {
+        synchronized (dirtyLock) {
+            if (dirtyAll) {
+                return;
+            }
+            if (dirtyIndexAmount == DIRTY_INDEX_CAPACITY) {
+                dirtyAll = true;
+                return;
+            }
+            dirtyIndices[dirtyIndexAmount++] = index;
+        }
+    }
+
+    /**
+     * Records that every element is dirty, such as when the global indices
+     * changed.
+     * 
+     * NOT SYNCHRONIZED ON THE GROUP: expected to be called by the global index
+     * methods.
+     */
+    private void markAllDirty() {
+        synchronized (dirtyLock) {
+            dirtyAll = true;
         }
     }
 }
@@ -0,0 +1,351 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           AnalyzedLongArray.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The long specialization of the AnalyzedArray for 64-bit keys such
+ *                  as timestamps. It monitors the access count incurred by calls to
+ *                  set() and get(), tracks the min and max and the index of the
+ *                  last-get or last-set element, and applies the same delays and
+ *                  Swing GUI notifications through its AnalyzedArrayGroup. It is
+ *                  not part of the global index of the group (the bar graph only
+ *                  displays int arrays).
+ *                  NOTE: THIS CLASS IS DESIGNED TO WORK WITH MULTIPLE THREADS.
+ */
+
+public class AnalyzedLongArray {
+    private long[] array;
+    private long accessCount;
+
+    private AnalyzedArrayGroup group;
+    private String name;
+
+    private long minValue;
+    private long maxValue;
+
+    private int indexLastGet;
+    private int indexLastSet;
+
+    /**
+     * Initializes the AnalyzedLongArray with a given capacity and no initial values to
+     * copy from.
+     * Since there is no initial array of longs provided, a capacity is needed so
+     * a new underlying array can be initialized for the AnalyzedLongArray. This is
+     * expected to be used by sorting algorithms for creating temporary space. If
+     * the capacity is less than 1, then an AnalyzedLongArray of capacity 1 is created.
+     * 
+     * @param capacity the int capacity of the new AnalyzedLongArray
+     * @param name     the String name for the AnalyzedLongArray to be referenced by
+     * @param group    the AnalyzedArrayGroup this array is associated with
+     */
+    public AnalyzedLongArray(int capacity, String name, AnalyzedArrayGroup group) {
+        if (capacity < 1) {
+            array = new long[1];
+        } else {
+            array = new long[capacity];
+        }
+
+        initArray(name, group);
+    }
+
+    /**
+     * Initializes the AnalyzedLongArray with initial values provided by a primitive
+     * array of longs.
+     * The capacity of the new AnalyzedLongArray is inferred from the length of the
+     * provided array. This is expected to be used by the Swing GUI for setting an
+     * input array to be sorted. If the given array is null, then an AnalyzedLongArray
+     * of capacity 1 is created.
+     * 
+     * @param otherArray the long array to initialize the AnalyzedLongArray with
+     * @param name       the String name for the AnalyzedLongArray to be referenced by
+     * @param group      the AnalyzedArrayGroup this array is associated with
+     */
+    public AnalyzedLongArray(long[] otherArray, String name, AnalyzedArrayGroup group) {
+        if (otherArray == null) {
+            array = new long[1];
+        } else {
+            array = new long[otherArray.length];
+            for (int i = 0; i < otherArray.length; i++) {
+                array[i] = otherArray[i];
+            }
+        }
+
+        initArray(name, group);
+    }
+
+    /**
+     * Initializes the AnalyzedLongArray with initial values provided by a primitive
+     * array of longs between the low and high indices, inclusive.
+     * The capacity of the new AnalyzedLongArray is the difference of high and low plus
+     * one. This is expected to be used by the Swing GUI for setting an input array
+     * for the scatter plot. If the given array is null, low is greater than high or
+     * if the indices are out of bounds, then an AnalyzedLongArray of capacity 1 is
+     * created.
+     * 
+     * @param otherArray the long array to initialize the AnalyzedLongArray with
+     * @param low        the inclusive lower bound of indices to copy from the array
+     * @param high       the inclusive upper bound of indices to copy from the array
+     * @param name       the String name for the AnalyzedLongArray to be referenced by
+     * @param group      the AnalyzedArrayGroup this array is associated with
+     */
+    public AnalyzedLongArray(long[] otherArray, int low, int high, String name, AnalyzedArrayGroup group) {
+        // NOTE: it is low > high and not low >= high because low == high implies an
+        // array of size 1 (valid).
+        if (otherArray == null || low > high || low < 0 || high >= otherArray.length) {
+            array = new long[1];
+        } else {
+            int subsetSize = high - low + 1;
+            array = new long[subsetSize];
+
+            for (int i = 0; i < subsetSize; i++) {
+                array[i] = otherArray[low + i];
+            }
+        }
+
+        initArray(name, group);
+    }
+
+    /**
+     * Update the name and AnalyzedArrayGroup reference and set reasonable default
+     * values for the AnalyzedLongArray.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the constructor in the
+     * AnalyzedLongArray class.
+     * 
+     * @param name  the String name for the AnalyzedLongArray to be referenced by
+     * @param group the AnalyzedArrayGroup this array is associated with
+     */
+    private void initArray(String name, AnalyzedArrayGroup group) {
+        this.name = name;
+        this.group = group;
+        accessCount = 0;
+
+        minValue = 0;
+        maxValue = 0;
+
+        indexLastGet = -1;
+        indexLastSet = -1;
+
+        scanMinMax();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // METHODS CALLED BY SORTING ALGORITHM
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the value of the element at the index.
+     * Since this is expected to be called by a sorting algorithm, it updates the
+     * access count, updates the last-get index, and notifies the group.
+     * 
+     * SYNCHRONIZED: expected to be called by the sorting algorithm in the sorting
+     * thread.
+     * 
+     * @param index the int index of the element to retrieve
+     * @return the long value of the element
+     */
+    public synchronized long get(int index) {
+        accessCount++;
+        indexLastGet = index;
+        long value = array[index];
+        group.typedArrayUpdate(name, AccessEventRing.OP_GET, index, value);
+        return value;
+
+    }
+
+    /**
+     * Updates the value of the element at the index with the given value.
+     * Since this is expected to be called by a sorting algorithm, it updates the
+     * access count, updates the last-set index, and notifies the group.
+     * 
+     * SYNCHRONIZED: expected to be called by the sorting algorithm in the sorting
+     * thread.
+     * 
+     * @param index the int index of the element to retrieve
+     * @param value the new long value of the element
+     */
+    public synchronized void set(int index, long value) {
+        array[index] = value;
+        accessCount++;
+        indexLastSet = index;
+        if (value < minValue || value > maxValue) {
+            scanMinMax();
+        }
+        group.typedArrayUpdate(name, AccessEventRing.OP_SET, index, value);
+    }
+
+    // assumed to be called by synchronized methods, should be thread safe
+    /**
+     * Scan the long array in the AnalyzedLongArray for the current minimum and maximum.
+     * Unlike the AnalyzedArray, the group is never notified because the group's
+     * global minimum and maximum only cover the int arrays of the bar graph.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by synchronized methods in the
+     * AnalyzedLongArray class.
+     */
+    private void scanMinMax() {
+        long newMinValue = array[0];
+        long newMaxValue = array[0];
+
+        for (int i = 0; i < array.length; i++) {
+            long element = array[i];
+            if (element > newMaxValue) {
+                newMaxValue = element;
+            }
+            if (element < newMinValue) {
+                newMinValue = element;
+            }
+        }
+
+        minValue = newMinValue;
+        maxValue = newMaxValue;
+    }
+
+    /**
+     * Returns the length of the primitive long array of the AnalyzedLongArray.
+     * 
+     * SYNCHRONIZED: expected to be called in BOTH the main thread with the Swing
+     * GUI and the sorting thread; while this may lead to possible performance or
+     * liveliness issues, this is to ensure that the size is retrieved safely.
+     * 
+     * @return the int length of the primitive long array
+     */
+    public synchronized int size() {
+        return array.length;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // METHODS CALLED BY SWING GUI
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    // === === === === === === === === ===
+    // ACCESS COUNT
+    // === === === === === === === === ===
+
+    /**
+     * Returns the access count of the AnalyzedLongArray.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     * 
+     * @return the long access count of the AnalyzedLongArray.
+     */
+    public long getAccessCount() {
+        return accessCount;
+    }
+
+    /**
+     * Sets the access count to zero.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     */
+    public void resetAccessCount() {
+        accessCount = 0;
+    }
+
+    // === === === === === === === === ===
+    // MINIMUM/MAXIMUM ELEMENT VALUES
+    // === === === === === === === === ===
+
+    /**
+     * Return the smallest value in the AnalyzedLongArray.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     * 
+     * @return the long smallest value in the AnalyzedLongArray
+     */
+    public long getMin() {
+        return minValue;
+    }
+
+    /**
+     * Return the largest value in the AnalyzedLongArray.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     * 
+     * @return the long largest value in the AnalyzedLongArray
+     */
+    public long getMax() {
+        return maxValue;
+    }
+
+    // === === === === === === === === ===
+    // GET/SET INDICES
+    // === === === === === === === === ===
+
+    /**
+     * Return the last index that was last accessed with get().
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     * 
+     * @return the int index of the last index that was accessed
+     */
+    public int getIndexLastGet() {
+        return indexLastGet;
+    }
+
+    /**
+     * Return the last index that was last updated with set().
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     * 
+     * @return the int index of the last index that was updated
+     */
+    public int getIndexLastSet() {
+        return indexLastSet;
+    }
+
+    // === === === === === === === === ===
+    // RETRIEVING OTHER INFORMATION
+    // === === === === === === === === ===
+
+    /**
+     * Returns the value of the element at the index without increasing the access
+     * count, updating the last-get index, or notifying the group.
+     * 
+     * NOT SYNCHRONIZED: expected to be called FREQUENTLY by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread; this should NOT be called in the
+     * sorting thread and making this synchronized may risk dead-locking and
+     * performance issues.
+     * 
+     * @param index the int index of the element to retrieve
+     * @return the long value of the element
+     */
+    public long getExternal(int index) {
+        return array[index];
+    }
+
+    /**
+     * Returns the String name of the AnalyzedLongArray.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     * 
+     * @return the String name of the AnalyzedLongArray
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return true if the AnalyzedLongArray is sorted in ascending order and false if
+     * otherwise.
+     * 
+     * NOT SYNCHRONIZED: expected to be called by the AnalyzedArrayGroup
+     * and the Swing GUI in the main thread.
+     * 
+     * @return true if sorted and false if otherwise
+     */
+    public boolean isSorted() {
+        for (int i = 0; i < array.length - 1; i++) {
+            if (array[i] > array[i + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           ArgSorts.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Sorting algorithms that return the sorting permutation of an
+ *                  array of keys (an "argsort") instead of only sorting the keys,
+ *                  so that records can be sorted by key without losing the
+ *                  association with their payload. Records are stored as a
+ *                  structure of arrays: one AnalyzedArray per column, all of the
+ *                  same size, so the access count of every column is tracked
+ *                  separately by the AnalyzedArrayGroup.
+ */
+
+public class ArgSorts {
+    /*
+     * Here is a list of the methods organized by order of appearance:
+     * (1) Argsort of int keys (packed key-index longs)
+     * (2) Argsort of long keys (indirect Merge Sort)
+     * (3) Applying a permutation to a column
+     * (4) Record sort (structure of arrays)
+     */
+
+    /**
+     * Returns the sorting permutation of an AnalyzedArray of int keys, where the
+     * element at index i of the permutation is the index of the i-th smallest key.
+     * This is the fast path: every key is packed with its index into one long as
+     * (key << 32) | index and the packed longs are sorted with the primitive Quick
+     * Sort in LongHybridSorts. Since the key is in the upper 32 bits, the packed
+     * longs are ordered by key first, and since the index is in the lower 32 bits,
+     * equal keys are ordered by their original index. This makes the permutation
+     * stable even though Quick Sort is not. The keys themselves are left
+     * unmodified.
+     *
+     * @param group the AnalyzedArrayGroup that the provided AnalyzedArray is
+     *              contained in
+     * @param keys  the AnalyzedArray of keys to argsort
+     * @return the AnalyzedArray with the name "permutation" that holds the sorting
+     *         permutation of the keys
+     */
+    public static AnalyzedArray argSort(AnalyzedArrayGroup group, AnalyzedArray keys) {
+        int size = keys.size();
+        AnalyzedLongArray packed = group.addLongArray(size, "packed");
+
+        // The index is masked so that it never sign-extends into the key bits.
+        for (int i = 0; i < size; i++) {
+            packed.set(i, ((long) keys.get(i) << 32) | (i & 0xFFFFFFFFL));
+        }
+
+        LongHybridSorts.helperQuickSort(group, packed, 0, size - 1);
+
+        // Unpack the index from the lower 32 bits of each sorted long.
+        AnalyzedArray permutation = group.addArray(size, "permutation", false);
+        for (int i = 0; i < size; i++) {
+            permutation.set(i, (int) packed.get(i));
+        }
+
+        return permutation;
+    }
+
+    /**
+     * Returns the sorting permutation of an AnalyzedLongArray of keys, where the
+     * element at index i of the permutation is the index of the i-th smallest key.
+     * This is the slow path: a 64-bit key and its index do not fit in one long,
+     * so an indirect Merge Sort is performed on an AnalyzedArray of indices that
+     * compares the keys they refer to. Merge Sort is stable, so equal keys are
+     * ordered by their original index. The keys themselves are left unmodified.
+     *
+     * @param group the AnalyzedArrayGroup that the provided AnalyzedLongArray is
+     *              contained in
+     * @param keys  the AnalyzedLongArray of keys to argsort
+     * @return the AnalyzedArray with the name "permutation" that holds the sorting
+     *         permutation of the keys
+     */
+    public static AnalyzedArray argSort(AnalyzedArrayGroup group, AnalyzedLongArray keys) {
+        int size = keys.size();
+        AnalyzedArray permutation = group.addArray(size, "permutation", false);
+        AnalyzedArray temp = group.addArray(size, "permutationTemp", false);
+
+        for (int i = 0; i < size; i++) {
+            permutation.set(i, i);
+        }
+
+        helperIndirectMergeSort(keys, permutation, temp, 0, size - 1);
+        return permutation;
+    }
+
+    /**
+     * Performs Merge Sort on an AnalyzedArray of indices between a lower and upper
+     * bound of indices, inclusive, where the indices are compared by the keys they
+     * refer to in the provided AnalyzedLongArray.
+     *
+     * @param keys    the AnalyzedLongArray of keys that the indices refer to
+     * @param indices the AnalyzedArray of indices that is to be sorted
+     * @param temp    the temporary AnalyzedArray for the merge operation
+     * @param low     the lower, inclusive bound of indices to sort
+     * @param high    the upper, inclusive bound of indices to sort
+     */
+    private static void helperIndirectMergeSort(AnalyzedLongArray keys, AnalyzedArray indices, AnalyzedArray temp,
+            int low, int high) {
+        if (low < high) {
+            int mid = low + (high - low) / 2;
+            helperIndirectMergeSort(keys, indices, temp, low, mid);
+            helperIndirectMergeSort(keys, indices, temp, mid + 1, high);
+            helperIndirectMerge(keys, indices, temp, low, mid, high);
+        }
+    }
+
+    /**
+     * Merges two sub-arrays of the given AnalyzedArray of indices into one, final
+     * array, comparing the keys that the indices refer to.
+     * The first sub-array is between indices low and mid inclusive and the second
+     * sub-array is between indices mid+1 and high inclusive.
+     *
+     * @param keys    the AnalyzedLongArray of keys that the indices refer to
+     * @param indices the AnalyzedArray with the sub-arrays that are to be merged
+     * @param temp    the temporary AnalyzedArray for the merge operation
+     * @param low     the first, inclusive index of the first sub-array
+     * @param mid     the last, inclusive index of the first sub-array
+     * @param high    the last, inclusive index of the second sub-array
+     */
+    private static void helperIndirectMerge(AnalyzedLongArray keys, AnalyzedArray indices, AnalyzedArray temp,
+            int low, int mid, int high) {
+        int i = low, j = mid + 1;
+        for (int k = low; k <= high; k++)
+            temp.set(k, indices.get(k));
+
+        for (int k = low; k <= high; k++) {
+            if (i > mid) {
+                indices.set(k, temp.get(j));
+                j++;
+            } else if (j > high) {
+                indices.set(k, temp.get(i));
+                i++;
+            } else if (keys.get(temp.get(i)) <= keys.get(temp.get(j))) {
+                indices.set(k, temp.get(i));
+                i++;
+            } else {
+                indices.set(k, temp.get(j));
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Rearranges the elements of a column so that the element at index i becomes
+     * the element that was at index permutation[i].
+     * The elements are first gathered into the temporary AnalyzedArray and then
+     * copied back, so every access is counted by the column, the permutation, or
+     * the temporary array.
+     *
+     * @param permutation the AnalyzedArray with the sorting permutation
+     * @param column      the AnalyzedArray to rearrange (of the same size)
+     * @param temp        the temporary AnalyzedArray for the gather (of the same
+     *                    size)
+     */
+    public static void applyPermutation(AnalyzedArray permutation, AnalyzedArray column, AnalyzedArray temp) {
+        int size = column.size();
+        for (int i = 0; i < size; i++) {
+            temp.set(i, column.get(permutation.get(i)));
+        }
+        for (int i = 0; i < size; i++) {
+            column.set(i, temp.get(i));
+        }
+    }
+
+    /**
+     * Sorts a record stored as a structure of arrays by the column of keys with
+     * the name keyName.
+     * The sorting permutation of the keys is computed once with argSort() and then
+     * applied to the keys and to every payload column, so every record keeps its
+     * payload. Each column is its own AnalyzedArray in the group, so the accesses
+     * spent moving each column can be retrieved separately with getAccessCount().
+     * If a column does not exist or is not the same size as the keys, then an
+     * error is printed and nothing is sorted.
+     *
+     * @param group        the AnalyzedArrayGroup with the columns of the record
+     * @param keyName      the String name of the AnalyzedArray of keys
+     * @param payloadNames the String names of the payload AnalyzedArrays
+     * @return true if the record was sorted and false if otherwise
+     */
+    public static boolean sortRecords(AnalyzedArrayGroup group, String keyName, String... payloadNames) {
+        AnalyzedArray keys = group.getArray(keyName);
+        if (keys == null) {
+            System.out.printf("ERROR: the key column \"%s\" does not exist.\n", keyName);
+            return false;
+        }
+
+        AnalyzedArray[] payloads = new AnalyzedArray[payloadNames.length];
+        for (int i = 0; i < payloadNames.length; i++) {
+            payloads[i] = group.getArray(payloadNames[i]);
+            if (payloads[i] == null || payloads[i].size() != keys.size()) {
+                System.out.printf("ERROR: the payload column \"%s\" does not exist or is not of size %d.\n",
+                        payloadNames[i], keys.size());
+                return false;
+            }
+        }
+
+        AnalyzedArray permutation = argSort(group, keys);
+        AnalyzedArray temp = group.addArray(keys.size(), "columnTemp", false);
+
+        applyPermutation(permutation, keys, temp);
+        for (AnalyzedArray payload : payloads) {
+            applyPermutation(permutation, payload, temp);
+        }
+
+        return true;
+    }
+
+    /**
+     * The entry point for a Test Case to perform the argsort.
+     * It assumes the input array as an AnalyzedArray with the name "input" in the
+     * provided AnalyzedArrayGroup, computes its sorting permutation, and applies
+     * it to the input (a record with only a key column).
+     *
+     * @param group the AnalyzedArrayGroup with the input array to sort
+     */
+    public static void argSort(AnalyzedArrayGroup group) {
+        sortRecords(group, "input");
+        group.algorithmFinished();
+    }
+}
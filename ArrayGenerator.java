@@ -0,0 +1,187 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           ArrayGenerator.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Generates the int array inputs of the test cases and benchmarks
+ *                  (random, shuffled, ascending, descending, and few-unique). The
+ *                  generator can be given a seed so that the exact same inputs can
+ *                  be generated again.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class ArrayGenerator {
+    // The number of distinct values in a "few-unique" array.
+    private static final int FEW_UNIQUE_COUNT = 10;
+
+    private static final List<String> GENERATE_ARRAY_TYPE_LIST = Arrays.asList(
+            "random",
+            "shuffled",
+            "ascending",
+            "descending",
+            "few-unique");
+
+    private Random random;
+
+    /**
+     * Initializes the ArrayGenerator with an unseeded source of randomness, so
+     * every generated array is different.
+     */
+    public ArrayGenerator() {
+        random = new Random();
+    }
+
+    /**
+     * Initializes the ArrayGenerator with a seeded source of randomness, so two
+     * ArrayGenerators with the same seed generate the same arrays in the same
+     * order.
+     *
+     * @param seed the long seed of the randomness
+     */
+    public ArrayGenerator(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Returns the list of the names of the supported approaches of generating an
+     * array.
+     *
+     * @return the List of String names of the generation types
+     */
+    public static List<String> getGenerateArrayTypeList() {
+        return GENERATE_ARRAY_TYPE_LIST;
+    }
+
+    /**
+     * Returns an int array of the provided size generated with the approach of the
+     * provided name, or null if the name is not a supported approach.
+     * The bounds are only used by "random" and are ignored otherwise.
+     *
+     * @param generateArrayType the String name of the approach (random, shuffled,
+     *                          ascending, descending, few-unique)
+     * @param size              the size of the int array
+     * @param low               the smallest random element possible, inclusive
+     * @param high              the largest random element possible, inclusive
+     * @return the generated int array or null
+     */
+    public int[] generate(String generateArrayType, int size, int low, int high) {
+        switch (generateArrayType) {
+            case "random":
+                return generateRandomArray(size, low, high);
+            case "shuffled":
+                return generateShuffledArray(size);
+            case "ascending":
+                return generateAscendingArray(size);
+            case "descending":
+                return generateDescendingArray(size);
+            case "few-unique":
+                return generateFewUniqueArray(size);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns a random ints with values ranging from low to high inclusive.
+     *
+     * @param low  the lowest random value possible, inclusive
+     * @param high the highest random value possible, inclusive
+     * @return the random int
+     */
+    private int randomInt(int low, int high) {
+        return (int) (random.nextInt(high - low + 1) + low);
+    }
+
+    /**
+     * Returns an int array with a provided size and range of the randomized
+     * elements.
+     *
+     * @param size the size of the int array
+     * @param low  the smallest random element possible, inclusive
+     * @param high the largest random element possible, inclusive
+     * @return the int array of randomized elements
+     */
+    public int[] generateRandomArray(int size, int low, int high) {
+        int[] array = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = randomInt(low, high);
+        }
+        return array;
+    }
+
+    /**
+     * Returns an int array with ascending values ranging from 1 to the provided
+     * size of the array.
+     *
+     * @param size the size of the int array
+     * @return the int array of ascending elements
+     */
+    public int[] generateAscendingArray(int size) {
+        int[] array = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = i + 1;
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns an int array with descending values ranging from 1 to the provided
+     * size of the array.
+     *
+     * @param size the size of the int array
+     * @return the int array of descending elements
+     */
+    public int[] generateDescendingArray(int size) {
+        int[] array = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = size - i;
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns an int array with values ranging from 1 to the size of the array that
+     * are shuffled and randomized in order.
+     *
+     * @param size the size of the int array
+     * @return the int array of shuffled elements
+     */
+    public int[] generateShuffledArray(int size) {
+        List<Integer> list = new ArrayList<>(size);
+
+        for (int i = 1; i <= size; i++) {
+            list.add(i);
+        }
+
+        Collections.shuffle(list, random);
+
+        int[] array = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = list.get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Returns an int array of random values ranging from 1 to 10, so that most of
+     * the elements are duplicates of each other. This is the case that punishes
+     * partitioning schemes that handle duplicates poorly.
+     *
+     * @param size the size of the int array
+     * @return the int array of few unique elements
+     */
+    public int[] generateFewUniqueArray(int size) {
+        return generateRandomArray(size, 1, FEW_UNIQUE_COUNT);
+    }
+}
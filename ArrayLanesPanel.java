@@ -0,0 +1,601 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           ArrayLanesPanel.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A custom JPanel that draws every AnalyzedArray of an
+ *                  AnalyzedArrayGroup as a bar graph in its own horizontal band (a
+ *                  lane), so the traffic of auxiliary arrays like the "temp" array of
+ *                  the merge-based sorts can be seen next to the input. Unlike the
+ *                  VisualGraphPanel, which concatenates the visible arrays into one
+ *                  global index with a shared min and max, each lane is scaled to the
+ *                  length, min, and max of its own array and highlights its own last
+ *                  get and set. The lanes do not depend on the visibility of the
+ *                  arrays in the group: clicking the title of a lane collapses or
+ *                  expands it, which only changes this panel and never makes the
+ *                  group rebuild its global indices.
+ *                  Each frame copies a GroupSnapshot of each expanded array (without
+ *                  blocking the sorting thread) and writes the bars straight into the
+ *                  int pixels of an offscreen image. If an array has more elements
+ *                  than its lane has pixel columns, then each column is drawn as the
+ *                  envelope from the minimum to the maximum of its elements with a
+ *                  bar up to their mean.
+ *                  The Swing GUI also passes the panel the access events it drains
+ *                  from the AccessEventRing of the group each frame. Every element
+ *                  that was get or set since the last frame is colored like the last
+ *                  get and set (a trail of the accesses), and the title of each lane
+ *                  counts them, so the traffic between two frames is not reduced to
+ *                  the last access of each array.
+ */
+
+import javax.swing.JPanel;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+public class ArrayLanesPanel extends JPanel {
+    // The pixels between the edges of the panel and the lanes, between two lanes,
+    // and of the title above each lane.
+    private static final int EDGE_DIST = 10;
+    private static final int LANE_GAP = 6;
+    private static final int TITLE_HEIGHT = 18;
+
+    // The pixels on each side of a highlighted aggregated column that are also
+    // colored, so that a single pixel column can be seen.
+    private static final int HIGHLIGHT_COLUMN_RADIUS = 1;
+
+    // THE MAIN INPUT OF THE LANES
+    private AnalyzedArrayGroup group;
+
+    // The state of each array that the current frame is painted from, by name.
+    private Map<String, GroupSnapshot> snapshotMap;
+
+    // The names of the collapsed lanes (only their titles are drawn).
+    private Set<String> collapsedNames;
+
+    // The trail of the accesses since it was last cleared, by name: the indices
+    // that were get and set and the amount of gets and sets. The names of the
+    // array IDs of the events are kept by ID, since the IDs are never reused.
+    private Map<String, BitSet> trailGetMap, trailSetMap;
+    private Map<String, long[]> trailCountMap;
+    private String[] trailNames;
+    private long trailDroppedCount;
+
+    // The arrays and the top pixel and height of the title and bars of each lane
+    // of the last frame (to find the lane of a click).
+    private AnalyzedArray[] laneArrays;
+    private int[] laneTopY, laneBarHeight;
+
+    // The offscreen image of the lanes.
+    private BufferedImage laneImage;
+    private int[] laneImagePixels;
+
+    // Fonts and colors of the lanes.
+    private Color colorBackground, colorBarRegular, colorBarSet, colorBarGet, colorBarEnvelope,
+            colorTitleBackground, colorTitleText;
+    private Font fontTitle;
+
+    // Other states of the lanes and the sorted status of the input AnalyzedArray.
+    private boolean paintingEnabled, inputReady, sortedStatusDisplayEnabled;
+
+    public ArrayLanesPanel() {
+        snapshotMap = new HashMap<>();
+        collapsedNames = new HashSet<>();
+        trailGetMap = new HashMap<>();
+        trailSetMap = new HashMap<>();
+        trailCountMap = new HashMap<>();
+        trailNames = new String[0];
+        trailDroppedCount = 0;
+        laneArrays = new AnalyzedArray[0];
+        laneTopY = new int[0];
+        laneBarHeight = new int[0];
+
+        // Set the default colors for the lanes (the same as the VisualGraphPanel).
+        setColors(
+                new Color(175, 175, 175),
+                new Color(25, 25, 25),
+                new Color(255, 25, 25),
+                new Color(25, 255, 25),
+                new Color(50, 50, 50),
+                new Color(200, 200, 200));
+        setFont("Arial", 12);
+
+        group = null;
+        inputReady = false;
+        paintingEnabled = false;
+        sortedStatusDisplayEnabled = false;
+
+        // Clicking the title of a lane collapses or expands it.
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent event) {
+                toggleLaneAt(event.getY());
+            }
+        });
+    }
+
+    /**
+     * If the provided boolean is true, then the lanes are allowed to render.
+     * Note that in order for the lanes to be rendered, painting must be enabled
+     * AND the AnalyzedArrayGroup input must be ready.
+     *
+     * @param enabled if true, then painting is enabled
+     */
+    public void togglePainting(boolean enabled) {
+        paintingEnabled = enabled;
+    }
+
+    /**
+     * Set the input of the lanes as the provided AnalyzedArrayGroup. The lanes
+     * that were collapsed stay collapsed (by name). If the group is null, then
+     * nothing happens.
+     *
+     * @param group the AnalyzedArrayGroup whose arrays are to be drawn
+     */
+    public void setInput(AnalyzedArrayGroup group) {
+        if (group == null) {
+            return;
+        }
+        this.group = group;
+        snapshotMap.clear();
+        trailGetMap.clear();
+        trailSetMap.clear();
+        trailCountMap.clear();
+        trailNames = new String[0];
+        trailDroppedCount = 0;
+        inputReady = true;
+    }
+
+    /**
+     * Update the colors of the lanes.
+     *
+     * @param graphBackground the Color of the entire background of the lanes
+     * @param barRegular      the Color of a bar
+     * @param barSet          the Color of a bar of a recently set element
+     * @param barGet          the Color of a bar of a recently get element
+     * @param titleBackground the Color of the background of the title of a lane
+     * @param titleText       the Color of the text of the title of a lane
+     */
+    public void setColors(Color graphBackground, Color barRegular, Color barSet, Color barGet, Color titleBackground,
+            Color titleText) {
+        colorBackground = graphBackground;
+        colorBarRegular = barRegular;
+        colorBarSet = barSet;
+        colorBarGet = barGet;
+        colorTitleBackground = titleBackground;
+        colorTitleText = titleText;
+
+        // The envelope of an aggregated column is halfway between a bar and the
+        // background.
+        colorBarEnvelope = new Color((barRegular.getRed() + graphBackground.getRed()) / 2,
+                (barRegular.getGreen() + graphBackground.getGreen()) / 2,
+                (barRegular.getBlue() + graphBackground.getBlue()) / 2);
+    }
+
+    /**
+     * Update the name and size of the font for the titles of the lanes.
+     *
+     * @param fontName the String name of the font
+     * @param fontSize the int size of the font
+     */
+    public void setFont(String fontName, int fontSize) {
+        fontTitle = new Font(fontName, Font.BOLD, fontSize);
+    }
+
+    /**
+     * If the provided boolean is true, then the title of the lane of the "input"
+     * array says whether or not it is sorted in ascending order.
+     * This should be set by the Swing GUI once the sorting algorithm is finished.
+     *
+     * @param enabled if true, then the sorted status is shown
+     */
+    public void toggleDisplaySorted(boolean enabled) {
+        sortedStatusDisplayEnabled = enabled;
+    }
+
+    /**
+     * Collapses or expands the lane of the array of the provided name. A collapsed
+     * lane only shows its title, and its array is not copied by the frames. This
+     * does not change the visibility of the array in the group.
+     *
+     * @param name      the String name of the array
+     * @param collapsed true to collapse the lane and false to expand it
+     */
+    public void setLaneCollapsed(String name, boolean collapsed) {
+        if (collapsed) {
+            collapsedNames.add(name);
+        } else {
+            collapsedNames.remove(name);
+        }
+        repaint();
+    }
+
+    /**
+     * Collapses or expands the lane whose title is at the provided y pixel of the
+     * last frame, if there is one.
+     *
+     * @param y the int y pixel of the click
+     */
+    private void toggleLaneAt(int y) {
+        for (int i = 0; i < laneArrays.length; i++) {
+            if (y >= laneTopY[i] && y < laneTopY[i] + TITLE_HEIGHT) {
+                String name = laneArrays[i].getName();
+                setLaneCollapsed(name, !collapsedNames.contains(name));
+                return;
+            }
+        }
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // TRAIL OF THE ACCESSES
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Adds the provided access events (drained from the AccessEventRing of the
+     * group, see AccessEventRing.drain()) to the trail of the lanes. The events
+     * of an array ID that the group does not know are ignored.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the Swing GUI, like
+     * paintComponent().
+     *
+     * @param events the long array of events (AccessEventRing.EVENT_LONGS longs
+     *               each)
+     * @param amount the int amount of events in the array
+     */
+    public void addAccessTrail(long[] events, int amount) {
+        if (!inputReady) {
+            return;
+        }
+        for (int i = 0; i < amount; i++) {
+            long header = events[i * AccessEventRing.EVENT_LONGS];
+            String name = getTrailName(AccessEventRing.getArrayId(header));
+            int index = AccessEventRing.getIndex(header);
+            if (name == null || index < 0) {
+                continue;
+            }
+
+            boolean isSet = AccessEventRing.getOp(header) == AccessEventRing.OP_SET;
+            Map<String, BitSet> trailMap = isSet ? trailSetMap : trailGetMap;
+            BitSet trail = trailMap.get(name);
+            if (trail == null) {
+                trail = new BitSet();
+                trailMap.put(name, trail);
+            }
+            trail.set(index);
+
+            long[] counts = trailCountMap.get(name);
+            if (counts == null) {
+                counts = new long[2];
+                trailCountMap.put(name, counts);
+            }
+            counts[isSet ? 1 : 0]++;
+        }
+    }
+
+    /**
+     * Clears the trail of the lanes (the Swing GUI clears it before adding the
+     * events of a new frame) and updates the amount of events that the ring
+     * dropped, which the title of the first lane shows.
+     *
+     * @param droppedCount the long amount of events the AccessEventRing dropped
+     */
+    public void clearAccessTrail(long droppedCount) {
+        for (BitSet trail : trailGetMap.values()) {
+            trail.clear();
+        }
+        for (BitSet trail : trailSetMap.values()) {
+            trail.clear();
+        }
+        for (long[] counts : trailCountMap.values()) {
+            Arrays.fill(counts, 0);
+        }
+        trailDroppedCount = droppedCount;
+    }
+
+    /**
+     * Returns the name of the array of the provided ID in the access events, or
+     * null if the group does not know the ID (yet).
+     *
+     * @param arrayId the int ID of the array
+     * @return the String name of the array or null
+     */
+    private String getTrailName(int arrayId) {
+        if (arrayId < trailNames.length && trailNames[arrayId] != null) {
+            return trailNames[arrayId];
+        }
+        String name = group.getArrayName(arrayId);
+        if (name != null) {
+            if (arrayId >= trailNames.length) {
+                trailNames = Arrays.copyOf(trailNames, Math.max(arrayId + 1, trailNames.length * 2));
+            }
+            trailNames[arrayId] = name;
+        }
+        return name;
+    }
+
+    /**
+     * Returns true if any index from low (inclusive) to high (exclusive) is in the
+     * provided trail.
+     *
+     * @param trail the BitSet of the accessed indices, or null if there is none
+     * @param low   the int first index
+     * @param high  the int index after the last index
+     * @return true if an index of the range was accessed and false if otherwise
+     */
+    private static boolean isInTrail(BitSet trail, int low, int high) {
+        if (trail == null) {
+            return false;
+        }
+        int next = trail.nextSetBit(low);
+        return next >= 0 && next < high;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // DRAWING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Lays out the lanes of the current arrays of the group: the expanded lanes
+     * share the height that is left after the titles equally.
+     *
+     * @param arrays the AnalyzedArray array of the group in the order they were
+     *               added
+     */
+    private void layoutLanes(AnalyzedArray[] arrays) {
+        if (laneArrays != arrays) {
+            laneArrays = arrays;
+            laneTopY = new int[arrays.length];
+            laneBarHeight = new int[arrays.length];
+        }
+
+        int expandedAmount = 0;
+        for (AnalyzedArray array : arrays) {
+            if (!collapsedNames.contains(array.getName())) {
+                expandedAmount++;
+            }
+        }
+
+        int barSpace = getHeight() - 2 * EDGE_DIST - arrays.length * (TITLE_HEIGHT + LANE_GAP);
+        int barHeight = expandedAmount == 0 ? 0 : Math.max(1, barSpace / expandedAmount);
+
+        int y = EDGE_DIST;
+        for (int i = 0; i < arrays.length; i++) {
+            laneTopY[i] = y;
+            laneBarHeight[i] = collapsedNames.contains(arrays[i].getName()) ? 0 : barHeight;
+            y += TITLE_HEIGHT + laneBarHeight[i] + LANE_GAP;
+        }
+    }
+
+    /**
+     * Writes the bars of one lane into the pixels of the offscreen image from the
+     * snapshot of its array, scaled to the length, min, and max of that array.
+     * The bars (or columns) of the last get and set and of the trail are colored.
+     *
+     * @param snapshot the GroupSnapshot of the array of the lane
+     * @param trailGet the BitSet of the indices get in the trail, or null
+     * @param trailSet the BitSet of the indices set in the trail, or null
+     * @param leftX    the int leftmost pixel of the bars
+     * @param topY     the int topmost pixel of the bars
+     * @param width    the int pixel width of the bars
+     * @param height   the int pixel height of the bars
+     */
+    private void drawLaneBars(GroupSnapshot snapshot, BitSet trailGet, BitSet trailSet, int leftX, int topY,
+            int width, int height) {
+        int size = snapshot.size();
+        if (size == 0 || width < 1 || height < 1) {
+            return;
+        }
+
+        int minValue = snapshot.getMin();
+        long range = Math.max(1L, (long) snapshot.getMax() - minValue);
+        int indexLastGet = snapshot.getIndexLastGet();
+        int indexLastSet = snapshot.getIndexLastSet();
+
+        if (size <= width) {
+            // One bar per element, 9/10ths of its slot wide (at least one pixel).
+            for (int i = 0; i < size; i++) {
+                int barLeftX = (int) ((long) i * width / size);
+                int barRightX = (int) ((long) (i + 1) * width / size);
+                int barWidth = Math.max(1, (barRightX - barLeftX) * 9 / 10);
+                int barHeight = scaleHeight(snapshot.getValue(i), minValue, range, height);
+
+                int color;
+                if (i == indexLastSet || isInTrail(trailSet, i, i + 1)) {
+                    color = colorBarSet.getRGB();
+                } else if (i == indexLastGet || isInTrail(trailGet, i, i + 1)) {
+                    color = colorBarGet.getRGB();
+                } else {
+                    color = colorBarRegular.getRGB();
+                }
+                fillColumns(leftX + barLeftX, barWidth, topY + height - barHeight, topY + height, color);
+            }
+            return;
+        }
+
+        // More elements than columns: each column is the envelope and mean of its
+        // elements.
+        int columnGet = indexLastGet < 0 ? -1 : (int) ((long) indexLastGet * width / size);
+        int columnSet = indexLastSet < 0 ? -1 : (int) ((long) indexLastSet * width / size);
+        for (int column = 0; column < width; column++) {
+            int low = (int) ((long) column * size / width);
+            int high = (int) ((long) (column + 1) * size / width);
+            int columnMin = Integer.MAX_VALUE;
+            int columnMax = Integer.MIN_VALUE;
+            long columnSum = 0;
+            for (int i = low; i < high; i++) {
+                int value = snapshot.getValue(i);
+                columnMin = Math.min(columnMin, value);
+                columnMax = Math.max(columnMax, value);
+                columnSum += value;
+            }
+            int bottomY = topY + height;
+            int envelopeTopY = bottomY - scaleHeight(columnMax, minValue, range, height);
+            int envelopeBottomY = bottomY - scaleHeight(columnMin, minValue, range, height);
+            int meanTopY = bottomY - scaleHeight((int) (columnSum / (high - low)), minValue, range, height);
+
+            int color;
+            if ((columnSet >= 0 && Math.abs(column - columnSet) <= HIGHLIGHT_COLUMN_RADIUS)
+                    || isInTrail(trailSet, low, high)) {
+                color = colorBarSet.getRGB();
+            } else if ((columnGet >= 0 && Math.abs(column - columnGet) <= HIGHLIGHT_COLUMN_RADIUS)
+                    || isInTrail(trailGet, low, high)) {
+                color = colorBarGet.getRGB();
+            } else {
+                color = colorBarRegular.getRGB();
+            }
+            fillColumns(leftX + column, 1, envelopeTopY, envelopeBottomY, colorBarEnvelope.getRGB());
+            fillColumns(leftX + column, 1, meanTopY, bottomY, color);
+        }
+    }
+
+    /**
+     * Returns the pixel height of the bar of the provided value in a lane of the
+     * provided height, where the min of the lane is one pixel tall. A value
+     * outside of the min and max is clamped to the lane.
+     *
+     * @param value    the int value of the element
+     * @param minValue the int smallest value of the lane
+     * @param range    the long difference of the largest and smallest value
+     * @param height   the int pixel height of the lane
+     * @return the int pixel height of the bar
+     */
+    private int scaleHeight(int value, int minValue, long range, int height) {
+        long scaled = 1 + ((long) value - minValue) * (height - 1) / range;
+        return (int) Math.max(1, Math.min(height, scaled));
+    }
+
+    /**
+     * Fills the pixels of the offscreen image between the provided columns and
+     * rows with the provided color.
+     *
+     * @param leftX   the int leftmost pixel column
+     * @param width   the int amount of pixel columns
+     * @param topY    the int topmost pixel row (inclusive)
+     * @param bottomY the int bottommost pixel row (exclusive)
+     * @param color   the int RGB of the pixels
+     */
+    private void fillColumns(int leftX, int width, int topY, int bottomY, int color) {
+        int imageWidth = laneImage.getWidth();
+        for (int y = topY; y < bottomY; y++) {
+            int rowStart = y * imageWidth + leftX;
+            Arrays.fill(laneImagePixels, rowStart, rowStart + width, color);
+        }
+    }
+
+    /**
+     * Draws the title of each lane: the name of its array, its length, min, max,
+     * and access count, the gets and sets of its trail, and whether it is
+     * collapsed. The title of the first lane also shows the events the ring
+     * dropped (if any). Once the sort finished, the title of the "input" array
+     * also says whether it is sorted.
+     *
+     * @param graphics the Graphics object to paint to
+     * @param width    the int pixel width of the lanes
+     */
+    private void drawTitles(Graphics graphics, int width) {
+        Graphics2D g2D = (Graphics2D) graphics;
+        g2D.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2D.setFont(fontTitle);
+        FontMetrics metrics = g2D.getFontMetrics(fontTitle);
+
+        for (int i = 0; i < laneArrays.length; i++) {
+            AnalyzedArray array = laneArrays[i];
+            String name = array.getName();
+            GroupSnapshot snapshot = snapshotMap.get(name);
+
+            String title = (collapsedNames.contains(name) ? "[+] " : "[-] ") + name;
+            if (snapshot != null && laneBarHeight[i] > 0) {
+                title += String.format("   n = %d   min = %d   max = %d", snapshot.size(), snapshot.getMin(),
+                        snapshot.getMax());
+            }
+            title += String.format("   accesses = %d", array.getAccessCount());
+            long[] counts = trailCountMap.get(name);
+            if (counts != null && counts[0] + counts[1] > 0) {
+                title += String.format("   last frame: %d gets, %d sets", counts[0], counts[1]);
+            }
+            if (i == 0 && trailDroppedCount > 0) {
+                title += String.format("   dropped events = %d", trailDroppedCount);
+            }
+            if (sortedStatusDisplayEnabled && name.equals("input")) {
+                title += array.isSorted() ? "   (sorted)" : "   (not sorted)";
+            }
+
+            g2D.setColor(colorTitleBackground);
+            g2D.fillRect(EDGE_DIST, laneTopY[i], width, TITLE_HEIGHT);
+            g2D.setColor(colorTitleText);
+            g2D.drawString(title, EDGE_DIST + 4,
+                    laneTopY[i] + (TITLE_HEIGHT + metrics.getAscent() - metrics.getDescent()) / 2);
+        }
+    }
+
+    /**
+     * Paints the lanes if painting is enabled and the group has been set: the
+     * expanded arrays are copied and their bars written into the offscreen image,
+     * then the image and the titles are drawn.
+     * If the copy of an array is interrupted by the sorting thread too many times,
+     * then the lane is not drawn from it: the lane keeps the last consistent copy
+     * (from an earlier frame), or stays empty if there is none yet.
+     *
+     * @param graphics the Graphics object to paint to
+     */
+    public void paintComponent(Graphics graphics) {
+        if (!paintingEnabled || !inputReady) {
+            return;
+        }
+
+        int panelWidth = getWidth();
+        int panelHeight = getHeight();
+        if (panelWidth < 2 * EDGE_DIST + 1 || panelHeight < 2 * EDGE_DIST + 1) {
+            return;
+        }
+        if (laneImage == null || laneImage.getWidth() != panelWidth || laneImage.getHeight() != panelHeight) {
+            laneImage = new BufferedImage(panelWidth, panelHeight, BufferedImage.TYPE_INT_RGB);
+            laneImagePixels = ((DataBufferInt) laneImage.getRaster().getDataBuffer()).getData();
+        }
+        Arrays.fill(laneImagePixels, colorBackground.getRGB());
+
+        AnalyzedArray[] arrays = group.getArraysInOrder();
+        layoutLanes(arrays);
+        int width = panelWidth - 2 * EDGE_DIST;
+
+        for (int i = 0; i < arrays.length; i++) {
+            if (laneBarHeight[i] == 0) {
+                continue;
+            }
+            GroupSnapshot snapshot = snapshotMap.get(arrays[i].getName());
+            if (snapshot == null) {
+                snapshot = new GroupSnapshot();
+                snapshotMap.put(arrays[i].getName(), snapshot);
+            }
+            // A failed copy leaves the snapshot as it was, which is still consistent.
+            boolean isCopied = group.copyArraySnapshot(arrays[i], snapshot);
+            if (!isCopied && snapshot.size() == 0) {
+                continue;
+            }
+
+            // The lanes that do not fit in the panel are not drawn.
+            int barTopY = laneTopY[i] + TITLE_HEIGHT;
+            int barHeight = Math.min(laneBarHeight[i], panelHeight - barTopY);
+            drawLaneBars(snapshot, trailGetMap.get(arrays[i].getName()), trailSetMap.get(arrays[i].getName()),
+                    EDGE_DIST, barTopY, width, barHeight);
+        }
+
+        graphics.drawImage(laneImage, 0, 0, null);
+        drawTitles(graphics, width);
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           BaselineComparator.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Compares the samples of a headless run with a baseline file,
+ *                  which is the CSV output of an earlier headless run (usually
+ *                  committed with the code). The samples are matched by test case,
+ *                  algorithm, and N. The access count is deterministic for the same
+ *                  input, so if the hashes of the inputs match, then any difference
+ *                  from the baseline is a regression (or an unexpected improvement
+ *                  that needs a new baseline); an unseeded random input differs
+ *                  every run, so its access counts are not comparable. The wall
+ *                  time and CPU time of a single N are too noisy to compare on their
+ *                  own, so they are compared over the whole sweep of an algorithm:
+ *                  the ratio of the median times of each N is a sample, and the
+ *                  sweep only regresses if the 95% confidence interval of the
+ *                  geometric mean of the ratios (a t-test of the log ratios) is
+ *                  entirely above the tolerance. A single cold trial is too noisy
+ *                  for even that, so the times only regress if both the run and the
+ *                  baseline have enough trials and warm-up runs; otherwise a slower
+ *                  sweep is only reported as advisory. A sample of the baseline
+ *                  that the run is missing is a regression as well. The allocated
+ *                  bytes are not compared since they depend on the JVM.
+ *                  NOTE: NOTHING IN THIS CLASS MAY REFERENCE AWT OR SWING CLASSES.
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BaselineComparator {
+    public static final double TIME_TOLERANCE_DEFAULT = 0.25;
+
+    // The least amount of values of N of a sweep that its times are compared with.
+    private static final int TIME_SAMPLE_MINIMUM = 3;
+
+    // The least amount of trials and warm-up runs of every sample of a sweep (in
+    // both the run and the baseline) for a slower time to be a regression.
+    private static final int TIME_TRIALS_MINIMUM = 3;
+    private static final int TIME_WARMUPS_MINIMUM = 1;
+
+    private static final String[] TIME_METRIC_NAMES = { "wall-time", "cpu-time" };
+
+    private String baselinePath;
+    private double timeTolerance;
+
+    // The trials of each sample, keyed by "testCase,algorithm,n" in the order they were
+    // read or measured.
+    private LinkedHashMap<String, List<PlotSample>> baselineMap, freshMap;
+
+    // The warm-up runs and the input hash of each sample, by the same keys.
+    private Map<String, Integer> baselineWarmupMap, freshWarmupMap;
+    private Map<String, String> baselineInputHashMap, freshInputHashMap;
+
+    private int regressionAmount;
+
+    /**
+     * Initializes the BaselineComparator of the baseline file of the provided
+     * path. The file is not read until load() is called.
+     *
+     * @param baselinePath  the String path to the baseline CSV file
+     * @param timeTolerance the double fraction that the mean time may be slower
+     *                      than the baseline by (0.25 is 25% slower)
+     */
+    public BaselineComparator(String baselinePath, double timeTolerance) {
+        this.baselinePath = baselinePath;
+        this.timeTolerance = timeTolerance;
+        baselineMap = new LinkedHashMap<String, List<PlotSample>>();
+        freshMap = new LinkedHashMap<String, List<PlotSample>>();
+        baselineWarmupMap = new HashMap<String, Integer>();
+        freshWarmupMap = new HashMap<String, Integer>();
+        baselineInputHashMap = new HashMap<String, String>();
+        freshInputHashMap = new HashMap<String, String>();
+        regressionAmount = 0;
+    }
+
+    /**
+     * Reads the baseline file. If it cannot be read or a line cannot be parsed,
+     * then an error is printed and false is returned.
+     *
+     * @return true if the baseline was read and false if otherwise
+     */
+    public boolean load() {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(baselinePath), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !line.equals(HeadlessRunner.CSV_HEADER)) {
+                System.err.printf("ERROR: the baseline \"%s\" is not the CSV output of the headless runner "
+                        + "(a baseline from before the warmups and inputHash columns must be written again).\n",
+                        baselinePath);
+                return false;
+            }
+
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                List<String> fields = splitCsvLine(line);
+                if (fields.size() != 10) {
+                    System.err.printf("ERROR: line %d of the baseline \"%s\" does not have 10 fields.\n",
+                            lineNumber, baselinePath);
+                    return false;
+                }
+
+                try {
+                    int n = Integer.parseInt(fields.get(2));
+                    PlotSample sample = new PlotSample(n, Long.parseLong(fields.get(4)),
+                            Long.parseLong(fields.get(5)), Long.parseLong(fields.get(6)),
+                            Long.parseLong(fields.get(7)));
+                    String key = addSample(baselineMap, fields.get(0), fields.get(1), sample);
+                    baselineWarmupMap.put(key, Integer.parseInt(fields.get(8)));
+                    baselineInputHashMap.put(key, fields.get(9));
+                } catch (NumberFormatException exception) {
+                    System.err.printf("ERROR: line %d of the baseline \"%s\" has a field that is not a number.\n",
+                            lineNumber, baselinePath);
+                    return false;
+                }
+            }
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the baseline \"%s\" could not be read.\n", baselinePath);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records a trial of the current run to be compared.
+     *
+     * @param testCaseName  the String name of the test case
+     * @param algorithmName the String name of the algorithm that sorted
+     * @param warmups       the int amount of warm-up runs before the trials
+     * @param inputHash     the String hash of the input (see PlotCache.hashInput())
+     * @param sample        the PlotSample with the measurements of the trial
+     */
+    public void record(String testCaseName, String algorithmName, int warmups, String inputHash,
+            PlotSample sample) {
+        String key = addSample(freshMap, testCaseName, algorithmName, sample);
+        freshWarmupMap.put(key, warmups);
+        freshInputHashMap.put(key, inputHash);
+    }
+
+    /**
+     * Compares every sample of the current run that is also in the baseline and
+     * writes a report of the regressions (and of the samples that only one side has
+     * or that are not comparable) to the provided stream. A sample of the baseline
+     * that is missing from the run counts as a regression. Test cases and
+     * algorithms that were not ran are not part of the comparison, so a run with
+     * "--only" can be compared with a full baseline.
+     *
+     * @param report the PrintStream to write the report to
+     * @return the int amount of regressions
+     */
+    public int compare(PrintStream report) {
+        regressionAmount = 0;
+        int comparedAmount = 0;
+        int notComparableAmount = 0;
+        int missingAmount = 0;
+
+        // If the times of each sweep ("testCase,algorithm") are reliable enough to
+        // regress.
+        Map<String, Boolean> sweepTimeGatingMap = new HashMap<String, Boolean>();
+
+        // The log ratios of the times of each N, grouped by metric and then by the sweep
+        // ("testCase,algorithm").
+        Map<String, Map<String, List<Double>>> logRatioMap = new LinkedHashMap<String, Map<String, List<Double>>>();
+        for (String metric : TIME_METRIC_NAMES) {
+            logRatioMap.put(metric, new LinkedHashMap<String, List<Double>>());
+        }
+
+        for (Map.Entry<String, List<PlotSample>> entry : freshMap.entrySet()) {
+            List<PlotSample> baseline = baselineMap.get(entry.getKey());
+            if (baseline == null) {
+                report.printf("NEW         %s (not in the baseline)\n", entry.getKey());
+                continue;
+            }
+            comparedAmount++;
+            List<PlotSample> fresh = entry.getValue();
+
+            long baselineAccesses = baseline.get(0).getAccessCount();
+            long freshAccesses = fresh.get(0).getAccessCount();
+            if (!baselineInputHashMap.get(entry.getKey()).equals(freshInputHashMap.get(entry.getKey()))) {
+                notComparableAmount++;
+                report.printf("NOT COMPARABLE (unseeded) %s access-count: the input differs from the baseline\n",
+                        entry.getKey());
+            } else if (baselineAccesses != freshAccesses) {
+                regressionAmount++;
+                report.printf("REGRESSION  %s access-count: %d -> %d (%+d)\n", entry.getKey(), baselineAccesses,
+                        freshAccesses, freshAccesses - baselineAccesses);
+            }
+
+            // A time that the JVM could not measure (-1) or that is too short to measure
+            // (0) on either side is skipped.
+            String sweepKey = entry.getKey().substring(0, entry.getKey().lastIndexOf(','));
+            boolean isTimeGating = baseline.size() >= TIME_TRIALS_MINIMUM && fresh.size() >= TIME_TRIALS_MINIMUM
+                    && baselineWarmupMap.get(entry.getKey()) >= TIME_WARMUPS_MINIMUM
+                    && freshWarmupMap.get(entry.getKey()) >= TIME_WARMUPS_MINIMUM;
+            sweepTimeGatingMap.merge(sweepKey, isTimeGating, Boolean::logicalAnd);
+            for (String metric : TIME_METRIC_NAMES) {
+                double baselineMedian = new SampleStatistics(getMetricValues(baseline, metric)).getMedian();
+                double freshMedian = new SampleStatistics(getMetricValues(fresh, metric)).getMedian();
+                if (baselineMedian > 0 && freshMedian > 0) {
+                    logRatioMap.get(metric).computeIfAbsent(sweepKey, k -> new ArrayList<Double>())
+                            .add(Math.log(freshMedian / baselineMedian));
+                }
+            }
+        }
+
+        for (String metric : TIME_METRIC_NAMES) {
+            for (Map.Entry<String, List<Double>> entry : logRatioMap.get(metric).entrySet()) {
+                compareTime(report, entry.getKey(), metric, entry.getValue(),
+                        sweepTimeGatingMap.get(entry.getKey()));
+            }
+        }
+
+        // A sample of the baseline is only missing if its test case and algorithm
+        // were ran.
+        for (String key : baselineMap.keySet()) {
+            String prefix = key.substring(0, key.lastIndexOf(',') + 1);
+            boolean isRan = false;
+            for (String freshKey : freshMap.keySet()) {
+                if (freshKey.startsWith(prefix)) {
+                    isRan = true;
+                    break;
+                }
+            }
+            if (isRan && !freshMap.containsKey(key)) {
+                missingAmount++;
+                regressionAmount++;
+                report.printf("MISSING     %s (in the baseline but not sampled)\n", key);
+            }
+        }
+
+        report.printf("Compared %d samples with the baseline \"%s\": %d regressions (%d missing samples), "
+                + "%d samples not comparable.\n", comparedAmount, baselinePath, regressionAmount, missingAmount,
+                notComparableAmount);
+        return regressionAmount;
+    }
+
+    /**
+     * Returns the amount of regressions (including the missing samples) found by
+     * the last compare().
+     *
+     * @return the int amount of regressions
+     */
+    public int getRegressionAmount() {
+        return regressionAmount;
+    }
+
+    /**
+     * Compares a time metric of a sweep and reports it if it regressed: the lower
+     * end of the 95% confidence interval of the mean of the log ratios (fresh /
+     * baseline) of every N must be above the log of 1 + the tolerance, so that the
+     * sweep is slower by more than the tolerance with 95% confidence. A sweep with
+     * fewer than 3 values of N is not compared. If the samples of the sweep do not
+     * have at least 3 trials and 1 warm-up run on both sides, then a slower sweep
+     * is only reported as advisory and is not a regression, since the log ratios
+     * of a single cold run are correlated across N.
+     *
+     * @param report       the PrintStream to write the report to
+     * @param sweepKey     the String key of the sweep ("testCase,algorithm")
+     * @param metric       the String name of the metric (wall-time, cpu-time)
+     * @param logRatios    the List of the log ratios of the median time of each N
+     * @param isTimeGating the boolean of the times being reliable enough to regress
+     */
+    private void compareTime(PrintStream report, String sweepKey, String metric, List<Double> logRatios,
+            boolean isTimeGating) {
+        int count = logRatios.size();
+        if (count < TIME_SAMPLE_MINIMUM) {
+            return;
+        }
+
+        double sum = 0;
+        for (double logRatio : logRatios) {
+            sum += logRatio;
+        }
+        double mean = sum / count;
+        double squareSum = 0;
+        for (double logRatio : logRatios) {
+            squareSum += (logRatio - mean) * (logRatio - mean);
+        }
+        double halfWidth = SampleStatistics.criticalValue(count - 1) * Math.sqrt(squareSum / (count - 1))
+                / Math.sqrt(count);
+
+        if (mean - halfWidth <= Math.log(1 + timeTolerance)) {
+            return;
+        }
+        if (!isTimeGating) {
+            report.printf("ADVISORY    %s %s: %.2fx slower (95%% CI %.2fx to %.2fx over %d values of N, "
+                    + "tolerance %.2fx; not a regression without plotTrials >= %d and plotWarmups >= %d on both "
+                    + "sides)\n", sweepKey, metric, Math.exp(mean), Math.exp(mean - halfWidth),
+                    Math.exp(mean + halfWidth), count, 1 + timeTolerance, TIME_TRIALS_MINIMUM, TIME_WARMUPS_MINIMUM);
+            return;
+        }
+        regressionAmount++;
+        report.printf("REGRESSION  %s %s: %.2fx slower (95%% CI %.2fx to %.2fx over %d values of N, "
+                + "tolerance %.2fx)\n", sweepKey, metric, Math.exp(mean), Math.exp(mean - halfWidth),
+                Math.exp(mean + halfWidth), count, 1 + timeTolerance);
+    }
+
+    /**
+     * Adds a trial to the list of its sample in the provided map.
+     *
+     * @param map           the Map of the keys and trials of the samples
+     * @param testCaseName  the String name of the test case
+     * @param algorithmName the String name of the algorithm
+     * @param sample        the PlotSample of the trial
+     * @return the String key of the sample ("testCase,algorithm,n")
+     */
+    private static String addSample(Map<String, List<PlotSample>> map, String testCaseName, String algorithmName,
+            PlotSample sample) {
+        String key = testCaseName + "," + algorithmName + "," + sample.getN();
+        map.computeIfAbsent(key, k -> new ArrayList<PlotSample>()).add(sample);
+        return key;
+    }
+
+    /**
+     * Returns the measurements of a metric of every trial of a sample.
+     *
+     * @param samples the List of PlotSamples of the trials
+     * @param metric  the String name of the metric
+     * @return the long array of measurements
+     */
+    private static long[] getMetricValues(List<PlotSample> samples, String metric) {
+        long[] values = new long[samples.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = samples.get(i).getMetric(metric);
+        }
+        return values;
+    }
+
+    /**
+     * Splits a line of CSV into its fields, where a field can be quoted (as
+     * written by the HeadlessRunner) with a quote inside written twice.
+     *
+     * @param line the String line of CSV
+     * @return the List of String fields
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (isQuoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    isQuoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
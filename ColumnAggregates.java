@@ -0,0 +1,167 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           ColumnAggregates.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The minimum, maximum, and sum of the elements of each pixel
+ *                  column of the bar graph when the AnalyzedArrayGroup has more
+ *                  elements than the graph has pixels. The global indices of the
+ *                  group are split evenly into the columns, and the aggregates are
+ *                  updated as each element is set: the sum by the difference of the
+ *                  values, and the minimum or maximum by the new value. When the old
+ *                  value was the minimum or maximum of its column, the column is only
+ *                  marked stale and is rescanned the next time it is read, so a frame
+ *                  costs O(columns) plus the stale columns and not O(N).
+ *                  SYNCHRONIZED: every write to a visible AnalyzedArray of the group
+ *                  goes through write() while the aggregates exist, so a column is
+ *                  never rescanned between the write of an element and the update
+ *                  of its column. The group replaces its global indices and calls
+ *                  rebuild() within the same lock, so copyColumns() never rescans
+ *                  with index arrays that do not match the columns.
+ */
+
+public class ColumnAggregates {
+    private AnalyzedArrayGroup group;
+    private int size, columnAmount;
+
+    private int[] columnMin, columnMax;
+    private long[] columnSum;
+    private boolean[] columnStale;
+
+    /**
+     * Initializes the ColumnAggregates of the provided group with the provided
+     * amount of columns and computes every column from the elements of the
+     * group.
+     *
+     * @param group        the AnalyzedArrayGroup whose elements are aggregated
+     * @param columnAmount the int amount of pixel columns (at least 1)
+     */
+    public ColumnAggregates(AnalyzedArrayGroup group, int columnAmount) {
+        this.group = group;
+        this.columnAmount = Math.max(1, columnAmount);
+        columnMin = new int[this.columnAmount];
+        columnMax = new int[this.columnAmount];
+        columnSum = new long[this.columnAmount];
+        columnStale = new boolean[this.columnAmount];
+        rebuild();
+    }
+
+    /**
+     * Computes every column again from the elements of the group, such as after
+     * the global indices of the group changed.
+     */
+    public synchronized void rebuild() {
+        size = group.size();
+        for (int column = 0; column < columnAmount; column++) {
+            rescan(column);
+            columnSum[column] = 0;
+            for (int i = getColumnStart(column); i < getColumnStart(column + 1); i++) {
+                columnSum[column] += group.getExternal(i);
+            }
+        }
+    }
+
+    /**
+     * Sets an element of an AnalyzedArray of the group and updates its column.
+     * The old value is read and the new value is written within the lock of the
+     * aggregates.
+     *
+     * @param array       the int array of the AnalyzedArray
+     * @param index       the int local index of the element in the array
+     * @param globalIndex the int global index of the element in the group
+     * @param value       the new int value of the element
+     */
+    public synchronized void write(int[] array, int index, int globalIndex, int value) {
+        int oldValue = array[index];
+        array[index] = value;
+        if (globalIndex < 0 || globalIndex >= size) {
+            return;
+        }
+
+        int column = getColumn(globalIndex);
+        columnSum[column] += (long) value - oldValue;
+        if (columnStale[column]) {
+            return;
+        }
+
+        // A new extreme widens the column, but an old extreme that was overwritten may
+        // not have been the only one, so the column is rescanned later.
+        if ((oldValue == columnMin[column] && value > oldValue)
+                || (oldValue == columnMax[column] && value < oldValue)) {
+            columnStale[column] = true;
+        } else {
+            columnMin[column] = Math.min(columnMin[column], value);
+            columnMax[column] = Math.max(columnMax[column], value);
+        }
+    }
+
+    /**
+     * Copies the minimum, maximum, and mean of every column into the provided
+     * arrays, rescanning the stale columns first. A column without elements (if
+     * there are more columns than elements) has a minimum greater than its
+     * maximum.
+     *
+     * @param min  the int array of at least getColumnAmount() minimums
+     * @param max  the int array of at least getColumnAmount() maximums
+     * @param mean the double array of at least getColumnAmount() means
+     */
+    public synchronized void copyColumns(int[] min, int[] max, double[] mean) {
+        for (int column = 0; column < columnAmount; column++) {
+            if (columnStale[column]) {
+                rescan(column);
+            }
+            min[column] = columnMin[column];
+            max[column] = columnMax[column];
+
+            int count = getColumnStart(column + 1) - getColumnStart(column);
+            mean[column] = count == 0 ? 0 : columnSum[column] / (double) count;
+        }
+    }
+
+    public int getColumnAmount() {
+        return columnAmount;
+    }
+
+    /**
+     * Returns the column of the provided global index.
+     *
+     * @param globalIndex the int global index of an element
+     * @return the int column, starting at 0
+     */
+    public int getColumn(int globalIndex) {
+        return (int) ((long) globalIndex * columnAmount / Math.max(1, size));
+    }
+
+    /**
+     * Returns the first global index of the provided column (or the size of the
+     * group for the column after the last one). It is the smallest index whose
+     * getColumn() is the column.
+     *
+     * @param column the int column, starting at 0
+     * @return the int first global index
+     */
+    private int getColumnStart(int column) {
+        return (int) (((long) column * size + columnAmount - 1) / columnAmount);
+    }
+
+    /**
+     * Recomputes the minimum and maximum of the provided column from the elements
+     * of the group and marks it as not stale.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the synchronized methods.
+     *
+     * @param column the int column to rescan
+     */
+    private void rescan(int column) {
+        int start = getColumnStart(column);
+        int end = getColumnStart(column + 1);
+
+        columnMin[column] = Integer.MAX_VALUE;
+        columnMax[column] = Integer.MIN_VALUE;
+        for (int i = start; i < end; i++) {
+            int element = group.getExternal(i);
+            columnMin[column] = Math.min(columnMin[column], element);
+            columnMax[column] = Math.max(columnMax[column], element);
+        }
+        columnStale[column] = false;
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           ComplexityFit.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Fits the points of a scatter plot against the candidate models
+ *                  of growth a*n, a*n log n, a*n^2, and the power law a*n^b (by a
+ *                  linear regression of log y against log n) so the complexity of
+ *                  an algorithm does not have to be guessed from the shape of the
+ *                  curve. Every model is compared by its R^2 on the original
+ *                  (not logarithmic) scale, and the model with the largest R^2 is
+ *                  the best fit. Since every hybrid algorithm is Merge Sort with
+ *                  another algorithm for small subarrays, the measured exponent of
+ *                  a hybrid is also checked against the exponent that Merge Sort
+ *                  predicts over the same values of N.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ComplexityFit {
+    // The largest difference between the measured and predicted exponent of a
+    // hybrid algorithm that is not flagged.
+    private static final double EXPONENT_TOLERANCE = 0.15;
+
+    // The base algorithm of every hybrid algorithm and the model of the base.
+    private static final String HYBRID_BASE_ALGORITHM = "merge";
+    private static final String HYBRID_BASE_MODEL = "n log n";
+
+    private final String model;
+    private final double coefficient, exponent, rSquared;
+
+    /**
+     * Initializes the ComplexityFit of a model with its fitted parameters.
+     *
+     * @param model       the String name of the model (n, n log n, n^2, n^b)
+     * @param coefficient the double coefficient a of the model
+     * @param exponent    the double exponent b of the model (1 for n and n log n
+     *                    and 2 for n^2)
+     * @param rSquared    the double coefficient of determination of the fit
+     */
+    private ComplexityFit(String model, double coefficient, double exponent, double rSquared) {
+        this.model = model;
+        this.coefficient = coefficient;
+        this.exponent = exponent;
+        this.rSquared = rSquared;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // FITTING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Fits every candidate model to the provided points and returns the fits in
+     * the order a*n, a*n log n, a*n^2, a*n^b. The power law is left out if fewer
+     * than two points have a positive x-value and y-value. If there are fewer than
+     * two points, then the list is empty.
+     *
+     * @param points the List of ScatterPoints (x is N and y is the measurement)
+     * @return the List of ComplexityFits of every model
+     */
+    public static List<ComplexityFit> fitAll(List<ScatterPoint> points) {
+        List<ComplexityFit> fits = new ArrayList<ComplexityFit>();
+        if (points == null || points.size() < 2) {
+            return fits;
+        }
+
+        fits.add(fitScaled(points, "n", 1));
+        fits.add(fitScaled(points, "n log n", 1));
+        fits.add(fitScaled(points, "n^2", 2));
+
+        ComplexityFit powerLaw = fitPowerLaw(points);
+        if (powerLaw != null) {
+            fits.add(powerLaw);
+        }
+        return fits;
+    }
+
+    /**
+     * Returns the fit of the model with the largest R^2 among the provided points,
+     * or null if there are fewer than two points. A tie is won by the simpler
+     * model (the one earlier in the order a*n, a*n log n, a*n^2, a*n^b).
+     *
+     * @param points the List of ScatterPoints (x is N and y is the measurement)
+     * @return the best ComplexityFit or null
+     */
+    public static ComplexityFit fitBest(List<ScatterPoint> points) {
+        ComplexityFit best = null;
+        for (ComplexityFit fit : fitAll(points)) {
+            if (best == null || fit.rSquared > best.rSquared) {
+                best = fit;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Fits y = a * f(n) for a fixed shape f by least squares through the origin:
+     * a = sum(f(n) * y) / sum(f(n)^2).
+     *
+     * @param points   the List of ScatterPoints to fit
+     * @param model    the String name of the shape (n, n log n, n^2)
+     * @param exponent the double exponent of the shape
+     * @return the ComplexityFit of the shape
+     */
+    private static ComplexityFit fitScaled(List<ScatterPoint> points, String model, double exponent) {
+        double sumFY = 0, sumFF = 0;
+        for (ScatterPoint point : points) {
+            double f = shape(model, point.getX());
+            sumFY += f * point.getY();
+            sumFF += f * f;
+        }
+        double coefficient = sumFF == 0 ? 0 : sumFY / sumFF;
+
+        ComplexityFit fit = new ComplexityFit(model, coefficient, exponent, 0);
+        return new ComplexityFit(model, coefficient, exponent, rSquared(points, fit));
+    }
+
+    /**
+     * Fits y = a * n^b by the linear regression log y = log a + b log n over the
+     * points with a positive x-value and y-value.
+     *
+     * @param points the List of ScatterPoints to fit
+     * @return the ComplexityFit of the power law or null if there are fewer than
+     *         two usable points (or they all have the same N)
+     */
+    private static ComplexityFit fitPowerLaw(List<ScatterPoint> points) {
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        int count = 0;
+        for (ScatterPoint point : points) {
+            if (point.getX() <= 0 || point.getY() <= 0) {
+                continue;
+            }
+            double logX = Math.log(point.getX());
+            double logY = Math.log(point.getY());
+            sumX += logX;
+            sumY += logY;
+            sumXX += logX * logX;
+            sumXY += logX * logY;
+            count++;
+        }
+
+        double denominator = count * sumXX - sumX * sumX;
+        if (count < 2 || denominator == 0) {
+            return null;
+        }
+        double exponent = (count * sumXY - sumX * sumY) / denominator;
+        double coefficient = Math.exp((sumY - exponent * sumX) / count);
+
+        ComplexityFit fit = new ComplexityFit("n^b", coefficient, exponent, 0);
+        return new ComplexityFit("n^b", coefficient, exponent, rSquared(points, fit));
+    }
+
+    /**
+     * Returns the value of the shape of a model at the provided N, without the
+     * coefficient. The logarithm is base 2.
+     *
+     * @param model the String name of the shape (n, n log n, n^2)
+     * @param n     the double N
+     * @return the double value of the shape
+     */
+    private static double shape(String model, double n) {
+        switch (model) {
+            case "n log n":
+                return n <= 1 ? 0 : n * Math.log(n) / Math.log(2);
+            case "n^2":
+                return n * n;
+            default:
+                return n;
+        }
+    }
+
+    /**
+     * Returns the coefficient of determination R^2 = 1 - SS_res / SS_tot of the
+     * provided fit over the points on the original scale. If every y-value is the
+     * same, then it is 1 for a perfect fit and 0 otherwise.
+     *
+     * @param points the List of ScatterPoints
+     * @param fit    the ComplexityFit to evaluate
+     * @return the double R^2 (at most 1, and negative for a fit worse than the
+     *         mean)
+     */
+    private static double rSquared(List<ScatterPoint> points, ComplexityFit fit) {
+        double mean = 0;
+        for (ScatterPoint point : points) {
+            mean += point.getY();
+        }
+        mean /= points.size();
+
+        double residualSum = 0, totalSum = 0;
+        for (ScatterPoint point : points) {
+            double residual = point.getY() - fit.predict(point.getX());
+            residualSum += residual * residual;
+            totalSum += (point.getY() - mean) * (point.getY() - mean);
+        }
+        if (totalSum == 0) {
+            return residualSum == 0 ? 1 : 0;
+        }
+        return 1 - residualSum / totalSum;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // HYBRID ALGORITHMS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the name of the base algorithm of the provided hybrid algorithm, or
+     * null if it is not a hybrid algorithm. A hybrid is found by its name in the
+     * algorithm names of the TestCaseReader (instead of a list of its own that
+     * could go stale): two algorithm names joined by a "-", one of which is the
+     * base "merge" (such as "merge-insertion" or "heap-merge").
+     *
+     * @param algorithmName the String name of the algorithm (as in sortMethod)
+     * @return the String name of the base algorithm or null
+     */
+    public static String getHybridBaseAlgorithm(String algorithmName) {
+        List<String> algorithmNames = TestCaseReader.getAlgorithmNameList();
+        String[] parts = algorithmName.split("-");
+        if (!algorithmNames.contains(algorithmName) || parts.length != 2) {
+            return null;
+        }
+
+        String other;
+        if (parts[0].equals(HYBRID_BASE_ALGORITHM)) {
+            other = parts[1];
+        } else if (parts[1].equals(HYBRID_BASE_ALGORITHM)) {
+            other = parts[0];
+        } else {
+            return null;
+        }
+        if (other.equals(HYBRID_BASE_ALGORITHM) || !algorithmNames.contains(other)) {
+            return null;
+        }
+        return HYBRID_BASE_ALGORITHM;
+    }
+
+    /**
+     * Returns a warning if the provided algorithm is a hybrid and the power-law
+     * exponent of its points differs from the exponent its base algorithm
+     * predicts by more than 0.15, or null if otherwise.
+     * The predicted exponent is the power-law fit of the model of the base
+     * algorithm (such as n log n for Merge Sort) over the same values of N, since
+     * n log n does not have a single exponent.
+     *
+     * @param algorithmName the String name of the algorithm (as in sortMethod)
+     * @param points        the List of ScatterPoints of the algorithm
+     * @return the String warning or null
+     */
+    public static String checkHybridExponent(String algorithmName, List<ScatterPoint> points) {
+        String baseAlgorithm = getHybridBaseAlgorithm(algorithmName);
+        if (baseAlgorithm == null) {
+            return null;
+        }
+
+        ComplexityFit measured = fitPowerLaw(points);
+        if (measured == null) {
+            return null;
+        }
+
+        String baseModel = HYBRID_BASE_MODEL;
+        List<ScatterPoint> predictedPoints = new ArrayList<ScatterPoint>();
+        for (ScatterPoint point : points) {
+            long predicted = Math.round(1000 * shape(baseModel, point.getX()));
+            predictedPoints.add(new ScatterPoint(point.getX(), predicted));
+        }
+        ComplexityFit predicted = fitPowerLaw(predictedPoints);
+        if (predicted == null) {
+            return null;
+        }
+
+        if (Math.abs(measured.exponent - predicted.exponent) <= EXPONENT_TOLERANCE) {
+            return null;
+        }
+        return String.format("%s grows as n^%.2f, but its base %s (%s) predicts n^%.2f", algorithmName,
+                measured.exponent, baseAlgorithm, baseModel, predicted.exponent);
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // RESULTS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the value of the fitted model at the provided N.
+     *
+     * @param n the double N
+     * @return the double value of the model
+     */
+    public double predict(double n) {
+        if (model.equals("n^b")) {
+            return n <= 0 ? 0 : coefficient * Math.pow(n, exponent);
+        }
+        return coefficient * shape(model, n);
+    }
+
+    /**
+     * Returns a one-line summary of the fit, such as "3.02 n log n (R^2 = 0.9991)"
+     * or "0.48 n^1.97 (R^2 = 0.9999)".
+     *
+     * @return the String summary
+     */
+    public String getSummary() {
+        String formula;
+        if (model.equals("n^b")) {
+            formula = String.format("%.4g n^%.2f", coefficient, exponent);
+        } else {
+            formula = String.format("%.4g %s", coefficient, model);
+        }
+        return String.format("%s (R^2 = %.4f)", formula, rSquared);
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public double getCoefficient() {
+        return coefficient;
+    }
+
+    public double getExponent() {
+        return exponent;
+    }
+
+    public double getRSquared() {
+        return rSquared;
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           FrameRenderer.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Renders the bar graph visualization of one test case to a
+ *                  sequence of PNG images or an animated GIF without a display, far
+ *                  faster than a live run. The algorithm sorts without any delay, and
+ *                  every K accesses the sorting thread paints a frame with a
+ *                  VisualGraphPanel (the same bar graph as the Swing GUI, which only
+ *                  redraws the bars that changed) into an offscreen image. The frames
+ *                  are encoded in parallel by a pool of worker threads (see
+ *                  GifEncoder for the GIF) and written in order as they finish. A
+ *                  fixed amount of frame images is reused, so the sort waits when
+ *                  every image is still being encoded.
+ *                  If K is not given, the test case is first sorted once without
+ *                  rendering to count its accesses, and K is chosen for about
+ *                  FRAME_AMOUNT_DEFAULT frames.
+ *
+ *                  Usage: java Main --render path --only name
+ *                                   [--test-cases path] [--frame-every K]
+ *                                   [--size WIDTHxHEIGHT] [--fps F] [--threads T]
+ *                  A path that ends with ".gif" is written as an animated GIF;
+ *                  otherwise it is a directory of frame_000000.png, frame_000001.png,
+ *                  and so on.
+ */
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+public class FrameRenderer implements SortListener {
+    public static final int FRAME_AMOUNT_DEFAULT = 600;
+    public static final int FPS_DEFAULT = 30;
+
+    // The smallest frame that the bar graph fits in.
+    private static final int FRAME_WIDTH_MINIMUM = 320;
+    private static final int FRAME_HEIGHT_MINIMUM = 200;
+
+    // The last frame (with the sorted message) is shown for this long in a GIF.
+    private static final int LAST_FRAME_CENTISECONDS = 200;
+
+    // The colors of the bar graph of the Swing GUI (see SortDemoSwing).
+    private static final Color COLOR_WINDOW_BACKGROUND = new Color(31, 55, 83);
+    private static final Color COLOR_GRAPH_BACKGROUND = new Color(0, 131, 255);
+    private static final Color COLOR_BAR_REGULAR = new Color(5, 5, 25);
+    private static final Color COLOR_BAR_SET = new Color(230, 25, 25);
+    private static final Color COLOR_BAR_GET = new Color(25, 230, 25);
+    private static final Color COLOR_MESSAGE_BACKGROUND = new Color(50, 50, 50);
+    private static final Color COLOR_MESSAGE_TEXT = new Color(200, 200, 200);
+
+    private String outputPath;
+    private String testCaseFilePath;
+    private String testCaseName;
+    private long frameInterval;
+    private int frameWidth, frameHeight;
+    private int fps;
+    private int threadAmount;
+
+    // The state of the render of the test case.
+    private boolean gifEnabled;
+    private AnalyzedArrayGroup group;
+    private VisualGraphPanel visualGraphPanel;
+    private int graphSize;
+    private long accessesSinceFrame;
+    private int frameAmount, writtenFrameAmount;
+    private boolean failed;
+
+    private ExecutorService workers;
+    private BlockingQueue<BufferedImage> freeImages;
+    private ArrayDeque<Future<byte[]>> pendingFrames;
+    private OutputStream gifOutput;
+
+    /**
+     * Initializes the FrameRenderer with the default settings: test cases from
+     * "test_cases.txt", frames of 1280x720 at FPS_DEFAULT, K chosen for about
+     * FRAME_AMOUNT_DEFAULT frames, and one worker per processor.
+     */
+    public FrameRenderer() {
+        outputPath = null;
+        testCaseFilePath = "test_cases.txt";
+        testCaseName = null;
+        frameInterval = 0;
+        frameWidth = 1280;
+        frameHeight = 720;
+        fps = FPS_DEFAULT;
+        threadAmount = Runtime.getRuntime().availableProcessors();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // PARSING THE ARGUMENTS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Updates the settings with the provided command-line arguments. If an
+     * argument is not recognized or its value is missing or invalid, or if
+     * "--render" or "--only" is missing, then an error is printed and false is
+     * returned.
+     *
+     * @param args the String command-line arguments
+     * @return true if every argument was parsed and false if otherwise
+     */
+    public boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                System.err.printf("ERROR: the option \"%s\" is missing its value.\n", option);
+                return false;
+            }
+            String value = args[++i];
+
+            switch (option) {
+                case "--render":
+                    outputPath = value;
+                    break;
+                case "--test-cases":
+                    testCaseFilePath = value;
+                    break;
+                case "--only":
+                    testCaseName = value;
+                    break;
+                case "--frame-every":
+                    frameInterval = parsePositive(value);
+                    if (frameInterval < 1) {
+                        System.err.printf("ERROR: the frame interval \"%s\" is not a positive integer.\n", value);
+                        return false;
+                    }
+                    break;
+                case "--size":
+                    String[] dimensions = value.split("x");
+                    frameWidth = dimensions.length == 2 ? (int) parsePositive(dimensions[0]) : -1;
+                    frameHeight = dimensions.length == 2 ? (int) parsePositive(dimensions[1]) : -1;
+                    if (frameWidth < FRAME_WIDTH_MINIMUM || frameHeight < FRAME_HEIGHT_MINIMUM) {
+                        System.err.printf("ERROR: the size \"%s\" is not WIDTHxHEIGHT of at least %dx%d.\n", value,
+                                FRAME_WIDTH_MINIMUM, FRAME_HEIGHT_MINIMUM);
+                        return false;
+                    }
+                    break;
+                case "--fps":
+                    fps = (int) parsePositive(value);
+                    if (fps < 1 || fps > 50) {
+                        System.err.printf("ERROR: the frame rate \"%s\" is not an integer from 1 to 50.\n", value);
+                        return false;
+                    }
+                    break;
+                case "--threads":
+                    threadAmount = (int) parsePositive(value);
+                    if (threadAmount < 1) {
+                        System.err.printf("ERROR: the thread amount \"%s\" is not a positive integer.\n", value);
+                        return false;
+                    }
+                    break;
+                default:
+                    System.err.printf("ERROR: unrecognized option \"%s\".\n", option);
+                    return false;
+            }
+        }
+
+        if (outputPath == null || testCaseName == null) {
+            System.err.printf("ERROR: the options \"--render\" and \"--only\" (one test case) are required.\n");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the provided String as a positive integer, or -1 if it is not one.
+     *
+     * @param value the String to parse
+     * @return the long integer, or -1
+     */
+    private static long parsePositive(String value) {
+        try {
+            long number = Long.parseLong(value);
+            return number > 0 ? number : -1;
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // RENDERING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Reads the test case and renders its sort to the output path.
+     *
+     * @return true if every frame was written and false if otherwise
+     */
+    public boolean run() {
+        TestCaseReader reader = new TestCaseReader(testCaseFilePath);
+        if (!reader.isReadSuccessful()) {
+            return false;
+        }
+        Map<String, TestCase> testCaseMap = reader.getTestCases();
+        TestCase testCase = testCaseMap.get(testCaseName);
+        if (testCase == null) {
+            System.err.printf("ERROR: the test case \"%s\" does not exist.\n", testCaseName);
+            return false;
+        }
+
+        if (frameInterval == 0) {
+            AnalyzedArrayGroup countGroup = new AnalyzedArrayGroup(null);
+            countGroup.toggleSleep(false);
+            countGroup.toggleReportDelayUpdates(false);
+            countGroup.setSelectionK(testCase.getSelectK());
+            countGroup.addArray(testCase.getInput(), "input", true);
+            testCase.getAlgorithm().sort(countGroup);
+            frameInterval = Math.max(1, countGroup.getAccessCount() / FRAME_AMOUNT_DEFAULT);
+        }
+
+        gifEnabled = outputPath.toLowerCase().endsWith(".gif");
+        if (!openOutput()) {
+            return false;
+        }
+
+        // The frame images are reused; two per worker keep every worker busy while the
+        // sort paints the next frame.
+        workers = Executors.newFixedThreadPool(threadAmount);
+        freeImages = new ArrayBlockingQueue<>(threadAmount * 2);
+        for (int i = 0; i < threadAmount * 2; i++) {
+            freeImages.add(new BufferedImage(frameWidth, frameHeight, BufferedImage.TYPE_INT_RGB));
+        }
+        pendingFrames = new ArrayDeque<>();
+        frameAmount = 0;
+        writtenFrameAmount = 0;
+        failed = false;
+
+        // The group reports every access to testCaseArrayUpdated(), which paints a frame
+        // every frameInterval accesses in the sorting thread.
+        group = new AnalyzedArrayGroup(this);
+        group.toggleSleep(false);
+        group.toggleReportDelayUpdates(false);
+        group.setSelectionK(testCase.getSelectK());
+        group.addArray(testCase.getInput(), "input", true);
+
+        visualGraphPanel = new VisualGraphPanel();
+        visualGraphPanel.setSize(frameWidth, frameHeight);
+        visualGraphPanel.setColors(COLOR_GRAPH_BACKGROUND, COLOR_BAR_REGULAR, COLOR_BAR_SET, COLOR_BAR_GET,
+                COLOR_MESSAGE_BACKGROUND, COLOR_MESSAGE_TEXT);
+        visualGraphPanel.setInput(group);
+        visualGraphPanel.togglePainting(true);
+        graphSize = group.size();
+
+        long startNanos = System.nanoTime();
+        renderFrame(false);
+        accessesSinceFrame = 0;
+        group.toggleReportDelayUpdates(true);
+        testCase.getAlgorithm().sort(group);
+        group.toggleReportDelayUpdates(false);
+
+        visualGraphPanel.toggleDisplaySorted(true);
+        renderFrame(true);
+
+        writeFinishedFrames(true);
+        workers.shutdown();
+        boolean isClosed = closeOutput();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        if (failed || !isClosed) {
+            return false;
+        }
+
+        System.out.printf("Rendered %d frames (one every %d accesses) of %s on \"%s\" to \"%s\" in %.2f s (%.1f "
+                + "frames per second, %.1f s at %d fps).\n", writtenFrameAmount, frameInterval,
+                testCase.getAlgorithmName(), testCase.getName(), outputPath, seconds, writtenFrameAmount / seconds,
+                writtenFrameAmount / (double) fps, fps);
+        return true;
+    }
+
+    /**
+     * Paints the current state of the group into a free frame image (waiting for
+     * one if every image is being encoded) and gives it to the workers to encode.
+     * The frames that finished encoding are then written.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the sorting thread.
+     *
+     * @param isLast true if this is the last frame (shown longer in a GIF)
+     */
+    private void renderFrame(boolean isLast) {
+        if (failed) {
+            return;
+        }
+
+        // The bars are resized when the algorithm adds, removes, or hides arrays.
+        if (group.size() != graphSize) {
+            graphSize = group.size();
+            visualGraphPanel.setInput(group);
+        }
+
+        BufferedImage image;
+        try {
+            image = freeImages.take();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            failed = true;
+            return;
+        }
+
+        Graphics graphics = image.getGraphics();
+        graphics.setColor(COLOR_WINDOW_BACKGROUND);
+        graphics.fillRect(0, 0, frameWidth, frameHeight);
+        visualGraphPanel.paintComponent(graphics);
+        graphics.dispose();
+
+        int delay = isLast ? LAST_FRAME_CENTISECONDS : Math.max(2, Math.round(100f / fps));
+        pendingFrames.add(workers.submit(() -> {
+            try {
+                return encodeFrame(image, delay);
+            } finally {
+                freeImages.add(image);
+            }
+        }));
+        frameAmount++;
+
+        writeFinishedFrames(false);
+    }
+
+    /**
+     * Encodes a frame image as a GIF frame or a PNG file.
+     *
+     * NOT SYNCHRONIZED: expected to be called by a worker thread.
+     *
+     * @param image             the BufferedImage of the frame
+     * @param delayCentiseconds the int time a GIF frame is shown in 1/100 seconds
+     * @return the byte array of the encoded frame
+     * @throws IOException if the PNG cannot be encoded
+     */
+    private byte[] encodeFrame(BufferedImage image, int delayCentiseconds) throws IOException {
+        if (gifEnabled) {
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            return GifEncoder.encodeFrame(pixels, frameWidth, frameHeight, delayCentiseconds);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes the encoded frames in order, from the oldest frame until one that is
+     * not encoded yet (or every frame if set to wait).
+     *
+     * @param waitForAll true if every frame is waited for and written
+     */
+    private void writeFinishedFrames(boolean waitForAll) {
+        while (!pendingFrames.isEmpty() && (waitForAll || pendingFrames.peek().isDone())) {
+            Future<byte[]> frame = pendingFrames.poll();
+            if (failed) {
+                continue;
+            }
+            try {
+                byte[] data = frame.get();
+                if (gifEnabled) {
+                    gifOutput.write(data);
+                } else {
+                    String name = String.format("frame_%06d.png", writtenFrameAmount);
+                    try (FileOutputStream output = new FileOutputStream(new File(outputPath, name))) {
+                        output.write(data);
+                    }
+                }
+                writtenFrameAmount++;
+            } catch (IOException | ExecutionException exception) {
+                System.err.printf("ERROR: frame %d could not be written to \"%s\".\n", writtenFrameAmount,
+                        outputPath);
+                failed = true;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                failed = true;
+            }
+        }
+    }
+
+    /**
+     * Opens the GIF file and writes its header, or creates the directory of the
+     * PNG files.
+     *
+     * @return true if the output can be written and false if otherwise
+     */
+    private boolean openOutput() {
+        if (!gifEnabled) {
+            File directory = new File(outputPath);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                System.err.printf("ERROR: the directory \"%s\" could not be created.\n", outputPath);
+                return false;
+            }
+            return true;
+        }
+
+        try {
+            gifOutput = new BufferedOutputStream(new FileOutputStream(outputPath), 1 << 16);
+            GifEncoder.writeHeader(gifOutput, frameWidth, frameHeight);
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the file \"%s\" could not be opened.\n", outputPath);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ends and closes the GIF file (nothing is left to close for PNG files).
+     *
+     * @return true if the output was completely written and false if otherwise
+     */
+    private boolean closeOutput() {
+        if (!gifEnabled) {
+            return true;
+        }
+        try {
+            GifEncoder.writeTrailer(gifOutput);
+            gifOutput.close();
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the file \"%s\" could not be written.\n", outputPath);
+            return false;
+        }
+        return true;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // SORT LISTENER
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Called by the group after every access (and change to its arrays) in the
+     * sorting thread: paints a frame once frameInterval more accesses happened.
+     * The calls are counted instead of asking the group for its access count,
+     * which sums the counts of every array.
+     */
+    @Override
+    public void testCaseArrayUpdated() {
+        if (++accessesSinceFrame >= frameInterval) {
+            accessesSinceFrame = 0;
+            renderFrame(false);
+        }
+    }
+
+    /**
+     * Not used: the last frame is painted after the sort returns.
+     */
+    @Override
+    public void testCaseFinished() {
+    }
+
+    /**
+     * Parses the command-line arguments and renders the test case.
+     * Exits with a status of 1 if the arguments or the test case file could not
+     * be read or a frame could not be written. AWT is ran headless, so no display
+     * is needed.
+     *
+     * @param args the String command-line arguments
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        FrameRenderer renderer = new FrameRenderer();
+        if (!renderer.parseArguments(args) || !renderer.run()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           GifEncoder.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Writes an animated GIF (GIF89a) one frame at a time. Every frame
+ *                  is encoded on its own into a complete block of bytes (its delay,
+ *                  its own color table, and its LZW compressed pixels), so the frames
+ *                  can be encoded in parallel and then only written in order after
+ *                  the header. The color table of a frame holds its exact colors,
+ *                  since a frame of the bar graph only has a few of them; a frame
+ *                  with more than 256 colors is mapped to a 6x6x6 color cube instead.
+ *                  Every method is static and keeps no state, so it is safe to call
+ *                  from any thread.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+public class GifEncoder {
+    // The largest LZW code of a GIF (codes have at most 12 bits).
+    private static final int CODE_AMOUNT_MAXIMUM = 1 << 12;
+
+    // The slots of the hash table of the LZW dictionary (twice its largest size).
+    private static final int DICTIONARY_HASH_SIZE = 1 << 13;
+
+    // The slots of the hash table of the colors of a frame.
+    private static final int COLOR_HASH_SIZE = 1 << 10;
+
+    // The largest data sub-block of a GIF.
+    private static final int SUB_BLOCK_SIZE = 255;
+
+    /**
+     * Writes the header of an animated GIF of the provided size that loops
+     * forever. The frames from encodeFrame() are written after it and
+     * writeTrailer() after the last frame.
+     *
+     * @param output the OutputStream of the GIF file
+     * @param width  the int width of every frame in pixels
+     * @param height the int height of every frame in pixels
+     * @throws IOException if the stream cannot be written
+     */
+    public static void writeHeader(OutputStream output, int width, int height) throws IOException {
+        output.write(new byte[] { 'G', 'I', 'F', '8', '9', 'a' });
+
+        // The logical screen, without a global color table (every frame has its own).
+        writeShort(output, width);
+        writeShort(output, height);
+        output.write(0);
+        output.write(0);
+        output.write(0);
+
+        // The application extension that loops the animation forever.
+        output.write(new byte[] { 0x21, (byte) 0xFF, 0x0B, 'N', 'E', 'T', 'S', 'C', 'A', 'P', 'E', '2', '.', '0',
+                0x03, 0x01, 0x00, 0x00, 0x00 });
+    }
+
+    /**
+     * Writes the end of a GIF after its last frame.
+     *
+     * @param output the OutputStream of the GIF file
+     * @throws IOException if the stream cannot be written
+     */
+    public static void writeTrailer(OutputStream output) throws IOException {
+        output.write(0x3B);
+    }
+
+    /**
+     * Encodes one frame of the provided RGB pixels (row by row, such as the
+     * DataBufferInt of a BufferedImage.TYPE_INT_RGB) into the bytes that are
+     * written between the header and the trailer: the delay, the color table of
+     * the frame, and the LZW compressed color indices.
+     *
+     * @param pixels            the int array of RGB pixels (the top 8 bits are
+     *                          ignored)
+     * @param width             the int width of the frame
+     * @param height            the int height of the frame
+     * @param delayCentiseconds the int time the frame is shown in 1/100 seconds
+     * @return the byte array of the encoded frame
+     */
+    public static byte[] encodeFrame(int[] pixels, int width, int height, int delayCentiseconds) {
+        int pixelAmount = width * height;
+        byte[] indices = new byte[pixelAmount];
+        int[] palette = new int[256];
+        int paletteSize = buildExactPalette(pixels, pixelAmount, indices, palette);
+        if (paletteSize < 0) {
+            paletteSize = buildCubePalette(pixels, pixelAmount, indices, palette);
+        }
+
+        // The color table has 2^tableBits entries and the LZW codes start with one more
+        // bit than the indices (at least 2).
+        int tableBits = 1;
+        while ((1 << tableBits) < paletteSize) {
+            tableBits++;
+        }
+        int minCodeSize = Math.max(2, tableBits);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(pixelAmount / 8 + 1024);
+
+        // The graphic control extension: no disposal of the frame, no transparency.
+        output.write(0x21);
+        output.write(0xF9);
+        output.write(0x04);
+        output.write(0x04);
+        writeShort(output, delayCentiseconds);
+        output.write(0);
+        output.write(0);
+
+        // The image descriptor with a local color table.
+        output.write(0x2C);
+        writeShort(output, 0);
+        writeShort(output, 0);
+        writeShort(output, width);
+        writeShort(output, height);
+        output.write(0x80 | (tableBits - 1));
+        for (int i = 0; i < (1 << tableBits); i++) {
+            int rgb = i < paletteSize ? palette[i] : 0;
+            output.write((rgb >> 16) & 0xFF);
+            output.write((rgb >> 8) & 0xFF);
+            output.write(rgb & 0xFF);
+        }
+
+        output.write(minCodeSize);
+        compress(indices, minCodeSize, output);
+        return output.toByteArray();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // COLORS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Finds the exact colors of the pixels and writes the index of the color of
+     * every pixel. Runs of the same color (most of a bar graph) only look up the
+     * color once.
+     *
+     * @param pixels      the int array of RGB pixels
+     * @param pixelAmount the int amount of pixels
+     * @param indices     the byte array of the color index of every pixel
+     * @param palette     the int array of at least 256 colors to fill
+     * @return the int amount of colors, or -1 if there are more than 256
+     */
+    private static int buildExactPalette(int[] pixels, int pixelAmount, byte[] indices, int[] palette) {
+        int[] hashColors = new int[COLOR_HASH_SIZE];
+        int[] hashIndices = new int[COLOR_HASH_SIZE];
+        Arrays.fill(hashColors, -1);
+        int paletteSize = 0;
+
+        int lastColor = -1;
+        int lastIndex = 0;
+        for (int i = 0; i < pixelAmount; i++) {
+            int color = pixels[i] & 0xFFFFFF;
+            if (color != lastColor) {
+                int slot = (color * 0x9E3779B1) >>> 22;
+                while (hashColors[slot] != color && hashColors[slot] != -1) {
+                    slot = (slot + 1) & (COLOR_HASH_SIZE - 1);
+                }
+                if (hashColors[slot] == -1) {
+                    if (paletteSize == 256) {
+                        return -1;
+                    }
+                    hashColors[slot] = color;
+                    hashIndices[slot] = paletteSize;
+                    palette[paletteSize++] = color;
+                }
+                lastColor = color;
+                lastIndex = hashIndices[slot];
+            }
+            indices[i] = (byte) lastIndex;
+        }
+        return paletteSize;
+    }
+
+    /**
+     * Maps every pixel to the nearest color of a 6x6x6 color cube.
+     *
+     * @param pixels      the int array of RGB pixels
+     * @param pixelAmount the int amount of pixels
+     * @param indices     the byte array of the color index of every pixel
+     * @param palette     the int array of at least 216 colors to fill
+     * @return the int amount of colors (216)
+     */
+    private static int buildCubePalette(int[] pixels, int pixelAmount, byte[] indices, int[] palette) {
+        for (int i = 0; i < 216; i++) {
+            palette[i] = ((i / 36) * 51 << 16) | ((i / 6 % 6) * 51 << 8) | (i % 6) * 51;
+        }
+        for (int i = 0; i < pixelAmount; i++) {
+            int color = pixels[i];
+            int red = (((color >> 16) & 0xFF) + 25) / 51;
+            int green = (((color >> 8) & 0xFF) + 25) / 51;
+            int blue = ((color & 0xFF) + 25) / 51;
+            indices[i] = (byte) (red * 36 + green * 6 + blue);
+        }
+        return 216;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // LZW COMPRESSION
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Compresses the color indices with the variable-length LZW of GIF and writes
+     * the codes as data sub-blocks, followed by the empty block that ends the
+     * image. The dictionary is cleared once it has 4096 codes.
+     *
+     * @param indices     the byte array of the color index of every pixel
+     * @param minCodeSize the int LZW minimum code size of the frame
+     * @param output      the ByteArrayOutputStream of the frame
+     */
+    private static void compress(byte[] indices, int minCodeSize, ByteArrayOutputStream output) {
+        int clearCode = 1 << minCodeSize;
+        int endCode = clearCode + 1;
+
+        // The dictionary maps a prefix code and the next index (as prefix | index << 12)
+        // to the code of the longer string.
+        int[] hashKeys = new int[DICTIONARY_HASH_SIZE];
+        int[] hashCodes = new int[DICTIONARY_HASH_SIZE];
+        Arrays.fill(hashKeys, -1);
+
+        // Each code is kept with its size in bits (code | size << 16) and packed into
+        // bytes at the end.
+        int[] codes = new int[1024];
+        int codeAmount = 0;
+
+        int codeSize = minCodeSize + 1;
+        int nextCode = endCode + 1;
+        codes[codeAmount++] = clearCode | codeSize << 16;
+
+        int prefix = indices.length == 0 ? -1 : indices[0] & 0xFF;
+        for (int i = 1; i < indices.length; i++) {
+            int index = indices[i] & 0xFF;
+            int key = prefix | (index << 12);
+            int slot = (key * 0x9E3779B1) >>> 19;
+            while (hashKeys[slot] != key && hashKeys[slot] != -1) {
+                slot = (slot + 1) & (DICTIONARY_HASH_SIZE - 1);
+            }
+            if (hashKeys[slot] == key) {
+                prefix = hashCodes[slot];
+                continue;
+            }
+
+            if (codeAmount + 3 > codes.length) {
+                codes = Arrays.copyOf(codes, codes.length * 2);
+            }
+            codes[codeAmount++] = prefix | codeSize << 16;
+
+            // The decoder adds its codes one code later, so it widens its codes once the
+            // code before the next one no longer fits.
+            if (nextCode >= (1 << codeSize) && codeSize < 12) {
+                codeSize++;
+            }
+
+            if (nextCode < CODE_AMOUNT_MAXIMUM) {
+                hashKeys[slot] = key;
+                hashCodes[slot] = nextCode++;
+            } else {
+                codes[codeAmount++] = clearCode | codeSize << 16;
+                Arrays.fill(hashKeys, -1);
+                codeSize = minCodeSize + 1;
+                nextCode = endCode + 1;
+            }
+            prefix = index;
+        }
+
+        if (codeAmount + 3 > codes.length) {
+            codes = Arrays.copyOf(codes, codes.length * 2);
+        }
+        if (prefix >= 0) {
+            codes[codeAmount++] = prefix | codeSize << 16;
+            if (nextCode >= (1 << codeSize) && codeSize < 12) {
+                codeSize++;
+            }
+        }
+        codes[codeAmount++] = endCode | codeSize << 16;
+        writeCodes(codes, codeAmount, output);
+    }
+
+    /**
+     * Packs the codes into bytes from their lowest bit and writes the bytes as
+     * data sub-blocks of at most 255 bytes, followed by the empty block.
+     *
+     * @param codes      the int array of the codes (code | size in bits << 16)
+     * @param codeAmount the int amount of codes
+     * @param output     the ByteArrayOutputStream of the frame
+     */
+    private static void writeCodes(int[] codes, int codeAmount, ByteArrayOutputStream output) {
+        byte[] block = new byte[SUB_BLOCK_SIZE];
+        int blockSize = 0;
+        long bits = 0;
+        int bitAmount = 0;
+
+        for (int i = 0; i <= codeAmount; i++) {
+            if (i < codeAmount) {
+                bits |= (long) (codes[i] & 0xFFFF) << bitAmount;
+                bitAmount += codes[i] >>> 16;
+            } else {
+                // The last bits are padded to a whole byte.
+                bitAmount = (bitAmount + 7) / 8 * 8;
+            }
+
+            while (bitAmount >= 8) {
+                block[blockSize++] = (byte) bits;
+                bits >>>= 8;
+                bitAmount -= 8;
+                if (blockSize == SUB_BLOCK_SIZE) {
+                    output.write(blockSize);
+                    output.write(block, 0, blockSize);
+                    blockSize = 0;
+                }
+            }
+        }
+        if (blockSize > 0) {
+            output.write(blockSize);
+            output.write(block, 0, blockSize);
+        }
+        output.write(0);
+    }
+
+    /**
+     * Writes a little-endian 16-bit number.
+     *
+     * @param output the OutputStream to write to
+     * @param value  the int number (0 to 65535)
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeShort(OutputStream output, int value) throws IOException {
+        output.write(value & 0xFF);
+        output.write((value >> 8) & 0xFF);
+    }
+
+    /**
+     * Writes a little-endian 16-bit number to the bytes of a frame.
+     *
+     * @param output the ByteArrayOutputStream of the frame
+     * @param value  the int number (0 to 65535)
+     */
+    private static void writeShort(ByteArrayOutputStream output, int value) {
+        output.write(value & 0xFF);
+        output.write((value >> 8) & 0xFF);
+    }
+}
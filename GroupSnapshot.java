@@ -0,0 +1,126 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           GroupSnapshot.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A consistent copy of the state of an AnalyzedArrayGroup that the
+ *                  bar graph paints a frame from: the elements of the visible arrays,
+ *                  the minimum and maximum, and the last get/set indices, all as they
+ *                  were at a single moment between two writes of the sorting thread
+ *                  (see AnalyzedArrayGroup.copySnapshot()). The same snapshot is
+ *                  reused for every frame, so its arrays of elements are only
+ *                  allocated again when the group grows. The elements are copied into
+ *                  a scratch array that only replaces the elements of the snapshot
+ *                  once the copy is known to be consistent, so a copy that was
+ *                  interrupted by a write never leaves torn elements behind.
+ *                  NOT SYNCHRONIZED: a snapshot belongs to the thread that paints.
+ */
+
+public class GroupSnapshot {
+    // The elements of the snapshot and the scratch array the next copy is written to.
+    private int[] values, scratchValues;
+    private int size;
+    private int minValue, maxValue;
+    private int indexLastGet, indexLastSet;
+
+    /**
+     * Initializes an empty GroupSnapshot of no elements and no get/set indices.
+     */
+    public GroupSnapshot() {
+        values = new int[0];
+        scratchValues = new int[0];
+        size = 0;
+        minValue = 0;
+        maxValue = 0;
+        indexLastGet = -1;
+        indexLastSet = -1;
+    }
+
+    /**
+     * Returns the scratch array that the elements of a group of the provided size
+     * are copied into, growing it if needed. The elements are only part of the
+     * snapshot once updateValues() is called; until then, the elements of the
+     * snapshot are not changed.
+     *
+     * NOT SYNCHRONIZED: expected to be called by AnalyzedArrayGroup.copySnapshot().
+     *
+     * @param size the int amount of elements of the group
+     * @return the int array of at least size elements
+     */
+    public int[] getValueBuffer(int size) {
+        if (scratchValues.length < size) {
+            scratchValues = new int[size];
+        }
+        return scratchValues;
+    }
+
+    /**
+     * Sets the state of the snapshot after the elements were consistently copied
+     * into the array of getValueBuffer(), which becomes the elements of the
+     * snapshot (the old elements become the next scratch array).
+     *
+     * NOT SYNCHRONIZED: expected to be called by AnalyzedArrayGroup.copySnapshot().
+     *
+     * @param size         the int amount of elements of the group
+     * @param minValue     the int smallest value of the group
+     * @param maxValue     the int largest value of the group
+     * @param indexLastGet the int global index of the last get
+     * @param indexLastSet the int global index of the last set
+     */
+    public void updateValues(int size, int minValue, int maxValue, int indexLastGet, int indexLastSet) {
+        int[] oldValues = values;
+        values = scratchValues;
+        scratchValues = oldValues;
+        update(size, minValue, maxValue, indexLastGet, indexLastSet);
+    }
+
+    /**
+     * Sets the state of the snapshot when only the state was copied; the
+     * elements are not changed.
+     *
+     * NOT SYNCHRONIZED: expected to be called by AnalyzedArrayGroup.copySnapshot().
+     *
+     * @param size         the int amount of elements of the group
+     * @param minValue     the int smallest value of the group
+     * @param maxValue     the int largest value of the group
+     * @param indexLastGet the int global index of the last get
+     * @param indexLastSet the int global index of the last set
+     */
+    public void update(int size, int minValue, int maxValue, int indexLastGet, int indexLastSet) {
+        this.size = size;
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.indexLastGet = indexLastGet;
+        this.indexLastSet = indexLastSet;
+    }
+
+    /**
+     * Returns the copied value of the element at the provided global index. Only
+     * valid if the elements were copied with the snapshot.
+     *
+     * @param index the int global index of the element
+     * @return the int value of the element
+     */
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getMin() {
+        return minValue;
+    }
+
+    public int getMax() {
+        return maxValue;
+    }
+
+    public int getIndexLastGet() {
+        return indexLastGet;
+    }
+
+    public int getIndexLastSet() {
+        return indexLastSet;
+    }
+}
@@ -0,0 +1,514 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           HeadlessRunner.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Runs the scatter plot sweep of every test case with plotting
+ *                  enabled without the Swing GUI, for machines without a display
+ *                  such as CI or benchmarking servers. Every sample of the sweep
+ *                  (the same values of N as the scatter plot, see PlotSchedule) is
+ *                  streamed as soon as it finishes as a line of CSV or JSON Lines
+ *                  with the test case, algorithm, N, trial, access count, wall time,
+ *                  CPU time, and allocated bytes (see PlotSample), followed by the
+ *                  amount of warm-up runs and a hash of the input (see
+ *                  PlotCache.hashInput()). Each trial of a test case with plotTrials
+ *                  is its own line; warm-up runs are not written. The algorithms of
+ *                  compareMethods are swept after the algorithm of the test case,
+ *                  with their own name in the algorithm column. After the sweep of
+ *                  "incremental-quick", the time and access count to reach its 1st,
+ *                  10th, and 1000th element are printed to the standard error.
+ *                  Samples are looked up in and stored to the PlotCache unless
+ *                  "--no-cache" is given.
+ *                  With "--summary", the trials of every N are also summarized
+ *                  (see SampleStatistics) into a second file in the same format:
+ *                  one line for each metric with the amount of trials, the mean,
+ *                  median, sample standard deviation, and 95% confidence interval.
+ *                  With "--baseline", the samples are also compared with a baseline
+ *                  (the CSV output of an earlier run, see BaselineComparator), a
+ *                  report is written to the standard error, and the exit status is 2
+ *                  if anything regressed or a sample of the baseline is missing. The
+ *                  cache is not used then, since its times are from an earlier run.
+ *                  With "--trace", the sweep is not ran; instead, the algorithm of
+ *                  the single test case given with "--only" sorts its whole input
+ *                  once and every access is recorded to the trace file (see
+ *                  AccessTraceWriter).
+ *                  NOTE: NOTHING IN THIS CLASS MAY REFERENCE AWT OR SWING CLASSES.
+ *
+ *                  Usage: java Main --headless [--format csv|jsonl]
+ *                                   [--output path] [--test-cases path]
+ *                                   [--only name,name,...]
+ *                                   [--cache path] [--cache-size S]
+ *                                   [--no-cache] [--baseline path]
+ *                                   [--time-tolerance T] [--summary path]
+ *                         java Main --headless --only name --trace path
+ */
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class HeadlessRunner {
+    public static final String CSV_HEADER = "testCase,algorithm,n,trial,accessCount,wallNanos,cpuNanos,allocatedBytes,warmups,inputHash";
+
+    public static final String SUMMARY_CSV_HEADER = "testCase,algorithm,n,metric,trials,mean,median,stddev,ciLower,ciUpper";
+
+    // The algorithm whose milestones are printed after its sweep (see
+    // printMilestones()).
+    private static final String INCREMENTAL_ALGORITHM_NAME = "incremental-quick";
+
+    private String format;
+    private String outputPath;
+    private String testCaseFilePath;
+    private List<String> onlyTestCaseNames;
+    private String cacheFilePath;
+    private int cacheSize;
+    private String baselinePath;
+    private double timeTolerance;
+    private String tracePath;
+    private String summaryPath;
+
+    private PrintStream output;
+    private PrintStream summaryOutput;
+    private PlotCache cache;
+    private BaselineComparator comparator;
+
+    /**
+     * Initializes the HeadlessRunner with the default settings: CSV written to
+     * the standard output for every test case in "test_cases.txt", with the
+     * default PlotCache file and size, and no baseline.
+     */
+    public HeadlessRunner() {
+        format = "csv";
+        outputPath = null;
+        testCaseFilePath = "test_cases.txt";
+        onlyTestCaseNames = null;
+        cacheFilePath = PlotCache.FILE_PATH_DEFAULT;
+        cacheSize = PlotCache.MAX_ENTRIES_DEFAULT;
+        baselinePath = null;
+        timeTolerance = BaselineComparator.TIME_TOLERANCE_DEFAULT;
+        tracePath = null;
+        summaryPath = null;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // PARSING THE ARGUMENTS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Updates the settings with the provided command-line arguments.
+     * The "--headless" argument itself is skipped. If an argument is not
+     * recognized or its value is missing or invalid, then an error is printed and
+     * false is returned.
+     *
+     * @param args the String command-line arguments
+     * @return true if every argument was parsed and false if otherwise
+     */
+    public boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--headless")) {
+                continue;
+            }
+            if (option.equals("--no-cache")) {
+                cacheFilePath = null;
+                continue;
+            }
+
+            if (i + 1 >= args.length) {
+                System.err.printf("ERROR: the option \"%s\" is missing its value.\n", option);
+                return false;
+            }
+            String value = args[++i];
+
+            switch (option) {
+                case "--format":
+                    if (!value.equals("csv") && !value.equals("jsonl")) {
+                        System.err.printf("ERROR: the format \"%s\" is not csv or jsonl.\n", value);
+                        return false;
+                    }
+                    format = value;
+                    break;
+                case "--output":
+                    outputPath = value;
+                    break;
+                case "--test-cases":
+                    testCaseFilePath = value;
+                    break;
+                case "--only":
+                    onlyTestCaseNames = Arrays.asList(value.split(","));
+                    break;
+                case "--cache":
+                    cacheFilePath = value;
+                    break;
+                case "--cache-size":
+                    try {
+                        cacheSize = Integer.parseInt(value);
+                    } catch (NumberFormatException exception) {
+                        cacheSize = 0;
+                    }
+                    if (cacheSize < 1) {
+                        System.err.printf("ERROR: the cache size \"%s\" is not a positive integer.\n", value);
+                        return false;
+                    }
+                    break;
+                case "--baseline":
+                    baselinePath = value;
+                    break;
+                case "--trace":
+                    tracePath = value;
+                    break;
+                case "--summary":
+                    summaryPath = value;
+                    break;
+                case "--time-tolerance":
+                    try {
+                        timeTolerance = Double.parseDouble(value);
+                    } catch (NumberFormatException exception) {
+                        timeTolerance = -1;
+                    }
+                    if (!(timeTolerance >= 0)) {
+                        System.err.printf("ERROR: the time tolerance \"%s\" is not a number of at least 0.\n",
+                                value);
+                        return false;
+                    }
+                    break;
+                default:
+                    System.err.printf("ERROR: unrecognized option \"%s\".\n", option);
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // RUNNING THE SWEEP
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Reads the test case file and runs the sweep of every test case with
+     * plotting enabled (or only the ones given with "--only").
+     * The test cases are ran in the order of their names, and each sample is
+     * written and flushed as soon as it finishes so that a long run can be
+     * followed while it is in progress.
+     *
+     * @return true if the test cases were read and ran and false if otherwise
+     */
+    public boolean run() {
+        // The parse errors of the reader are printed on the standard output, so the
+        // results must not be written there when the reading fails.
+        TestCaseReader reader = new TestCaseReader(testCaseFilePath);
+        if (!reader.isReadSuccessful()) {
+            return false;
+        }
+
+        Map<String, TestCase> testCaseMap = reader.getTestCases();
+        if (onlyTestCaseNames != null) {
+            for (String name : onlyTestCaseNames) {
+                if (!testCaseMap.containsKey(name)) {
+                    System.err.printf("ERROR: the test case \"%s\" does not exist.\n", name);
+                    return false;
+                }
+            }
+        }
+
+        if (tracePath != null) {
+            if (onlyTestCaseNames == null || onlyTestCaseNames.size() != 1) {
+                System.err.printf("ERROR: the option \"--trace\" needs \"--only\" with exactly one test case.\n");
+                return false;
+            }
+            return runTrace(testCaseMap.get(onlyTestCaseNames.get(0)));
+        }
+
+        if (outputPath == null) {
+            output = System.out;
+        } else {
+            try {
+                output = new PrintStream(new FileOutputStream(outputPath), false, "UTF-8");
+            } catch (FileNotFoundException | java.io.UnsupportedEncodingException exception) {
+                System.err.printf("ERROR: the output file \"%s\" could not be opened.\n", outputPath);
+                return false;
+            }
+        }
+
+        if (summaryPath != null) {
+            try {
+                summaryOutput = new PrintStream(new FileOutputStream(summaryPath), false, "UTF-8");
+            } catch (FileNotFoundException | java.io.UnsupportedEncodingException exception) {
+                System.err.printf("ERROR: the summary file \"%s\" could not be opened.\n", summaryPath);
+                return false;
+            }
+            if (format.equals("csv")) {
+                summaryOutput.println(SUMMARY_CSV_HEADER);
+            }
+        }
+
+        if (baselinePath != null) {
+            comparator = new BaselineComparator(baselinePath, timeTolerance);
+            if (!comparator.load()) {
+                return false;
+            }
+        }
+
+        if (cacheFilePath != null && comparator == null) {
+            cache = new PlotCache(cacheFilePath, cacheSize);
+            cache.load();
+        }
+
+        if (format.equals("csv")) {
+            output.println(CSV_HEADER);
+        }
+
+        for (TestCase testCase : testCaseMap.values()) {
+            if (!testCase.getIsPlotEnabled()) {
+                continue;
+            }
+            if (onlyTestCaseNames != null && !onlyTestCaseNames.contains(testCase.getName())) {
+                continue;
+            }
+            runTestCase(testCase);
+        }
+
+        output.flush();
+        if (output != System.out) {
+            output.close();
+        }
+        if (summaryOutput != null) {
+            summaryOutput.close();
+        }
+
+        if (comparator != null) {
+            comparator.compare(System.err);
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the run was compared with a baseline and something
+     * regressed.
+     *
+     * @return true if there was a regression and false if otherwise
+     */
+    public boolean hasRegression() {
+        return comparator != null && comparator.getRegressionAmount() > 0;
+    }
+
+    /**
+     * Runs the sweep of a single test case: a PlotSweep of its algorithm and then
+     * one of each of its compareMethods, one after another in this thread so that
+     * the times of each algorithm are not disturbed by the others. Every trial is
+     * written as soon as it is measured (or read from the cache), and the cache is
+     * saved after the test case so that an interrupted run keeps what it sorted.
+     *
+     * @param testCase the TestCase to run
+     */
+    private void runTestCase(TestCase testCase) {
+        // The hash tells the baseline comparison if the access counts are of the same
+        // input (an unseeded random input is different every run).
+        String inputHash = PlotCache.hashInput(testCase.getInput());
+
+        // The trials of the current N, summarized once its last trial is written.
+        List<PlotSample> trialSamples = new ArrayList<PlotSample>();
+        PlotSweepListener listener = (sweep, sampleIndex, trial, sample) -> {
+            writeSample(testCase, sweep.getAlgorithmName(), trial, inputHash, sample);
+            if (comparator != null) {
+                comparator.record(testCase.getName(), sweep.getAlgorithmName(), testCase.getPlotWarmups(),
+                        inputHash, sample);
+            }
+            if (summaryOutput != null) {
+                trialSamples.add(sample);
+                if (trial == testCase.getPlotTrials()) {
+                    writeSummary(testCase, sweep.getAlgorithmName(), trialSamples);
+                    trialSamples.clear();
+                }
+            }
+        };
+
+        new PlotSweep(testCase, testCase.getAlgorithmName(), testCase.getAlgorithm(), listener, cache).call();
+        for (int i = 0; i < testCase.getCompareAlgorithmNames().size(); i++) {
+            new PlotSweep(testCase, testCase.getCompareAlgorithmNames().get(i),
+                    testCase.getCompareAlgorithms().get(i), listener, cache).call();
+        }
+        output.flush();
+        if (summaryOutput != null) {
+            summaryOutput.flush();
+        }
+
+        if (testCase.getAlgorithmName().equals(INCREMENTAL_ALGORITHM_NAME)
+                || testCase.getCompareAlgorithmNames().contains(INCREMENTAL_ALGORITHM_NAME)) {
+            printMilestones(testCase);
+        }
+
+        if (cache != null) {
+            cache.save();
+        }
+    }
+
+    /**
+     * Iterates over the whole input of a test case once with an
+     * IncrementalSortIterator (without any delay) and prints the time and access
+     * count it took to reach the 1st, 10th, and 1000th element on the standard
+     * error, since they are not part of the PlotSample of a sort.
+     *
+     * @param testCase the TestCase whose input is iterated over
+     */
+    private void printMilestones(TestCase testCase) {
+        AnalyzedArrayGroup group = new AnalyzedArrayGroup(null);
+        group.toggleSleep(false);
+        group.toggleReportDelayUpdates(false);
+        group.addArray(testCase.getInput(), "input", true);
+
+        IncrementalSortIterator iterator = new IncrementalSortIterator(group.getArray("input"));
+        while (iterator.hasNext()) {
+            iterator.nextInt();
+        }
+        System.err.printf("Milestones of %s on \"%s\" (N = %d): %s\n", INCREMENTAL_ALGORITHM_NAME,
+                testCase.getName(), testCase.getInputSize(), iterator.getMilestoneSummary());
+    }
+
+    /**
+     * Sorts the whole input of a test case once with its algorithm (without any
+     * delay) while every access is recorded to the trace file, and then prints
+     * the size of the trace.
+     *
+     * @param testCase the TestCase to record
+     * @return true if the whole trace was written and false if otherwise
+     */
+    private boolean runTrace(TestCase testCase) {
+        AccessTraceWriter writer = new AccessTraceWriter(tracePath);
+        if (!writer.open()) {
+            return false;
+        }
+
+        AnalyzedArrayGroup group = new AnalyzedArrayGroup(null);
+        group.toggleSleep(false);
+        group.toggleReportDelayUpdates(false);
+        group.setSelectionK(testCase.getSelectK());
+        group.setTraceWriter(writer);
+        group.addArray(testCase.getInput(), "input", true);
+
+        long startNanos = System.nanoTime();
+        testCase.getAlgorithm().sort(group);
+        boolean isWritten = writer.close();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        if (!isWritten) {
+            return false;
+        }
+
+        long accesses = writer.getAccessCount();
+        System.out.printf("Recorded %d accesses of %s on \"%s\" to \"%s\" in %.2f s: %d bytes (%.2f bytes per "
+                + "access).\n", accesses, testCase.getAlgorithmName(), testCase.getName(), tracePath, seconds,
+                writer.getBytesWritten(), accesses == 0 ? 0.0 : writer.getBytesWritten() / (double) accesses);
+        return true;
+    }
+
+    /**
+     * Writes one sample as a line of CSV or JSON Lines.
+     * A measurement that is not supported by the JVM is written as -1.
+     *
+     * @param testCase      the TestCase that was ran
+     * @param algorithmName the String name of the algorithm that sorted
+     * @param trial         the int number of the trial, starting at 1
+     * @param inputHash     the String hash of the whole input of the test case
+     * @param sample        the PlotSample with the measurements of the sort
+     */
+    private void writeSample(TestCase testCase, String algorithmName, int trial, String inputHash,
+            PlotSample sample) {
+        if (format.equals("csv")) {
+            output.printf("%s,%s,%d,%d,%d,%d,%d,%d,%d,%s\n", csvString(testCase.getName()),
+                    csvString(algorithmName), sample.getN(), trial, sample.getAccessCount(),
+                    sample.getWallNanos(), sample.getCpuNanos(), sample.getAllocatedBytes(),
+                    testCase.getPlotWarmups(), inputHash);
+        } else {
+            output.printf("{\"testCase\":%s,\"algorithm\":%s,\"n\":%d,\"trial\":%d,\"accessCount\":%d,"
+                    + "\"wallNanos\":%d,\"cpuNanos\":%d,\"allocatedBytes\":%d,\"warmups\":%d,\"inputHash\":%s}\n",
+                    jsonString(testCase.getName()), jsonString(algorithmName), sample.getN(), trial,
+                    sample.getAccessCount(), sample.getWallNanos(), sample.getCpuNanos(),
+                    sample.getAllocatedBytes(), testCase.getPlotWarmups(), jsonString(inputHash));
+        }
+    }
+
+    /**
+     * Writes the summary of the trials of one N: a line of CSV or JSON Lines for
+     * each metric with the SampleStatistics of its trials. A metric that is not
+     * supported by the JVM (-1) is not written.
+     *
+     * @param testCase      the TestCase that was ran
+     * @param algorithmName the String name of the algorithm that sorted
+     * @param trialSamples  the List of PlotSamples of every trial of the N
+     */
+    private void writeSummary(TestCase testCase, String algorithmName, List<PlotSample> trialSamples) {
+        int n = trialSamples.get(0).getN();
+        for (String metric : PlotSample.getMetricList()) {
+            long[] values = new long[trialSamples.size()];
+            boolean isSupported = true;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = trialSamples.get(i).getMetric(metric);
+                isSupported &= values[i] >= 0;
+            }
+            if (!isSupported) {
+                continue;
+            }
+
+            SampleStatistics statistics = new SampleStatistics(values);
+            if (format.equals("csv")) {
+                summaryOutput.printf("%s,%s,%d,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f\n", csvString(testCase.getName()),
+                        csvString(algorithmName), n, metric, statistics.getCount(), statistics.getMean(),
+                        statistics.getMedian(), statistics.getStandardDeviation(),
+                        statistics.getConfidenceLower(), statistics.getConfidenceUpper());
+            } else {
+                summaryOutput.printf("{\"testCase\":%s,\"algorithm\":%s,\"n\":%d,\"metric\":%s,\"trials\":%d,"
+                        + "\"mean\":%.1f,\"median\":%.1f,\"stddev\":%.1f,\"ciLower\":%.1f,\"ciUpper\":%.1f}\n",
+                        jsonString(testCase.getName()), jsonString(algorithmName), n, jsonString(metric),
+                        statistics.getCount(), statistics.getMean(), statistics.getMedian(),
+                        statistics.getStandardDeviation(), statistics.getConfidenceLower(),
+                        statistics.getConfidenceUpper());
+            }
+        }
+    }
+
+    /**
+     * Returns the provided String as a CSV field, which is quoted only if it has a
+     * comma, quote, or line break.
+     *
+     * @param value the String to write
+     * @return the String CSV field
+     */
+    private static String csvString(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Returns the provided String as a quoted JSON string.
+     *
+     * @param value the String to write
+     * @return the String JSON string
+     */
+    private static String jsonString(String value) {
+        String escaped = value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return "\"" + escaped + "\"";
+    }
+
+    /**
+     * Parses the command-line arguments and runs the sweep.
+     * Exits with a status of 1 if the arguments, the test case file, or the
+     * baseline could not be read and 2 if the run regressed from the baseline (or
+     * missed one of its samples), so that a CI job fails.
+     *
+     * @param args the String command-line arguments
+     */
+    public static void main(String[] args) {
+        HeadlessRunner runner = new HeadlessRunner();
+        if (!runner.parseArguments(args) || !runner.run()) {
+            System.exit(1);
+        }
+        if (runner.hasRegression()) {
+            System.exit(2);
+        }
+    }
+}
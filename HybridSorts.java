@@ -266,7 +266,7 @@ public class HybridSorts {
             if (high - low + 1 <= threshold) {
                 helperBubbleSort(group, array, low, high);
             } else {
-                int mid = (low + high) / 2;
+                int mid = low + (high - low) / 2;
                 helperBubbleMerge(group, array, temp, low, mid, threshold);
                 helperBubbleMerge(group, array, temp, mid + 1, high, threshold);
                 helperMerge(group, array, temp, low, mid, high);
@@ -331,7 +331,7 @@ public class HybridSorts {
      * @param low   the lower, inclusive bound of indices to sort
      * @param high  the upper, inclusive bound of indices to sort
      */
-    private static void helperHeapify(AnalyzedArrayGroup group, AnalyzedArray array, int i, int low, int high) {
+    public static void helperHeapify(AnalyzedArrayGroup group, AnalyzedArray array, int i, int low, int high) {
         int largest = low + i; // Initialize largest as root
         int left = low + (2 * i + 1); // left = 2*i + 1
         int right = low + (2 * i + 2); // right = 2*i + 2
@@ -422,7 +422,7 @@ public class HybridSorts {
      */
     public static void helperQuickSort(AnalyzedArrayGroup group, AnalyzedArray array, int low, int high) {
         if (low < high) {
-            int pivotIndex = (low + high) / 2;
+            int pivotIndex = low + (high - low) / 2;
             int pivot = array.get(pivotIndex);
             int i = low, j = high;
 
@@ -481,7 +481,7 @@ public class HybridSorts {
             if (high - low + 1 <= threshold) {
                 helperQuickSort(group, array, low, high);
             } else {
-                int mid = (low + high) / 2;
+                int mid = low + (high - low) / 2;
                 helperQuickMerge(group, array, temp, low, mid, threshold);
                 helperQuickMerge(group, array, temp, mid + 1, high, threshold);
                 helperMerge(group, array, temp, low, mid, high);
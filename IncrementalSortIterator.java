@@ -0,0 +1,251 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           IncrementalSortIterator.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     An iterator over an AnalyzedArray that returns its elements
+ *                  in ascending order on demand with Incremental Quick Sort. Only
+ *                  the part of the array that is needed for the next element is
+ *                  partitioned, so the first element costs O(N), the k-th costs
+ *                  O(N + k log k), and a consumer that stops early never pays for
+ *                  the full sort. Every returned element is also left at its
+ *                  sorted position in the array. The time and access count to
+ *                  reach the 1st, 10th, and 1000th element are recorded.
+ *                  NOTE: THIS CLASS IS DESIGNED FOR A SINGLE SORTING THREAD.
+ */
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class IncrementalSortIterator implements PrimitiveIterator.OfInt {
+    // The ranks (starting at 1) of the elements whose time and access count is
+    // recorded.
+    private static final int[] MILESTONE_RANKS = { 1, 10, 1000 };
+
+    private AnalyzedArray array;
+
+    // The next index to return and the stack of boundaries. Every element left of
+    // a boundary is less than or equal to every element at or right of it, and
+    // the boundary on top of the stack is always the smallest.
+    private int nextIndex;
+    private int[] pivotStack;
+    private int pivotStackSize;
+
+    private long startNanos;
+    private long startAccessCount;
+    private long[] milestoneNanos;
+    private long[] milestoneAccessCount;
+
+    /**
+     * Initializes the IncrementalSortIterator over the provided AnalyzedArray.
+     * No element is accessed until the first call to nextInt(). The time and
+     * access count of the milestones are measured from this constructor.
+     *
+     * @param array the AnalyzedArray to return in ascending order
+     */
+    public IncrementalSortIterator(AnalyzedArray array) {
+        this.array = array;
+
+        nextIndex = 0;
+
+        // Every boundary is a distinct index from 0 to N, so N + 1 is always enough.
+        pivotStack = new int[array.size() + 1];
+        pivotStack[0] = array.size();
+        pivotStackSize = 1;
+
+        milestoneNanos = new long[MILESTONE_RANKS.length];
+        milestoneAccessCount = new long[MILESTONE_RANKS.length];
+        for (int i = 0; i < MILESTONE_RANKS.length; i++) {
+            milestoneNanos[i] = -1;
+            milestoneAccessCount[i] = -1;
+        }
+
+        startAccessCount = array.getAccessCount();
+        startNanos = System.nanoTime();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // METHODS CALLED BY SORTING ALGORITHM
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns true if there are elements left to return and false if otherwise.
+     *
+     * @return true if nextInt() can be called
+     */
+    @Override
+    public boolean hasNext() {
+        return nextIndex < array.size();
+    }
+
+    /**
+     * Returns the next smallest element of the AnalyzedArray.
+     * The range between the next index and the boundary on top of the stack is
+     * partitioned until the boundary is right after the next index, at which
+     * point the element at the next index is in its sorted position.
+     *
+     * @return the int value of the next smallest element
+     * @throws NoSuchElementException if every element was already returned
+     */
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        while (pivotStack[pivotStackSize - 1] != nextIndex + 1) {
+            partition(nextIndex, pivotStack[pivotStackSize - 1] - 1);
+        }
+        pivotStackSize--;
+
+        int value = array.get(nextIndex);
+        nextIndex++;
+        recordMilestone(nextIndex);
+        return value;
+    }
+
+    /**
+     * Performs a three-way partition of the AnalyzedArray between a lower and
+     * upper bound of indices, inclusive, around the middle element and pushes the
+     * new boundaries onto the stack.
+     * Every index of the elements equal to the pivot is pushed as its own
+     * boundary, since the equal elements are already in their sorted positions;
+     * this keeps many duplicates from being partitioned over and over again.
+     * Only boundaries strictly between low and high + 1 are pushed, because high
+     * + 1 is already on top of the stack and low tells nothing new.
+     *
+     * @param low  the lower, inclusive bound of indices to partition
+     * @param high the upper, inclusive bound of indices to partition
+     */
+    private void partition(int low, int high) {
+        int pivot = array.get(low + (high - low) / 2);
+        int lt = low, i = low, gt = high;
+
+        // [low, lt) < pivot, [lt, i) == pivot, (gt, high] > pivot
+        while (i <= gt) {
+            int element = array.get(i);
+            if (element < pivot) {
+                HybridSorts.swap(array, lt, i);
+                lt++;
+                i++;
+            } else if (element > pivot) {
+                HybridSorts.swap(array, i, gt);
+                gt--;
+            } else {
+                i++;
+            }
+        }
+
+        // Push from the largest boundary to the smallest so the smallest is on top.
+        int firstBoundary = Math.min(gt + 1, high);
+        int lastBoundary = Math.max(lt, low + 1);
+        for (int boundary = firstBoundary; boundary >= lastBoundary; boundary--) {
+            pivotStack[pivotStackSize] = boundary;
+            pivotStackSize++;
+        }
+    }
+
+    /**
+     * Records the time and access count since the iterator was created if the
+     * provided rank is one of the milestones.
+     *
+     * @param rank the rank (starting at 1) of the element that was just returned
+     */
+    private void recordMilestone(int rank) {
+        for (int i = 0; i < MILESTONE_RANKS.length; i++) {
+            if (MILESTONE_RANKS[i] == rank) {
+                milestoneNanos[i] = System.nanoTime() - startNanos;
+                milestoneAccessCount[i] = array.getAccessCount() - startAccessCount;
+            }
+        }
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // METHODS CALLED OUTSIDE OF THE SORTING ALGORITHM
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the ranks of the elements whose time and access count is recorded.
+     *
+     * @return a copy of the int ranks (1, 10, and 1000)
+     */
+    public static int[] getMilestoneRanks() {
+        return MILESTONE_RANKS.clone();
+    }
+
+    /**
+     * Returns the nanoseconds it took from the creation of the iterator to return
+     * the element of the provided rank, or -1 if the rank is not a milestone or
+     * the element was not returned yet.
+     *
+     * @param rank the rank (1, 10, or 1000) of the element
+     * @return the long time to reach the element in nanoseconds
+     */
+    public long getMilestoneNanos(int rank) {
+        for (int i = 0; i < MILESTONE_RANKS.length; i++) {
+            if (MILESTONE_RANKS[i] == rank) {
+                return milestoneNanos[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of accesses of the AnalyzedArray it took from the
+     * creation of the iterator to return the element of the provided rank, or -1
+     * if the rank is not a milestone or the element was not returned yet.
+     *
+     * @param rank the rank (1, 10, or 1000) of the element
+     * @return the long access count to reach the element
+     */
+    public long getMilestoneAccessCount(int rank) {
+        for (int i = 0; i < MILESTONE_RANKS.length; i++) {
+            if (MILESTONE_RANKS[i] == rank) {
+                return milestoneAccessCount[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a one-line summary of the milestones that were reached, such as
+     * "1st: 1999 accesses in 41000 ns; 10th: ...".
+     *
+     * @return the String summary of the milestones
+     */
+    public String getMilestoneSummary() {
+        String summary = "";
+        String[] labels = { "1st", "10th", "1000th" };
+
+        for (int i = 0; i < MILESTONE_RANKS.length; i++) {
+            if (milestoneNanos[i] < 0) {
+                continue;
+            }
+            if (summary.length() > 0) {
+                summary += "; ";
+            }
+            summary += String.format("%s: %d accesses in %d ns", labels[i], milestoneAccessCount[i],
+                    milestoneNanos[i]);
+        }
+        return summary;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // ENTRY POINT
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * The entry point for a Test Case to perform Incremental Quick Sort.
+     * It assumes the input array as an AnalyzedArray with the name "input" in the
+     * provided AnalyzedArrayGroup and iterates over every element, which leaves
+     * the input sorted.
+     *
+     * @param group the AnalyzedArrayGroup with the input array to sort
+     */
+    public static void incrementalQuickSort(AnalyzedArrayGroup group) {
+        IncrementalSortIterator iterator = new IncrementalSortIterator(group.getArray("input"));
+        while (iterator.hasNext()) {
+            iterator.nextInt();
+        }
+        group.algorithmFinished();
+    }
+}
@@ -207,8 +207,13 @@ public class LoadingBarPanel extends JPanel {
         barFractionFull = runCurrent / (double) runMax;
         int percentFinished = (int) (barFractionFull * 100);
 
-        messageList[0] = String.format("Progress of Plotting Algorithm \"%s\": %d%%", testCase.getAlgorithmName(),
-                percentFinished);
+        if (testCase.getCompareAlgorithmNames().isEmpty()) {
+            messageList[0] = String.format("Progress of Plotting Algorithm \"%s\": %d%%",
+                    testCase.getAlgorithmName(), percentFinished);
+        } else {
+            messageList[0] = String.format("Progress of Plotting Algorithms \"%s\" and %d Others: %d%%",
+                    testCase.getAlgorithmName(), testCase.getCompareAlgorithmNames().size(), percentFinished);
+        }
         messageList[1] = String.format("Current Size of Input (N): %d / %d", currentSizeN, testCase.getInputSize());
         messageList[2] = String.format("Current Run: %d / %d", runCurrent, runMax);
 
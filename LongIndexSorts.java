@@ -0,0 +1,304 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           LongIndexSorts.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Long-indexed versions of the core algorithms in HybridSorts
+ *                  (Merge, Quick, and Heap Sort) plus an LSD Radix Sort, written
+ *                  against the OffHeapAnalyzedArray so that inputs with more than
+ *                  2^31 elements can be sorted. Every index is a long and every
+ *                  midpoint is computed as low + (high - low) / 2 so that nothing
+ *                  overflows. An algorithm is ran by passing an OffHeapAnalyzedArray
+ *                  in an entry point method (has the name of the algorithm itself
+ *                  without "helper" in the name).
+ */
+
+public class LongIndexSorts {
+    /*
+     * Here is a list of the sorting algorithms organized by order of appearance:
+     * (1) Merge Sort
+     * (2) Quick Sort
+     * (3) Heap Sort
+     * (4) Radix Sort
+     */
+
+    /**
+     * Performs Merge Sort on the provided OffHeapAnalyzedArray between a lower
+     * and upper bound of indices, inclusive.
+     *
+     * @param array the OffHeapAnalyzedArray that is to be sorted
+     * @param temp  the temporary OffHeapAnalyzedArray for the merge operation
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperMergeSort(OffHeapAnalyzedArray array, OffHeapAnalyzedArray temp, long low,
+            long high) {
+        if (low < high) {
+            long mid = low + (high - low) / 2;
+            helperMergeSort(array, temp, low, mid);
+            helperMergeSort(array, temp, mid + 1, high);
+            helperMerge(array, temp, low, mid, high);
+        }
+    }
+
+    /**
+     * Merges two sub-arrays of the given OffHeapAnalyzedArray into one, final
+     * array.
+     * The first sub-array is between indices low and mid inclusive and the second
+     * sub-array is between indices mid+1 and high inclusive.
+     *
+     * @param array the OffHeapAnalyzedArray with the sub-arrays that are to be
+     *              merged
+     * @param temp  the temporary OffHeapAnalyzedArray for the merge operation
+     * @param low   the first, inclusive index of the first sub-array
+     * @param mid   the last, inclusive index of the first sub-array
+     * @param high  the last, inclusive index of the second sub-array
+     */
+    public static void helperMerge(OffHeapAnalyzedArray array, OffHeapAnalyzedArray temp, long low, long mid,
+            long high) {
+        long i = low, j = mid + 1;
+        for (long k = low; k <= high; k++)
+            temp.set(k, array.get(k));
+
+        for (long k = low; k <= high; k++) {
+            if (i > mid) {
+                array.set(k, temp.get(j));
+                j++;
+            } else if (j > high) {
+                array.set(k, temp.get(i));
+                i++;
+            } else if (temp.get(i) <= temp.get(j)) {
+                array.set(k, temp.get(i));
+                i++;
+            } else {
+                array.set(k, temp.get(j));
+                j++;
+            }
+        }
+    }
+
+    /**
+     * The entry point to perform Merge Sort on an OffHeapAnalyzedArray.
+     * A temporary OffHeapAnalyzedArray of the same size is allocated off the heap
+     * for the merge operation and released once the sort is finished.
+     *
+     * @param input the OffHeapAnalyzedArray to sort
+     */
+    public static void mergeSort(OffHeapAnalyzedArray input) {
+        OffHeapAnalyzedArray temp = new OffHeapAnalyzedArray(input.size(), "temp");
+        helperMergeSort(input, temp, 0, input.size() - 1);
+        temp.release();
+    }
+
+    /**
+     * Performs Quick Sort on the provided OffHeapAnalyzedArray between a lower
+     * and upper bound of indices, inclusive.
+     * The partitioning scheme is the same as the one in HybridSorts, except that
+     * the algorithm only recurses into the smaller partition and loops on the
+     * larger one. This bounds the depth of the call stack to O(log N) even when
+     * the partitions are badly unbalanced, which matters for billions of
+     * elements.
+     *
+     * @param array the OffHeapAnalyzedArray that is to be sorted
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperQuickSort(OffHeapAnalyzedArray array, long low, long high) {
+        while (low < high) {
+            long pivotIndex = low + (high - low) / 2;
+            int pivot = array.get(pivotIndex);
+            long i = low, j = high;
+
+            while (i <= j) {
+                while (array.get(i) < pivot)
+                    i++;
+                while (array.get(j) > pivot)
+                    j--;
+                if (i <= j) {
+                    swap(array, i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            // Recurse into the smaller side and continue the loop with the larger side.
+            if (j - low < high - i) {
+                if (low < j)
+                    helperQuickSort(array, low, j);
+                low = i;
+            } else {
+                if (i < high)
+                    helperQuickSort(array, i, high);
+                high = j;
+            }
+        }
+    }
+
+    /**
+     * The entry point to perform Quick Sort on an OffHeapAnalyzedArray.
+     *
+     * @param input the OffHeapAnalyzedArray to sort
+     */
+    public static void quickSort(OffHeapAnalyzedArray input) {
+        helperQuickSort(input, 0, input.size() - 1);
+    }
+
+    /**
+     * Performs Heap Sort on the provided OffHeapAnalyzedArray between a lower and
+     * upper bound of indices, inclusive.
+     *
+     * @param array the OffHeapAnalyzedArray that is to be sorted
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperHeapSort(OffHeapAnalyzedArray array, long low, long high) {
+        // no low offset
+        long rightmostParent = (high - low + 1) / 2 - 1;
+
+        // Build heap (rearrange array)
+        for (long i = rightmostParent; i >= 0; i--)
+            helperHeapify(array, i, low, high);
+
+        // One by one extract an element from heap
+        for (long i = high - low; i > 0; i--) {
+            // Move current root to end
+            swap(array, low, low + i);
+
+            // call max helperHeapify on the reduced heap
+            helperHeapify(array, 0, low, low + i - 1);
+        }
+    }
+
+    /**
+     * Also known as "sink," swaps a heap element located at index i (relative to
+     * the low and high index bounds) with the child of the greatest value until
+     * it is larger than both of its children.
+     * This is a loop instead of the recursion used in HybridSorts, but it
+     * performs the exact same sequence of get() and set() calls.
+     *
+     * @param array the OffHeapAnalyzedArray where the sink will be performed
+     * @param i     the index of the element to sink, relative to low
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    private static void helperHeapify(OffHeapAnalyzedArray array, long i, long low, long high) {
+        while (true) {
+            long largest = low + i; // Initialize largest as root
+            long left = low + (2 * i + 1); // left = 2*i + 1
+            long right = low + (2 * i + 2); // right = 2*i + 2
+
+            // If left child is larger than root
+            if (left <= high && array.get(left) > array.get(largest))
+                largest = left;
+
+            // If right child is larger than largest so far
+            if (right <= high && array.get(right) > array.get(largest))
+                largest = right;
+
+            // If largest is root, the element has sunk as far as it can.
+            if (largest == low + i) {
+                return;
+            }
+
+            swap(array, low + i, largest);
+            i = largest - low;
+        }
+    }
+
+    /**
+     * The entry point to perform Heap Sort on an OffHeapAnalyzedArray.
+     *
+     * @param input the OffHeapAnalyzedArray to sort
+     */
+    public static void heapSort(OffHeapAnalyzedArray input) {
+        helperHeapSort(input, 0, input.size() - 1);
+    }
+
+    /**
+     * Performs a least-significant-digit Radix Sort on the provided
+     * OffHeapAnalyzedArray between a lower and upper bound of indices, inclusive.
+     * Each of the four passes distributes the elements by one byte of their value
+     * into the temporary array and copies them back. The sign bit is flipped for
+     * the most significant byte so that negative values are ordered before
+     * positive ones.
+     *
+     * @param array the OffHeapAnalyzedArray that is to be sorted
+     * @param temp  the temporary OffHeapAnalyzedArray for the distribution passes
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperRadixSort(OffHeapAnalyzedArray array, OffHeapAnalyzedArray temp, long low,
+            long high) {
+        long[] bucketStart = new long[256];
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            // Count the number of elements with each value of the current byte.
+            long[] bucketCount = new long[256];
+            for (long k = low; k <= high; k++) {
+                bucketCount[radixDigit(array.get(k), shift)]++;
+            }
+
+            // Convert the counts into the first index of each bucket.
+            long nextStart = low;
+            for (int b = 0; b < 256; b++) {
+                bucketStart[b] = nextStart;
+                nextStart += bucketCount[b];
+            }
+
+            // Distribute the elements into the temporary array (stable).
+            for (long k = low; k <= high; k++) {
+                int value = array.get(k);
+                int digit = radixDigit(value, shift);
+                temp.set(bucketStart[digit], value);
+                bucketStart[digit]++;
+            }
+
+            // Copy the elements back for the next pass.
+            for (long k = low; k <= high; k++) {
+                array.set(k, temp.get(k));
+            }
+        }
+    }
+
+    /**
+     * Returns the byte of the provided value at the given shift as a bucket index
+     * from 0 to 255.
+     * The most significant byte has its sign bit flipped so that the buckets of
+     * negative values come before the buckets of positive values.
+     *
+     * @param value the int value to extract the byte from
+     * @param shift the number of bits to shift the value by (0, 8, 16, or 24)
+     * @return the int bucket index of the byte
+     */
+    private static int radixDigit(int value, int shift) {
+        if (shift == 24) {
+            return ((value >>> 24) ^ 0x80) & 0xFF;
+        }
+        return (value >>> shift) & 0xFF;
+    }
+
+    /**
+     * The entry point to perform Radix Sort on an OffHeapAnalyzedArray.
+     * A temporary OffHeapAnalyzedArray of the same size is allocated off the heap
+     * for the distribution passes and released once the sort is finished.
+     *
+     * @param input the OffHeapAnalyzedArray to sort
+     */
+    public static void radixSort(OffHeapAnalyzedArray input) {
+        OffHeapAnalyzedArray temp = new OffHeapAnalyzedArray(input.size(), "temp");
+        helperRadixSort(input, temp, 0, input.size() - 1);
+        temp.release();
+    }
+
+    /**
+     * Swaps elements at indices i and j in the given OffHeapAnalyzedArray.
+     *
+     * @param array the OffHeapAnalyzedArray with the elements to swap
+     * @param i     the index of the element that is swapped with j
+     * @param j     the index of the element that is swapped with i
+     */
+    public static void swap(OffHeapAnalyzedArray array, long i, long j) {
+        int temp = array.get(i);
+        array.set(i, array.get(j));
+        array.set(j, temp);
+    }
+}
@@ -8,7 +8,13 @@
  *                  other visualization and plotting parameters. It then passes them
  *                  to the Swing GUI that can then visualize the sorting process
  *                  as a bar graph and plot the access count of the sorting algorithm
- *                  as the size of the input N increases.
+ *                  as the size of the input N increases. With the "--headless"
+ *                  argument, the plot sweep is ran without the Swing GUI instead
+ *                  (see HeadlessRunner). With "--replay <path>", an access trace
+ *                  recorded by the headless runner is replayed in its own window
+ *                  instead (see TraceReplayViewer), and with "--render <path>", the
+ *                  bar graph of a test case is rendered to images without a display
+ *                  (see FrameRenderer).
  */
 
 import javax.swing.SwingUtilities;
@@ -16,12 +22,39 @@ import javax.swing.SwingUtilities;
 public class Main {
     /**
      * Runs the entire CSC 345 Sorting Algorithm Demonstration App.
-     * First it reads test cases from "test_cases.txt" and passes the read contents
-     * into the SortDemoSwing GUI. It then launches the GUI in the Swing thread.
+     * If "--headless" is one of the arguments, the HeadlessRunner is ran with the
+     * arguments instead and the Swing GUI is never started. If "--replay" is one
+     * of the arguments, the TraceReplayViewer is ran instead, and if "--render"
+     * is, the FrameRenderer is. Otherwise it reads
+     * test cases from "test_cases.txt" and passes the read contents into the
+     * SortDemoSwing GUI.
      * 
-     * @param args the String arguments from the command-line; not used here
+     * @param args the String arguments from the command-line
      */
     public static void main(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--headless")) {
+                HeadlessRunner.main(args);
+                return;
+            }
+            if (arg.equals("--replay")) {
+                TraceReplayViewer.main(args);
+                return;
+            }
+            if (arg.equals("--render")) {
+                FrameRenderer.main(args);
+                return;
+            }
+        }
+        startApp();
+    }
+
+    /**
+     * Launches the SortDemoSwing GUI in the Swing thread.
+     * This is kept separate from main() so that no AWT or Swing class is loaded
+     * when the app is ran headless.
+     */
+    private static void startApp() {
         SwingUtilities.invokeLater(() -> {
             // Read test cases.
             TestCaseReader reader = new TestCaseReader("test_cases.txt");
@@ -33,4 +66,4 @@ public class Main {
             }
         });
     }
-}
\ No newline at end of file
+}
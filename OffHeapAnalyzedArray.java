@@ -0,0 +1,287 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           OffHeapAnalyzedArray.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A long-indexed counterpart of the AnalyzedArray whose elements
+ *                  live outside of the Java heap. The elements are stored in
+ *                  fixed-size chunks of direct memory so that arrays with more than
+ *                  2^31 elements (4 to 8 billion ints) can be sorted and benchmarked
+ *                  without the garbage collector ever scanning or copying them. Like
+ *                  the AnalyzedArray, it counts every call to get() and set() and
+ *                  tracks the last-get and last-set indices.
+ *                  NOTE: THIS CLASS IS DESIGNED FOR A SINGLE SORTING THREAD.
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+public class OffHeapAnalyzedArray {
+    // Each chunk holds 2^27 ints (512 MiB of direct memory), which keeps every
+    // chunk well below the 2^31 byte limit of a single ByteBuffer.
+    private static final int CHUNK_SHIFT = 27;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private IntBuffer[] chunks;
+    private long capacity;
+    private long accessCount;
+
+    private String name;
+
+    private int minValue;
+    private int maxValue;
+    private boolean minMaxInitialized;
+
+    private long indexLastGet;
+    private long indexLastSet;
+
+    /**
+     * Initializes the OffHeapAnalyzedArray with a given capacity where every
+     * element is zero.
+     * The direct memory is allocated in chunks of 2^27 ints, where the last chunk
+     * is only as large as it needs to be. If the capacity is less than 1, then an
+     * OffHeapAnalyzedArray of capacity 1 is created.
+     *
+     * @param capacity the long capacity of the new OffHeapAnalyzedArray
+     * @param name     the String name for the OffHeapAnalyzedArray to be
+     *                 referenced by
+     */
+    public OffHeapAnalyzedArray(long capacity, String name) {
+        if (capacity < 1) {
+            capacity = 1;
+        }
+
+        this.capacity = capacity;
+        this.name = name;
+
+        int chunkCount = (int) ((capacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+        chunks = new IntBuffer[chunkCount];
+
+        for (int i = 0; i < chunkCount; i++) {
+            long chunkStart = (long) i << CHUNK_SHIFT;
+            int chunkSize = (int) Math.min(1L << CHUNK_SHIFT, capacity - chunkStart);
+
+            // Native byte order avoids a byte swap on every access.
+            chunks[i] = ByteBuffer.allocateDirect(chunkSize * Integer.BYTES).order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        }
+
+        accessCount = 0;
+        minValue = 0;
+        maxValue = 0;
+        minMaxInitialized = false;
+        indexLastGet = -1;
+        indexLastSet = -1;
+    }
+
+    /**
+     * Initializes the OffHeapAnalyzedArray with initial values provided by a
+     * primitive array of ints.
+     * Since a Java array can never be longer than 2^31 - 1 elements, this is
+     * expected to be used for small inputs and for checking the long-indexed
+     * algorithms against their int-indexed counterparts. If the given array is
+     * null, then an OffHeapAnalyzedArray of capacity 1 is created.
+     *
+     * @param otherArray the int array to initialize the OffHeapAnalyzedArray with
+     * @param name       the String name for the OffHeapAnalyzedArray to be
+     *                   referenced by
+     */
+    public OffHeapAnalyzedArray(int[] otherArray, String name) {
+        this(otherArray == null ? 1 : otherArray.length, name);
+
+        if (otherArray != null) {
+            for (int i = 0; i < otherArray.length; i++) {
+                setExternal(i, otherArray[i]);
+            }
+        }
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // METHODS CALLED BY SORTING ALGORITHM
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the value of the element at the index.
+     * Since this is expected to be called by a sorting algorithm, it updates the
+     * access count and the last-get index.
+     *
+     * NOT SYNCHRONIZED: expected to be called billions of times by a single
+     * sorting thread, where even an uncontended lock would dominate the cost of
+     * the access itself.
+     *
+     * @param index the long index of the element to retrieve
+     * @return the int value of the element
+     */
+    public int get(long index) {
+        accessCount++;
+        indexLastGet = index;
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Updates the value of the element at the index with the given value.
+     * Since this is expected to be called by a sorting algorithm, it updates the
+     * access count and the last-set index.
+     * Unlike the AnalyzedArray, the minimum and maximum are only ever widened and
+     * never re-scanned, because a full scan of billions of elements on a single
+     * set() would make the sort unusable.
+     *
+     * NOT SYNCHRONIZED: expected to be called billions of times by a single
+     * sorting thread.
+     *
+     * @param index the long index of the element to update
+     * @param value the new int value of the element
+     */
+    public void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+        accessCount++;
+        indexLastSet = index;
+        widenMinMax(value);
+    }
+
+    /**
+     * Returns the number of elements of the OffHeapAnalyzedArray.
+     *
+     * NOT SYNCHRONIZED: the capacity never changes after construction.
+     *
+     * @return the long number of elements
+     */
+    public long size() {
+        return capacity;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // METHODS CALLED OUTSIDE OF THE SORTING ALGORITHM
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the value of the element at the index without increasing the access
+     * count or updating the last-get index.
+     *
+     * @param index the long index of the element to retrieve
+     * @return the int value of the element
+     */
+    public int getExternal(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Updates the value of the element at the index without increasing the access
+     * count or updating the last-set index.
+     * This is expected to be used for filling the input before it is sorted.
+     *
+     * @param index the long index of the element to update
+     * @param value the new int value of the element
+     */
+    public void setExternal(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+        widenMinMax(value);
+    }
+
+    /**
+     * Widens the tracked minimum and maximum so they include the provided value.
+     *
+     * @param value the int value that was just written
+     */
+    private void widenMinMax(int value) {
+        // The first value ever written defines both bounds.
+        if (!minMaxInitialized) {
+            minValue = value;
+            maxValue = value;
+            minMaxInitialized = true;
+        }
+
+        if (value < minValue) {
+            minValue = value;
+        }
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    /**
+     * Returns the access count of the OffHeapAnalyzedArray.
+     *
+     * @return the long access count
+     */
+    public long getAccessCount() {
+        return accessCount;
+    }
+
+    /**
+     * Sets the access count to zero.
+     */
+    public void resetAccessCount() {
+        accessCount = 0;
+    }
+
+    /**
+     * Returns the smallest value that was ever written to the array.
+     *
+     * @return the int smallest value written
+     */
+    public int getMin() {
+        return minValue;
+    }
+
+    /**
+     * Returns the largest value that was ever written to the array.
+     *
+     * @return the int largest value written
+     */
+    public int getMax() {
+        return maxValue;
+    }
+
+    /**
+     * Return the last index that was last accessed with get().
+     *
+     * @return the long index of the last index that was accessed
+     */
+    public long getIndexLastGet() {
+        return indexLastGet;
+    }
+
+    /**
+     * Return the last index that was last updated with set().
+     *
+     * @return the long index of the last index that was updated
+     */
+    public long getIndexLastSet() {
+        return indexLastSet;
+    }
+
+    /**
+     * Returns the String name of the OffHeapAnalyzedArray.
+     *
+     * @return the String name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return true if the OffHeapAnalyzedArray is sorted in ascending order and
+     * false if otherwise.
+     *
+     * @return true if sorted and false if otherwise
+     */
+    public boolean isSorted() {
+        for (long i = 0; i < capacity - 1; i++) {
+            if (getExternal(i) > getExternal(i + 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops every reference to the direct memory chunks so that they can be
+     * returned to the operating system at the next garbage collection.
+     * The OffHeapAnalyzedArray cannot be used after this is called.
+     */
+    public void release() {
+        chunks = new IntBuffer[0];
+        capacity = 0;
+    }
+}
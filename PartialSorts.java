@@ -0,0 +1,245 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           PartialSorts.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Selection algorithms that do less work than a full sort when
+ *                  only part of the sorted order is needed: Introselect for the
+ *                  nth element, a heap-based top-K, and a heap-based partial sort
+ *                  of the first K elements. Like HybridSorts, an algorithm is ran
+ *                  by passing an AnalyzedArrayGroup in an entry point method, which
+ *                  works on the AnalyzedArray with the name "input" and takes K
+ *                  from the selection K of the group.
+ */
+
+public class PartialSorts {
+    /*
+     * Here is a list of the algorithms organized by order of appearance:
+     * (1) Introselect (nth element)
+     * (2) Top-K
+     * (3) Partial Sort
+     */
+
+    /**
+     * Performs Introselect on the provided AnalyzedArray between a lower and upper
+     * bound of indices, inclusive, so that the element at index k is the one that
+     * would be there if the range was sorted, every element before it is less than
+     * or equal to it, and every element after it is greater than or equal to it.
+     * This is Quickselect (the partitioning scheme of Quick Sort in HybridSorts,
+     * only continuing into the side that contains k) with a limit of
+     * 2 * log2(N) partitions. If the limit is reached because the pivots were
+     * badly chosen, then the remaining range is finished with Heap Sort so the
+     * worst case is O(N log N) instead of O(N^2).
+     *
+     * @param group the AnalyzedArrayGroup that the provided AnalyzedArray is
+     *              contained in
+     * @param array the AnalyzedArray with the element to select
+     * @param low   the lower, inclusive bound of indices to select from
+     * @param high  the upper, inclusive bound of indices to select from
+     * @param k     the index (between low and high) of the element to select
+     */
+    public static void helperIntroSelect(AnalyzedArrayGroup group, AnalyzedArray array, int low, int high, int k) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(high - low + 1));
+
+        while (low < high) {
+            if (depthLimit == 0) {
+                HybridSorts.helperHeapSort(group, array, low, high);
+                return;
+            }
+            depthLimit--;
+
+            int pivotIndex = low + (high - low) / 2;
+            int pivot = array.get(pivotIndex);
+            int i = low, j = high;
+
+            while (i <= j) {
+                while (array.get(i) < pivot)
+                    i++;
+                while (array.get(j) > pivot)
+                    j--;
+                if (i <= j) {
+                    HybridSorts.swap(array, i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            // Everything in [low, j] is <= pivot, everything in [i, high] is >= pivot,
+            // and everything strictly between j and i is equal to the pivot.
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The entry point for a Test Case to perform nth element selection.
+     * It assumes the input array as an AnalyzedArray with the name "input" in the
+     * provided AnalyzedArrayGroup and selects the K-th smallest element (where K
+     * is the selection K of the group, starting at 1) into index K - 1.
+     *
+     * @param group the AnalyzedArrayGroup with the input array to select from
+     */
+    public static void nthElement(AnalyzedArrayGroup group) {
+        AnalyzedArray input = group.getArray("input");
+        int k = clampK(group.getSelectionK(), input.size());
+        helperIntroSelect(group, input, 0, input.size() - 1, k - 1);
+        group.algorithmFinished();
+    }
+
+    /**
+     * Moves the k largest elements of the provided AnalyzedArray between a lower
+     * and upper bound of indices, inclusive, to the end of the range in ascending
+     * order.
+     * The last k elements of the range are turned into a min-heap of the largest
+     * elements seen so far. Every other element is compared against the root of
+     * the heap (the smallest of the largest) and replaces it if it is larger.
+     * The heap is then sorted with Heap Sort. This costs O(N log K) accesses
+     * instead of the O(N log N) of a full sort.
+     *
+     * @param group the AnalyzedArrayGroup that the provided AnalyzedArray is
+     *              contained in
+     * @param array the AnalyzedArray with the elements to select
+     * @param low   the lower, inclusive bound of indices to select from
+     * @param high  the upper, inclusive bound of indices to select from
+     * @param k     the number of largest elements to select (between 1 and the
+     *              size of the range)
+     */
+    public static void helperTopK(AnalyzedArrayGroup group, AnalyzedArray array, int low, int high, int k) {
+        int heapLow = high - k + 1;
+
+        // Build the min-heap out of the last k elements.
+        for (int i = k / 2 - 1; i >= 0; i--)
+            helperMinHeapify(group, array, i, heapLow, high);
+
+        // Replace the root of the heap whenever a larger element is found.
+        for (int i = low; i < heapLow; i++) {
+            if (array.get(i) > array.get(heapLow)) {
+                HybridSorts.swap(array, i, heapLow);
+                helperMinHeapify(group, array, 0, heapLow, high);
+            }
+        }
+
+        HybridSorts.helperHeapSort(group, array, heapLow, high);
+    }
+
+    /**
+     * Also known as "sink," swaps a min-heap element located at index i (relative
+     * to the low and high index bounds) with the child of the smallest value until
+     * it is smaller than both of its children.
+     *
+     * @param group the AnalyzedArrayGroup that the provided AnalyzedArray is
+     *              contained in
+     * @param array the AnalyzedArray where the sink will be performed
+     * @param i     the index of the element to sink, relative to low
+     * @param low   the lower, inclusive bound of indices of the heap
+     * @param high  the upper, inclusive bound of indices of the heap
+     */
+    private static void helperMinHeapify(AnalyzedArrayGroup group, AnalyzedArray array, int i, int low, int high) {
+        while (true) {
+            int smallest = low + i;
+            int left = low + (2 * i + 1);
+            int right = low + (2 * i + 2);
+
+            if (left <= high && array.get(left) < array.get(smallest))
+                smallest = left;
+
+            if (right <= high && array.get(right) < array.get(smallest))
+                smallest = right;
+
+            if (smallest == low + i) {
+                return;
+            }
+
+            HybridSorts.swap(array, low + i, smallest);
+            i = smallest - low;
+        }
+    }
+
+    /**
+     * The entry point for a Test Case to perform top-K selection.
+     * It assumes the input array as an AnalyzedArray with the name "input" in the
+     * provided AnalyzedArrayGroup and moves the K largest elements (where K is the
+     * selection K of the group) to the end of the input in ascending order.
+     *
+     * @param group the AnalyzedArrayGroup with the input array to select from
+     */
+    public static void topK(AnalyzedArrayGroup group) {
+        AnalyzedArray input = group.getArray("input");
+        int k = clampK(group.getSelectionK(), input.size());
+        helperTopK(group, input, 0, input.size() - 1, k);
+        group.algorithmFinished();
+    }
+
+    /**
+     * Sorts the k smallest elements of the provided AnalyzedArray between a lower
+     * and upper bound of indices, inclusive, into the first k indices of the
+     * range. The order of the remaining elements is unspecified.
+     * The first k elements of the range are turned into a max-heap of the smallest
+     * elements seen so far. Every other element is compared against the root of
+     * the heap (the largest of the smallest) and replaces it if it is smaller.
+     * Finally, the root is repeatedly moved to the end of the heap like in Heap
+     * Sort. This costs O(N log K) accesses instead of the O(N log N) of a full
+     * sort.
+     *
+     * @param group the AnalyzedArrayGroup that the provided AnalyzedArray is
+     *              contained in
+     * @param array the AnalyzedArray with the elements to sort
+     * @param low   the lower, inclusive bound of indices to select from
+     * @param high  the upper, inclusive bound of indices to select from
+     * @param k     the number of smallest elements to sort (between 1 and the
+     *              size of the range)
+     */
+    public static void helperPartialSort(AnalyzedArrayGroup group, AnalyzedArray array, int low, int high, int k) {
+        int heapHigh = low + k - 1;
+
+        // Build the max-heap out of the first k elements.
+        for (int i = k / 2 - 1; i >= 0; i--)
+            HybridSorts.helperHeapify(group, array, i, low, heapHigh);
+
+        // Replace the root of the heap whenever a smaller element is found.
+        for (int i = heapHigh + 1; i <= high; i++) {
+            if (array.get(i) < array.get(low)) {
+                HybridSorts.swap(array, i, low);
+                HybridSorts.helperHeapify(group, array, 0, low, heapHigh);
+            }
+        }
+
+        // The heap is already built, so only the extraction of Heap Sort is left.
+        for (int i = heapHigh - low; i > 0; i--) {
+            HybridSorts.swap(array, low, low + i);
+            HybridSorts.helperHeapify(group, array, 0, low, low + i - 1);
+        }
+    }
+
+    /**
+     * The entry point for a Test Case to perform a partial sort.
+     * It assumes the input array as an AnalyzedArray with the name "input" in the
+     * provided AnalyzedArrayGroup and sorts the K smallest elements (where K is the
+     * selection K of the group) into the front of the input.
+     *
+     * @param group the AnalyzedArrayGroup with the input array to sort
+     */
+    public static void partialSort(AnalyzedArrayGroup group) {
+        AnalyzedArray input = group.getArray("input");
+        int k = clampK(group.getSelectionK(), input.size());
+        helperPartialSort(group, input, 0, input.size() - 1, k);
+        group.algorithmFinished();
+    }
+
+    /**
+     * Returns K limited to the range of 1 to the size of the input, so that a
+     * selection K that is larger than a plotted sample of the input selects the
+     * entire sample.
+     *
+     * @param k    the int selection K of the group
+     * @param size the int size of the input
+     * @return the int K between 1 and size, inclusive
+     */
+    private static int clampK(int k, int size) {
+        return Math.max(1, Math.min(k, size));
+    }
+}
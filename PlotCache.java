@@ -0,0 +1,521 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           PlotCache.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     An on-disk cache of the measured trials of the samples of the
+ *                  scatter plot, so that re-plotting a test case does not sort the
+ *                  same input again (Bubble Sort of 5000 elements is ~10^9 accesses
+ *                  for every plot). A sample is keyed by the name of the algorithm,
+ *                  the version of the sorting code, a hash of the contents of the
+ *                  input, the prefix N, the K of the partial sorting algorithms, the
+ *                  amount of warm-up runs, and whether the sweep was measured alone
+ *                  or next to other sweeps (the concurrent sweeps of the Swing GUI
+ *                  share the CPU), so a sample is only reused for a run whose times
+ *                  are measured the same way.
+ *                  The version is a hash of the compiled classes that the sorting
+ *                  methods of the algorithm map reach (found through their constant
+ *                  pools), so every entry is invalidated as soon as that code is
+ *                  recompiled with a change.
+ *                  The cache holds at most a maximum number of samples and evicts
+ *                  the least recently used one past it. The file is only read and
+ *                  written by load() and save(); the other methods are SYNCHRONIZED
+ *                  so the concurrent sweeps of the Swing GUI can share the cache.
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class PlotCache {
+    public static final String FILE_PATH_DEFAULT = "plot_cache.txt";
+    public static final int MAX_ENTRIES_DEFAULT = 10000;
+
+    // The first line of the file, so that a file of another format is not read.
+    private static final String FILE_HEADER = "# PlotCache 2";
+
+    // The class whose algorithm map (method references to the sorting methods)
+    // roots the versioned classes: every class of the default package that the
+    // sorting methods reach through their constant pools decides the access
+    // counts of a sort, so a change to any of them invalidates every entry.
+    private static final String ALGORITHM_MAP_CLASS_NAME = "TestCaseReader";
+
+    // The tags of the constant pool entries (JVMS 4.4) that are read or skipped.
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+
+    private static String codeVersion;
+
+    private String filePath;
+    private int maxEntries;
+    private LinkedHashMap<String, List<PlotSample>> entryMap;
+
+    /**
+     * Initializes an empty PlotCache of the file of the provided path that holds
+     * at most the provided amount of samples. The file is not read until load()
+     * is called.
+     *
+     * @param filePath   the String path to the cache file
+     * @param maxEntries the int maximum amount of samples (at least 1)
+     */
+    public PlotCache(String filePath, int maxEntries) {
+        this.filePath = filePath;
+        this.maxEntries = Math.max(1, maxEntries);
+
+        // In access order, so the eldest entry is the least recently used one.
+        entryMap = new LinkedHashMap<String, List<PlotSample>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<PlotSample>> eldest) {
+                return size() > PlotCache.this.maxEntries;
+            }
+        };
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // KEYS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the version of the sorting code: a hash of the compiled class files
+     * of every class the sorting methods of the algorithm map reach (see
+     * getVersionedClassNames()), or null if one of them could not be read (such
+     * as when the classes are not loaded from files), in which case nothing can
+     * be cached. Computed once per run.
+     *
+     * @return the String hexadecimal version or null
+     */
+    public static synchronized String getCodeVersion() {
+        if (codeVersion != null) {
+            return codeVersion;
+        }
+
+        TreeMap<String, byte[]> classFileMap = getVersionedClassFiles();
+        if (classFileMap == null) {
+            return null;
+        }
+        MessageDigest digest = newDigest();
+        for (Map.Entry<String, byte[]> entry : classFileMap.entrySet()) {
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update(entry.getValue());
+        }
+        codeVersion = toHex(digest.digest()).substring(0, 16);
+        return codeVersion;
+    }
+
+    /**
+     * Returns the sorted names of the classes whose code is part of the version,
+     * or null if they could not be read.
+     *
+     * @return the List of String class names or null
+     */
+    public static List<String> getVersionedClassNames() {
+        TreeMap<String, byte[]> classFileMap = getVersionedClassFiles();
+        return classFileMap == null ? null : new ArrayList<>(classFileMap.keySet());
+    }
+
+    /**
+     * Reads the class files of the versioned classes. The roots are the classes of
+     * the method references in the algorithm map, so a new algorithm file is
+     * versioned as soon as it is added to the map. From the roots, every class of
+     * the default package named in the constant pool of a versioned class is
+     * versioned as well (such as LongHybridSorts and AnalyzedLongArray, which
+     * ArgSorts sorts with). Classes of other packages (the JDK) are not followed.
+     *
+     * @return the TreeMap of the String class names to their class file bytes, or
+     *         null if the map or one of the roots could not be read
+     */
+    private static TreeMap<String, byte[]> getVersionedClassFiles() {
+        byte[] mapClassFile = readClassFile(ALGORITHM_MAP_CLASS_NAME);
+        if (mapClassFile == null) {
+            return null;
+        }
+        List<String> roots = new ArrayList<>();
+        try {
+            for (String className : readReferencedClassNames(mapClassFile, true)) {
+                if (!className.equals(ALGORITHM_MAP_CLASS_NAME) && isDefaultPackage(className)) {
+                    roots.add(className);
+                }
+            }
+        } catch (IOException | IndexOutOfBoundsException exception) {
+            return null;
+        }
+        if (roots.isEmpty()) {
+            return null;
+        }
+
+        TreeMap<String, byte[]> classFileMap = new TreeMap<>();
+        ArrayDeque<String> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            String className = pending.poll();
+            if (classFileMap.containsKey(className)) {
+                continue;
+            }
+            byte[] classFile = readClassFile(className);
+            if (classFile == null) {
+                if (roots.contains(className)) {
+                    return null;
+                }
+                continue;
+            }
+            classFileMap.put(className, classFile);
+            try {
+                for (String referenced : readReferencedClassNames(classFile, false)) {
+                    if (isDefaultPackage(referenced) && !classFileMap.containsKey(referenced)) {
+                        pending.add(referenced);
+                    }
+                }
+            } catch (IOException | IndexOutOfBoundsException exception) {
+                return null;
+            }
+        }
+        return classFileMap;
+    }
+
+    /**
+     * Returns the names of the classes in the constant pool of the provided class
+     * file (JVMS 4.4): either every class entry, or only the classes of the method
+     * handles (the targets of the method references and lambdas of the class).
+     *
+     * @param classFile         the byte array of the class file
+     * @param methodHandlesOnly the boolean of only reading the method handles
+     * @return the List of String internal class names
+     * @throws IOException if the class file is cut short
+     */
+    private static List<String> readReferencedClassNames(byte[] classFile, boolean methodHandlesOnly)
+            throws IOException {
+        DataInputStream stream = new DataInputStream(new ByteArrayInputStream(classFile));
+        stream.readInt(); // magic
+        stream.readUnsignedShort(); // minor version
+        stream.readUnsignedShort(); // major version
+        int count = stream.readUnsignedShort();
+
+        int[] tags = new int[count];
+        int[] firstIndices = new int[count];
+        String[] utf8s = new String[count];
+        for (int i = 1; i < count; i++) {
+            tags[i] = stream.readUnsignedByte();
+            switch (tags[i]) {
+                case CONSTANT_UTF8:
+                    utf8s[i] = stream.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    firstIndices[i] = stream.readUnsignedShort();
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    stream.readUnsignedByte(); // reference kind
+                    firstIndices[i] = stream.readUnsignedShort();
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // FieldRef
+                case CONSTANT_METHOD_REF:
+                case CONSTANT_INTERFACE_METHOD_REF:
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    firstIndices[i] = stream.readUnsignedShort();
+                    stream.readUnsignedShort();
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    stream.readLong();
+                    i++; // takes two entries
+                    break;
+                default:
+                    throw new IOException("unknown constant pool tag " + tags[i]);
+            }
+        }
+
+        List<String> classNames = new ArrayList<>();
+        for (int i = 1; i < count; i++) {
+            int classIndex = 0;
+            if (methodHandlesOnly && tags[i] == CONSTANT_METHOD_HANDLE) {
+                int refIndex = firstIndices[i];
+                if (tags[refIndex] == CONSTANT_METHOD_REF || tags[refIndex] == CONSTANT_INTERFACE_METHOD_REF) {
+                    classIndex = firstIndices[refIndex];
+                }
+            } else if (!methodHandlesOnly && tags[i] == CONSTANT_CLASS) {
+                classIndex = i;
+            }
+            if (classIndex != 0 && tags[classIndex] == CONSTANT_CLASS) {
+                classNames.add(utf8s[firstIndices[classIndex]]);
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Returns if the provided internal class name is a class of the default
+     * package (and not an array descriptor).
+     *
+     * @param className the String internal class name
+     * @return the boolean of being a class of the default package
+     */
+    private static boolean isDefaultPackage(String className) {
+        return className != null && className.indexOf('/') < 0 && !className.startsWith("[");
+    }
+
+    /**
+     * Returns the bytes of the class file of the provided class of the default
+     * package, or null if it could not be read.
+     *
+     * @param className the String class name
+     * @return the byte array of the class file or null
+     */
+    private static byte[] readClassFile(String className) {
+        try (InputStream stream = PlotCache.class.getResourceAsStream(className + ".class")) {
+            if (stream == null) {
+                return null;
+            }
+            return stream.readAllBytes();
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a hash of the contents of the provided input. Two inputs with the
+     * same elements in the same order have the same hash, so a generated input is
+     * only cached across runs if it is generated the same way again (a seeded
+     * or non-random input).
+     *
+     * @param input the int array input (not modified)
+     * @return the String hexadecimal hash
+     */
+    public static String hashInput(int[] input) {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[4 * 1024];
+        int position = 0;
+        for (int element : input) {
+            buffer[position++] = (byte) (element >>> 24);
+            buffer[position++] = (byte) (element >>> 16);
+            buffer[position++] = (byte) (element >>> 8);
+            buffer[position++] = (byte) element;
+            if (position == buffer.length) {
+                digest.update(buffer, 0, position);
+                position = 0;
+            }
+        }
+        digest.update(buffer, 0, position);
+        return toHex(digest.digest()).substring(0, 32);
+    }
+
+    /**
+     * Returns the key of a sample. The key has no tabs since it is the first field
+     * of a line of the file.
+     *
+     * @param algorithmName the String name of the algorithm (as in sortMethod)
+     * @param inputHash     the String hash of the whole input (see hashInput())
+     * @param n             the int prefix of the input that is sorted
+     * @param selectK       the int K of the partial sorting algorithms
+     * @param warmups       the int amount of warm-up runs before the trials
+     * @param isConcurrent  true if the sweep is measured next to other sweeps
+     * @return the String key, or null if the code version is unknown
+     */
+    public static String getKey(String algorithmName, String inputHash, int n, int selectK, int warmups,
+            boolean isConcurrent) {
+        String version = getCodeVersion();
+        if (version == null) {
+            return null;
+        }
+        return algorithmName + "|" + version + "|" + inputHash + "|" + n + "|" + selectK + "|" + warmups + "|"
+                + (isConcurrent ? "concurrent" : "alone");
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // ENTRIES
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the first trials of the sample of the provided key, or null if the
+     * sample is not cached or has fewer trials than requested. A hit makes the
+     * sample the most recently used.
+     *
+     * @param key    the String key of the sample (see getKey())
+     * @param trials the int amount of trials needed
+     * @return the List of PlotSamples of the trials or null
+     */
+    public synchronized List<PlotSample> get(String key, int trials) {
+        if (key == null) {
+            return null;
+        }
+        List<PlotSample> samples = entryMap.get(key);
+        if (samples == null || samples.size() < trials) {
+            return null;
+        }
+        return new ArrayList<PlotSample>(samples.subList(0, trials));
+    }
+
+    /**
+     * Stores the measured trials of the sample of the provided key, replacing the
+     * trials stored before, and evicts the least recently used sample if the
+     * cache is full. Does nothing if the key is null.
+     *
+     * @param key     the String key of the sample (see getKey())
+     * @param samples the List of PlotSamples of the trials
+     */
+    public synchronized void put(String key, List<PlotSample> samples) {
+        if (key == null || samples.isEmpty()) {
+            return;
+        }
+        entryMap.put(key, new ArrayList<PlotSample>(samples));
+    }
+
+    /**
+     * Returns the amount of samples in the cache.
+     *
+     * @return the int amount of samples
+     */
+    public synchronized int size() {
+        return entryMap.size();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // THE FILE
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Reads the cache file, from the least to the most recently used sample.
+     * Samples of another version of the sorting code are dropped. A missing file
+     * is an empty cache. If the file cannot be read or has a line that cannot be
+     * parsed, then a warning is printed and the cache is left empty, so a broken
+     * cache only costs the sorts.
+     */
+    public synchronized void load() {
+        entryMap.clear();
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        String version = getCodeVersion();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null || !line.equals(FILE_HEADER)) {
+                System.err.printf("WARNING: the plot cache \"%s\" has an unknown format and is ignored.\n", filePath);
+                return;
+            }
+
+            while ((line = reader.readLine()) != null) {
+                String[] split = line.split("\t");
+                String[] keyFields = split[0].split("\\|");
+                if (split.length < 2 || keyFields.length != 7) {
+                    throw new NumberFormatException(line);
+                }
+                if (!keyFields[1].equals(version)) {
+                    continue;
+                }
+
+                int n = Integer.parseInt(keyFields[3]);
+                List<PlotSample> samples = new ArrayList<PlotSample>();
+                for (int i = 1; i < split.length; i++) {
+                    samples.add(parseSample(n, split[i]));
+                }
+                entryMap.put(split[0], samples);
+            }
+        } catch (IOException | NumberFormatException exception) {
+            System.err.printf("WARNING: the plot cache \"%s\" could not be read and is ignored.\n", filePath);
+            entryMap.clear();
+        }
+    }
+
+    /**
+     * Writes the cache file, from the least to the most recently used sample. The
+     * file is written to a temporary file first and then moved over the old one,
+     * so a run that is stopped while saving does not leave a broken cache. If the
+     * file cannot be written, then a warning is printed.
+     */
+    public synchronized void save() {
+        Path path = Paths.get(filePath).toAbsolutePath();
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+            writer.write(FILE_HEADER);
+            writer.newLine();
+            for (Map.Entry<String, List<PlotSample>> entry : entryMap.entrySet()) {
+                writer.write(entry.getKey());
+                for (PlotSample sample : entry.getValue()) {
+                    writer.write("\t" + sample.getAccessCount() + "," + sample.getWallNanos() + ","
+                            + sample.getCpuNanos() + "," + sample.getAllocatedBytes());
+                }
+                writer.newLine();
+            }
+        } catch (IOException exception) {
+            System.err.printf("WARNING: the plot cache \"%s\" could not be written.\n", filePath);
+            return;
+        }
+
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exception) {
+            System.err.printf("WARNING: the plot cache \"%s\" could not be written.\n", filePath);
+        }
+    }
+
+    /**
+     * Returns the PlotSample of a trial written by save() as its access count,
+     * wall time, CPU time, and allocated bytes separated by commas.
+     *
+     * @param n     the int size of the input of the sample
+     * @param value the String measurements of the trial
+     * @return the parsed PlotSample
+     * @throws NumberFormatException if the measurements cannot be parsed
+     */
+    private static PlotSample parseSample(int n, String value) {
+        String[] fields = value.split(",");
+        if (fields.length != 4) {
+            throw new NumberFormatException(value);
+        }
+        return new PlotSample(n, Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                Long.parseLong(fields[3]));
+    }
+
+    /**
+     * Returns a new SHA-256 MessageDigest, which every JVM is required to support.
+     *
+     * @return the MessageDigest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Returns the provided bytes as a lowercase hexadecimal String.
+     *
+     * @param bytes the bytes to write
+     * @return the String of two hexadecimal digits per byte
+     */
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte value : bytes) {
+            builder.append(String.format("%02x", value));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           PlotSample.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The measurements of a single sample of the scatter plot: the
+ *                  size of the input (N), the total access count, the wall time,
+ *                  the CPU time of the sorting thread, and the bytes it allocated.
+ *                  The access count alone misses the cost of cache misses, branch
+ *                  mispredictions, and the copies into temporary arrays, which the
+ *                  time and allocation metrics reveal.
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PlotSample {
+    private static final List<String> METRIC_LIST = Arrays.asList(
+            "access-count",
+            "wall-time",
+            "cpu-time",
+            "allocated-bytes");
+
+    private int n;
+    private long accessCount, wallNanos, cpuNanos, allocatedBytes;
+
+    /**
+     * Initializes the PlotSample with its measurements.
+     * A measurement that is not supported by the JVM should be -1.
+     *
+     * @param n              the int size of the input of the sample
+     * @param accessCount    the long total access count
+     * @param wallNanos      the long wall time of the sort in nanoseconds
+     * @param cpuNanos       the long CPU time of the sorting thread in nanoseconds
+     * @param allocatedBytes the long bytes allocated by the sorting thread
+     */
+    public PlotSample(int n, long accessCount, long wallNanos, long cpuNanos, long allocatedBytes) {
+        this.n = n;
+        this.accessCount = accessCount;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the list of the names of the metrics a sample can be plotted by.
+     *
+     * @return the List of String names of the metrics
+     */
+    public static List<String> getMetricList() {
+        return METRIC_LIST;
+    }
+
+    /**
+     * Returns the measurement of the metric of the provided name, or -1 if the
+     * name is not a metric or the metric was not supported.
+     *
+     * @param metric the String name of the metric (access-count, wall-time,
+     *               cpu-time, allocated-bytes)
+     * @return the long measurement
+     */
+    public long getMetric(String metric) {
+        switch (metric) {
+            case "access-count":
+                return accessCount;
+            case "wall-time":
+                return wallNanos;
+            case "cpu-time":
+                return cpuNanos;
+            case "allocated-bytes":
+                return allocatedBytes;
+            default:
+                return -1;
+        }
+    }
+
+    public int getN() {
+        return n;
+    }
+
+    public long getAccessCount() {
+        return accessCount;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           PlotSchedule.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The sizes of the input (values of N) that a test case is sorted
+ *                  with to make the points of its scatter plot. Both the Swing GUI
+ *                  and the headless runner use the same PlotSchedule, so a plot and
+ *                  a headless sweep of the same test case always sample the exact
+ *                  same values of N. There are four kinds of schedules:
+ *                  "linear" evenly spaces the values of N; "doubling" samples every
+ *                  power of two (N = 2^k); "log" spaces them evenly on a logarithmic
+ *                  scale; and "adaptive" starts with a coarse log schedule and then
+ *                  adds values of N where the measured curve bends the most.
+ *                  NOT SYNCHRONIZED: THE ADAPTIVE SCHEDULE IS EXPECTED TO BE UPDATED
+ *                  BY A SINGLE THREAD.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+public class PlotSchedule {
+    // The default maximum amount of samples/points of a plot.
+    public static final int SAMPLE_AMOUNT_DEFAULT = 50;
+
+    private static final List<String> SCHEDULE_TYPE_LIST = Arrays.asList(
+            "linear",
+            "doubling",
+            "log",
+            "adaptive");
+
+    private String scheduleType;
+    private int inputSize, sampleAmountMax;
+
+    // The values of N in the order they are sampled and the measurement of each
+    // (-1 until it is recorded). Only the adaptive schedule grows after creation.
+    private List<Integer> sampleN;
+    private List<Long> sampleValue;
+    private int sampleRecordedAmount;
+
+    /**
+     * Initializes the linear PlotSchedule of an input of the provided size with
+     * up to 50 samples.
+     *
+     * @param inputSize the int size of the entire input of the test case
+     */
+    public PlotSchedule(int inputSize) {
+        this("linear", inputSize, SAMPLE_AMOUNT_DEFAULT);
+    }
+
+    /**
+     * Initializes the PlotSchedule of the provided type of an input of the
+     * provided size. The amount of samples is a maximum: the doubling schedule
+     * ignores it, and values of N that would repeat are skipped. If the type is
+     * not supported, then the linear schedule is used.
+     *
+     * @param scheduleType    the String type of the schedule (linear, doubling,
+     *                        log, adaptive)
+     * @param inputSize       the int size of the entire input of the test case
+     * @param sampleAmountMax the int maximum amount of samples
+     */
+    public PlotSchedule(String scheduleType, int inputSize, int sampleAmountMax) {
+        this.scheduleType = SCHEDULE_TYPE_LIST.contains(scheduleType) ? scheduleType : "linear";
+        this.inputSize = inputSize;
+        this.sampleAmountMax = sampleAmountMax;
+
+        sampleN = new ArrayList<Integer>();
+        sampleValue = new ArrayList<Long>();
+        sampleRecordedAmount = 0;
+
+        switch (this.scheduleType) {
+            case "doubling":
+                setupDoubling();
+                break;
+            case "log":
+                setupLog(sampleAmountMax);
+                break;
+            case "adaptive":
+                // Half of the samples are spent on the coarse schedule and the rest where the
+                // curve bends.
+                setupLog(Math.max(3, sampleAmountMax / 2));
+                break;
+            default:
+                setupLinear();
+                break;
+        }
+    }
+
+    /**
+     * Returns the list of the names of the supported schedules.
+     *
+     * @return the List of String names of the schedules
+     */
+    public static List<String> getScheduleTypeList() {
+        return SCHEDULE_TYPE_LIST;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // SETTING UP THE SCHEDULES
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Adds the provided N to the schedule if it is within the input and was not
+     * already added.
+     *
+     * @param n the int N to add
+     * @return true if the N was added and false if otherwise
+     */
+    private boolean addSample(int n) {
+        if (n < 1 || n > inputSize || sampleN.contains(n)) {
+            return false;
+        }
+        sampleN.add(n);
+        sampleValue.add(-1L);
+        return true;
+    }
+
+    /**
+     * Evenly spaces the values of N from the size divided by the amount of samples
+     * + 1 up to the size (exclusive). If there are less elements in the input than
+     * the maximum amount of samples, then every N from 1 to the size is sampled.
+     */
+    private void setupLinear() {
+        int sampleAmount = Math.min(sampleAmountMax, inputSize);
+        double jump;
+
+        if (inputSize <= sampleAmountMax) {
+            // Ensure that the N will increase by 1 when the input size is less than the
+            // sample maximum; otherwise the jump may be less than 1 and truncate to an int
+            // of 0.
+            jump = 1.0;
+        } else {
+            jump = inputSize / (double) (sampleAmount + 1);
+        }
+
+        for (int i = 0; i < sampleAmount; i++) {
+            addSample((int) ((i + 1) * jump));
+        }
+    }
+
+    /**
+     * Samples every power of two up to the size of the input, so the work of each
+     * sample doubles (or quadruples for a quadratic algorithm) instead of being
+     * spent mostly on the largest values of N.
+     */
+    private void setupDoubling() {
+        for (long n = 1; n <= inputSize; n *= 2) {
+            addSample((int) n);
+        }
+    }
+
+    /**
+     * Spaces up to the provided amount of values of N evenly on a logarithmic scale
+     * from 1 to the size of the input (inclusive). Small values of N that round to
+     * the same int are only sampled once.
+     *
+     * @param sampleAmount the int maximum amount of samples
+     */
+    private void setupLog(int sampleAmount) {
+        if (sampleAmount <= 1 || inputSize <= 1) {
+            addSample(inputSize);
+            return;
+        }
+
+        double logSize = Math.log(inputSize);
+        for (int i = 0; i < sampleAmount; i++) {
+            addSample((int) Math.round(Math.exp(logSize * i / (sampleAmount - 1))));
+        }
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // ADAPTIVE REFINEMENT
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Records the measurement (usually the access count) of the sample at the
+     * provided index. Once every scheduled sample of the adaptive schedule has a
+     * measurement, new values of N are added where the curve bends the most, so
+     * getSampleAmount() can increase after this is called. The other schedules
+     * ignore the measurements.
+     *
+     * @param sampleIndex the int index of the sample, starting at 0
+     * @param value       the long measurement of the sample
+     */
+    public void recordSample(int sampleIndex, long value) {
+        if (sampleIndex < 0 || sampleIndex >= sampleN.size() || sampleValue.get(sampleIndex) >= 0) {
+            return;
+        }
+        sampleValue.set(sampleIndex, value);
+        sampleRecordedAmount++;
+
+        if (scheduleType.equals("adaptive") && sampleRecordedAmount == sampleN.size()) {
+            refine();
+        }
+    }
+
+    /**
+     * Adds the midpoints around the samples where the slope of the curve on a
+     * log-log scale changes the most (the "bends"), up to half of the remaining
+     * samples in a single round. Straight parts of the curve (including a pure
+     * power law, which is a straight line on a log-log scale) get no new samples.
+     */
+    private void refine() {
+        int remaining = sampleAmountMax - sampleN.size();
+        if (remaining <= 0) {
+            return;
+        }
+
+        // Sort the measured samples by N.
+        TreeMap<Integer, Long> measured = new TreeMap<Integer, Long>();
+        for (int i = 0; i < sampleN.size(); i++) {
+            measured.put(sampleN.get(i), sampleValue.get(i));
+        }
+        Integer[] n = measured.keySet().toArray(new Integer[0]);
+        if (n.length < 3) {
+            return;
+        }
+
+        // The bend of each interior sample is the change of the log-log slope between
+        // its left and right neighbor (+1 so that a measurement of 0 has a logarithm).
+        double[] bend = new double[n.length];
+        for (int i = 1; i < n.length - 1; i++) {
+            double slopeLeft = logSlope(n[i - 1], measured.get(n[i - 1]), n[i], measured.get(n[i]));
+            double slopeRight = logSlope(n[i], measured.get(n[i]), n[i + 1], measured.get(n[i + 1]));
+            bend[i] = Math.abs(slopeRight - slopeLeft);
+        }
+
+        Integer[] order = new Integer[n.length];
+        for (int i = 0; i < n.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(bend[b], bend[a]));
+
+        int roundAmount = Math.max(1, (remaining + 1) / 2);
+        int added = 0;
+        for (int i = 0; i < order.length && added < roundAmount; i++) {
+            int index = order[i];
+            if (bend[index] <= 0) {
+                break;
+            }
+            // Halve the intervals on both sides of the bend (the geometric midpoint, to
+            // match the log scale).
+            if (addSample((int) Math.round(Math.sqrt((double) n[index - 1] * n[index])))) {
+                added++;
+            }
+            if (added < roundAmount && addSample((int) Math.round(Math.sqrt((double) n[index] * n[index + 1])))) {
+                added++;
+            }
+        }
+    }
+
+    /**
+     * Returns the slope between two points on a log-log scale.
+     *
+     * @param nA     the int N of the first point
+     * @param valueA the long measurement of the first point
+     * @param nB     the int N of the second point
+     * @param valueB the long measurement of the second point
+     * @return the double log-log slope
+     */
+    private static double logSlope(int nA, long valueA, int nB, long valueB) {
+        return (Math.log(valueB + 1.0) - Math.log(valueA + 1.0)) / (Math.log(nB) - Math.log(nA));
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // GETTERS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Returns the type of the schedule.
+     *
+     * @return the String type (linear, doubling, log, adaptive)
+     */
+    public String getScheduleType() {
+        return scheduleType;
+    }
+
+    /**
+     * Returns the number of samples (points) in the schedule so far. Only the
+     * adaptive schedule can have more samples after recordSample() is called.
+     *
+     * @return the int amount of samples
+     */
+    public int getSampleAmount() {
+        return sampleN.size();
+    }
+
+    /**
+     * Returns the N of the sample at the provided index. The values of N are in
+     * the order they should be sampled, which is ascending except for the values
+     * added by the adaptive schedule.
+     *
+     * @param sampleIndex the int index of the sample, starting at 0
+     * @return the int N (size of the input) of the sample
+     */
+    public int getSampleN(int sampleIndex) {
+        return sampleN.get(sampleIndex);
+    }
+}
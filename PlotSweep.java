@@ -0,0 +1,176 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           PlotSweep.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The sweep of one sorting algorithm over the values of N of a
+ *                  test case's scatter plot. For every N of its own PlotSchedule,
+ *                  the first N elements of the input of the test case are sorted
+ *                  by a new AnalyzedArrayGroup without a SortListener, delays, or
+ *                  updates: first by the warm-up runs (not recorded) and then by
+ *                  each trial. As a Callable, several sweeps of different
+ *                  algorithms on the same test case can be ran concurrently by an
+ *                  ExecutorService; the input of the test case is only read, since
+ *                  every group copies it.
+ *                  With a PlotCache, a sample whose trials are cached is not
+ *                  sorted at all (not even its warm-up runs), and the trials of
+ *                  every sample that is sorted are stored in the cache. A sweep
+ *                  that is ran next to other sweeps only shares its cached samples
+ *                  with other concurrent sweeps, since its times are slower.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+public class PlotSweep implements Callable<List<PlotSample>> {
+    private TestCase testCase;
+    private String algorithmName;
+    private Algorithm algorithm;
+    private PlotSweepListener listener;
+    private PlotCache cache;
+
+    private PlotSchedule schedule;
+    private SampleMeter sampleMeter;
+
+    // The index of the sample being sorted and the amount of samples so far (read
+    // by other threads for progress).
+    private volatile int sampleIndexCurrent, sampleAmountCurrent;
+
+    // If the sweep is ran next to other sweeps (part of its cache key).
+    private boolean concurrentEnabled;
+
+    /**
+     * Initializes the PlotSweep of the provided algorithm over the input and plot
+     * settings (schedule, trials, warm-up runs, and K) of the provided TestCase.
+     * The algorithm does not need to be the one of the test case, so that other
+     * algorithms can be compared on the same input.
+     *
+     * @param testCase      the TestCase with the input and plot settings
+     * @param algorithmName the String name of the algorithm (as in sortMethod)
+     * @param algorithm     the Algorithm to sort with
+     * @param listener      the PlotSweepListener to notify of each trial, or null
+     * @param cache         the PlotCache to look up and store the samples, or null
+     *                      to always sort
+     */
+    public PlotSweep(TestCase testCase, String algorithmName, Algorithm algorithm, PlotSweepListener listener,
+            PlotCache cache) {
+        this.testCase = testCase;
+        this.algorithmName = algorithmName;
+        this.algorithm = algorithm;
+        this.listener = listener;
+        this.cache = cache;
+
+        schedule = new PlotSchedule(testCase.getPlotScheduleType(), testCase.getInputSize(),
+                testCase.getPlotSampleCount());
+        sampleMeter = new SampleMeter();
+        sampleIndexCurrent = 0;
+        sampleAmountCurrent = schedule.getSampleAmount();
+    }
+
+    /**
+     * Runs the sweep in the calling thread and returns the PlotSample of every
+     * trial in the order they were measured.
+     *
+     * @return the List of PlotSamples of every trial of every N
+     */
+    public List<PlotSample> call() {
+        List<PlotSample> samples = new ArrayList<PlotSample>();
+        int warmups = testCase.getPlotWarmups();
+        int trials = testCase.getPlotTrials();
+        String inputHash = cache == null ? null : PlotCache.hashInput(testCase.getInput());
+
+        // The adaptive schedule can grow while it is being swept.
+        for (int i = 0; i < schedule.getSampleAmount(); i++) {
+            sampleIndexCurrent = i;
+            int n = schedule.getSampleN(i);
+
+            String key = cache == null ? null
+                    : PlotCache.getKey(algorithmName, inputHash, n, testCase.getSelectK(), warmups, concurrentEnabled);
+            List<PlotSample> trialSamples = cache == null ? null : cache.get(key, trials);
+            boolean isCached = trialSamples != null;
+            if (!isCached) {
+                trialSamples = new ArrayList<PlotSample>();
+            }
+
+            for (int run = 0; run < warmups + trials; run++) {
+                PlotSample sample;
+                if (isCached) {
+                    // The warm-up runs only matter to a sort that is measured.
+                    if (run < warmups) {
+                        continue;
+                    }
+                    sample = trialSamples.get(run - warmups);
+                } else {
+                    AnalyzedArrayGroup group = new AnalyzedArrayGroup(null);
+                    group.toggleSleep(false);
+                    group.toggleReportDelayUpdates(false);
+                    group.setSelectionK(testCase.getSelectK());
+                    group.addArray(testCase.getInput(), 0, n - 1, "input", true);
+
+                    sampleMeter.start();
+                    algorithm.sort(group);
+                    sample = sampleMeter.stop(n, group.getAccessCount());
+
+                    if (run < warmups) {
+                        continue;
+                    }
+                    trialSamples.add(sample);
+                }
+                samples.add(sample);
+
+                // The adaptive schedule decides where to sample next from the access counts
+                // (which are the same for every trial).
+                if (run == warmups) {
+                    schedule.recordSample(i, sample.getAccessCount());
+                    sampleAmountCurrent = schedule.getSampleAmount();
+                }
+                if (listener != null) {
+                    listener.sampleMeasured(this, i, run - warmups + 1, sample);
+                }
+            }
+
+            if (cache != null && !isCached) {
+                cache.put(key, trialSamples);
+            }
+        }
+        return samples;
+    }
+
+    public TestCase getTestCase() {
+        return testCase;
+    }
+
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    /**
+     * If the provided boolean is true, then the sweep is ran next to other sweeps
+     * that share the CPU, so its samples are cached apart from the samples of a
+     * sweep that is ran alone. Must be called before the sweep is ran.
+     *
+     * @param enabled if true, then the sweep is concurrent
+     */
+    public void toggleConcurrent(boolean enabled) {
+        concurrentEnabled = enabled;
+    }
+
+    /**
+     * Returns the number of samples (values of N) of the sweep so far, which can
+     * grow while an adaptive schedule is swept.
+     *
+     * @return the int amount of samples
+     */
+    public int getSampleAmount() {
+        return sampleAmountCurrent;
+    }
+
+    /**
+     * Returns the index of the sample that is being sorted, starting at 0.
+     *
+     * @return the int index of the current sample
+     */
+    public int getSampleIndexCurrent() {
+        return sampleIndexCurrent;
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           PlotSweepListener.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The interface of a class that is notified by a PlotSweep each
+ *                  time a trial of a sample of the scatter plot is measured (such
+ *                  as the Swing GUI to update its loading bar or the headless
+ *                  runner to write the sample).
+ *                  NOTE: THE METHOD IS CALLED BY THE THREAD RUNNING THE SWEEP, NOT
+ *                  THE SWING EVENT DISPATCH THREAD.
+ */
+
+public interface PlotSweepListener {
+    /**
+     * Called when a trial of a sample of the sweep was measured. Warm-up runs are
+     * not reported.
+     *
+     * @param sweep       the PlotSweep that measured the sample
+     * @param sampleIndex the int index of the sample in the PlotSchedule of the
+     *                    sweep, starting at 0
+     * @param trial       the int number of the trial, starting at 1
+     * @param sample      the PlotSample with the measurements of the trial
+     */
+    void sampleMeasured(PlotSweep sweep, int sampleIndex, int trial, PlotSample sample);
+}
@@ -0,0 +1,64 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           RaceClock.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The pacing clock shared by the lanes of a race (see RaceViewer).
+ *                  Instead of sleeping a fixed delay after each access, the sorting
+ *                  thread of a lane waits until the time of its next access on the
+ *                  clock: the k-th access of every lane happens k periods after the
+ *                  clock started. The lanes therefore advance in lockstep by their
+ *                  access counts, and a lane that fell behind (because its thread
+ *                  was not scheduled) catches up instead of drifting apart from the
+ *                  others.
+ */
+
+import java.util.concurrent.locks.LockSupport;
+
+public class RaceClock {
+    private final long periodNanos;
+    private volatile long startNanos;
+
+    /**
+     * Initializes the RaceClock with the provided period between two accesses of
+     * a lane. The clock does not run until start() is called.
+     *
+     * @param periodMs the int milliseconds between two accesses (at least 1)
+     */
+    public RaceClock(int periodMs) {
+        periodNanos = Math.max(1, periodMs) * 1_000_000L;
+        startNanos = 0;
+    }
+
+    /**
+     * Starts the clock: the first access of each lane may happen one period
+     * from now.
+     *
+     * NOT SYNCHRONIZED: expected to be called by the main thread in the Swing GUI
+     * before the sorting threads of the lanes start.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Waits until the provided access step of a lane is due. If it is already
+     * due, then it returns immediately. If the thread is interrupted, then it
+     * stops waiting and the interrupt status is kept.
+     *
+     * NOT SYNCHRONIZED: called by the sorting thread of each lane, which only
+     * reads the clock.
+     *
+     * @param step the long amount of accesses of the lane, including this one
+     */
+    public void awaitStep(long step) {
+        long deadline = startNanos + step * periodNanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+}
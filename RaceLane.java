@@ -0,0 +1,143 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           RaceLane.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     One lane of a race (see RaceViewer): a sorting algorithm with its
+ *                  own AnalyzedArrayGroup over its own copy of the input, its own
+ *                  sorting thread, and the bar graph and label that show it. The
+ *                  group is paced by the RaceClock shared by every lane and never
+ *                  asks for a repaint; the frame timer of the RaceViewer repaints
+ *                  the lanes instead. Each lane finishes on its own and records the
+ *                  place it finished in.
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JLabel;
+
+public class RaceLane implements SortListener {
+    private String name;
+    private Algorithm algorithm;
+    private AnalyzedArrayGroup group;
+    private VisualGraphPanel graphPanel;
+    private JLabel label;
+    private Thread sortThread;
+
+    // The counter of the places shared by every lane of the race.
+    private AtomicInteger placeCounter;
+    private volatile int place;
+    private boolean finishShown;
+
+    /**
+     * Initializes the RaceLane of the provided algorithm with a copy of the input
+     * that is paced by the provided RaceClock. The sorting thread is not started
+     * until start() is called.
+     *
+     * @param name         the String name of the algorithm
+     * @param algorithm    the Algorithm to race
+     * @param input        the int array of the input (copied by the group)
+     * @param selectK      the int K of the partial sorting algorithms
+     * @param clock        the RaceClock shared by every lane
+     * @param placeCounter the AtomicInteger of the places shared by every lane
+     * @param graphPanel   the VisualGraphPanel that shows the lane
+     * @param label        the JLabel that shows the name and access count
+     */
+    public RaceLane(String name, Algorithm algorithm, int[] input, int selectK, RaceClock clock,
+            AtomicInteger placeCounter, VisualGraphPanel graphPanel, JLabel label) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.placeCounter = placeCounter;
+        this.graphPanel = graphPanel;
+        this.label = label;
+        place = 0;
+        finishShown = false;
+
+        // The lane is the visualizer of the group so that the group tracks the dirty
+        // indices of the graph, but it is never notified of each access.
+        group = new AnalyzedArrayGroup(this);
+        group.toggleSleep(true);
+        group.toggleReportDelayUpdates(false);
+        group.setPacingClock(clock);
+        group.setSelectionK(selectK);
+        group.addArray(input, "input", true);
+
+        graphPanel.toggleDisplaySorted(false);
+        graphPanel.setInput(group);
+        graphPanel.togglePainting(true);
+    }
+
+    /**
+     * Starts the sorting thread of the lane.
+     */
+    public void start() {
+        sortThread = new Thread(() -> algorithm.sort(group));
+        sortThread.setDaemon(true);
+        sortThread.start();
+    }
+
+    /**
+     * Stops pacing the sorting thread, which then finishes the sort without
+     * waiting for the RaceClock.
+     */
+    public void stop() {
+        if (sortThread != null) {
+            sortThread.interrupt();
+        }
+    }
+
+    /**
+     * Updates the label to the current access count of the lane and repaints the
+     * graph if the lane has not finished yet; the graph of a finished lane is
+     * repainted once more with the sorted message.
+     * Called by the frame timer of the RaceViewer in the main thread.
+     */
+    public void frameUpdate() {
+        if (finishShown) {
+            return;
+        }
+        if (place > 0) {
+            finishShown = true;
+            graphPanel.toggleDisplaySorted(true);
+            label.setText(String.format("#%d  %s  (%,d accesses)", place, name, group.getPacedAccessCount()));
+        } else {
+            label.setText(String.format("%s  (%,d accesses)", name, group.getPacedAccessCount()));
+        }
+        graphPanel.repaint();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AnalyzedArrayGroup getGroup() {
+        return group;
+    }
+
+    public int getPlace() {
+        return place;
+    }
+
+    public boolean isFinishShown() {
+        return finishShown;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // SORT LISTENER
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Not used: the group of the lane never reports its accesses.
+     */
+    @Override
+    public void testCaseArrayUpdated() {
+    }
+
+    /**
+     * Called by the group in the sorting thread once the algorithm finished:
+     * the lane takes the next place of the race.
+     */
+    @Override
+    public void testCaseFinished() {
+        place = placeCounter.incrementAndGet();
+    }
+}
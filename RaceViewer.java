@@ -0,0 +1,240 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           RaceViewer.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A window that races 2 to 9 sorting algorithms side by side on
+ *                  the input of a test case. Each algorithm is a RaceLane with its
+ *                  own copy of the input, its own AnalyzedArrayGroup and thread, and
+ *                  its own bar graph in a grid. Every lane is paced by one shared
+ *                  RaceClock, so the lanes make their accesses at the same rate and
+ *                  the one with the fewest accesses finishes first. A single Swing
+ *                  timer repaints every lane and updates its access count once per
+ *                  frame, no matter how often the lanes access their arrays. It is
+ *                  opened with the "Race" button of the Selection Screen; the
+ *                  algorithm of the test case and its compareMethods are checked by
+ *                  default.
+ */
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+public class RaceViewer {
+    // The delay between frames in milliseconds (about 60 frames per second).
+    private static final int FRAME_MS = 16;
+
+    // The fewest and most lanes of a race.
+    private static final int LANE_AMOUNT_MINIMUM = 2;
+    private static final int LANE_AMOUNT_MAXIMUM = 9;
+
+    // The colors of the window and the bar graphs (the same as SortDemoSwing).
+    private static final Color COLOR_WINDOW_BACKGROUND = new Color(31, 55, 83);
+    private static final Color COLOR_GRAPH_BACKGROUND = new Color(0, 131, 255);
+    private static final Color COLOR_BAR_REGULAR = new Color(5, 5, 25);
+    private static final Color COLOR_BAR_SET = new Color(230, 25, 25);
+    private static final Color COLOR_BAR_GET = new Color(25, 230, 25);
+    private static final Color COLOR_MESSAGE_BACKGROUND = new Color(50, 50, 50);
+    private static final Color COLOR_MESSAGE_TEXT = new Color(200, 200, 200);
+    private static final Color COLOR_LABEL_TEXT = new Color(255, 255, 255);
+
+    private TestCase testCase;
+    private int delayMs;
+
+    private JFrame frame;
+    private JPanel lanePanel;
+    private List<JCheckBox> algorithmCheckBoxes;
+    private JButton startButton;
+    private JLabel statusLabel;
+    private Timer frameTimer;
+
+    private List<RaceLane> laneList;
+
+    /**
+     * Initializes the RaceViewer of the provided test case. The window is not
+     * shown until startViewer() is called.
+     *
+     * @param testCase the TestCase whose input is raced on
+     * @param delayMs  the int milliseconds between two accesses of every lane
+     */
+    public RaceViewer(TestCase testCase, int delayMs) {
+        this.testCase = testCase;
+        this.delayMs = delayMs;
+        laneList = new ArrayList<>();
+    }
+
+    /**
+     * Builds and shows the window. The race starts once the algorithms are
+     * checked and the Start button is pressed.
+     * Expected to be called in the main thread of Swing.
+     */
+    public void startViewer() {
+        frame = new JFrame("Race: " + testCase.getName());
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setLayout(new BorderLayout());
+        frame.getContentPane().setBackground(COLOR_WINDOW_BACKGROUND);
+
+        // >>> ALGORITHMS: the algorithm of the test case and its compareMethods are
+        // checked by default.
+        List<String> checkedNames = new ArrayList<>();
+        checkedNames.add(testCase.getAlgorithmName());
+        checkedNames.addAll(testCase.getCompareAlgorithmNames());
+
+        JPanel algorithmPanel = new JPanel(new GridLayout(0, 8));
+        algorithmCheckBoxes = new ArrayList<>();
+        for (String name : TestCaseReader.getAlgorithmNameList()) {
+            JCheckBox checkBox = new JCheckBox(name, checkedNames.contains(name));
+            algorithmCheckBoxes.add(checkBox);
+            algorithmPanel.add(checkBox);
+        }
+        frame.add(algorithmPanel, BorderLayout.NORTH);
+
+        // >>> LANES
+        lanePanel = new JPanel();
+        lanePanel.setBackground(COLOR_WINDOW_BACKGROUND);
+        lanePanel.setPreferredSize(new Dimension(1200, 750));
+        frame.add(lanePanel, BorderLayout.CENTER);
+
+        // >>> CONTROLS
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        startButton = new JButton("Start");
+        startButton.addActionListener(event -> raceStart());
+        controlPanel.add(startButton);
+        statusLabel = new JLabel(String.format("Check %d to %d algorithms (one access every %d ms).",
+                LANE_AMOUNT_MINIMUM, LANE_AMOUNT_MAXIMUM, delayMs));
+        controlPanel.add(statusLabel);
+        frame.add(controlPanel, BorderLayout.SOUTH);
+
+        // The sorting threads stop waiting for the clock once the window is closed.
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent event) {
+                raceStop();
+            }
+        });
+
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // RACING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Starts a race of the checked algorithms: a lane with its own graph is laid
+     * out for each of them in a grid, then the shared RaceClock, the sorting
+     * threads, and the frame timer are started.
+     * If fewer than 2 or more than 9 algorithms are checked, then a message is
+     * shown and nothing happens.
+     */
+    private void raceStart() {
+        Map<String, Algorithm> algorithmMap = TestCaseReader.getAlgorithmMap();
+        List<String> names = new ArrayList<>();
+        for (JCheckBox checkBox : algorithmCheckBoxes) {
+            if (checkBox.isSelected()) {
+                names.add(checkBox.getText());
+            }
+        }
+        if (names.size() < LANE_AMOUNT_MINIMUM || names.size() > LANE_AMOUNT_MAXIMUM) {
+            statusLabel.setText(String.format("Check %d to %d algorithms (%d are checked).",
+                    LANE_AMOUNT_MINIMUM, LANE_AMOUNT_MAXIMUM, names.size()));
+            return;
+        }
+        raceStop();
+
+        // Lay out the lanes in a grid that is about as wide as it is tall.
+        int columns = (int) Math.ceil(Math.sqrt(names.size()));
+        int rows = (names.size() + columns - 1) / columns;
+        lanePanel.removeAll();
+        lanePanel.setLayout(new GridLayout(rows, columns, 4, 4));
+
+        RaceClock clock = new RaceClock(delayMs);
+        AtomicInteger placeCounter = new AtomicInteger(0);
+        laneList = new ArrayList<>();
+        for (String name : names) {
+            VisualGraphPanel graphPanel = new VisualGraphPanel();
+            graphPanel.setColors(COLOR_GRAPH_BACKGROUND, COLOR_BAR_REGULAR, COLOR_BAR_SET, COLOR_BAR_GET,
+                    COLOR_MESSAGE_BACKGROUND, COLOR_MESSAGE_TEXT);
+            graphPanel.setEdgeDistances(4, 12, 0);
+
+            JLabel label = new JLabel(name);
+            label.setForeground(COLOR_LABEL_TEXT);
+            label.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+
+            JPanel cell = new JPanel(new BorderLayout());
+            cell.setBackground(COLOR_WINDOW_BACKGROUND);
+            cell.add(label, BorderLayout.NORTH);
+            cell.add(graphPanel, BorderLayout.CENTER);
+            lanePanel.add(cell);
+
+            laneList.add(new RaceLane(name, algorithmMap.get(name), testCase.getInput(), testCase.getSelectK(),
+                    clock, placeCounter, graphPanel, label));
+        }
+        lanePanel.revalidate();
+        lanePanel.repaint();
+
+        startButton.setEnabled(false);
+        statusLabel.setText(String.format("Racing %d algorithms on %,d elements.", names.size(),
+                testCase.getInputSize()));
+
+        clock.start();
+        for (RaceLane lane : laneList) {
+            lane.start();
+        }
+        frameTimer = new Timer(FRAME_MS, event -> frameUpdate());
+        frameTimer.start();
+    }
+
+    /**
+     * Stops the frame timer and lets the sorting threads of the current race
+     * finish without pacing. If there is no race, then nothing happens.
+     */
+    private void raceStop() {
+        if (frameTimer != null) {
+            frameTimer.stop();
+            frameTimer = null;
+        }
+        for (RaceLane lane : laneList) {
+            lane.stop();
+        }
+    }
+
+    /**
+     * Called by the frame timer: updates and repaints every lane, and ends the
+     * race once every lane has shown that it finished.
+     */
+    private void frameUpdate() {
+        boolean allShown = true;
+        String winnerName = null;
+        for (RaceLane lane : laneList) {
+            lane.frameUpdate();
+            allShown &= lane.isFinishShown();
+            if (lane.getPlace() == 1) {
+                winnerName = lane.getName();
+            }
+        }
+        if (allShown) {
+            frameTimer.stop();
+            frameTimer = null;
+            startButton.setEnabled(true);
+            statusLabel.setText(String.format("Finished: %s won.", winnerName));
+        }
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           RawHybridSorts.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The same algorithms as HybridSorts written against a plain int
+ *                  array instead of an AnalyzedArray. Nothing is counted, delayed,
+ *                  or reported to the Swing GUI, so this is the baseline that the
+ *                  SortBenchmark compares the instrumented algorithms against to
+ *                  measure the cost of the instrumentation itself. An algorithm is
+ *                  ran by passing an int array in an entry point method.
+ */
+
+public class RawHybridSorts {
+    /*
+     * Here is a list of the sorting algorithms organized by order of appearance:
+     * (1) Insertion Sort
+     * (2) Merge-Insertion
+     * (3) Selection Sort
+     * (4) Merge-Selection Sort
+     * (5) Bubble Sort
+     * (6) Merge-Bubble Sort
+     * (7) Heap Sort
+     * (8) Merge-Heap Sort
+     * (9) Quick Sort
+     * (10) Merge-Quick Sort
+     * (11) Merge Sort
+     */
+
+    /**
+     * Performs Insertion Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * 
+     * @param array the int array that is to be sorted
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    private static void helperInsertionSort(int[] array, int low, int high) {
+        if (low >= high) {
+            return;
+        }
+
+        int elementJ;
+        for (int i = low + 1; i <= high; i++) {
+            int key = array[i];
+            int j = i - 1;
+
+            elementJ = array[j];
+
+            while (j >= low && key < elementJ) {
+                array[j + 1] = elementJ;
+                j--;
+                if (j >= low) {
+                    elementJ = array[j];
+                }
+            }
+
+            array[j + 1] = key;
+
+        }
+    }
+
+    /**
+     * The entry point to perform Insertion Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void insertionSort(int[] input) {
+        helperInsertionSort(input, 0, input.length - 1);
+    }
+
+    /**
+     * Performs Merge-Insertion on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * This algorithm is a hybrid between Merge Sort and Insertion Sort.
+     * It works by recursively halving the given int array into sub-arrays of a
+     * size less than the threshold. Once the threshold is reached, the hybrid sorts
+     * the sub-array with the regular standalone algorithm Insertion Sort.
+     * 
+     * @param array     the int array that is to be sorted
+     * @param temp      the temporary int array for the merge operation
+     * @param low       the lower, inclusive bound of indices to sort
+     * @param high      the upper, inclusive bound of indices to sort
+     * @param threshold the largest size of a sub-array that is sorted with
+     *                  Insertion Sort
+     */
+    private static void helperMergeInsertionSort(int[] array, int[] temp,
+            int low, int high, int threshold) {
+        if (high - low + 1 <= threshold) {
+            // Use insertion sort for small subarrays
+            helperInsertionSort(array, low, high);
+        } else {
+            int mid = low + (high - low) / 2;
+            helperMergeInsertionSort(array, temp, low, mid, threshold);
+            helperMergeInsertionSort(array, temp, mid + 1, high, threshold);
+            helperMerge(array, temp, low, mid, high);
+        }
+    }
+
+    /**
+     * The entry point to perform Merge-Insertion Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void mergeInsertionSort(int[] input) {
+        int[] temp = new int[input.length];
+        helperMergeInsertionSort(input, temp, 0, input.length - 1, 10);
+    }
+
+    /**
+     * Performs Selection Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * 
+     * @param array the int array that is to be sorted
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperSelectionSort(int[] array, int low, int high) {
+        for (int i = low; i < high; i++) {
+            int minIndex = i;
+            for (int j = i + 1; j <= high; j++) {
+                if (array[j] < array[minIndex]) {
+                    minIndex = j;
+                }
+            }
+
+            swap(array, i, minIndex);
+
+        }
+    }
+
+    /**
+     * The entry point to perform Selection Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void selectionSort(int[] input) {
+        helperSelectionSort(input, 0, input.length - 1);
+    }
+
+    /**
+     * Performs Merge-Selection on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * This algorithm is a hybrid between Merge Sort and Selection Sort.
+     * It works by recursively halving the given int array into sub-arrays of a
+     * size less than the threshold. Once the threshold is reached, the hybrid sorts
+     * the sub-array with the regular standalone algorithm Selection Sort.
+     * 
+     * @param array     the int array that is to be sorted
+     * @param temp      the temporary int array for the merge operation
+     * @param low       the lower, inclusive bound of indices to sort
+     * @param high      the upper, inclusive bound of indices to sort
+     * @param threshold the largest size of a sub-array that is sorted with
+     *                  Selection Sort
+     */
+    private static void helperMergeSelectionSort(int[] array, int[] temp,
+            int low, int high, int threshold) {
+        if (high - low + 1 <= threshold) {
+            // Use insertion sort for small subarrays
+            helperSelectionSort(array, low, high);
+        } else {
+            int mid = low + (high - low) / 2;
+            helperMergeSelectionSort(array, temp, low, mid, threshold);
+            helperMergeSelectionSort(array, temp, mid + 1, high, threshold);
+            helperMerge(array, temp, low, mid, high);
+        }
+    }
+
+    /**
+     * The entry point to perform Merge-Selection Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void mergeSelectionSort(int[] input) {
+        int[] temp = new int[input.length];
+        helperMergeSelectionSort(input, temp, 0, input.length - 1, 10);
+    }
+
+    /**
+     * Performs Bubble Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * 
+     * @param array the int array that is to be sorted
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperBubbleSort(int[] array, int low, int high) {
+        boolean continueSwapping = true;
+
+        while (continueSwapping) {
+            continueSwapping = false;
+
+            for (int j = low; j < high; j++) {
+                int elementJ = array[j];
+                int elementJNext = array[j + 1];
+
+                if (elementJ > elementJNext) {
+                    array[j + 1] = elementJ;
+                    array[j] = elementJNext;
+
+                    continueSwapping = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * The entry point to perform Bubble Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void bubbleSort(int[] input) {
+        helperBubbleSort(input, 0, input.length - 1);
+    }
+
+    /**
+     * Performs Bubble-Merge Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * This algorithm is a hybrid between Merge Sort and Bubble Sort.
+     * It works by recursively halving the given int array into sub-arrays of a
+     * size less than the threshold. Once the threshold is reached, the hybrid sorts
+     * the sub-array with the regular standalone algorithm Bubble Sort.
+     * 
+     * @param array     the int array that is to be sorted
+     * @param temp      the temporary int array for the merge operation
+     * @param low       the lower, inclusive bound of indices to sort
+     * @param high      the upper, inclusive bound of indices to sort
+     * @param threshold the largest size of a sub-array that is sorted with
+     *                  Bubble Sort
+     */
+    private static void helperBubbleMerge(int[] array, int[] temp, int low,
+            int high, int threshold) {
+        if (low < high) {
+            if (high - low + 1 <= threshold) {
+                helperBubbleSort(array, low, high);
+            } else {
+                int mid = low + (high - low) / 2;
+                helperBubbleMerge(array, temp, low, mid, threshold);
+                helperBubbleMerge(array, temp, mid + 1, high, threshold);
+                helperMerge(array, temp, low, mid, high);
+            }
+        }
+    }
+
+    /**
+     * The entry point to perform Bubble-Merge Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void bubbleMergeSort(int[] input) {
+        int[] temp = new int[input.length];
+        helperBubbleMerge(input, temp, 0, input.length - 1, 10);
+    }
+
+    /**
+     * Performs Heap Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * 
+     * @param array the int array that is to be sorted
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperHeapSort(int[] array, int low, int high) {
+        // no low offset
+        int rightmostParent = (high - low + 1) / 2 - 1;
+
+        // the "i" is 0 to high - low
+
+        // Build heap (rearrange array)
+        for (int i = rightmostParent; i >= 0; i--)
+            helperHeapify(array, i, low, high);
+
+        // One by one extract an element from heap
+        for (int i = high - low; i > 0; i--) {
+            // Move current root to end
+            swap(array, low, low + i);
+
+            // call max helperHeapify on the reduced heap
+            helperHeapify(array, 0, low, low + i - 1);
+
+        }
+    }
+
+    /**
+     * Also known as "sink," recursively swaps a heap element located at index i
+     * (relative to the low and high index bounds) with the child of the greatest
+     * value.
+     * 
+     * @param array the int array where the sink will be performed
+     * @param i     the index of the element to sink, relative to low
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperHeapify(int[] array, int i, int low, int high) {
+        int largest = low + i; // Initialize largest as root
+        int left = low + (2 * i + 1); // left = 2*i + 1
+        int right = low + (2 * i + 2); // right = 2*i + 2
+
+        // If left child is larger than root
+        if (left <= high && array[left] > array[largest])
+            largest = left;
+
+        // If right child is larger than largest so far
+        if (right <= high && array[right] > array[largest])
+            largest = right;
+
+        // If largest is not root
+        if (largest != low + i) {
+            swap(array, low + i, largest);
+
+            // Recursively helperHeapify the affected sub-tree
+            helperHeapify(array, largest - low, low, high);
+        }
+    }
+
+    /**
+     * The entry point to perform Heap Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void heapSort(int[] input) {
+        helperHeapSort(input, 0, input.length - 1);
+    }
+
+    /**
+     * Performs Heap-Merge Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * This algorithm is a hybrid between Merge Sort and Heap Sort.
+     * It works by recursively halving the given int array into sub-arrays of a
+     * size less than the threshold. Once the threshold is reached, the hybrid sorts
+     * the sub-array with the regular standalone algorithm Heap Sort.
+     * 
+     * @param array     the int array that is to be sorted
+     * @param temp      the temporary int array for the merge operation
+     * @param low       the lower, inclusive bound of indices to sort
+     * @param high      the upper, inclusive bound of indices to sort
+     * @param threshold the largest size of a sub-array that is sorted with
+     *                  Heap Sort
+     */
+    private static void helperHeapMergeSort(int[] array, int[] temp, int low,
+            int high, int threshold) {
+        if (high - low + 1 <= threshold) {
+            // once array is small enough, use heap sort to sort it
+            helperHeapSort(array, low, high);
+        } else {
+            int mid = low + (high - low) / 2;
+            helperHeapMergeSort(array, temp, low, mid, threshold);
+            helperHeapMergeSort(array, temp, mid + 1, high, threshold);
+            helperMerge(array, temp, low, mid, high);
+        }
+    }
+
+    /**
+     * The entry point to perform Heap-Merge Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void heapMergeSort(int[] input) {
+        int[] temp = new int[input.length];
+        helperHeapMergeSort(input, temp, 0, input.length - 1, 10);
+    }
+
+    /**
+     * Performs Quick Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * 
+     * @param array the int array that is to be sorted
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperQuickSort(int[] array, int low, int high) {
+        if (low < high) {
+            int pivotIndex = low + (high - low) / 2;
+            int pivot = array[pivotIndex];
+            int i = low, j = high;
+
+            while (i <= j) {
+                while (array[i] < pivot)
+                    i++;
+                while (array[j] > pivot)
+                    j--;
+                if (i <= j) {
+                    swap(array, i, j);
+                    i++;
+                    j--;
+                }
+
+            }
+            if (low < j)
+                helperQuickSort(array, low, j);
+            if (i < high)
+                helperQuickSort(array, i, high);
+        }
+    }
+
+    /**
+     * The entry point to perform Quick Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void quickSort(int[] input) {
+        helperQuickSort(input, 0, input.length - 1);
+    }
+
+    /**
+     * Performs Quick-Merge Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * This algorithm is a hybrid between Merge Sort and Quick Sort.
+     * It works by recursively halving the given int array into sub-arrays of a
+     * size less than the threshold. Once the threshold is reached, the hybrid sorts
+     * the sub-array with the regular standalone algorithm Quick Sort.
+     * 
+     * @param array     the int array that is to be sorted
+     * @param temp      the temporary int array for the merge operation
+     * @param low       the lower, inclusive bound of indices to sort
+     * @param high      the upper, inclusive bound of indices to sort
+     * @param threshold the largest size of a sub-array that is sorted with
+     *                  Quick Sort
+     */
+    public static void helperQuickMerge(int[] array, int[] temp, int low,
+            int high, int threshold) {
+        if (low < high) {
+            if (high - low + 1 <= threshold) {
+                helperQuickSort(array, low, high);
+            } else {
+                int mid = low + (high - low) / 2;
+                helperQuickMerge(array, temp, low, mid, threshold);
+                helperQuickMerge(array, temp, mid + 1, high, threshold);
+                helperMerge(array, temp, low, mid, high);
+            }
+        }
+    }
+
+    /**
+     * The entry point to perform Quick-Merge Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void quickMergeSort(int[] input) {
+        int[] temp = new int[input.length];
+        helperQuickMerge(input, temp, 0, input.length - 1, 10);
+    }
+
+    /**
+     * Performs Merge Sort on the provided int array between a lower and
+     * upper bound of indices, inclusive.
+     * 
+     * @param array the int array that is to be sorted
+     * @param temp  the temporary int array for the merge operation
+     * @param low   the lower, inclusive bound of indices to sort
+     * @param high  the upper, inclusive bound of indices to sort
+     */
+    public static void helperMergeSort(int[] array, int[] temp, int low,
+            int high) {
+        if (low < high) {
+            int mid = low + (high - low) / 2;
+            helperMergeSort(array, temp, low, mid);
+            helperMergeSort(array, temp, mid + 1, high);
+            helperMerge(array, temp, low, mid, high);
+        }
+    }
+
+    /**
+     * Merges two sub-arrays of the given int array into one, final array.
+     * The first sub-array is between indices low and mid inclusive and the second
+     * sub-array is between indices mid+1 and high inclusive.
+     * 
+     * @param array the int array with the sub-arrays that are to be merged
+     * @param temp  the temporary int array for the merge operation
+     * @param low   the first, inclusive index of the first sub-array
+     * @param mid   the last, inclusive index of the first sub-array
+     * @param high  the last, inclusive index of the second sub-array
+     */
+    public static void helperMerge(int[] array, int[] temp, int low, int mid,
+            int high) {
+        int i = low, j = mid + 1;
+        for (int k = low; k <= high; k++)
+            temp[k] = array[k];
+
+        for (int k = low; k <= high; k++) {
+            if (i > mid) {
+                array[k] = temp[j];
+                j++;
+            } else if (j > high) {
+                array[k] = temp[i];
+                i++;
+            } else if (temp[i] <= temp[j]) {
+                array[k] = temp[i];
+                i++;
+            } else {
+                array[k] = temp[j];
+                j++;
+            }
+
+        }
+    }
+
+    /**
+     * The entry point to perform Merge Sort.
+     * 
+     * @param input the int array to sort
+     */
+    public static void mergeSort(int[] input) {
+        int[] temp = new int[input.length];
+        helperMergeSort(input, temp, 0, input.length - 1);
+    }
+
+    /**
+     * Swaps elements at indices i and j in the given int array.
+     * 
+     * @param array the int array with the elements to swap
+     * @param i     the index of the element that is swapped with j
+     * @param j     the index of the element that is swapped with i
+     */
+    public static void swap(int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+}
\ No newline at end of file
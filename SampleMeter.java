@@ -0,0 +1,97 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           SampleMeter.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Measures the wall time, CPU time, and allocated bytes of the
+ *                  thread that sorts a sample of the scatter plot and creates its
+ *                  PlotSample. The CPU time and allocated bytes come from the
+ *                  ThreadMXBean of the JVM and are -1 if the JVM does not support
+ *                  them.
+ *                  NOT SYNCHRONIZED: start() and stop() MUST BE CALLED BY THE SAME
+ *                  SORTING THREAD.
+ */
+
+import java.lang.management.ManagementFactory;
+
+public class SampleMeter {
+    private java.lang.management.ThreadMXBean threadBean;
+    private com.sun.management.ThreadMXBean allocationBean;
+
+    private long startNanos, startCpuNanos, startAllocatedBytes;
+
+    /**
+     * Initializes the SampleMeter and enables the CPU time and allocation
+     * measurements of the JVM if they are supported.
+     */
+    public SampleMeter() {
+        threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean.isCurrentThreadCpuTimeSupported()) {
+            threadBean.setThreadCpuTimeEnabled(true);
+        } else {
+            threadBean = null;
+        }
+
+        // The allocated bytes of a thread are only available on HotSpot-based JVMs.
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            allocationBean = (com.sun.management.ThreadMXBean) bean;
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            allocationBean = null;
+        }
+    }
+
+    /**
+     * Starts measuring the calling thread. Should be called right before the
+     * sorting algorithm is called.
+     */
+    public void start() {
+        startAllocatedBytes = currentAllocatedBytes();
+        startCpuNanos = currentCpuNanos();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops measuring the calling thread and returns the PlotSample of the sort.
+     * Should be called by the same thread right after the sorting algorithm
+     * finishes.
+     *
+     * @param n           the int size of the input of the sample
+     * @param accessCount the long total access count of the sort
+     * @return the PlotSample with every measurement
+     */
+    public PlotSample stop(int n, long accessCount) {
+        long wallNanos = System.nanoTime() - startNanos;
+        long cpuNanos = threadBean == null ? -1 : currentCpuNanos() - startCpuNanos;
+        long allocatedBytes = allocationBean == null ? -1 : currentAllocatedBytes() - startAllocatedBytes;
+
+        return new PlotSample(n, accessCount, wallNanos, cpuNanos, allocatedBytes);
+    }
+
+    /**
+     * Returns the CPU time of the calling thread so far, or 0 if it is not
+     * supported.
+     *
+     * @return the long CPU time in nanoseconds
+     */
+    private long currentCpuNanos() {
+        if (threadBean == null) {
+            return 0;
+        }
+        return threadBean.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * Returns the bytes the calling thread has allocated so far, or 0 if it is
+     * not supported.
+     *
+     * @return the long allocated bytes
+     */
+    private long currentAllocatedBytes() {
+        if (allocationBean == null) {
+            return 0;
+        }
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
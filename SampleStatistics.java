@@ -0,0 +1,103 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           SampleStatistics.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The summary of the repeated trials of one point of the scatter
+ *                  plot: the mean, median, sample standard deviation, and the 95%
+ *                  confidence interval of the mean (with the Student's
+ *                  t-distribution, since the number of trials is usually small).
+ *                  A deterministic metric such as the access count has a standard
+ *                  deviation of 0 and a confidence interval of just the mean.
+ */
+
+import java.util.Arrays;
+
+public class SampleStatistics {
+    // The two-sided 95% critical values of the t-distribution for 1 to 30 degrees
+    // of freedom; past 30 the normal distribution's 1.96 is close enough.
+    private static final double[] T_CRITICAL_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_CRITICAL_95 = 1.96;
+
+    private int count;
+    private double mean, median, standardDeviation, confidenceHalfWidth;
+
+    /**
+     * Initializes the SampleStatistics of the provided measurements of the
+     * trials. With a single measurement, the standard deviation and the width of
+     * the confidence interval are 0. If there are no measurements, then every
+     * statistic is 0.
+     *
+     * @param values the long measurements of each trial (not modified)
+     */
+    public SampleStatistics(long[] values) {
+        count = values.length;
+        if (count == 0) {
+            return;
+        }
+
+        double sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        mean = sum / count;
+
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        if (count % 2 == 1) {
+            median = sorted[count / 2];
+        } else {
+            median = (sorted[count / 2 - 1] + (double) sorted[count / 2]) / 2.0;
+        }
+
+        if (count > 1) {
+            double squareSum = 0;
+            for (long value : values) {
+                squareSum += (value - mean) * (value - mean);
+            }
+            standardDeviation = Math.sqrt(squareSum / (count - 1));
+            confidenceHalfWidth = criticalValue(count - 1) * standardDeviation / Math.sqrt(count);
+        }
+    }
+
+    /**
+     * Returns the two-sided 95% critical value of the t-distribution with the
+     * provided degrees of freedom.
+     *
+     * @param degreesOfFreedom the int degrees of freedom (at least 1)
+     * @return the double critical value
+     */
+    public static double criticalValue(int degreesOfFreedom) {
+        if (degreesOfFreedom <= T_CRITICAL_95.length) {
+            return T_CRITICAL_95[degreesOfFreedom - 1];
+        }
+        return Z_CRITICAL_95;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getConfidenceLower() {
+        return mean - confidenceHalfWidth;
+    }
+
+    public double getConfidenceUpper() {
+        return mean + confidenceHalfWidth;
+    }
+}
@@ -8,13 +8,23 @@
  *                  automatically set them based on the smallest and largest
  *                  x-value and y-value among the ScatterPlot points. It also has
  *                  additional methods for customizing the font and colors of the
- *                  plot.
+ *                  plot. Points with an error bar (such as the confidence interval
+ *                  of repeated trials) are drawn with a vertical bar behind them.
+ *                  A fitted model of growth (see ComplexityFit) can be overlaid as
+ *                  a curve with its summary below the heading. Each axis can be
+ *                  linear or logarithmic, and the y-values can be normalized by n,
+ *                  n log n, or n^2 so that the constant factors of algorithms of
+ *                  the same complexity can be compared directly. Several series of
+ *                  points (such as different algorithms on the same input) can be
+ *                  plotted at once, each in its own color with a legend.
  */
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.JPanel;
 
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -23,33 +33,51 @@ import java.awt.FontMetrics;
 import java.awt.Font;
 
 public class ScatterPlotPanel extends JPanel {
-    // THE MAIN INPUT OF THE SCATTER PLOT
+    // THE MAIN INPUT OF THE SCATTER PLOT: every point of every series (for the
+    // scale) and the series themselves (for the colors).
     private List<ScatterPoint> plotInput;
+    private List<List<ScatterPoint>> plotSeries;
+    private List<String> seriesNames;
 
     // Manually set bounds for the x-axis and y-axis.
     private long viewManualLowerX, viewManualUpperX, viewRoundX;
     private long viewManualLowerY, viewManualUpperY, viewRoundY;
 
-    // Final bounds for the x-axis and y-axis.
-    private long viewLowerY, viewUpperY, viewHeightY;
-    private long viewLowerX, viewUpperX, viewWidthX;
+    // Final bounds for the x-axis and y-axis. On a logarithmic axis, the bounds
+    // are the base-10 logarithms of the values (the powers of 10).
+    private double viewLowerY, viewUpperY, viewHeightY;
+    private double viewLowerX, viewUpperX, viewWidthX;
     private boolean viewAdjustAuto;
 
+    // Scale of the axes and the normalization of the y-values (none, n, n log n,
+    // n^2).
+    private boolean axisLogX, axisLogY;
+    private String normalizeY;
+
     // Previous copies of the panel width and height to detect resizing.
     private int prevPanelWidth, prevPanelHeight;
 
     // Text at the top of the scatter plot.
     private String labelTitle, labelAxisX, labelAxisY;
+    private String labelFit, labelFitNote;
+
+    // The fitted model drawn as a curve over the points (null if none).
+    private ComplexityFit fitCurve;
+    private Color colorFit;
+    private int fitCurveWidth;
 
     // Fonts and colors of the scatter plot.
     private Color colorBackground, colorHeading, colorLines, colorNumbers, colorDots;
+    private Color[] colorSeries;
     private Font fontTickNumber, fontHeading;
 
     // Other cosmetic adjustments to the scatter plot.
     private int edgeDistGrid, edgeDistBackground;
     private int gridOffsetY;
     private int dotDiameter;
+    private int errorBarCapWidth;
     private int numTicksX, numTicksY;
+    private int tickAmountX, tickAmountY;
 
     // Pixel bounds and dimensions of the scatter plot.
     private int gridLeftX, gridRightX, gridTopY, gridBottomY;
@@ -87,19 +115,34 @@ public class ScatterPlotPanel extends JPanel {
                 new Color(230, 20, 20));
 
         setFont("Arial", 14, 12);
+        setFitColor(new Color(20, 20, 230));
+        setSeriesColors(new Color(20, 150, 20), new Color(150, 20, 150), new Color(20, 150, 150));
 
         gridLineWidth = 2;
         edgeDistGrid = 80;
         gridOffsetY = 40;
         edgeDistBackground = 20;
         dotDiameter = 10;
+        errorBarCapWidth = 8;
+        fitCurveWidth = 2;
 
         numTicksX = 10;
         numTicksY = 10;
+        tickAmountX = numTicksX;
+        tickAmountY = numTicksY;
+
+        axisLogX = false;
+        axisLogY = false;
+        normalizeY = "none";
 
         powTen = new String[] { "K", "M", "B" };
 
         plotInput = null;
+        plotSeries = null;
+        seriesNames = null;
+        fitCurve = null;
+        labelFit = null;
+        labelFitNote = null;
         viewAdjustAuto = true;
         inputReady = false;
         paintingEnabled = false;
@@ -128,8 +171,36 @@ public class ScatterPlotPanel extends JPanel {
         if (list == null) {
             return;
         }
+        List<List<ScatterPoint>> series = new ArrayList<List<ScatterPoint>>();
+        series.add(list);
+        setInputSeries(series, null);
+    }
+
+    /**
+     * Set the input of the scatter plot as the provided series, each a List of
+     * ScatterPoint objects, with the provided names for the legend.
+     * The first series is drawn with the color of the dots and every other series
+     * with the series colors. The legend is only drawn if the names are given and
+     * there is more than one series. Once set, the scales are re-adjusted (to fit
+     * every series) and the plot is ready to be rendered. If the list of series is
+     * null, then nothing happens.
+     * 
+     * @param series the List of Lists of ScatterPoint objects
+     * @param names  the List of String names of the series or null
+     */
+    public void setInputSeries(List<List<ScatterPoint>> series, List<String> names) {
+        if (series == null) {
+            return;
+        }
+        List<ScatterPoint> allPoints = new ArrayList<ScatterPoint>();
+        for (List<ScatterPoint> list : series) {
+            allPoints.addAll(list);
+        }
+
         inputReady = true;
-        plotInput = list;
+        plotSeries = series;
+        plotInput = allPoints;
+        seriesNames = names;
         setGridScale();
         panelResized();
     }
@@ -179,6 +250,91 @@ public class ScatterPlotPanel extends JPanel {
         this.labelAxisY = labelAxisY;
     }
 
+    /**
+     * Update the colors of the dots of the series after the first one (the first
+     * series uses the color of the dots). If there are more series than colors,
+     * then the colors repeat.
+     * 
+     * @param colors the Colors of the second, third, ... series
+     */
+    public void setSeriesColors(Color... colors) {
+        colorSeries = colors;
+    }
+
+    /**
+     * Returns the color of the dots of the series at the provided index.
+     * 
+     * @param seriesIndex the int index of the series, starting at 0
+     * @return the Color of the series
+     */
+    private Color getSeriesColor(int seriesIndex) {
+        if (seriesIndex == 0 || colorSeries == null || colorSeries.length == 0) {
+            return colorDots;
+        }
+        return colorSeries[(seriesIndex - 1) % colorSeries.length];
+    }
+
+    /**
+     * Update the color of the curve of the fitted model.
+     * 
+     * @param fit the Color of the fitted curve
+     */
+    public void setFitColor(Color fit) {
+        colorFit = fit;
+    }
+
+    /**
+     * Set the fitted model to draw as a curve over the points and the text below
+     * the heading that describes it (such as its formula and R^2) and any note
+     * about it (such as a warning). If the fit is null, then no curve is drawn,
+     * and if a text is null, then it is not drawn.
+     * 
+     * @param fit          the ComplexityFit to draw or null
+     * @param labelFit     the String description of the fit or null
+     * @param labelFitNote the String note about the fit or null
+     */
+    public void setFitCurve(ComplexityFit fit, String labelFit, String labelFitNote) {
+        this.fitCurve = fit;
+        this.labelFit = labelFit;
+        this.labelFitNote = labelFitNote;
+    }
+
+    /**
+     * Set whether each axis is linear or logarithmic (base 10). On a logarithmic
+     * axis, the bounds are widened to whole powers of 10 with a tick at each
+     * power, and points with a value of 0 or less on that axis are not drawn.
+     * 
+     * @param logX if true, then the x-axis is logarithmic
+     * @param logY if true, then the y-axis is logarithmic
+     */
+    public void setAxisScale(boolean logX, boolean logY) {
+        axisLogX = logX;
+        axisLogY = logY;
+    }
+
+    /**
+     * Set what the y-value of each point (and its error bar and the fitted curve)
+     * is divided by: "none" (not normalized), "n", "n log n" (base-2 logarithm),
+     * or "n^2", where n is the x-value. A normalized y-axis is always scaled
+     * automatically, since the manual bounds are not normalized. Points where the
+     * divisor is 0 (such as n log n at n = 1) are not drawn. If the mode is not
+     * supported, then the y-values are not normalized.
+     * 
+     * @param mode the String normalization mode (none, n, n log n, n^2)
+     */
+    public void setNormalizeY(String mode) {
+        switch (mode) {
+            case "n":
+            case "n log n":
+            case "n^2":
+                normalizeY = mode;
+                break;
+            default:
+                normalizeY = "none";
+                break;
+        }
+    }
+
     /**
      * Update the manual lower and upper boundaries of the domain (x-axis) of the
      * scatter plot as well as the interval to round them by.
@@ -235,8 +391,11 @@ public class ScatterPlotPanel extends JPanel {
      * Apply either the manually or automatically set lower and upper bound of the
      * x-axis and y-axis to the scatter plot.
      * If viewAdjustAuto is true, then the bounds are determined by the smallest and
-     * largest x-values and y-values in the input list of ScatterPoints; if false,
-     * then it will use the manually set bounds.
+     * largest x-values and y-values in the input list of ScatterPoints (including
+     * their error bars); if false, then it will use the manually set bounds. A
+     * normalized y-axis is always automatic and starts at 0 so the constant
+     * factors can be compared. A logarithmic axis is widened to whole powers of
+     * 10 with one tick per power.
      * If the input has not been set yet, then nothing happens.
      */
     public void setGridScale() {
@@ -244,53 +403,159 @@ public class ScatterPlotPanel extends JPanel {
             return;
         }
 
-        long lowerX = viewManualLowerX;
-        long upperX = viewManualUpperX;
+        double lowerX = viewManualLowerX;
+        double upperX = viewManualUpperX;
+
+        double lowerY = viewManualLowerY;
+        double upperY = viewManualUpperY;
 
-        long lowerY = viewManualLowerY;
-        long upperY = viewManualUpperY;
+        boolean autoX = viewAdjustAuto;
+        boolean autoY = viewAdjustAuto || !normalizeY.equals("none");
 
-        if (viewAdjustAuto) {
+        if (autoX || autoY) {
             boolean firstPoint = true;
 
             for (ScatterPoint point : plotInput) {
-                if (firstPoint) {
-                    lowerX = point.getX();
-                    upperX = point.getX();
-
-                    lowerY = point.getY();
-                    upperY = point.getY();
+                double x = point.getX();
+                double errorLowerY = normalize(x, point.getErrorLowerY());
+                double errorUpperY = normalize(x, point.getErrorUpperY());
+
+                // Skip the points that cannot be drawn on the axes.
+                if (Double.isNaN(errorLowerY) || (axisLogX && x <= 0)
+                        || (axisLogY && normalize(x, point.getY()) <= 0)) {
+                    continue;
+                }
+                // The bottom of an error bar may not fit on a logarithmic axis.
+                if (axisLogY && errorLowerY <= 0) {
+                    errorLowerY = normalize(x, point.getY());
+                }
 
-                    firstPoint = false;
-                } else {
-                    if (point.getX() < lowerX) {
-                        lowerX = point.getX();
+                if (firstPoint) {
+                    if (autoX) {
+                        lowerX = x;
+                        upperX = x;
                     }
-                    if (point.getX() > upperX) {
-                        upperX = point.getX();
+                    if (autoY) {
+                        lowerY = errorLowerY;
+                        upperY = errorUpperY;
                     }
-                    if (point.getY() < lowerY) {
-                        lowerY = point.getY();
+                    firstPoint = false;
+                } else {
+                    if (autoX) {
+                        lowerX = Math.min(lowerX, x);
+                        upperX = Math.max(upperX, x);
                     }
-                    if (point.getY() > upperY) {
-                        upperY = point.getY();
+                    // The error bars of the points must fit as well (they are the y-value
+                    // itself for a point without an error bar).
+                    if (autoY) {
+                        lowerY = Math.min(lowerY, errorLowerY);
+                        upperY = Math.max(upperY, errorUpperY);
                     }
                 }
             }
         }
 
         // Round the final lower and upper bounds of the x-axis.
-        viewLowerX = (lowerX / viewRoundX) * viewRoundX;
-        viewUpperX = ((upperX / viewRoundX) + 1) * viewRoundX;
+        if (axisLogX) {
+            viewLowerX = Math.floor(Math.log10(Math.max(lowerX, 1)));
+            viewUpperX = Math.max(viewLowerX + 1, Math.ceil(Math.log10(Math.max(upperX, 1))));
+            tickAmountX = (int) (viewUpperX - viewLowerX);
+        } else {
+            viewLowerX = Math.floor(lowerX / viewRoundX) * viewRoundX;
+            viewUpperX = (Math.floor(upperX / viewRoundX) + 1) * viewRoundX;
+            tickAmountX = numTicksX;
+        }
 
         // Round the final lower and upper bounds of the y-axis.
-        viewLowerY = (lowerY / viewRoundY) * viewRoundY;
-        viewUpperY = ((upperY / viewRoundY) + 1) * viewRoundY;
+        if (axisLogY) {
+            // Normalized values can be less than 1, so there is no floor of 1 for them.
+            double floorY = normalizeY.equals("none") ? 1 : Double.MIN_VALUE;
+            viewLowerY = Math.floor(Math.log10(Math.max(lowerY, floorY)));
+            viewUpperY = Math.max(viewLowerY + 1, Math.ceil(Math.log10(Math.max(upperY, floorY))));
+            tickAmountY = (int) (viewUpperY - viewLowerY);
+        } else if (!normalizeY.equals("none")) {
+            viewLowerY = 0;
+            viewUpperY = upperY > 0 ? upperY * 1.1 : 1;
+            tickAmountY = numTicksY;
+        } else {
+            viewLowerY = Math.floor(lowerY / viewRoundY) * viewRoundY;
+            viewUpperY = (Math.floor(upperY / viewRoundY) + 1) * viewRoundY;
+            tickAmountY = numTicksY;
+        }
 
         viewWidthX = viewUpperX - viewLowerX;
         viewHeightY = viewUpperY - viewLowerY;
     }
 
+    /**
+     * Returns the provided y-value divided by the normalization of the provided
+     * x-value, or NaN if the divisor is 0 or less. If the y-values are not
+     * normalized, then the y-value itself is returned.
+     * 
+     * @param x the double x-value (N)
+     * @param y the double y-value
+     * @return the double normalized y-value or NaN
+     */
+    private double normalize(double x, double y) {
+        double divisor;
+        switch (normalizeY) {
+            case "n":
+                divisor = x;
+                break;
+            case "n log n":
+                divisor = x <= 1 ? 0 : x * Math.log(x) / Math.log(2);
+                break;
+            case "n^2":
+                divisor = x * x;
+                break;
+            default:
+                return y;
+        }
+        return divisor <= 0 ? Double.NaN : y / divisor;
+    }
+
+    /**
+     * Returns the horizontal pixel location of the provided x-value, which may be
+     * outside of the grid. On a logarithmic axis, the x-value must be positive.
+     * 
+     * @param x the double x-value
+     * @return the double horizontal pixel
+     */
+    private double getPixelX(double x) {
+        double axisX = axisLogX ? Math.log10(x) : x;
+        return gridLeftX + ((axisX - viewLowerX) / viewWidthX) * gridWidthX;
+    }
+
+    /**
+     * Returns the vertical pixel location of the provided (already normalized)
+     * y-value, which may be outside of the grid. On a logarithmic axis, the
+     * y-value must be positive.
+     * 
+     * @param y the double y-value
+     * @return the double vertical pixel
+     */
+    private double getPixelY(double y) {
+        double axisY = axisLogY ? Math.log10(y) : y;
+        return gridBottomY - ((axisY - viewLowerY) / viewHeightY) * gridHeightY;
+    }
+
+    /**
+     * Returns true if the provided x-value and (already normalized) y-value can be
+     * drawn within the bounds of the scatter plot.
+     * 
+     * @param x the double x-value
+     * @param y the double y-value
+     * @return true if the point is within the bounds
+     */
+    private boolean isWithinView(double x, double y) {
+        if (Double.isNaN(y) || (axisLogX && x <= 0) || (axisLogY && y <= 0)) {
+            return false;
+        }
+        double axisX = axisLogX ? Math.log10(x) : x;
+        double axisY = axisLogY ? Math.log10(y) : y;
+        return axisX >= viewLowerX && axisX <= viewUpperX && axisY >= viewLowerY && axisY <= viewUpperY;
+    }
+
     /**
      * Sets the leftmost, rightmost, topmost, and bottommost pixel boundaries of the
      * background and grid for use by the methods that actually render the plot.
@@ -347,6 +612,26 @@ public class ScatterPlotPanel extends JPanel {
         return "" + number;
     }
 
+    /**
+     * Returns a String of the provided number for a tick: large numbers are
+     * abbreviated with numAbbreviated(), whole numbers are written as they are,
+     * and the fractions of a normalized or logarithmic axis are written with 3
+     * significant digits.
+     * 
+     * @param number the double number to write
+     * @return a String form of the provided number
+     */
+    private String numFormatted(double number) {
+        long rounded = Math.round(number);
+        if (Math.abs(number) >= 1000) {
+            return numAbbreviated(rounded);
+        }
+        if (Math.abs(number - rounded) < 1e-9) {
+            return "" + rounded;
+        }
+        return String.format("%.3g", number);
+    }
+
     /**
      * Paints the numbers along the ticks of the x-axis and y-axis onto the provided
      * Graphics object.
@@ -371,25 +656,31 @@ public class ScatterPlotPanel extends JPanel {
         FontMetrics metrics = g2D.getFontMetrics(fontTickNumber);
 
         String message;
-        long originalNumber;
+        double originalNumber;
 
         // Paints the tick numbers for the y-axis.
-        for (int i = 0; i <= numTicksY; i++) {
-            // Calculate the number for the tick.
-            originalNumber = (long) (viewLowerY + i * (viewHeightY / (double) numTicksY));
+        for (int i = 0; i <= tickAmountY; i++) {
+            // Calculate the number for the tick (a power of 10 on a logarithmic axis).
+            originalNumber = viewLowerY + i * (viewHeightY / tickAmountY);
+            if (axisLogY) {
+                originalNumber = Math.pow(10, originalNumber);
+            }
             // Abbreviate the number.
-            message = numAbbreviated(originalNumber);
+            message = numFormatted(originalNumber);
             // Actually paint the abbreviated number to the Graphics2D object.
             g2D.drawString(message, gridLeftX - metrics.stringWidth(message) - 10,
                     getTickPosY(i) + metrics.getHeight() / 2);
         }
 
         // Paints the tick numbers for the x-axis.
-        for (int i = 0; i <= numTicksX; i++) {
-            // Calculate the number for the tick.
-            originalNumber = (long) (viewLowerX + i * (viewWidthX / (double) numTicksX));
+        for (int i = 0; i <= tickAmountX; i++) {
+            // Calculate the number for the tick (a power of 10 on a logarithmic axis).
+            originalNumber = viewLowerX + i * (viewWidthX / tickAmountX);
+            if (axisLogX) {
+                originalNumber = Math.pow(10, originalNumber);
+            }
             // Abbreviate the number.
-            message = numAbbreviated(originalNumber);
+            message = numFormatted(originalNumber);
             // Actually paint the abbreviated number to the Graphics2D object.
             g2D.drawString(message, getTickPosX(i) - metrics.stringWidth(message) / 2, gridBottomY + 15);
         }
@@ -405,7 +696,7 @@ public class ScatterPlotPanel extends JPanel {
      * @return the int horizontal pixel corresponding to the pixel
      */
     private int getTickPosX(int tickIndexX) {
-        return (int) (gridLeftX + (tickIndexX / (double) numTicksX) * (gridWidthX));
+        return (int) (gridLeftX + (tickIndexX / (double) tickAmountX) * (gridWidthX));
     }
 
     /**
@@ -418,7 +709,7 @@ public class ScatterPlotPanel extends JPanel {
      * @return the int vertical pixel corresponding to the pixel
      */
     private int getTickPosY(int tickIndexY) {
-        return (int) (gridTopY + ((numTicksY - tickIndexY) / (double) numTicksY) * (gridHeightY));
+        return (int) (gridTopY + ((tickAmountY - tickIndexY) / (double) tickAmountY) * (gridHeightY));
     }
 
     /**
@@ -448,6 +739,22 @@ public class ScatterPlotPanel extends JPanel {
         g2D.drawString(labelTitle, bgLeftX + 5, bgTopY + headingHeight);
         g2D.drawString("X: " + labelAxisX, bgLeftX + 5, bgTopY + headingHeight * 2);
         g2D.drawString("Y: " + labelAxisY, bgLeftX + 5, bgTopY + headingHeight * 3);
+
+        // The description of the fitted model uses the smaller font of the numbers so
+        // it fits between the heading and the grid.
+        int fitTextY = bgTopY + headingHeight * 3;
+        g2D.setFont(fontTickNumber);
+        int fitTextHeight = g2D.getFontMetrics(fontTickNumber).getHeight();
+        if (labelFit != null) {
+            fitTextY += fitTextHeight;
+            g2D.setColor(colorFit);
+            g2D.drawString("Fit: " + labelFit, bgLeftX + 5, fitTextY);
+        }
+        if (labelFitNote != null) {
+            fitTextY += fitTextHeight;
+            g2D.setColor(colorHeading);
+            g2D.drawString(labelFitNote, bgLeftX + 5, fitTextY);
+        }
     }
 
     /**
@@ -478,7 +785,7 @@ public class ScatterPlotPanel extends JPanel {
         // Begin drawing the horizontal lines from the bottom to the top of the plot.
         int currentYTop;
         int currentYBottom;
-        for (int i = 0; i <= numTicksY; i++) {
+        for (int i = 0; i <= tickAmountY; i++) {
             currentYTop = getTickPosY(i) - gridLineWidth;
             currentYBottom = getTickPosY(i) + gridLineWidth;
 
@@ -500,7 +807,7 @@ public class ScatterPlotPanel extends JPanel {
         // Begin drawing the vertical lines from the left to the right side of the plot.
         int currentXLeft;
         int currentXRight;
-        for (int i = 0; i <= numTicksX; i++) {
+        for (int i = 0; i <= tickAmountX; i++) {
             currentXLeft = getTickPosX(i) - gridLineWidth;
             currentXRight = getTickPosX(i) + gridLineWidth;
 
@@ -527,31 +834,148 @@ public class ScatterPlotPanel extends JPanel {
             return;
         }
 
-        double pointRatioX, pointRatioY;
         int pixelX, pixelY;
 
-        graphics.setColor(colorDots);
+        for (int i = 0; i < plotSeries.size(); i++) {
+            graphics.setColor(getSeriesColor(i));
 
-        for (ScatterPoint point : plotInput) {
-            // Continue drawing if the x-value and y-value of the ScatterPoint is within the
-            // boundaries of the scatter plot.
-            if (point.getX() >= viewLowerX && point.getX() <= viewUpperX && point.getY() >= viewLowerY
-                    && point.getY() <= viewUpperY) {
+            for (ScatterPoint point : plotSeries.get(i)) {
+                double y = normalize(point.getX(), point.getY());
+
+                // Continue drawing if the x-value and y-value of the ScatterPoint is within
+                // the boundaries of the scatter plot.
+                if (isWithinView(point.getX(), y)) {
+                    // Convert the values to the pixels of the grid (on its linear or logarithmic
+                    // scale).
+                    pixelX = (int) getPixelX(point.getX());
+                    pixelY = (int) getPixelY(y);
+
+                    graphics.fillOval(pixelX - dotDiameter / 2, pixelY - dotDiameter / 2, dotDiameter,
+                            dotDiameter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Paints the legend with the color and name of each series in the top-right
+     * corner of the background of the scatter plot.
+     * If there are no names, there is only one series, the input has not been set
+     * yet, or painting is not enabled, then nothing happens.
+     * 
+     * @param graphics the Graphics object to paint to
+     */
+    private void drawLegend(Graphics graphics) {
+        if (!paintingEnabled || !inputReady || seriesNames == null || plotSeries.size() <= 1) {
+            return;
+        }
+
+        Graphics2D g2D = (Graphics2D) graphics;
+        g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2D.setFont(fontTickNumber);
+        FontMetrics metrics = g2D.getFontMetrics(fontTickNumber);
+        int lineHeight = metrics.getHeight();
+
+        for (int i = 0; i < seriesNames.size() && i < plotSeries.size(); i++) {
+            String name = seriesNames.get(i);
+            int textX = bgRightX - 5 - metrics.stringWidth(name);
+            int textY = bgTopY + lineHeight * (i + 1);
+
+            g2D.setColor(getSeriesColor(i));
+            g2D.fillOval(textX - dotDiameter - 4, textY - lineHeight / 2 - dotDiameter / 2 + 2, dotDiameter,
+                    dotDiameter);
+            g2D.setColor(colorHeading);
+            g2D.drawString(name, textX, textY);
+        }
+    }
+
+    /**
+     * Paints the curve of the fitted model across the width of the grid onto the
+     * provided Graphics object, cut off at the boundaries of the grid.
+     * If no fit was set, the input List of ScatterPoint objects has not been set
+     * yet, or painting is not enabled, then nothing happens.
+     * 
+     * @param graphics the Graphics object to paint to
+     */
+    private void drawFitCurve(Graphics graphics) {
+        if (!paintingEnabled || !inputReady || fitCurve == null || gridWidthX <= 0) {
+            return;
+        }
 
-                // Calculate the ratio between the x-value of the ScatterPoint and the width of
-                // the x-axis.
-                pointRatioX = (point.getX() - viewLowerX) / (double) viewWidthX;
+        Graphics2D g2D = (Graphics2D) graphics.create();
+        g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2D.setColor(colorFit);
+        g2D.setStroke(new BasicStroke(fitCurveWidth));
+        g2D.clipRect(gridLeftX, gridTopY, gridWidthX, gridHeightY);
+
+        // Evaluate the model at every other pixel column of the grid. The curve is
+        // broken wherever it cannot be drawn (such as a value of 0 on a logarithmic
+        // axis).
+        int pointAmount = gridWidthX / 2 + 1;
+        int[] pixelX = new int[pointAmount];
+        int[] pixelY = new int[pointAmount];
+        int segmentAmount = 0;
+        for (int i = 0; i < pointAmount; i++) {
+            double axisX = viewLowerX + (i / (double) (pointAmount - 1)) * viewWidthX;
+            double x = axisLogX ? Math.pow(10, axisX) : axisX;
+            double y = normalize(x, fitCurve.predict(x));
+
+            if (Double.isNaN(y) || (axisLogY && y <= 0)) {
+                g2D.drawPolyline(pixelX, pixelY, segmentAmount);
+                segmentAmount = 0;
+                continue;
+            }
+            pixelX[segmentAmount] = (int) getPixelX(x);
+            // Keep far-away values from overflowing the int pixel (they are clipped).
+            pixelY[segmentAmount] = (int) Math.max(-1e6, Math.min(1e6, getPixelY(y)));
+            segmentAmount++;
+        }
+        g2D.drawPolyline(pixelX, pixelY, segmentAmount);
+        g2D.dispose();
+    }
 
-                // Calculate the ratio between the y-value of the ScatterPoint and the height of
-                // the y-axis.
-                pointRatioY = (point.getY() - viewLowerY) / (double) viewHeightY;
+    /**
+     * Paints the vertical error bar of each ScatterPoint in the input List that has
+     * one onto the provided Graphics object, with a short horizontal cap at the top
+     * and bottom. The bar is cut off at the boundaries of the scatter plot.
+     * If the input List of ScatterPoint objects has not been set yet or painting is
+     * not enabled, then nothing happens.
+     * 
+     * @param graphics the Graphics object to paint to
+     */
+    private void drawErrorBars(Graphics graphics) {
+        if (!paintingEnabled || !inputReady) {
+            return;
+        }
 
-                // Multiply the ratios by the actual pixel width and height of the grid.
-                pixelX = (int) (gridLeftX + pointRatioX * (gridWidthX));
-                pixelY = (int) (gridBottomY - pointRatioY * (gridHeightY));
+        int pixelX, pixelLowerY, pixelUpperY;
 
-                graphics.fillOval(pixelX - dotDiameter / 2, pixelY - dotDiameter / 2, dotDiameter, dotDiameter);
+        graphics.setColor(colorLines);
+
+        for (ScatterPoint point : plotInput) {
+            double y = normalize(point.getX(), point.getY());
+            if (!point.hasErrorBar() || !isWithinView(point.getX(), y)) {
+                continue;
             }
+
+            // Cut off the error bar at the lower and upper bound of the y-axis (and at the
+            // bottom of a logarithmic axis, which cannot reach 0).
+            double lowerY = normalize(point.getX(), point.getErrorLowerY());
+            double upperY = normalize(point.getX(), point.getErrorUpperY());
+            double viewBottom = axisLogY ? Math.pow(10, viewLowerY) : viewLowerY;
+            double viewTop = axisLogY ? Math.pow(10, viewUpperY) : viewUpperY;
+            lowerY = Math.max(lowerY, viewBottom);
+            upperY = Math.min(upperY, viewTop);
+
+            pixelX = (int) getPixelX(point.getX());
+            pixelLowerY = (int) getPixelY(lowerY);
+            pixelUpperY = (int) getPixelY(upperY);
+
+            graphics.drawLine(pixelX, pixelLowerY, pixelX, pixelUpperY);
+            graphics.drawLine(pixelX - errorBarCapWidth / 2, pixelLowerY, pixelX + errorBarCapWidth / 2,
+                    pixelLowerY);
+            graphics.drawLine(pixelX - errorBarCapWidth / 2, pixelUpperY, pixelX + errorBarCapWidth / 2,
+                    pixelUpperY);
         }
     }
 
@@ -576,7 +1000,10 @@ public class ScatterPlotPanel extends JPanel {
 
         drawGrid(graphics);
         drawTickNumbers(graphics);
+        drawErrorBars(graphics);
         drawDots(graphics);
+        drawFitCurve(graphics);
+        drawLegend(graphics);
         drawHeading(graphics);
     }
 }
\ No newline at end of file
@@ -9,12 +9,16 @@
  *                  with the ScatterPlotPanel. Although Java offers
  *                  its own Point and Point2D class, they do not support
  *                  long types and have additional overhead and features
- *                  that are not required.
+ *                  that are not required. A point may also have an
+ *                  error bar (the lower and upper y-value of a confidence
+ *                  interval) for points summarizing repeated trials.
  */
 
 public class ScatterPoint {
     private final long x;
     private final long y;
+    private final long errorLowerY, errorUpperY;
+    private final boolean hasErrorBar;
 
     /**
      * Initializes the ScatterPoint object as a coordinate point with the given
@@ -26,6 +30,27 @@ public class ScatterPoint {
     public ScatterPoint(long x, long y) {
         this.x = x;
         this.y = y;
+        this.errorLowerY = y;
+        this.errorUpperY = y;
+        this.hasErrorBar = false;
+    }
+
+    /**
+     * Initializes the ScatterPoint object as a coordinate point with the given
+     * x-value and y-value and a vertical error bar from the lower to the upper
+     * y-value.
+     * 
+     * @param x           the long x-value of the coordinate point
+     * @param y           the long y-value of the coordinate point
+     * @param errorLowerY the long y-value of the bottom of the error bar
+     * @param errorUpperY the long y-value of the top of the error bar
+     */
+    public ScatterPoint(long x, long y, long errorLowerY, long errorUpperY) {
+        this.x = x;
+        this.y = y;
+        this.errorLowerY = errorLowerY;
+        this.errorUpperY = errorUpperY;
+        this.hasErrorBar = true;
     }
 
     /**
@@ -45,4 +70,33 @@ public class ScatterPoint {
     public long getY() {
         return y;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns true if the coordinate point has an error bar.
+     * 
+     * @return true if there is an error bar
+     */
+    public boolean hasErrorBar() {
+        return hasErrorBar;
+    }
+
+    /**
+     * Returns the long y-value of the bottom of the error bar, which is the
+     * y-value itself if there is no error bar.
+     * 
+     * @return the long lower y-value of the error bar
+     */
+    public long getErrorLowerY() {
+        return errorLowerY;
+    }
+
+    /**
+     * Returns the long y-value of the top of the error bar, which is the y-value
+     * itself if there is no error bar.
+     * 
+     * @return the long upper y-value of the error bar
+     */
+    public long getErrorUpperY() {
+        return errorUpperY;
+    }
+}
@@ -0,0 +1,651 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           SortBenchmark.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A command-line benchmark of every algorithm in the algorithm
+ *                  map of the TestCaseReader across input distributions and sizes.
+ *                  Every algorithm is ran on the instrumented path (AnalyzedArray
+ *                  in an AnalyzedArrayGroup without a GUI, delays, or updates) and,
+ *                  if it has one, on the raw path (the plain int array version in
+ *                  RawHybridSorts). Each measurement has warmup iterations that are
+ *                  thrown away before the measured iterations, and reports the
+ *                  throughput (ops/s), the time per element (ns/element), and the
+ *                  bytes allocated per sort and per second by the sorting thread.
+ *                  The "long" and "double" paths run the specializations in
+ *                  LongHybridSorts and DoubleHybridSorts on the same inputs as 64-bit
+ *                  keys, with NaN, -0.0, and 0.0 mixed into the doubles. Before it
+ *                  is measured, each of their sorts is checked against the total
+ *                  order of Arrays.sort(), and an error is printed if it differs.
+ *                  With "--off-heap", the long-index sorts of LongIndexSorts are
+ *                  benchmarked instead, on a random OffHeapAnalyzedArray of the
+ *                  given (long) length, which can be more than 2^31 elements.
+ *
+ *                  Usage: java SortBenchmark [--algorithms a,b,...]
+ *                                            [--distributions d,e,...]
+ *                                            [--sizes 10,100,...] [--paths p,q]
+ *                                            [--warmup W] [--iterations M]
+ *                                            [--iteration-ms T] [--budget-ms B]
+ *                                            [--seed S]
+ *                         java SortBenchmark --off-heap L [--warmup W]
+ *                                            [--iterations M] [--seed S]
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+public class SortBenchmark {
+    private static final Map<String, Consumer<int[]>> RAW_ALGORITHM_MAP = Map.ofEntries(
+            Map.entry("insertion", RawHybridSorts::insertionSort),
+            Map.entry("merge", RawHybridSorts::mergeSort),
+            Map.entry("heap", RawHybridSorts::heapSort),
+            Map.entry("quick", RawHybridSorts::quickSort),
+            Map.entry("bubble", RawHybridSorts::bubbleSort),
+            Map.entry("selection", RawHybridSorts::selectionSort),
+            Map.entry("merge-selection", RawHybridSorts::mergeSelectionSort),
+            Map.entry("heap-merge", RawHybridSorts::heapMergeSort),
+            Map.entry("quick-merge", RawHybridSorts::quickMergeSort),
+            Map.entry("merge-insertion", RawHybridSorts::mergeInsertionSort),
+            Map.entry("bubble-merge", RawHybridSorts::bubbleMergeSort));
+
+    // The specializations of the "long" and "double" paths (the full sorts only).
+    private static final Map<String, Algorithm> LONG_ALGORITHM_MAP = Map.ofEntries(
+            Map.entry("insertion", LongHybridSorts::insertionSort),
+            Map.entry("merge", LongHybridSorts::mergeSort),
+            Map.entry("heap", LongHybridSorts::heapSort),
+            Map.entry("quick", LongHybridSorts::quickSort),
+            Map.entry("bubble", LongHybridSorts::bubbleSort),
+            Map.entry("selection", LongHybridSorts::selectionSort),
+            Map.entry("merge-selection", LongHybridSorts::mergeSelectionSort),
+            Map.entry("heap-merge", LongHybridSorts::heapMergeSort),
+            Map.entry("quick-merge", LongHybridSorts::quickMergeSort),
+            Map.entry("merge-insertion", LongHybridSorts::mergeInsertionSort),
+            Map.entry("bubble-merge", LongHybridSorts::bubbleMergeSort));
+    private static final Map<String, Algorithm> DOUBLE_ALGORITHM_MAP = Map.ofEntries(
+            Map.entry("insertion", DoubleHybridSorts::insertionSort),
+            Map.entry("merge", DoubleHybridSorts::mergeSort),
+            Map.entry("heap", DoubleHybridSorts::heapSort),
+            Map.entry("quick", DoubleHybridSorts::quickSort),
+            Map.entry("bubble", DoubleHybridSorts::bubbleSort),
+            Map.entry("selection", DoubleHybridSorts::selectionSort),
+            Map.entry("merge-selection", DoubleHybridSorts::mergeSelectionSort),
+            Map.entry("heap-merge", DoubleHybridSorts::heapMergeSort),
+            Map.entry("quick-merge", DoubleHybridSorts::quickMergeSort),
+            Map.entry("merge-insertion", DoubleHybridSorts::mergeInsertionSort),
+            Map.entry("bubble-merge", DoubleHybridSorts::bubbleMergeSort));
+
+    private static final List<String> PATH_LIST = List.of("instrumented", "raw", "long", "double");
+
+    // Every this many elements of the input of the "double" path is replaced by
+    // NaN, -0.0, and 0.0 in turn.
+    private static final int DOUBLE_SPECIAL_INTERVAL = 16;
+    private static final double[] DOUBLE_SPECIAL_VALUES = { Double.NaN, -0.0, 0.0 };
+
+    // The long-index sorts of the off-heap mode, in the order they are ran.
+    private static final List<String> LONG_INDEX_ALGORITHM_NAMES = List.of("merge", "quick", "heap", "radix");
+    private static final Map<String, Consumer<OffHeapAnalyzedArray>> LONG_INDEX_ALGORITHM_MAP = Map.ofEntries(
+            Map.entry("merge", LongIndexSorts::mergeSort),
+            Map.entry("quick", LongIndexSorts::quickSort),
+            Map.entry("heap", LongIndexSorts::heapSort),
+            Map.entry("radix", LongIndexSorts::radixSort));
+
+    // The algorithm map of the TestCaseReader (built once, since every call builds
+    // a new map).
+    private Map<String, Algorithm> algorithmMap;
+
+    private List<String> algorithmNames;
+    private List<String> distributions;
+    private List<Integer> sizes;
+    private List<String> paths;
+    private int warmupIterations;
+    private int measurementIterations;
+    private long iterationNanos;
+    private long budgetNanos;
+    private long seed;
+
+    // True once a sort of the "long" or "double" path did not match Arrays.sort().
+    private boolean isOrderFailed;
+
+    // The length of the OffHeapAnalyzedArray of the off-heap mode, or 0 if the
+    // regular benchmark is ran.
+    private long offHeapLength;
+
+    private com.sun.management.ThreadMXBean allocationBean;
+
+    // Written after every sort so the JIT compiler cannot prove that the sorted
+    // copies are unused and remove the sort.
+    private volatile int sink;
+
+    /**
+     * Initializes the SortBenchmark with the default settings: every algorithm,
+     * every distribution, sizes from 10 to 10^7, every path, 3 warmup and 5
+     * measured iterations of at least 500 milliseconds, and a budget of 5 seconds
+     * for a single sort.
+     */
+    public SortBenchmark() {
+        algorithmMap = TestCaseReader.getAlgorithmMap();
+        algorithmNames = new ArrayList<>(TestCaseReader.getAlgorithmNameList());
+        distributions = new ArrayList<>(ArrayGenerator.getGenerateArrayTypeList());
+        sizes = new ArrayList<>(Arrays.asList(10, 100, 1000, 10000, 100000, 1000000, 10000000));
+        paths = new ArrayList<>(PATH_LIST);
+        warmupIterations = 3;
+        measurementIterations = 5;
+        iterationNanos = 500_000_000L;
+        budgetNanos = 5_000_000_000L;
+        seed = 345;
+        isOrderFailed = false;
+        offHeapLength = 0;
+
+        // The allocated bytes of a thread are only available on HotSpot-based JVMs.
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (!allocationBean.isThreadAllocatedMemorySupported()) {
+                allocationBean = null;
+            } else {
+                allocationBean.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // PARSING THE ARGUMENTS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Updates the settings with the provided command-line arguments.
+     * If an argument is not recognized, its value is missing or invalid, or an
+     * algorithm or distribution does not exist, then an error is printed and
+     * false is returned.
+     *
+     * @param args the String command-line arguments
+     * @return true if every argument was parsed and false if otherwise
+     */
+    public boolean parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+
+            if (i + 1 >= args.length) {
+                System.out.printf("ERROR: the option \"%s\" is missing its value.\n", option);
+                return false;
+            }
+            String value = args[++i];
+
+            try {
+                switch (option) {
+                    case "--algorithms":
+                        algorithmNames = Arrays.asList(value.split(","));
+                        for (String name : algorithmNames) {
+                            if (!algorithmMap.containsKey(name)) {
+                                System.out.printf("ERROR: the sorting algorithm \"%s\" does not exist.\n", name);
+                                return false;
+                            }
+                        }
+                        break;
+                    case "--distributions":
+                        distributions = Arrays.asList(value.split(","));
+                        for (String distribution : distributions) {
+                            if (!ArrayGenerator.getGenerateArrayTypeList().contains(distribution)) {
+                                System.out.printf("ERROR: the array generation type \"%s\" does not exist.\n",
+                                        distribution);
+                                return false;
+                            }
+                        }
+                        break;
+                    case "--sizes":
+                        sizes = new ArrayList<>();
+                        for (String size : value.split(",")) {
+                            sizes.add(Integer.parseInt(size));
+                        }
+                        break;
+                    case "--paths":
+                        paths = Arrays.asList(value.split(","));
+                        for (String path : paths) {
+                            if (!PATH_LIST.contains(path)) {
+                                System.out.printf(
+                                        "ERROR: the path \"%s\" is not instrumented, raw, long, or double.\n", path);
+                                return false;
+                            }
+                        }
+                        break;
+                    case "--warmup":
+                        warmupIterations = Integer.parseInt(value);
+                        break;
+                    case "--iterations":
+                        measurementIterations = Integer.parseInt(value);
+                        break;
+                    case "--iteration-ms":
+                        iterationNanos = Long.parseLong(value) * 1_000_000L;
+                        break;
+                    case "--budget-ms":
+                        budgetNanos = Long.parseLong(value) * 1_000_000L;
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--off-heap":
+                        offHeapLength = Long.parseLong(value);
+                        if (offHeapLength < 1) {
+                            System.out.printf("ERROR: the off-heap length must be at least 1 (length = %d).\n",
+                                    offHeapLength);
+                            return false;
+                        }
+                        break;
+                    default:
+                        System.out.printf("ERROR: unrecognized option \"%s\".\n", option);
+                        return false;
+                }
+            } catch (NumberFormatException exception) {
+                System.out.printf("ERROR: the value \"%s\" of option \"%s\" is not a number.\n", value, option);
+                return false;
+            }
+        }
+
+        if (warmupIterations < 0 || measurementIterations < 1) {
+            System.out.printf("ERROR: there must be at least 0 warmup and 1 measured iterations.\n");
+            return false;
+        }
+        for (int size : sizes) {
+            if (size < 1) {
+                System.out.printf("ERROR: every size must be at least 1 (size = %d).\n", size);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // RUNNING THE BENCHMARK
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Runs every combination of algorithm, path, distribution, and size and
+     * prints one line of results for each.
+     * The sizes of each algorithm, path, and distribution are ran from smallest
+     * to largest. Once two sizes were measured, the time of the next size is
+     * predicted from the growth between them, and the rest of the sizes are
+     * skipped if a single sort is predicted to take longer than the budget (so
+     * that Bubble Sort is never ran on 10^7 elements).
+     * With "--off-heap", the long-index sorts are ran instead (see runOffHeap()).
+     *
+     * @return true if the benchmark was ran and false if its memory could not be
+     *         allocated or a sort of the "long" or "double" path was not in total
+     *         order
+     */
+    public boolean run() {
+        if (offHeapLength > 0) {
+            return runOffHeap();
+        }
+
+        System.out.printf("%-18s %-13s %-11s %10s %14s %14s %14s %12s\n", "algorithm", "path", "distribution",
+                "N", "ops/s", "ns/element", "bytes/op", "MB/s alloc");
+
+        List<Integer> sortedSizes = new ArrayList<>(sizes);
+        sortedSizes.sort(null);
+
+        for (String algorithmName : algorithmNames) {
+            for (String path : paths) {
+                if ((path.equals("raw") && !RAW_ALGORITHM_MAP.containsKey(algorithmName))
+                        || (path.equals("long") && !LONG_ALGORITHM_MAP.containsKey(algorithmName))
+                        || (path.equals("double") && !DOUBLE_ALGORITHM_MAP.containsKey(algorithmName))) {
+                    continue;
+                }
+
+                for (String distribution : distributions) {
+                    // The input of every size is generated from the same seed, so every
+                    // algorithm sorts the exact same inputs.
+                    ArrayGenerator generator = new ArrayGenerator(seed);
+
+                    int previousSize = 0;
+                    double previousNanosPerOp = 0;
+                    double exponent = 2;
+
+                    for (int size : sortedSizes) {
+                        int[] input = generator.generate(distribution, size, 0, size);
+
+                        if (previousSize > 0) {
+                            double predicted = previousNanosPerOp * Math.pow((double) size / previousSize, exponent);
+                            if (predicted > budgetNanos) {
+                                System.out.printf("%-18s %-13s %-11s %10d %14s\n", algorithmName, path,
+                                        distribution, size, "skipped (over budget)");
+                                continue;
+                            }
+                        }
+
+                        double nanosPerOp = measure(algorithmName, path, distribution, input);
+
+                        // The growth exponent is limited to the range of N to N^2.
+                        if (previousSize > 0 && previousNanosPerOp > 0) {
+                            exponent = Math.log(nanosPerOp / previousNanosPerOp)
+                                    / Math.log((double) size / previousSize);
+                            exponent = Math.max(1, Math.min(2, exponent));
+                        }
+                        previousSize = size;
+                        previousNanosPerOp = nanosPerOp;
+                    }
+                }
+            }
+        }
+        return !isOrderFailed;
+    }
+
+    /**
+     * Runs each long-index sort of LongIndexSorts on one OffHeapAnalyzedArray of
+     * the off-heap length and prints one line of results for each. Before every
+     * sort, the array is filled again with the same random values (from the seed,
+     * over the whole int range), which is not timed. Each warmup and measured
+     * iteration is a single sort, since a sort of billions of elements takes
+     * minutes. The access count is of the input array (not of the temporary
+     * array) in the last measured sort, and the array is checked to be sorted
+     * after it. The algorithms, distributions, and sizes are not used.
+     * If the direct memory of the array (or of the temporary array of Merge and
+     * Radix Sort) cannot be allocated, then an error is printed and false is
+     * returned.
+     *
+     * @return true if every sort was ran and false if otherwise
+     */
+    private boolean runOffHeap() {
+        System.out.printf("%-18s %-13s %-11s %14s %14s %18s %8s\n", "algorithm", "path", "distribution", "N",
+                "ns/element", "accesses", "sorted");
+
+        OffHeapAnalyzedArray array = null;
+        try {
+            array = new OffHeapAnalyzedArray(offHeapLength, "input");
+            for (String algorithmName : LONG_INDEX_ALGORITHM_NAMES) {
+                Consumer<OffHeapAnalyzedArray> algorithm = LONG_INDEX_ALGORITHM_MAP.get(algorithmName);
+
+                for (int i = 0; i < warmupIterations; i++) {
+                    fillOffHeap(array);
+                    algorithm.accept(array);
+                }
+
+                long totalNanos = 0;
+                for (int i = 0; i < measurementIterations; i++) {
+                    fillOffHeap(array);
+                    array.resetAccessCount();
+
+                    long startNanos = System.nanoTime();
+                    algorithm.accept(array);
+                    totalNanos += System.nanoTime() - startNanos;
+                }
+
+                double nanosPerElement = (double) totalNanos / measurementIterations / offHeapLength;
+                System.out.printf("%-18s %-13s %-11s %14d %14.3f %18d %8s\n", algorithmName, "off-heap", "random",
+                        offHeapLength, nanosPerElement, array.getAccessCount(), array.isSorted() ? "yes" : "NO");
+            }
+        } catch (OutOfMemoryError error) {
+            System.out.printf("ERROR: the direct memory for %d elements could not be allocated (see "
+                    + "-XX:MaxDirectMemorySize).\n", offHeapLength);
+            return false;
+        } finally {
+            if (array != null) {
+                array.release();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills the provided OffHeapAnalyzedArray with random values over the whole
+     * int range, which are the same for the same seed.
+     *
+     * @param array the OffHeapAnalyzedArray to fill
+     */
+    private void fillOffHeap(OffHeapAnalyzedArray array) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (long i = 0; i < array.size(); i++) {
+            array.setExternal(i, random.nextInt());
+        }
+    }
+
+    /**
+     * Runs the warmup and measured iterations of one algorithm on one path and
+     * input and prints the results.
+     * Each iteration sorts fresh copies of the input until at least the iteration
+     * time has passed (and at least once). Only the sorting itself is timed: the
+     * copy of the input and the creation of the AnalyzedArrayGroup are not. The
+     * "long" and "double" paths first sort the input once more to check its order
+     * (see checkTypedOrder()).
+     *
+     * @param algorithmName the String name of the algorithm
+     * @param path          "instrumented", "raw", "long", or "double"
+     * @param distribution  the String name of the distribution of the input
+     * @param input         the int array input to sort (never modified)
+     * @return the double average nanoseconds of one sort in the measured
+     *         iterations
+     */
+    private double measure(String algorithmName, String path, String distribution, int[] input) {
+        // The algorithm is looked up once, not for every sort of the iterations.
+        Algorithm algorithm;
+        if (path.equals("long")) {
+            algorithm = LONG_ALGORITHM_MAP.get(algorithmName);
+        } else if (path.equals("double")) {
+            algorithm = DOUBLE_ALGORITHM_MAP.get(algorithmName);
+        } else {
+            algorithm = algorithmMap.get(algorithmName);
+        }
+        Consumer<int[]> rawAlgorithm = RAW_ALGORITHM_MAP.get(algorithmName);
+
+        // The 64-bit inputs are converted once, outside of the timed sorts.
+        long[] longInput = path.equals("long") ? toLongInput(input) : null;
+        double[] doubleInput = path.equals("double") ? toDoubleInput(input) : null;
+        if ((longInput != null || doubleInput != null)
+                && !checkTypedOrder(algorithm, longInput, doubleInput)) {
+            System.out.printf("ERROR: %s on the %s path did not sort the %s input of N = %d in total order.\n",
+                    algorithmName, path, distribution, input.length);
+            isOrderFailed = true;
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(path, algorithm, rawAlgorithm, input, longInput, doubleInput);
+        }
+
+        long totalOps = 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            long[] result = runIteration(path, algorithm, rawAlgorithm, input, longInput, doubleInput);
+            totalOps += result[0];
+            totalNanos += result[1];
+            totalBytes += result[2];
+        }
+
+        double nanosPerOp = (double) totalNanos / totalOps;
+        double opsPerSecond = 1e9 / nanosPerOp;
+        double nanosPerElement = nanosPerOp / input.length;
+
+        String bytesPerOp = "n/a", allocationRate = "n/a";
+        if (allocationBean != null) {
+            bytesPerOp = String.format("%.0f", (double) totalBytes / totalOps);
+            allocationRate = String.format("%.2f", totalBytes / (totalNanos / 1e9) / (1024 * 1024));
+        }
+
+        System.out.printf("%-18s %-13s %-11s %10d %14.2f %14.3f %14s %12s\n", algorithmName, path,
+                distribution, input.length, opsPerSecond, nanosPerElement, bytesPerOp,
+                allocationRate);
+        return nanosPerOp;
+    }
+
+    /**
+     * Runs a single iteration and returns the number of sorts, the nanoseconds
+     * spent sorting, and the bytes allocated while sorting.
+     *
+     * @param path         "instrumented", "raw", "long", or "double"
+     * @param algorithm    the Algorithm of the instrumented, long, or double path
+     * @param rawAlgorithm the int array Consumer of the raw path (null if none)
+     * @param input        the int array input to sort (never modified)
+     * @param longInput    the long array input of the long path (null if not)
+     * @param doubleInput  the double array input of the double path (null if not)
+     * @return the long array of {ops, nanoseconds, bytes}
+     */
+    private long[] runIteration(String path, Algorithm algorithm, Consumer<int[]> rawAlgorithm, int[] input,
+            long[] longInput, double[] doubleInput) {
+        long ops = 0, nanos = 0, bytes = 0;
+        long threadId = Thread.currentThread().getId();
+
+        while (ops == 0 || nanos < iterationNanos) {
+            long startBytes, startNanos;
+
+            if (path.equals("raw")) {
+                int[] copy = input.clone();
+
+                startBytes = allocatedBytes(threadId);
+                startNanos = System.nanoTime();
+                rawAlgorithm.accept(copy);
+                sink = copy[copy.length - 1];
+            } else if (longInput != null || doubleInput != null) {
+                AnalyzedArrayGroup group = createTypedGroup(longInput, doubleInput);
+
+                startBytes = allocatedBytes(threadId);
+                startNanos = System.nanoTime();
+                algorithm.sort(group);
+                sink = longInput != null ? (int) group.getLongArray("input").getExternal(0)
+                        : (int) group.getDoubleArray("input").getExternal(0);
+            } else {
+                AnalyzedArrayGroup group = new AnalyzedArrayGroup(null);
+                group.toggleSleep(false);
+                group.toggleReportDelayUpdates(false);
+                group.addArray(input, "input", true);
+
+                startBytes = allocatedBytes(threadId);
+                startNanos = System.nanoTime();
+                algorithm.sort(group);
+                sink = group.getExternal(0);
+            }
+
+            nanos += System.nanoTime() - startNanos;
+            bytes += allocatedBytes(threadId) - startBytes;
+            ops++;
+        }
+
+        return new long[] { ops, nanos, bytes };
+    }
+
+    /**
+     * Returns a new AnalyzedArrayGroup (without delays or updates) with a copy of
+     * the provided long or double input as the array named "input".
+     *
+     * @param longInput   the long array input (null if the input is double)
+     * @param doubleInput the double array input (null if the input is long)
+     * @return the AnalyzedArrayGroup with the input
+     */
+    private AnalyzedArrayGroup createTypedGroup(long[] longInput, double[] doubleInput) {
+        AnalyzedArrayGroup group = new AnalyzedArrayGroup(null);
+        group.toggleSleep(false);
+        group.toggleReportDelayUpdates(false);
+        if (longInput != null) {
+            group.addLongArray(longInput, 0, longInput.length - 1, "input");
+        } else {
+            group.addDoubleArray(doubleInput, 0, doubleInput.length - 1, "input");
+        }
+        return group;
+    }
+
+    /**
+     * Sorts the provided long or double input once with the algorithm and returns
+     * true if the result is exactly the result of Arrays.sort(), which orders the
+     * doubles like Double.compare(): -0.0 before 0.0 and NaN after positive
+     * infinity. The doubles are compared by their bits, so a -0.0 and a 0.0 that
+     * swapped places are found as well.
+     *
+     * @param algorithm   the Algorithm of the long or double path
+     * @param longInput   the long array input (null if the input is double)
+     * @param doubleInput the double array input (null if the input is long)
+     * @return true if the input was sorted in total order and false if otherwise
+     */
+    private boolean checkTypedOrder(Algorithm algorithm, long[] longInput, double[] doubleInput) {
+        AnalyzedArrayGroup group = createTypedGroup(longInput, doubleInput);
+        algorithm.sort(group);
+
+        if (longInput != null) {
+            long[] expected = longInput.clone();
+            Arrays.sort(expected);
+            AnalyzedLongArray sorted = group.getLongArray("input");
+            for (int i = 0; i < expected.length; i++) {
+                if (sorted.getExternal(i) != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double[] expected = doubleInput.clone();
+        Arrays.sort(expected);
+        AnalyzedDoubleArray sorted = group.getDoubleArray("input");
+        for (int i = 0; i < expected.length; i++) {
+            if (Double.doubleToLongBits(sorted.getExternal(i)) != Double.doubleToLongBits(expected[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the provided input as 64-bit keys (like timestamps): each value is
+     * shifted into the upper 32 bits, which keeps the order and the duplicates of
+     * the input.
+     *
+     * @param input the int array input
+     * @return the long array of the keys
+     */
+    private static long[] toLongInput(int[] input) {
+        long[] keys = new long[input.length];
+        for (int i = 0; i < input.length; i++) {
+            keys[i] = (long) input[i] << 32;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the provided input as doubles (each value divided by 4), except that
+     * every DOUBLE_SPECIAL_INTERVAL-th element (starting at the first) is replaced
+     * by NaN, -0.0, and 0.0 in turn.
+     *
+     * @param input the int array input
+     * @return the double array of the keys
+     */
+    private static double[] toDoubleInput(int[] input) {
+        double[] keys = new double[input.length];
+        for (int i = 0; i < input.length; i++) {
+            if (i % DOUBLE_SPECIAL_INTERVAL == 0) {
+                keys[i] = DOUBLE_SPECIAL_VALUES[(i / DOUBLE_SPECIAL_INTERVAL) % DOUBLE_SPECIAL_VALUES.length];
+            } else {
+                keys[i] = input[i] / 4.0;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the total bytes the thread has allocated so far, or 0 if it is not
+     * supported by the JVM.
+     *
+     * @param threadId the long ID of the thread
+     * @return the long allocated bytes
+     */
+    private long allocatedBytes(long threadId) {
+        if (allocationBean == null) {
+            return 0;
+        }
+        return allocationBean.getThreadAllocatedBytes(threadId);
+    }
+
+    /**
+     * Parses the command-line arguments and runs the benchmark.
+     * Exits with a status of 1 if the arguments could not be parsed, the memory
+     * of the off-heap mode could not be allocated, or a sort of the "long" or
+     * "double" path was not in total order.
+     *
+     * @param args the String command-line arguments
+     */
+    public static void main(String[] args) {
+        SortBenchmark benchmark = new SortBenchmark();
+        if (!benchmark.parseArguments(args) || !benchmark.run()) {
+            System.exit(1);
+        }
+    }
+}
@@ -14,6 +14,10 @@
 
 import java.util.*;
 import java.util.List; // Avoid ambiguous "List" name.
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.swing.*;
 import java.awt.*;
@@ -27,7 +31,12 @@ import java.awt.image.BufferedImage;
 import javax.swing.event.ChangeListener;
 import javax.swing.event.ChangeEvent;
 
-public class SortDemoSwing {
+public class SortDemoSwing implements SortListener, PlotSweepListener {
+    // The period of the frames of the visualization (about 60 per second).
+    private static final int VISUAL_FRAME_MS = 16;
+
+    // The most access events that are drained at once by a frame.
+    private static final int VISUAL_EVENT_BUFFER_EVENTS = 4096;
 
     // === === === === === === === === ===
     // GUI COMPONENTS
@@ -36,6 +45,7 @@ public class SortDemoSwing {
     // Other misc. GUI settings.
     private int windowSizeX, windowSizeY;
     private Map<String, Integer> visualUpdateDelayPresets;
+    private Map<String, String> plotMetricNames, plotMetricAxisLabels, plotNormalizeNames, visualGraphNames;
     private String textProgramIntro;
 
     // The main JFrame to display.
@@ -43,15 +53,17 @@ public class SortDemoSwing {
 
     // The custom JPanels to display.
     private VisualGraphPanel visualGraphPanel;
+    private ArrayLanesPanel arrayLanesPanel;
     private ScatterPlotPanel scatterPlotPanel;
     private LoadingBarPanel loadingBarPanel;
 
     // JButtons for the user to interact with.
     private JButton swingButtonSwitchVisual, swingButtonReturnSelection, swingButtonRestartVisual,
-            swingButtonSwitchPlot;
+            swingButtonSwitchPlot, swingButtonOpenRace;
 
     // JComboBoxes so the user can select from multiple test cases and speeds.
-    private JComboBox swingComboTestCase, swingComboVisualUpdateDelay;
+    private JComboBox swingComboTestCase, swingComboVisualUpdateDelay, swingComboPlotMetric, swingComboPlotScale,
+            swingComboPlotNormalize, swingComboVisualGraph;
 
     // The icons and JLabels for the "progression bar" indicating the current screen
     // the program has selected.
@@ -60,7 +72,8 @@ public class SortDemoSwing {
     private JLabel swingLabelProgArrowLeft, swingLabelProgArrowRight;
 
     // Additional JLabels above the drop down boxes to indicate their purpose.
-    private JLabel swingLabelControlGuideTestCase, swingLabelControlGuideDelay;
+    private JLabel swingLabelControlGuideTestCase, swingLabelControlGuideDelay, swingLabelControlGuideMetric,
+            swingLabelControlGuideScale, swingLabelControlGuideNormalize, swingLabelControlGuideGraph;
 
     // The background, colored JLabels.
     private JLabel swingLabelBackgroundProgArea, swingLabelBackgroundMainArea, swingLabelBackgroundInfoArea,
@@ -89,7 +102,7 @@ public class SortDemoSwing {
             colorVisualMessageBackground;
 
     // Colors used by the ScatterPlotPanel.
-    private Color colorPlotDots;
+    private Color colorPlotDots, colorPlotFit;
 
     // Colors used by the LoadingBarPanel.
     private Color colorLoadingBackground, colorLoadingBarBackground, colorLoadingBarFill, colorLoadingMessageText;
@@ -112,8 +125,14 @@ public class SortDemoSwing {
 
     // Data for plotting the graph.
     private List<ScatterPoint> plotPointList;
-    private int plotSampleAmountCap, plotSampleAmount, plotSampleCurrentIndex, plotValNCurrent;
-    private double plotValNJump;
+    private List<PlotSweep> plotSweepList;
+    private Map<String, List<PlotSample>> plotSampleMap;
+    private PlotCache plotCache;
+    private String plotMetricCurrent, plotScaleCurrent, plotNormalizeCurrent;
+
+    // The graph of the visualization: "bars" (VisualGraphPanel) or "lanes"
+    // (ArrayLanesPanel).
+    private String visualGraphCurrent;
 
     // === === === === === === === === ===
     // TEST CASE INFO
@@ -125,6 +144,12 @@ public class SortDemoSwing {
     private TestCase testCaseCurrent;
     private int testCaseUpdateDelayMs;
 
+    // The accesses of the visualization, drained by the frame timer.
+    private AccessEventRing testCaseEventRing;
+    private long[] testCaseEventBuffer;
+    private long testCaseEventDroppedCount;
+    private javax.swing.Timer visualFrameTimer;
+
     /**
      * Initializes the SortDemoSwing object with given test cases without actually
      * starting Swing and the GUI.
@@ -139,6 +164,10 @@ public class SortDemoSwing {
         if (testCases != null && testCases.size() > 0) {
             testCaseMap = testCases;
             statusTestCasesReceived = true;
+
+            // The samples plotted in earlier runs of the app are not sorted again.
+            plotCache = new PlotCache(PlotCache.FILE_PATH_DEFAULT, PlotCache.MAX_ENTRIES_DEFAULT);
+            plotCache.load();
         } else {
             statusTestCasesReceived = false;
             System.out.printf("ERROR (SortDemoSwing): the collection of test cases received is empty.\n");
@@ -231,6 +260,7 @@ public class SortDemoSwing {
 
         // >>> COLORS: SCATTER PLOT
         colorPlotDots = new Color(230, 25, 25);
+        colorPlotFit = new Color(255, 140, 0);
 
         // >>> COLORS: LOADING BAR FOR SCATTER PLOT
         colorLoadingBarBackground = new Color(100, 100, 100);
@@ -259,6 +289,30 @@ public class SortDemoSwing {
                 "Slow", 50,
                 "Very Slow", 100);
 
+        // The names of the metrics in the y-axis drop-down menu and their axis labels.
+        plotMetricNames = Map.of(
+                "Access Count", "access-count",
+                "Wall Time", "wall-time",
+                "CPU Time", "cpu-time",
+                "Allocated Bytes", "allocated-bytes");
+        plotMetricAxisLabels = Map.of(
+                "access-count", "Total Access Count",
+                "wall-time", "Wall Time (ns)",
+                "cpu-time", "Thread CPU Time (ns)",
+                "allocated-bytes", "Allocated Bytes");
+
+        // The names of the graphs of the visualization in the drop-down menu.
+        visualGraphNames = Map.of(
+                "Bars", "bars",
+                "Lanes", "lanes");
+
+        // The names of the normalizations of the y-axis in the drop-down menu.
+        plotNormalizeNames = Map.of(
+                "None", "none",
+                "/ n", "n",
+                "/ n log n", "n log n",
+                "/ n^2", "n^2");
+
         textProgramIntro = "<html><body>" +
                 "<h1>SortDemoSwing</h1>" +
                 "<h2>Sorting Algorithm Visualizer for the CSC 345 Project</h2>" +
@@ -329,6 +383,21 @@ public class SortDemoSwing {
             }
         });
 
+        // >>> BUTTON: open a window that races several algorithms on the input of the
+        // test case (see RaceViewer). The race has its own groups and threads, so it
+        // does not change the status of the app.
+        swingButtonOpenRace = setupCreateButton(contentPane, constraints, "Race", 1, 4);
+        swingButtonOpenRace.setEnabled(testCaseCurrent.getIsVisualEnabled());
+
+        // Set up the Action Listener so the button can open the race window.
+        swingButtonOpenRace.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent event) {
+                if (!statusVisualRunning && !statusPlotRunning && screenCurrentID == 1) {
+                    new RaceViewer(testCaseCurrent, testCaseUpdateDelayMs).startViewer();
+                }
+            }
+        });
+
         // >>> BUTTON: return to the selection screen.
         // NOTE: the "go back" button is NOT visible on the selection screen, but it is
         // used by both the visualization and plotting screens.
@@ -369,6 +438,7 @@ public class SortDemoSwing {
                     swingLabelTestCaseInfo.setText(testCaseInfoTextGenerate(testCaseCurrent));
 
                     swingButtonSwitchVisual.setEnabled(testCaseCurrent.getIsVisualEnabled());
+                    swingButtonOpenRace.setEnabled(testCaseCurrent.getIsVisualEnabled());
                     swingComboVisualUpdateDelay.setEnabled(testCaseCurrent.getIsVisualEnabled());
                     swingButtonSwitchPlot.setEnabled(testCaseCurrent.getIsPlotEnabled());
                 }
@@ -451,6 +521,44 @@ public class SortDemoSwing {
         visualGraphPanel.setFont(fontNameEverything, fontSizeVisualMessage);
         setupAddMainContentPanel(contentPane, constraints, visualGraphPanel);
 
+        // >>> LANES PANEL: every array (including hidden ones like "temp") in its own
+        // lane, shown instead of the bar graph when "Lanes" is selected.
+        arrayLanesPanel = new ArrayLanesPanel();
+        arrayLanesPanel.togglePainting(false);
+        arrayLanesPanel.setColors(colorPaletteBlue[2], colorVisualBarRegular, colorVisualBarSet, colorVisualBarGet,
+                colorVisualMessageBackground, colorVisualMessageText);
+        arrayLanesPanel.setFont(fontNameEverything, fontSizeVisualMessage);
+        setupAddMainContentPanel(contentPane, constraints, arrayLanesPanel);
+
+        // >>> COMBO BOX: select the bar graph or the lanes of the visualization.
+        swingLabelControlGuideGraph = setupCreateControlsTextLabel(contentPane, constraints, "Graph:", 0, 3);
+
+        String[] graphOptionsArray = new String[] {
+                "Bars", "Lanes"
+        };
+        swingComboVisualGraph = new JComboBox<>(graphOptionsArray);
+        swingComboVisualGraph.setPreferredSize(new Dimension(100, 30));
+        swingComboVisualGraph.setSelectedItem(0);
+        setupAddComboBox(contentPane, constraints, swingComboVisualGraph, 0, 4);
+
+        visualGraphCurrent = visualGraphNames.get(graphOptionsArray[0]);
+
+        // Set up the action listener to switch the graph. Unlike the other menus, this
+        // works while the visualization is running, since both graphs only read the
+        // same group.
+        swingComboVisualGraph.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent event) {
+                if (!statusPlotRunning && screenCurrentID == 2) {
+                    JComboBox comboBox = (JComboBox) event.getSource();
+                    String graphName = (String) comboBox.getSelectedItem();
+                    if (visualGraphNames.containsKey(graphName)) {
+                        visualGraphCurrent = visualGraphNames.get(graphName);
+                        visualApplyGraph();
+                    }
+                }
+            }
+        });
+
         // === === === === === === === === ===
         // SCREEN: PLOTTING ACCESS COUNTS ("PLOT")
         // === === === === === === === === ===
@@ -477,10 +585,91 @@ public class SortDemoSwing {
         // Update the colors, fonts, and x-axis and y-axis labels.
         scatterPlotPanel.setColors(colorPaletteBlue[1], colorPaletteBlue[3], colorPaletteBlue[3],
                 colorPaletteBlue[3], colorPlotDots);
+        scatterPlotPanel.setFitColor(colorPlotFit);
         scatterPlotPanel.setFont(fontNameEverything, fontSizePlotHeaders, fontSizePlotNumbers);
         scatterPlotPanel.setLabelText("Size of N vs. Total Access Count", "Size of N", "Total Access Count");
         setupAddMainContentPanel(contentPane, constraints, scatterPlotPanel);
 
+        // >>> COMBO BOX: select the metric of each sample shown on the y-axis.
+        swingLabelControlGuideMetric = setupCreateControlsTextLabel(contentPane, constraints, "Y-Axis:", 4, 3);
+
+        // Hard-coded in an array so the combo box keeps this exact ordering.
+        String[] metricOptionsArray = new String[] {
+                "Access Count", "Wall Time", "CPU Time", "Allocated Bytes"
+        };
+        swingComboPlotMetric = new JComboBox<>(metricOptionsArray);
+        swingComboPlotMetric.setPreferredSize(new Dimension(100, 30));
+        swingComboPlotMetric.setSelectedItem(0);
+        setupAddComboBox(contentPane, constraints, swingComboPlotMetric, 4, 4);
+
+        plotMetricCurrent = plotMetricNames.get(metricOptionsArray[0]);
+
+        // Set up the action listener to re-plot the samples that were already recorded
+        // with the newly selected metric (the algorithm is NOT ran again).
+        swingComboPlotMetric.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent event) {
+                if (!statusVisualRunning && !statusPlotRunning && screenCurrentID == 3) {
+                    JComboBox comboBox = (JComboBox) event.getSource();
+                    String metricName = (String) comboBox.getSelectedItem();
+                    if (plotMetricNames.containsKey(metricName)) {
+                        plotMetricCurrent = plotMetricNames.get(metricName);
+                        plotApplyMetric();
+                    }
+                }
+            }
+        });
+
+        // >>> COMBO BOX: select a linear or logarithmic scale for each axis.
+        swingLabelControlGuideScale = setupCreateControlsTextLabel(contentPane, constraints, "Scale:", 0, 3);
+
+        String[] scaleOptionsArray = new String[] {
+                "Linear", "Log-Log", "Log X", "Log Y"
+        };
+        swingComboPlotScale = new JComboBox<>(scaleOptionsArray);
+        swingComboPlotScale.setPreferredSize(new Dimension(100, 30));
+        swingComboPlotScale.setSelectedItem(0);
+        setupAddComboBox(contentPane, constraints, swingComboPlotScale, 0, 4);
+
+        plotScaleCurrent = scaleOptionsArray[0];
+
+        swingComboPlotScale.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent event) {
+                if (!statusVisualRunning && !statusPlotRunning && screenCurrentID == 3) {
+                    JComboBox comboBox = (JComboBox) event.getSource();
+                    plotScaleCurrent = (String) comboBox.getSelectedItem();
+                    plotApplyMetric();
+                }
+            }
+        });
+
+        // >>> COMBO BOX: select what the y-values are divided by, so that the constant
+        // factors of algorithms of the same complexity can be compared.
+        swingLabelControlGuideNormalize = setupCreateControlsTextLabel(contentPane, constraints, "Normalize Y:", 1,
+                3);
+
+        String[] normalizeOptionsArray = new String[] {
+                "None", "/ n", "/ n log n", "/ n^2"
+        };
+        swingComboPlotNormalize = new JComboBox<>(normalizeOptionsArray);
+        swingComboPlotNormalize.setPreferredSize(new Dimension(100, 30));
+        swingComboPlotNormalize.setSelectedItem(0);
+        setupAddComboBox(contentPane, constraints, swingComboPlotNormalize, 1, 4);
+
+        plotNormalizeCurrent = plotNormalizeNames.get(normalizeOptionsArray[0]);
+
+        swingComboPlotNormalize.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent event) {
+                if (!statusVisualRunning && !statusPlotRunning && screenCurrentID == 3) {
+                    JComboBox comboBox = (JComboBox) event.getSource();
+                    String normalizeName = (String) comboBox.getSelectedItem();
+                    if (plotNormalizeNames.containsKey(normalizeName)) {
+                        plotNormalizeCurrent = plotNormalizeNames.get(normalizeName);
+                        plotApplyMetric();
+                    }
+                }
+            }
+        });
+
         // === === === === === === === === ===
         // BACKGROUND LABELS
         // === === === === === === === === ===
@@ -499,6 +688,7 @@ public class SortDemoSwing {
         swingSelectionScreenComponents = new JComponent[] {
                 swingButtonSwitchVisual,
                 swingButtonSwitchPlot,
+                swingButtonOpenRace,
 
                 swingLabelControlGuideTestCase,
                 swingLabelControlGuideDelay,
@@ -513,6 +703,10 @@ public class SortDemoSwing {
         };
         swingVisualScreenComponents = new JComponent[] {
                 visualGraphPanel,
+                arrayLanesPanel,
+
+                swingLabelControlGuideGraph,
+                swingComboVisualGraph,
 
                 swingButtonReturnSelection,
 
@@ -524,6 +718,15 @@ public class SortDemoSwing {
                 loadingBarPanel,
 
                 swingButtonReturnSelection,
+
+                swingLabelControlGuideMetric,
+                swingComboPlotMetric,
+
+                swingLabelControlGuideScale,
+                swingComboPlotScale,
+
+                swingLabelControlGuideNormalize,
+                swingComboPlotNormalize,
         };
         swingSelectionScreenProgLabels = new JLabel[] {
                 swingLabelProgSelection,
@@ -931,10 +1134,26 @@ public class SortDemoSwing {
         infoText += String.format("<p>Name of the Test Case: %s</strong></p>", testCase.getName());
         infoText += String.format("<p>Sorting Algorithm: %s</strong></p>", testCase.getAlgorithmName());
         infoText += String.format("<p>Input Size: %d</strong></p>", testCase.getInputSize());
+        infoText += String.format("<p>Selection K (partial sorting algorithms only): %d</strong></p>",
+                testCase.getSelectK());
         infoText += String.format("<p>The sorting visualization is %s for this particular test case.</p>",
                 testCase.getIsVisualEnabled() ? "ENABLED" : "DISABLED");
         infoText += String.format("<p>The access count scatter plot is %s for this particular test case.</p>",
                 testCase.getIsPlotEnabled() ? "ENABLED" : "DISABLED");
+        if (testCase.getIsVisualEnabled()) {
+            infoText += String.format("<p>Visualization Event Policy: %s</strong></p>",
+                    testCase.getVisualEventPolicy());
+        }
+        if (testCase.getIsPlotEnabled()) {
+            infoText += String.format("<p>Runs per Point: %d trials after %d warm-up runs</strong></p>",
+                    testCase.getPlotTrials(), testCase.getPlotWarmups());
+            infoText += String.format("<p>Values of N: %s schedule (up to %d points)</strong></p>",
+                    testCase.getPlotScheduleType(), testCase.getPlotSampleCount());
+            if (!testCase.getCompareAlgorithmNames().isEmpty()) {
+                infoText += String.format("<p>Compared Against: %s</strong></p>",
+                        String.join(", ", testCase.getCompareAlgorithmNames()));
+            }
+        }
 
         infoText += "<h2>Contents of Input</h2>";
         if (testCase.getIsArrayGiven()) {
@@ -1068,11 +1287,13 @@ public class SortDemoSwing {
 
         // Disable painting for all of the custom visualization or plotting panels.
         visualGraphPanel.togglePainting(false);
+        arrayLanesPanel.togglePainting(false);
         scatterPlotPanel.togglePainting(false);
         loadingBarPanel.togglePainting(false);
 
         // Enable the buttons based on the test case.
         swingButtonSwitchVisual.setEnabled(testCaseCurrent.getIsVisualEnabled());
+        swingButtonOpenRace.setEnabled(testCaseCurrent.getIsVisualEnabled());
         swingComboVisualUpdateDelay.setEnabled(testCaseCurrent.getIsVisualEnabled());
         swingButtonSwitchPlot.setEnabled(testCaseCurrent.getIsPlotEnabled());
 
@@ -1100,8 +1321,9 @@ public class SortDemoSwing {
                 swingVisualScreenComponents);
         screenCurrentID = 2;
 
-        // Disable painting for all of the custom panels except the visual panel.
-        visualGraphPanel.togglePainting(true);
+        // Disable painting for all of the custom panels except the selected visual
+        // panel (which also hides the other one).
+        visualApplyGraph();
         scatterPlotPanel.togglePainting(false);
         loadingBarPanel.togglePainting(false);
 
@@ -1135,6 +1357,7 @@ public class SortDemoSwing {
         // Disable ALL CUSTOM PANELS, even the plot panel because it is not finished
         // loading yet.
         visualGraphPanel.togglePainting(false);
+        arrayLanesPanel.togglePainting(false);
         scatterPlotPanel.togglePainting(false);
         loadingBarPanel.togglePainting(false);
 
@@ -1161,16 +1384,33 @@ public class SortDemoSwing {
         testCaseArrayGroup.toggleSleep(true);
         testCaseArrayGroup.setSleepDelay(testCaseUpdateDelayMs);
         testCaseArrayGroup.toggleReportDelayUpdates(true);
+        testCaseArrayGroup.setSelectionK(testCaseCurrent.getSelectK());
         testCaseArrayGroup.addArray(testCaseCurrent.getInput(), "input", true);
 
+        // The accesses are offered to a ring that the frame timer drains, so the sorting
+        // thread does not request a repaint for every access.
+        testCaseEventRing = new AccessEventRing(AccessEventRing.CAPACITY_DEFAULT,
+                testCaseCurrent.getVisualEventPolicy());
+        testCaseEventBuffer = new long[VISUAL_EVENT_BUFFER_EVENTS * AccessEventRing.EVENT_LONGS];
+        testCaseEventDroppedCount = 0;
+        testCaseArrayGroup.setEventRing(testCaseEventRing);
+
         // Configure the VisualGraphPanel: do not display the sorted results yet and
         // update the input.
         visualGraphPanel.toggleDisplaySorted(false);
         visualGraphPanel.setInput(testCaseArrayGroup);
+        arrayLanesPanel.toggleDisplaySorted(false);
+        arrayLanesPanel.setInput(testCaseArrayGroup);
 
         statusVisualRunning = true;
 
-        // Start the sorting thread.
+        // Start the frame timer and then the sorting thread.
+        if (visualFrameTimer != null) {
+            visualFrameTimer.stop();
+        }
+        visualFrameTimer = new javax.swing.Timer(VISUAL_FRAME_MS, event -> visualFrameUpdate());
+        visualFrameTimer.start();
+
         Thread sortThread = new Thread(() -> {
             testCaseCurrent.getAlgorithm().sort(testCaseArrayGroup);
         });
@@ -1189,10 +1429,15 @@ public class SortDemoSwing {
         }
 
         statusVisualRunning = false;
+        if (visualFrameTimer != null) {
+            visualFrameTimer.stop();
+        }
 
         // Display the sorted results.
         visualGraphPanel.toggleDisplaySorted(true);
+        arrayLanesPanel.toggleDisplaySorted(true);
         visualGraphPanel.repaint();
+        arrayLanesPanel.repaint();
 
         // Allow the user to interact.
         swingButtonReturnSelection.setEnabled(true);
@@ -1200,9 +1445,14 @@ public class SortDemoSwing {
     }
 
     /**
-     * Begin the plotting phase by switching to the plotting screen, setting up an
-     * AnalyzedArrayGroup and the ScatterPlotPanel and LoadingBarPanel, and starting
-     * the sorting thread.
+     * Begin the plotting phase by switching to the plotting screen, setting up the
+     * ScatterPlotPanel and LoadingBarPanel, and starting the sweeps.
+     * The algorithm of the test case and every algorithm of its compareMethods
+     * each get a PlotSweep over the same input and values of N, and the sweeps are
+     * ran concurrently by a pool of threads (at most one per processor). The
+     * samples are measured within the thread of each sweep, since the CPU time and
+     * allocated bytes are per thread. The sweeps share the PlotCache, which is
+     * saved once they all finish.
      * If the plotting is already running, the visualization is running, or the test
      * cases were not read, then do nothing.
      */
@@ -1212,110 +1462,103 @@ public class SortDemoSwing {
         }
         screenSwitchToPlot();
 
-        // Set up the AnalyzedArrayGroup to be sorted.
-        testCaseArrayGroup = new AnalyzedArrayGroup(this);
-        testCaseArrayGroup.toggleSleep(false);
-        testCaseArrayGroup.toggleReportDelayUpdates(false);
-
-        // Empty and initialize the list of ScatterPoints to record the access counts.
-        plotPointList = new ArrayList<ScatterPoint>();
-
-        // Hard-code the maximum amount of samples/points to 50, although this can be
-        // easily changed in the future.
-        plotSampleAmountCap = 50;
-
-        // If there are less elements in the input than the maximum amount of samples,
-        // then set the sample amount to the element amount.
-        plotSampleAmount = Math.min(plotSampleAmountCap, testCaseCurrent.getInputSize());
-
-        if (testCaseCurrent.getInputSize() <= plotSampleAmountCap) {
-            // Ensure that the N will increase by 1 when the input size is less than the
-            // sample maximum; otherwise the jump may be less than 1 and truncate to an int
-            // of 0.
-            plotValNJump = 1.0;
-        } else {
-            plotValNJump = testCaseCurrent.getInputSize()
-                    / (double) (plotSampleAmount + 1);
+        // Empty the recorded PlotSamples of the previous plot.
+        plotSampleMap = new LinkedHashMap<String, List<PlotSample>>();
+        swingComboPlotMetric.setEnabled(false);
+        swingComboPlotScale.setEnabled(false);
+        swingComboPlotNormalize.setEnabled(false);
+
+        // One sweep for the algorithm of the test case (the first series) and one for
+        // each compared algorithm.
+        plotSweepList = new ArrayList<PlotSweep>();
+        plotSweepList.add(new PlotSweep(testCaseCurrent, testCaseCurrent.getAlgorithmName(),
+                testCaseCurrent.getAlgorithm(), this, plotCache));
+        for (int i = 0; i < testCaseCurrent.getCompareAlgorithmNames().size(); i++) {
+            plotSweepList.add(new PlotSweep(testCaseCurrent, testCaseCurrent.getCompareAlgorithmNames().get(i),
+                    testCaseCurrent.getCompareAlgorithms().get(i), this, plotCache));
         }
 
-        // Update the current sample and N values for the first (and future) runs of the
-        // sorting algorithm.
-        plotSampleCurrentIndex = 0;
-        plotValNCurrent = (int) plotValNJump;
-
-        // With the current N value set, set the input for the AnalyzedArrayGroup.
-        testCaseArrayGroup.addArray(testCaseCurrent.getInput(), 0, plotValNCurrent - 1, "input", true);
-
         // Configure and display the loading bar panel so the user can see that the plot
         // is loading.
         loadingBarPanel.setTestCaseInfo(testCaseCurrent);
-        loadingBarPanel.updateStatus(1, plotSampleAmount, plotValNCurrent);
+        loadingBarPanel.updateStatus(1, plotSweepProgressMax(), 1);
         loadingBarPanel.togglePainting(true);
         loadingBarPanel.repaint();
 
         statusPlotRunning = true;
 
-        // Start the sorting thread.
-        Thread sortThread = new Thread(() -> {
-            testCaseCurrent.getAlgorithm().sort(testCaseArrayGroup);
+        // The sweeps are waited on by a separate thread so that the GUI is not blocked.
+        List<PlotSweep> sweeps = plotSweepList;
+        Thread plotThread = new Thread(() -> {
+            int threadAmount = Math.min(sweeps.size(), Runtime.getRuntime().availableProcessors());
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threadAmount));
+            for (PlotSweep sweep : sweeps) {
+                sweep.toggleConcurrent(threadAmount > 1);
+            }
+            Map<String, List<PlotSample>> results = new LinkedHashMap<String, List<PlotSample>>();
+
+            try {
+                List<Future<List<PlotSample>>> futures = executor.invokeAll(sweeps);
+                for (int i = 0; i < sweeps.size(); i++) {
+                    results.put(sweeps.get(i).getAlgorithmName(), futures.get(i).get());
+                }
+            } catch (InterruptedException | ExecutionException exception) {
+                System.out.printf("ERROR: the plot of the test case \"%s\" could not be finished.\n",
+                        testCaseCurrent.getName());
+                exception.printStackTrace();
+            } finally {
+                executor.shutdown();
+            }
+            plotCache.save();
+
+            SwingUtilities.invokeLater(() -> {
+                plotSampleMap = results;
+                processPlotFinish();
+            });
         });
-        sortThread.start();
+        plotThread.start();
     }
 
     /**
-     * Called when the sorting algorithm has finished sorting so the next value of N
-     * can be tested or the plotting phase can be finished if the last run or
-     * largest N has been reached.
-     * If the plotting is NOT running, the visualization is running, or the test
-     * cases were not read, then do nothing.
+     * Called by a PlotSweep (in its own thread) when a trial of a sample was
+     * measured, so that the loading bar can show the progress of every sweep.
+     * If the plotting is NOT running, then do nothing.
+     *
+     * @param sweep       the PlotSweep that measured the sample
+     * @param sampleIndex the int index of the sample in the sweep
+     * @param trial       the int number of the trial, starting at 1
+     * @param sample      the PlotSample with the measurements of the trial
      */
-    private void processPlottingSampleDone() {
-        if (statusVisualRunning || !statusPlotRunning || !statusTestCasesReceived) {
+    public void sampleMeasured(PlotSweep sweep, int sampleIndex, int trial, PlotSample sample) {
+        if (!statusPlotRunning) {
             return;
         }
-
-        plotPointList.add(new ScatterPoint(plotValNCurrent, testCaseArrayGroup.getAccessCount()));
-        plotSampleCurrentIndex++;
-
-        boolean finished = false;
-
-        // If the current sample has not reached the end of all the samples.
-        if (plotSampleCurrentIndex < plotSampleAmount) {
-            plotValNCurrent = (int) ((plotSampleCurrentIndex + 1) * plotValNJump);
-
-            // Ensure that the current N value did not exceed the total number of elements
-            // of the input.
-            if (plotValNCurrent <= testCaseCurrent.getInputSize()) {
-                // Delete the input array if it already exists.
-                if (testCaseArrayGroup.hasArray("input")) {
-                    testCaseArrayGroup.removeArray("input");
-                }
-
-                // Update the loading bar.
-                loadingBarPanel.updateStatus(plotSampleCurrentIndex + 1, plotSampleAmount, plotValNCurrent);
-                loadingBarPanel.repaint();
-
-                // Update the AnalyzedArrayGroup.
-                testCaseArrayGroup.resetAccessCount();
-                testCaseArrayGroup.addArray(testCaseCurrent.getInput(), 0, plotValNCurrent - 1, "input", true);
-
-                // Start the sorting thread again.
-                Thread sortThread = new Thread(() -> {
-                    testCaseCurrent.getAlgorithm().sort(testCaseArrayGroup);
-                });
-                sortThread.start();
-            } else {
-                // If the current N has reached or surpassed the size of the input, stop.
-                finished = true;
-            }
-        } else {
-            finished = true;
+        int progressMax = plotSweepProgressMax();
+        int progressCurrent = 0;
+        for (PlotSweep plotSweep : plotSweepList) {
+            progressCurrent += plotSweep.getSampleIndexCurrent() + 1;
         }
+        int progress = Math.min(progressCurrent, progressMax);
+        int n = sample.getN();
+
+        SwingUtilities.invokeLater(() -> {
+            loadingBarPanel.updateStatus(progress, progressMax, n);
+            loadingBarPanel.repaint();
+        });
+    }
 
-        // Finish up the plotting phase.
-        if (finished) {
-            processPlotFinish();
+    /**
+     * Returns the total amount of samples of every sweep of the plot so far (which
+     * can grow with an adaptive schedule).
+     *
+     * @return the int total amount of samples
+     */
+    private int plotSweepProgressMax() {
+        int progressMax = 0;
+        for (PlotSweep sweep : plotSweepList) {
+            progressMax += sweep.getSampleAmount();
         }
+        return progressMax;
     }
 
     /**
@@ -1335,15 +1578,67 @@ public class SortDemoSwing {
         // Set the loading bar to stop painting (effectively hide it).
         loadingBarPanel.togglePainting(false);
 
-        // Set the scatter plot to begin painting.
-        scatterPlotPanel.setInput(plotPointList);
+        // Set the scatter plot to begin painting with the selected metric.
+        plotApplyMetric();
         scatterPlotPanel.togglePainting(true);
 
-        // Allow for the user to return.
+        // Allow for the user to return or select another metric.
         swingButtonReturnSelection.setEnabled(true);
+        swingComboPlotMetric.setEnabled(true);
+        swingComboPlotScale.setEnabled(true);
+        swingComboPlotNormalize.setEnabled(true);
+    }
+
+    /**
+     * Sets the input of the ScatterPlotPanel to the recorded PlotSamples with the
+     * currently selected metric on the y-axis (one colored series for each
+     * algorithm), applies the selected scale and normalization of the axes, sets
+     * its view bounds as necessary, and repaints it.
+     * Only the algorithm of the test case is fitted against the models of growth.
+     * The manually set bounds of the test case are in access counts, so the bounds
+     * are only applied to the access count metric; every other metric is scaled
+     * automatically. Samples whose metric is not supported by the JVM (-1) are
+     * not plotted.
+     */
+    private void plotApplyMetric() {
+        if (plotSampleMap == null || plotSampleMap.isEmpty()) {
+            return;
+        }
+
+        // One series of points for each algorithm, with the algorithm of the test case
+        // first.
+        List<List<ScatterPoint>> plotSeries = new ArrayList<List<ScatterPoint>>();
+        for (List<PlotSample> samples : plotSampleMap.values()) {
+            plotSeries.add(plotPointsSummarize(samples));
+        }
+        plotPointList = plotSeries.get(0);
+
+        String axisLabelY = plotMetricAxisLabels.get(plotMetricCurrent);
+        if (!plotNormalizeCurrent.equals("none")) {
+            axisLabelY += " / " + plotNormalizeCurrent;
+        }
+        scatterPlotPanel.setLabelText("Size of N vs. " + axisLabelY, "Size of N", axisLabelY);
+
+        // The manual bounds still apply to a logarithmic axis; the panel widens them to
+        // whole powers of 10.
+        boolean logX = plotScaleCurrent.equals("Log-Log") || plotScaleCurrent.equals("Log X");
+        boolean logY = plotScaleCurrent.equals("Log-Log") || plotScaleCurrent.equals("Log Y");
+        scatterPlotPanel.setAxisScale(logX, logY);
+        scatterPlotPanel.setNormalizeY(plotNormalizeCurrent);
+
+        // Fit the points of the algorithm of the test case against the candidate models
+        // of growth and overlay the best.
+        ComplexityFit fit = ComplexityFit.fitBest(plotPointList);
+        if (fit != null) {
+            scatterPlotPanel.setFitCurve(fit, fit.getSummary(),
+                    ComplexityFit.checkHybridExponent(testCaseCurrent.getAlgorithmName(), plotPointList));
+        } else {
+            scatterPlotPanel.setFitCurve(null, null, null);
+        }
+        scatterPlotPanel.setInputSeries(plotSeries, new ArrayList<String>(plotSampleMap.keySet()));
 
         // If the bounds were manually set:
-        if (testCaseCurrent.getIsPlotBoundsGiven()) {
+        if (testCaseCurrent.getIsPlotBoundsGiven() && plotMetricCurrent.equals("access-count")) {
             scatterPlotPanel.toggleViewAdjustAuto(false);
 
             // Set the lower and upper bounds of the x-axis.
@@ -1370,6 +1665,46 @@ public class SortDemoSwing {
         scatterPlotPanel.repaint();
     }
 
+    /**
+     * Returns the points of the provided PlotSamples of one algorithm with the
+     * currently selected metric on the y-axis. The trials of each N are summarized
+     * by their SampleStatistics: the point is the mean, and with more than one
+     * trial the error bar is the 95% confidence interval of the mean.
+     *
+     * @param samples the List of PlotSamples of every trial of the algorithm
+     * @return the List of ScatterPoints in the order of the samples
+     */
+    private List<ScatterPoint> plotPointsSummarize(List<PlotSample> samples) {
+        // Group the measurements of the trials by their N (in the order of the plot).
+        Map<Integer, List<Long>> trialValues = new LinkedHashMap<Integer, List<Long>>();
+        for (PlotSample sample : samples) {
+            long value = sample.getMetric(plotMetricCurrent);
+            if (value >= 0) {
+                trialValues.computeIfAbsent(sample.getN(), n -> new ArrayList<Long>()).add(value);
+            }
+        }
+
+        List<ScatterPoint> points = new ArrayList<ScatterPoint>();
+        for (Map.Entry<Integer, List<Long>> entry : trialValues.entrySet()) {
+            long[] values = new long[entry.getValue().size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = entry.getValue().get(i);
+            }
+            SampleStatistics statistics = new SampleStatistics(values);
+
+            long mean = Math.round(statistics.getMean());
+            if (statistics.getCount() > 1) {
+                // None of the metrics can be negative, so neither can the error bar.
+                long lower = Math.max(0, (long) Math.floor(statistics.getConfidenceLower()));
+                long upper = (long) Math.ceil(statistics.getConfidenceUpper());
+                points.add(new ScatterPoint(entry.getKey(), mean, lower, upper));
+            } else {
+                points.add(new ScatterPoint(entry.getKey(), mean));
+            }
+        }
+        return points;
+    }
+
     /**
      * Called by an AnalyzedArrayGroup that an algorithm has finished sorting and a
      * test case has finished.
@@ -1382,10 +1717,6 @@ public class SortDemoSwing {
         if (statusVisualRunning && screenCurrentID == 2) {
             // If the visualization is running, then the visualization has ended.
             processVisualFinish();
-        } else if (statusPlotRunning && screenCurrentID == 3) {
-            // If the plotting is running, then signal that a sample has finished (which may
-            // or may not end the plotting).
-            processPlottingSampleDone();
         }
     }
 
@@ -1403,6 +1734,40 @@ public class SortDemoSwing {
         }
     }
 
+    /**
+     * Drains the access events of the visualization once per frame into the trail
+     * of the lanes (every element that was get or set since the last frame) and
+     * repaints the graph if there were any (including dropped ones). The bar
+     * graph is redrawn from the dirty indices of the group, so the events only
+     * pace its repaints.
+     * At most one ring of events is drained per frame, so that a producer that
+     * never lets the ring empty (with the "block" policy) cannot keep the main
+     * thread from painting.
+     * Called by the frame timer in the main thread.
+     */
+    private void visualFrameUpdate() {
+        if (testCaseEventRing == null) {
+            return;
+        }
+
+        int eventAmount = 0;
+        int drained;
+        do {
+            drained = testCaseEventRing.drain(testCaseEventBuffer);
+            if (drained > 0 && eventAmount == 0) {
+                arrayLanesPanel.clearAccessTrail(testCaseEventRing.getDroppedCount());
+            }
+            arrayLanesPanel.addAccessTrail(testCaseEventBuffer, drained);
+            eventAmount += drained;
+        } while (drained == VISUAL_EVENT_BUFFER_EVENTS && eventAmount < testCaseEventRing.getCapacity());
+
+        long droppedCount = testCaseEventRing.getDroppedCount();
+        if (eventAmount > 0 || droppedCount != testCaseEventDroppedCount) {
+            testCaseEventDroppedCount = droppedCount;
+            testCaseArrayUpdated();
+        }
+    }
+
     /**
      * Repaints the graph to reflect changes to an array in the test case
      * visualization.
@@ -1410,6 +1775,30 @@ public class SortDemoSwing {
      */
     public void testCaseArrayUpdated() {
         if (statusVisualRunning && screenCurrentID == 2 && statusTestCasesReceived) {
+            if (visualGraphCurrent.equals("lanes")) {
+                arrayLanesPanel.repaint();
+            } else {
+                visualGraphPanel.repaint();
+            }
+        }
+    }
+
+    /**
+     * Shows and enables painting for the selected graph of the visualization (the
+     * bar graph or the lanes) and hides and disables the other, then repaints it.
+     * Called when switching to the Visual Screen and when another graph is
+     * selected.
+     */
+    private void visualApplyGraph() {
+        boolean lanesSelected = visualGraphCurrent.equals("lanes");
+        visualGraphPanel.setVisible(!lanesSelected);
+        visualGraphPanel.togglePainting(!lanesSelected);
+        arrayLanesPanel.setVisible(lanesSelected);
+        arrayLanesPanel.togglePainting(lanesSelected);
+
+        if (lanesSelected) {
+            arrayLanesPanel.repaint();
+        } else {
             visualGraphPanel.repaint();
         }
     }
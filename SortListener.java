@@ -0,0 +1,25 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           SortListener.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     The interface an AnalyzedArrayGroup notifies when its arrays
+ *                  change and when a sorting algorithm finishes. The Swing GUI
+ *                  implements it to repaint and to advance the scatter plot, while
+ *                  the benchmarks and other code without a GUI can pass null to the
+ *                  group so that nothing is notified at all.
+ */
+
+public interface SortListener {
+
+    /**
+     * Called by an AnalyzedArrayGroup after an element, the minimum or maximum,
+     * or the arrays of the group have changed (only if the group is set to report
+     * array updates).
+     */
+    void testCaseArrayUpdated();
+
+    /**
+     * Called by an AnalyzedArrayGroup when a sorting algorithm has finished.
+     */
+    void testCaseFinished();
+}
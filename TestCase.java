@@ -5,12 +5,22 @@
  * Description:     A collection of parameters for a test case for the Swing GUI.
  */
 
+import java.util.List;
+
 public class TestCase {
     private final String name, algorithmName, arrayGenerateType;
     private final Algorithm algorithm;
     private final int[] input;
     private final boolean isArrayGiven, isVisualEnabled, isPlotEnabled, isPlotBoundsGiven;
     private final Integer randomGenLow, randomGenHigh;
+    private final Long generateSeed;
+    private final String visualEventPolicy;
+    private final int selectK;
+    private final int plotTrials, plotWarmups;
+    private final String plotScheduleType;
+    private final int plotSampleCount;
+    private final List<String> compareAlgorithmNames;
+    private final List<Algorithm> compareAlgorithms;
     private final Long plotLowerBoundX, plotUpperBoundX, plotLowerBoundY, plotUpperBoundY;
 
     /**
@@ -30,8 +40,13 @@ public class TestCase {
      *                          array was randomized
      * @param randomGenHigh     the largest number that could be generated if the
      *                          array was randomized
+     * @param generateSeed      the seed the array was generated with (null if it
+     *                          was given or generated without a seed)
      * @param isVisualEnabled   true if the Swing GUI should allow this to be
      *                          visualized
+     * @param visualEventPolicy the String backpressure policy of the
+     *                          AccessEventRing of the visualization (block,
+     *                          drop-oldest, sample)
      * @param isPlotEnabled     true if the Swing GUI should allow this to be
      *                          plotted
      * @param isPlotBoundsGiven true if plot bounds were manually set
@@ -43,11 +58,27 @@ public class TestCase {
      *                          scatter plot
      * @param plotUpperBoundY   the manually-set upper bound of the y-axis for the
      *                          scatter plot
+     * @param selectK           the K of the partial sorting algorithms (ignored
+     *                          by the full sorting algorithms)
+     * @param plotTrials        the number of measured runs of each point of the
+     *                          scatter plot
+     * @param plotWarmups       the number of unmeasured runs before the trials of
+     *                          each point of the scatter plot
+     * @param plotScheduleType  the String type of the PlotSchedule (linear,
+     *                          doubling, log, adaptive)
+     * @param plotSampleCount   the maximum number of points of the scatter plot
+     * @param compareNames      the String names of the other algorithms plotted
+     *                          on the same input (empty if none)
+     * @param compareAlgorithms the Algorithms of the compared names, in the same
+     *                          order
      */
     public TestCase(String name, String algorithmName, Algorithm algorithm, int[] input, boolean isArrayGiven,
-            String arrayGenerateType, Integer randomGenLow, Integer randomGenHigh, boolean isVisualEnabled,
+            String arrayGenerateType, Integer randomGenLow, Integer randomGenHigh, Long generateSeed,
+            boolean isVisualEnabled, String visualEventPolicy,
             boolean isPlotEnabled, boolean isPlotBoundsGiven, Long plotLowerBoundX, Long plotUpperBoundX,
-            Long plotLowerBoundY, Long plotUpperBoundY) {
+            Long plotLowerBoundY, Long plotUpperBoundY, int selectK, int plotTrials, int plotWarmups,
+            String plotScheduleType, int plotSampleCount, List<String> compareNames,
+            List<Algorithm> compareAlgorithms) {
         this.name = name;
 
         // Info about the algorithm.
@@ -60,17 +91,36 @@ public class TestCase {
         this.arrayGenerateType = arrayGenerateType;
         this.randomGenLow = randomGenLow;
         this.randomGenHigh = randomGenHigh;
+        this.generateSeed = generateSeed;
 
         // Visualization or plotting enabled.
         this.isVisualEnabled = isVisualEnabled;
         this.isPlotEnabled = isPlotEnabled;
 
+        // What the visualization does with the accesses it cannot draw in time.
+        this.visualEventPolicy = visualEventPolicy;
+
         // Bounds of the plot.
         this.isPlotBoundsGiven = isPlotBoundsGiven;
         this.plotLowerBoundX = plotLowerBoundX;
         this.plotUpperBoundX = plotUpperBoundX;
         this.plotLowerBoundY = plotLowerBoundY;
         this.plotUpperBoundY = plotUpperBoundY;
+
+        // K of the partial sorting algorithms.
+        this.selectK = selectK;
+
+        // Repetitions of each point of the plot.
+        this.plotTrials = plotTrials;
+        this.plotWarmups = plotWarmups;
+
+        // Values of N of the points of the plot.
+        this.plotScheduleType = plotScheduleType;
+        this.plotSampleCount = plotSampleCount;
+
+        // Other algorithms plotted against the algorithm of the test case.
+        this.compareAlgorithmNames = compareNames;
+        this.compareAlgorithms = compareAlgorithms;
     }
 
     public String getName() {
@@ -89,6 +139,10 @@ public class TestCase {
         return algorithm;
     }
 
+    public int getSelectK() {
+        return selectK;
+    }
+
     /*
      * INPUT INFO
      */
@@ -121,6 +175,10 @@ public class TestCase {
         return randomGenHigh;
     }
 
+    public Long getGenerateSeed() {
+        return generateSeed;
+    }
+
     /*
      * VISUALIZATION VS. PLOTTING
      */
@@ -129,10 +187,38 @@ public class TestCase {
         return isVisualEnabled;
     }
 
+    public String getVisualEventPolicy() {
+        return visualEventPolicy;
+    }
+
     public boolean getIsPlotEnabled() {
         return isPlotEnabled;
     }
 
+    public int getPlotTrials() {
+        return plotTrials;
+    }
+
+    public int getPlotWarmups() {
+        return plotWarmups;
+    }
+
+    public String getPlotScheduleType() {
+        return plotScheduleType;
+    }
+
+    public int getPlotSampleCount() {
+        return plotSampleCount;
+    }
+
+    public List<String> getCompareAlgorithmNames() {
+        return compareAlgorithmNames;
+    }
+
+    public List<Algorithm> getCompareAlgorithms() {
+        return compareAlgorithms;
+    }
+
     /*
      * PLOT BOUNDS
      */
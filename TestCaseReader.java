@@ -15,15 +15,13 @@
 import java.io.File;
 import java.io.FileNotFoundException;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Arrays;
 
 import java.util.Map;
 import java.util.TreeMap;
 
-import java.util.Random;
 import java.util.Scanner;
 
 /*
@@ -39,7 +37,7 @@ public class TestCaseReader {
     private List<String> algorithmNameList;
     private List<String> generateArrayTypeList;
     private String testCaseFilePath;
-    private Random random;
+    private ArrayGenerator arrayGenerator;
     private boolean readSuccessful;
 
     /**
@@ -51,12 +49,29 @@ public class TestCaseReader {
      * @param testCaseFilePath the String path to the test case file
      */
     public TestCaseReader(String testCaseFilePath) {
-        generateArrayTypeList = Arrays.asList(
-                "random",
-                "shuffled",
-                "ascending",
-                "descending");
-        algorithmNameList = Arrays.asList(
+        generateArrayTypeList = ArrayGenerator.getGenerateArrayTypeList();
+        algorithmNameList = getAlgorithmNameList();
+        algorithmMap = getAlgorithmMap();
+
+        this.testCaseFilePath = testCaseFilePath;
+
+        testCaseMap = new TreeMap<String, TestCase>();
+
+        arrayGenerator = new ArrayGenerator();
+
+        readSuccessful = parse();
+    }
+
+    /**
+     * Returns the names of the sorting algorithms that can be used with
+     * sortMethod, in the order they are listed in.
+     * This does not depend on a test case file, so it can be used by the
+     * benchmarks without reading one.
+     * 
+     * @return the List of String names of the algorithms
+     */
+    public static List<String> getAlgorithmNameList() {
+        return Arrays.asList(
                 "insertion",
                 "merge",
                 "heap",
@@ -67,8 +82,24 @@ public class TestCaseReader {
                 "heap-merge",
                 "quick-merge",
                 "merge-insertion",
-                "bubble-merge");
-        algorithmMap = Map.ofEntries(
+                "bubble-merge",
+                "arg-sort",
+                "nth-element",
+                "top-k",
+                "partial-sort",
+                "incremental-quick");
+    }
+
+    /**
+     * Returns the map pairing the name of each sorting algorithm that can be used
+     * with sortMethod with its entry point.
+     * This does not depend on a test case file, so it can be used by the
+     * benchmarks without reading one.
+     * 
+     * @return the Map of the String names and Algorithm entry points
+     */
+    public static Map<String, Algorithm> getAlgorithmMap() {
+        return Map.ofEntries(
                 Map.entry("insertion", HybridSorts::insertionSort),
                 Map.entry("merge", HybridSorts::mergeSort),
                 Map.entry("heap", HybridSorts::heapSort),
@@ -79,15 +110,12 @@ public class TestCaseReader {
                 Map.entry("heap-merge", HybridSorts::heapMergeSort),
                 Map.entry("quick-merge", HybridSorts::quickMergeSort),
                 Map.entry("merge-insertion", HybridSorts::mergeInsertionSort),
-                Map.entry("bubble-merge", HybridSorts::bubbleMergeSort));
-
-        this.testCaseFilePath = testCaseFilePath;
-
-        testCaseMap = new TreeMap<String, TestCase>();
-
-        random = new Random();
-
-        readSuccessful = parse();
+                Map.entry("bubble-merge", HybridSorts::bubbleMergeSort),
+                Map.entry("arg-sort", ArgSorts::argSort),
+                Map.entry("nth-element", PartialSorts::nthElement),
+                Map.entry("top-k", PartialSorts::topK),
+                Map.entry("partial-sort", PartialSorts::partialSort),
+                Map.entry("incremental-quick", IncrementalSortIterator::incrementalQuickSort));
     }
 
     /**
@@ -140,6 +168,7 @@ public class TestCaseReader {
 
         Integer randomGenLow = null;
         Integer randomGenHigh = null;
+        Long generateSeed = null;
 
         boolean expectPlotBounds = false;
         Long plotLowerBoundX = null;
@@ -147,6 +176,15 @@ public class TestCaseReader {
         Long plotLowerBoundY = null;
         Long plotUpperBoundY = null;
 
+        String visualEventPolicy = null;
+
+        Integer selectK = null;
+        Integer plotTrials = null;
+        Integer plotWarmups = null;
+        String plotScheduleType = null;
+        Integer plotSampleCount = null;
+        List<String> compareNames = new ArrayList<String>();
+
         String line = null;
 
         while (fileReader.hasNext()) {
@@ -179,6 +217,23 @@ public class TestCaseReader {
                         throw new TestCaseParseException();
                     }
                     break;
+                case "compareMethods":
+                    for (String compareName : valueString.split(",")) {
+                        if (!algorithmNameList.contains(compareName)) {
+                            System.out.printf(
+                                    "ERROR: the sorting algorithm \"%s\" of compareMethods does not exist.\n",
+                                    compareName);
+                            throw new TestCaseParseException();
+                        }
+                        if (compareNames.contains(compareName)) {
+                            System.out.printf(
+                                    "ERROR: the sorting algorithm \"%s\" is repeated in compareMethods.\n",
+                                    compareName);
+                            throw new TestCaseParseException();
+                        }
+                        compareNames.add(compareName);
+                    }
+                    break;
                 case "isArrayGiven":
                     parsedBoolean = parseStringToBoolean(valueString);
                     if (parsedBoolean == null) {
@@ -282,6 +337,20 @@ public class TestCaseReader {
                         throw new TestCaseParseException();
                     }
                     break;
+                case "generateArraySeed":
+                    if (expectGenerateArray & !expectGivenArray) {
+                        generateSeed = parseStringToLong(valueString);
+                        if (generateSeed == null) {
+                            throw new TestCaseParseException();
+                        }
+                    } else {
+                        System.out.printf(
+                                "ERROR: generateArraySeed was set when isArrayGiven was set to true.\n");
+                        System.out.printf(
+                                "(Cannot have parameters for generating an array if it is expected to be given a pre-defined array.)\n");
+                        throw new TestCaseParseException();
+                    }
+                    break;
                 case "visualEnabled":
                     parsedBoolean = parseStringToBoolean(valueString);
                     if (parsedBoolean == null) {
@@ -289,6 +358,14 @@ public class TestCaseReader {
                     }
                     visualEnabled = parsedBoolean;
                     break;
+                case "visualEventPolicy":
+                    visualEventPolicy = valueString;
+                    if (!AccessEventRing.getPolicyList().contains(visualEventPolicy)) {
+                        System.out.printf("ERROR: the visual event policy \"%s\" does not exist.\n",
+                                visualEventPolicy);
+                        throw new TestCaseParseException();
+                    }
+                    break;
                 case "plotEnabled":
                     parsedBoolean = parseStringToBoolean(valueString);
                     if (parsedBoolean == null) {
@@ -327,6 +404,54 @@ public class TestCaseReader {
                         throw new TestCaseParseException();
                     }
                     break;
+                case "selectK":
+                    selectK = parseStringToInteger(valueString);
+                    if (selectK == null) {
+                        throw new TestCaseParseException();
+                    }
+                    if (selectK < 1) {
+                        System.out.printf("ERROR: selectK is less than 1 (selectK = %d).\n", selectK);
+                        throw new TestCaseParseException();
+                    }
+                    break;
+                case "plotTrials":
+                    plotTrials = parseStringToInteger(valueString);
+                    if (plotTrials == null) {
+                        throw new TestCaseParseException();
+                    }
+                    if (plotTrials < 1) {
+                        System.out.printf("ERROR: plotTrials is less than 1 (plotTrials = %d).\n", plotTrials);
+                        throw new TestCaseParseException();
+                    }
+                    break;
+                case "plotWarmups":
+                    plotWarmups = parseStringToInteger(valueString);
+                    if (plotWarmups == null) {
+                        throw new TestCaseParseException();
+                    }
+                    if (plotWarmups < 0) {
+                        System.out.printf("ERROR: plotWarmups is less than 0 (plotWarmups = %d).\n", plotWarmups);
+                        throw new TestCaseParseException();
+                    }
+                    break;
+                case "plotSchedule":
+                    plotScheduleType = valueString;
+                    if (!PlotSchedule.getScheduleTypeList().contains(plotScheduleType)) {
+                        System.out.printf("ERROR: the plot schedule \"%s\" does not exist.\n", plotScheduleType);
+                        throw new TestCaseParseException();
+                    }
+                    break;
+                case "plotSampleCount":
+                    plotSampleCount = parseStringToInteger(valueString);
+                    if (plotSampleCount == null) {
+                        throw new TestCaseParseException();
+                    }
+                    if (plotSampleCount < 2) {
+                        System.out.printf("ERROR: plotSampleCount is less than 2 (plotSampleCount = %d).\n",
+                                plotSampleCount);
+                        throw new TestCaseParseException();
+                    }
+                    break;
                 default:
                     System.out.printf("ERROR: unrecognized field \"%s\".\n", fieldString);
                     throw new TestCaseParseException();
@@ -383,6 +508,63 @@ public class TestCaseReader {
             throw new TestCaseParseException();
         }
 
+        // The partial sorting algorithms select the first element if no K was given.
+        if (selectK == null) {
+            selectK = 1;
+        }
+
+        if (!plotEnabled && (plotTrials != null || plotWarmups != null || plotScheduleType != null
+                || plotSampleCount != null || !compareNames.isEmpty())) {
+            System.out.printf(
+                    "ERROR: one or more of plotTrials, plotWarmups, plotSchedule, plotSampleCount, or compareMethods was given but plotEnabled was not set to true.\n");
+            throw new TestCaseParseException();
+        }
+
+        if (!visualEnabled && visualEventPolicy != null) {
+            System.out.printf(
+                    "ERROR: visualEventPolicy was given but visualEnabled was not set to true.\n");
+            throw new TestCaseParseException();
+        }
+
+        // The visualization never slows down the sort for its events if no policy was
+        // given.
+        if (visualEventPolicy == null) {
+            visualEventPolicy = "drop-oldest";
+        }
+
+        if (compareNames.contains(sortAlgorithmName)) {
+            System.out.printf(
+                    "ERROR: compareMethods cannot include the sortMethod of the test case (\"%s\").\n",
+                    sortAlgorithmName);
+            throw new TestCaseParseException();
+        }
+        List<Algorithm> compareAlgorithms = new ArrayList<Algorithm>();
+        for (String compareName : compareNames) {
+            compareAlgorithms.add(algorithmMap.get(compareName));
+        }
+
+        // The doubling schedule always samples every power of two.
+        if (plotSampleCount != null && plotScheduleType != null && plotScheduleType.equals("doubling")) {
+            System.out.printf("ERROR: plotSampleCount cannot be given for the \"doubling\" plot schedule.\n");
+            throw new TestCaseParseException();
+        }
+
+        // The points of the plot are evenly spaced (up to 50) if no schedule was given.
+        if (plotScheduleType == null) {
+            plotScheduleType = "linear";
+        }
+        if (plotSampleCount == null) {
+            plotSampleCount = PlotSchedule.SAMPLE_AMOUNT_DEFAULT;
+        }
+
+        // Each point of the plot is a single, cold run if no repetitions were given.
+        if (plotTrials == null) {
+            plotTrials = 1;
+        }
+        if (plotWarmups == null) {
+            plotWarmups = 0;
+        }
+
         if (!expectGenerateArray && !expectGivenArray) {
             System.out.printf("ERROR: isArrayGiven was not set.");
             throw new TestCaseParseException();
@@ -415,21 +597,22 @@ public class TestCaseReader {
                 }
             }
 
+            if (generateSeed != null && (generateArrayType.equals("ascending")
+                    || generateArrayType.equals("descending"))) {
+                System.out.printf(
+                        "ERROR: generateArraySeed cannot be given for the \"%s\" array generation type (it is not random).\n",
+                        generateArrayType);
+                throw new TestCaseParseException();
+            }
+
             if (generateArrayType != null) {
-                switch (generateArrayType) {
-                    case "random":
-                        inputArray = generateRandomArray(generateSize, randomGenLow, randomGenHigh);
-                        break;
-                    case "shuffled":
-                        inputArray = generateShuffledArray(generateSize);
-                        break;
-                    case "ascending":
-                        inputArray = generateAscendingArray(generateSize);
-                        break;
-                    case "descending":
-                        inputArray = generateDescendingArray(generateSize);
-                        break;
-                }
+                // A seeded array is the same in every run of the app, so its plot can be
+                // cached (see PlotCache).
+                ArrayGenerator generator = generateSeed == null ? arrayGenerator : new ArrayGenerator(generateSeed);
+
+                // The bounds are only set (and used) by "random".
+                inputArray = generator.generate(generateArrayType, generateSize,
+                        randomGenLow == null ? 0 : randomGenLow, randomGenHigh == null ? 0 : randomGenHigh);
             }
         } else if (!expectGenerateArray && expectGivenArray) {
             if (inputArray == null) {
@@ -441,8 +624,10 @@ public class TestCaseReader {
 
         // Create the new Test Case object with everything parsed...
         TestCase testCase = new TestCase(testCaseName, sortAlgorithmName, algorithmMap.get(sortAlgorithmName),
-                inputArray, expectGivenArray, generateArrayType, randomGenLow, randomGenHigh, visualEnabled,
-                plotEnabled, expectPlotBounds, plotLowerBoundX, plotUpperBoundX, plotLowerBoundY, plotUpperBoundY);
+                inputArray, expectGivenArray, generateArrayType, randomGenLow, randomGenHigh, generateSeed,
+                visualEnabled, visualEventPolicy, plotEnabled, expectPlotBounds, plotLowerBoundX, plotUpperBoundX,
+                plotLowerBoundY, plotUpperBoundY, selectK, plotTrials, plotWarmups, plotScheduleType, plotSampleCount,
+                compareNames, compareAlgorithms);
         testCaseMap.put(testCaseName, testCase);
 
         // If the current line has another test case, then return its name (without the
@@ -649,93 +834,4 @@ public class TestCaseReader {
             return null;
         }
     }
-
-    /**
-     * Returns a random ints with values ranging from low to high inclusive.
-     * 
-     * @param low  the lowest random value possible, inclusive
-     * @param high the highest random value possible, inclusive
-     * @return the random int
-     */
-    private int randomInt(int low, int high) {
-        return (int) (random.nextInt(high - low + 1) + low);
-    }
-
-    /**
-     * Returns an int array with a provided size and range of the randomized
-     * elements.
-     * 
-     * @param size the size of the int array
-     * @param low  the smallest random element possible, inclusive
-     * @param high the largest random element possible, inclusive
-     * @return the int array of randomized elements
-     */
-    private int[] generateRandomArray(int size, int low, int high) {
-        int[] array = new int[size];
-
-        for (int i = 0; i < size; i++) {
-            array[i] = randomInt(low, high);
-        }
-        return array;
-    }
-
-    /**
-     * Returns an int array with ascending values ranging from 1 to the provided
-     * size of the array.
-     * 
-     * @param size the size of the int array
-     * @return the int array of ascending elements
-     */
-    private int[] generateAscendingArray(int size) {
-        int[] array = new int[size];
-
-        for (int i = 0; i < size; i++) {
-            array[i] = i + 1;
-        }
-
-        return array;
-    }
-
-    /**
-     * Returns an int array with descending values ranging from 1 to the provided
-     * size of the array.
-     * 
-     * @param size the size of the int array
-     * @return the int array of descending elements
-     */
-    private int[] generateDescendingArray(int size) {
-        int[] array = new int[size];
-
-        for (int i = 0; i < size; i++) {
-            array[i] = size - i;
-        }
-
-        return array;
-    }
-
-    /**
-     * Returns an int array with values ranging from 1 to the size of the array that
-     * are shuffled and randomized in order.
-     * 
-     * @param size the size of the int array
-     * @return the int array of shuffled elements
-     */
-    private int[] generateShuffledArray(int size) {
-        List<Integer> list = new ArrayList<>(size);
-
-        for (int i = 1; i <= size; i++) {
-            list.add(i);
-        }
-
-        Collections.shuffle(list);
-
-        int[] array = new int[size];
-
-        for (int i = 0; i < size; i++) {
-            array[i] = list.get(i);
-        }
-
-        return array;
-    }
-
 }
@@ -0,0 +1,104 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           TraceKeyframe.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A full copy of the int arrays of a replayed trace at one step
+ *                  (see TraceReplay), with the position of the AccessTraceReader in
+ *                  the trace file and the state of its deltas at that step. Seeking
+ *                  restores the nearest keyframe before the target step and only
+ *                  replays the accesses between them.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TraceKeyframe {
+    private long step;
+
+    // The position and delta state of the AccessTraceReader.
+    private long position;
+    private int[] lastIndices;
+    private int lastArrayId;
+    private long lastValue;
+
+    // The int arrays by ID, in the order they were added.
+    private List<Integer> arrayOrder;
+    private Map<Integer, int[]> arrayValues;
+    private Map<Integer, Boolean> arrayVisibility;
+    private long byteAmount;
+
+    /**
+     * Initializes the TraceKeyframe of the provided step, copying the provided
+     * arrays.
+     *
+     * @param step            the long amount of accesses replayed at the keyframe
+     * @param position        the long position of the next record in the trace file
+     * @param lastIndices     the int array of the last index of each array ID
+     * @param lastArrayId     the int ID of the array of the last access
+     * @param lastValue       the long value of the last access
+     * @param arrayOrder      the List of int array IDs in the order they were added
+     * @param arrayValues     the Map of the elements of each array by ID (copied)
+     * @param arrayVisibility the Map of the visibility of each array by ID
+     */
+    public TraceKeyframe(long step, long position, int[] lastIndices, int lastArrayId, long lastValue,
+            List<Integer> arrayOrder, Map<Integer, int[]> arrayValues, Map<Integer, Boolean> arrayVisibility) {
+        this.step = step;
+        this.position = position;
+        this.lastIndices = lastIndices;
+        this.lastArrayId = lastArrayId;
+        this.lastValue = lastValue;
+
+        this.arrayOrder = new ArrayList<>(arrayOrder);
+        this.arrayValues = new HashMap<>();
+        this.arrayVisibility = new HashMap<>(arrayVisibility);
+        byteAmount = lastIndices.length * 4L;
+        for (int id : arrayOrder) {
+            int[] values = arrayValues.get(id).clone();
+            this.arrayValues.put(id, values);
+            byteAmount += values.length * 4L;
+        }
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public int[] getLastIndices() {
+        return lastIndices;
+    }
+
+    public int getLastArrayId() {
+        return lastArrayId;
+    }
+
+    public long getLastValue() {
+        return lastValue;
+    }
+
+    public List<Integer> getArrayOrder() {
+        return arrayOrder;
+    }
+
+    public Map<Integer, int[]> getArrayValues() {
+        return arrayValues;
+    }
+
+    public Map<Integer, Boolean> getArrayVisibility() {
+        return arrayVisibility;
+    }
+
+    /**
+     * Returns the approximate amount of memory of the copied arrays.
+     *
+     * @return the long amount of bytes
+     */
+    public long getByteAmount() {
+        return byteAmount;
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           TraceReplay.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     Replays an access trace recorded by an AccessTraceWriter into an
+ *                  AnalyzedArrayGroup, so the bar graph (VisualGraphPanel) can show a
+ *                  sort again without running it. The trace is read once when it is
+ *                  loaded, and a TraceKeyframe (a full copy of the int arrays) is kept
+ *                  every keyframe interval accesses. The interval starts at
+ *                  KEYFRAME_INTERVAL_MINIMUM and is doubled (dropping every other
+ *                  keyframe) whenever the keyframes would use more than
+ *                  KEYFRAME_BYTES_MAXIMUM, so seeking to any step costs one keyframe
+ *                  copy plus at most one interval of accesses. Playing forward
+ *                  applies the accesses through get() and set() of the arrays of the
+ *                  group (so the bar graph highlights them as in a live sort), while
+ *                  playing in reverse and scrubbing are seeks. Only the int arrays
+ *                  are replayed, since the bar graph only shows them.
+ *                  NOT SYNCHRONIZED: A REPLAY BELONGS TO A SINGLE THREAD (THE SWING
+ *                  GUI), WHICH ALSO PAINTS THE GROUP.
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TraceReplay {
+    public static final int KEYFRAME_INTERVAL_MINIMUM = 1 << 14;
+    public static final long KEYFRAME_BYTES_MAXIMUM = 256L << 20;
+
+    private AccessTraceReader reader;
+    private AnalyzedArrayGroup group;
+
+    // The amount of accesses replayed and in the entire trace, and whether the END
+    // record was read since the last keyframe was restored.
+    private long step, stepAmount;
+    private boolean endRead;
+
+    // The int arrays of the trace at the current step by ID (the names are kept for
+    // every array that was ever added, since the IDs are never reused).
+    private List<Integer> arrayOrder;
+    private Map<Integer, int[]> arrayValues;
+    private Map<Integer, Boolean> arrayVisibility;
+    private Map<Integer, String> arrayNames;
+
+    private List<TraceKeyframe> keyframes;
+    private long keyframeInterval, keyframeBytes;
+
+    // The arrays of the group by ID, in the order they were added to it.
+    private List<Integer> groupArrayOrder;
+    private Map<Integer, AnalyzedArray> groupArrays;
+    private boolean groupSynced;
+
+    /**
+     * Initializes the TraceReplay of the trace file of the provided path, which
+     * replays into a new AnalyzedArrayGroup that notifies the provided visualizer.
+     * The group never sleeps and never notifies the visualizer of an access; the
+     * visualizer is expected to repaint at its own pace. The trace is not read
+     * until load() is called.
+     *
+     * @param filePath   the String path to the trace file
+     * @param visualizer the SortListener of the group (the Swing GUI)
+     */
+    public TraceReplay(String filePath, SortListener visualizer) {
+        reader = new AccessTraceReader(filePath);
+        group = new AnalyzedArrayGroup(visualizer);
+        group.toggleSleep(false);
+        group.toggleReportDelayUpdates(false);
+
+        step = 0;
+        stepAmount = 0;
+        endRead = false;
+
+        arrayOrder = new ArrayList<>();
+        arrayValues = new HashMap<>();
+        arrayVisibility = new HashMap<>();
+        arrayNames = new HashMap<>();
+
+        keyframes = new ArrayList<>();
+        keyframeInterval = KEYFRAME_INTERVAL_MINIMUM;
+        keyframeBytes = 0;
+
+        groupArrayOrder = new ArrayList<>();
+        groupArrays = new HashMap<>();
+        groupSynced = false;
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // LOADING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Reads the entire trace to count its accesses and keep its keyframes, then
+     * seeks to the first step. If the trace cannot be read, is damaged, or ends
+     * without its END record, then an error is printed and false is returned.
+     *
+     * @return true if the trace can be replayed and false if otherwise
+     */
+    public boolean load() {
+        if (!reader.open()) {
+            return false;
+        }
+
+        try {
+            while (true) {
+                long position = reader.getPosition();
+                int kind = reader.next();
+
+                // The first keyframe is before the first access, once the input was added.
+                if (keyframes.isEmpty()
+                        && (kind == AccessTraceReader.RECORD_ACCESS || kind == AccessTraceWriter.RECORD_END)) {
+                    addKeyframe(new TraceKeyframe(0, position, new int[0], -1, 0,
+                            arrayOrder, arrayValues, arrayVisibility));
+                }
+                if (kind == AccessTraceWriter.RECORD_END) {
+                    break;
+                }
+
+                applyRecord(kind, false);
+                if (kind == AccessTraceReader.RECORD_ACCESS && reader.getAccessCount() % keyframeInterval == 0) {
+                    addKeyframe(new TraceKeyframe(reader.getAccessCount(), reader.getPosition(),
+                            reader.copyLastIndices(), reader.getLastArrayId(), reader.getLastValue(),
+                            arrayOrder, arrayValues, arrayVisibility));
+                }
+            }
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the trace file \"%s\" is damaged or incomplete (%s).\n",
+                    reader.getFilePath(), exception.getMessage());
+            reader.close();
+            return false;
+        }
+
+        stepAmount = reader.getAccessCount();
+        step = stepAmount;
+        endRead = true;
+        return seek(0);
+    }
+
+    /**
+     * Closes the trace file. The replay cannot seek or play afterwards.
+     */
+    public void close() {
+        reader.close();
+    }
+
+    /**
+     * Adds the provided keyframe, and if the keyframes now use too much memory,
+     * drops every other keyframe and doubles the interval until they fit (the
+     * first keyframe is always kept).
+     *
+     * @param keyframe the TraceKeyframe at the next multiple of the interval
+     */
+    private void addKeyframe(TraceKeyframe keyframe) {
+        keyframes.add(keyframe);
+        keyframeBytes += keyframe.getByteAmount();
+
+        while (keyframeBytes > KEYFRAME_BYTES_MAXIMUM && keyframes.size() > 1) {
+            List<TraceKeyframe> kept = new ArrayList<>();
+            keyframeBytes = 0;
+            for (int i = 0; i < keyframes.size(); i += 2) {
+                kept.add(keyframes.get(i));
+                keyframeBytes += keyframes.get(i).getByteAmount();
+            }
+            keyframes = kept;
+            keyframeInterval *= 2;
+        }
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // SEEKING AND PLAYING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Moves the replay to the provided step (clamped to the trace) and replaces
+     * the elements of the group with the arrays at that step. If the step is
+     * before the current step or past the next keyframe, the nearest keyframe is
+     * restored first, so at most one keyframe interval of accesses is read. The
+     * last get/set indices of the group are cleared.
+     *
+     * @param target the long amount of accesses to have replayed
+     * @return true if the replay moved and false if the trace could not be read
+     */
+    public boolean seek(long target) {
+        target = Math.max(0, Math.min(target, stepAmount));
+        if (target == step && groupSynced) {
+            return true;
+        }
+
+        try {
+            TraceKeyframe keyframe = keyframes.get((int) Math.min(target / keyframeInterval, keyframes.size() - 1));
+            if (target < step || keyframe.getStep() > step) {
+                restoreKeyframe(keyframe);
+            }
+            advance(target, false);
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the trace file \"%s\" could not be read (%s).\n",
+                    reader.getFilePath(), exception.getMessage());
+            return false;
+        }
+
+        syncGroup();
+        return true;
+    }
+
+    /**
+     * Plays the provided amount of accesses forward through the arrays of the
+     * group, so that the group marks and highlights each of them. An amount
+     * greater than the keyframe interval is a seek instead (so a frame never
+     * replays more than one interval), and a negative amount seeks back.
+     *
+     * @param amount the long amount of accesses to play
+     * @return true if the replay moved and false if the trace could not be read
+     */
+    public boolean play(long amount) {
+        if (amount < 0 || amount > keyframeInterval || !groupSynced) {
+            return seek(step + amount);
+        }
+
+        try {
+            advance(Math.min(step + amount, stepAmount), true);
+        } catch (IOException exception) {
+            System.err.printf("ERROR: the trace file \"%s\" could not be read (%s).\n",
+                    reader.getFilePath(), exception.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the group that the trace is replayed into (the input of the bar
+     * graph). Its size changes when the trace adds, removes, or hides arrays.
+     *
+     * @return the AnalyzedArrayGroup of the replay
+     */
+    public AnalyzedArrayGroup getGroup() {
+        return group;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public long getStepAmount() {
+        return stepAmount;
+    }
+
+    public boolean isAtEnd() {
+        return step == stepAmount;
+    }
+
+    public long getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public int getKeyframeAmount() {
+        return keyframes.size();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // APPLYING THE RECORDS
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Reads and applies records until the provided step was replayed, or until
+     * the END record if the step is the last one (so the arrays removed or hidden
+     * after the last access are too).
+     *
+     * @param target      the long amount of accesses to have replayed
+     * @param updateGroup true if the records are also applied to the group
+     * @throws IOException if the trace cannot be read
+     */
+    private void advance(long target, boolean updateGroup) throws IOException {
+        while (!endRead && (reader.getAccessCount() < target || target == stepAmount)) {
+            int kind = reader.next();
+            if (kind == AccessTraceWriter.RECORD_END) {
+                endRead = true;
+                break;
+            }
+            applyRecord(kind, updateGroup);
+        }
+        step = reader.getAccessCount();
+    }
+
+    /**
+     * Applies the record that was just read to the int arrays of the current step
+     * and, if set to do so, to the group. The records of the long and double
+     * arrays are skipped.
+     *
+     * @param kind        the int kind of the record from AccessTraceReader.next()
+     * @param updateGroup true if the record is also applied to the group
+     */
+    private void applyRecord(int kind, boolean updateGroup) {
+        int id = reader.getArrayId();
+
+        switch (kind) {
+            case AccessTraceReader.RECORD_ACCESS:
+                int[] values = arrayValues.get(id);
+                if (values == null) {
+                    return;
+                }
+                boolean isSet = reader.getOp() == AccessEventRing.OP_SET;
+                if (isSet) {
+                    values[reader.getIndex()] = (int) reader.getValue();
+                }
+
+                AnalyzedArray array = updateGroup ? groupArrays.get(id) : null;
+                if (array != null) {
+                    if (isSet) {
+                        array.set(reader.getIndex(), (int) reader.getValue());
+                    } else {
+                        array.get(reader.getIndex());
+                    }
+                }
+                return;
+            case AccessTraceWriter.RECORD_ADDED:
+                if (reader.getArrayType() != AccessTraceWriter.TYPE_INT) {
+                    return;
+                }
+                long[] elements = reader.getArrayValues();
+                int[] added = new int[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    added[i] = (int) elements[i];
+                }
+                arrayOrder.add(id);
+                arrayValues.put(id, added);
+                arrayVisibility.put(id, reader.isVisible());
+                arrayNames.put(id, reader.getArrayName());
+
+                if (updateGroup) {
+                    groupArrays.put(id, group.addArray(added, reader.getArrayName(), reader.isVisible()));
+                    groupArrayOrder.add(id);
+                }
+                return;
+            case AccessTraceWriter.RECORD_REMOVED:
+                if (arrayValues.remove(id) == null) {
+                    return;
+                }
+                arrayOrder.remove(Integer.valueOf(id));
+                arrayVisibility.remove(id);
+
+                if (updateGroup && groupArrays.remove(id) != null) {
+                    group.removeArray(arrayNames.get(id));
+                    groupArrayOrder.remove(Integer.valueOf(id));
+                }
+                return;
+            case AccessTraceWriter.RECORD_VISIBILITY:
+                if (!arrayValues.containsKey(id)) {
+                    return;
+                }
+                arrayVisibility.put(id, reader.isVisible());
+
+                if (updateGroup) {
+                    group.setArrayVisibility(arrayNames.get(id), reader.isVisible());
+                }
+                return;
+            default:
+                return;
+        }
+    }
+
+    /**
+     * Makes the current step the step of the provided keyframe: the reader is
+     * moved to its position and the int arrays are copied from it.
+     *
+     * @param keyframe the TraceKeyframe to restore
+     * @throws IOException if the trace cannot be read
+     */
+    private void restoreKeyframe(TraceKeyframe keyframe) throws IOException {
+        reader.restore(keyframe.getPosition(), keyframe.getLastIndices(), keyframe.getLastArrayId(),
+                keyframe.getLastValue(), keyframe.getStep());
+        step = keyframe.getStep();
+        endRead = false;
+
+        arrayOrder = new ArrayList<>(keyframe.getArrayOrder());
+        arrayValues = new HashMap<>();
+        for (int id : arrayOrder) {
+            arrayValues.put(id, keyframe.getArrayValues().get(id).clone());
+        }
+        arrayVisibility = new HashMap<>(keyframe.getArrayVisibility());
+    }
+
+    /**
+     * Makes the arrays of the group the int arrays of the current step. If the
+     * group has the same arrays, only their elements (and visibility) are
+     * replaced; otherwise the arrays of the group are removed and added again.
+     */
+    private void syncGroup() {
+        if (!groupArrayOrder.equals(arrayOrder)) {
+            for (int id : groupArrayOrder) {
+                group.removeArray(arrayNames.get(id));
+            }
+            groupArrayOrder.clear();
+            groupArrays.clear();
+
+            for (int id : arrayOrder) {
+                groupArrays.put(id, group.addArray(arrayValues.get(id), arrayNames.get(id), arrayVisibility.get(id)));
+                groupArrayOrder.add(id);
+            }
+        } else {
+            for (int id : arrayOrder) {
+                group.setArrayVisibility(arrayNames.get(id), arrayVisibility.get(id));
+                group.replaceElements(arrayNames.get(id), arrayValues.get(id));
+            }
+        }
+        groupSynced = true;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * CSC 345 PROJECT
+ * Class:           TraceReplayViewer.java
+ * Authors:         Angelina A, Eiza S, Ethan W, Hayden R
+ * Description:     A window that replays an access trace (see TraceReplay) in the
+ *                  bar graph of the app instead of running a sort again. It can play
+ *                  forward or in reverse at a chosen amount of accesses per second,
+ *                  pause, and scrub to any step with a slider. A single Swing timer
+ *                  advances the replay and repaints once per frame, so the speed of
+ *                  the replay never depends on how fast the graph paints.
+ *                  It is started with "--replay <path>" (see Main).
+ */
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JSlider;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+public class TraceReplayViewer implements SortListener {
+    // The delay between frames in milliseconds (about 60 frames per second).
+    private static final int FRAME_MS = 16;
+
+    // The positions of the slider (the steps of the trace are scaled to them).
+    private static final int SLIDER_POSITIONS = 1000;
+
+    // The supported speeds in accesses per second.
+    private static final List<String> SPEED_LIST = Arrays.asList(
+            "10",
+            "100",
+            "1000",
+            "10000",
+            "100000",
+            "1000000");
+    private static final String SPEED_DEFAULT = "1000";
+
+    private TraceReplay replay;
+
+    private JFrame frame;
+    private VisualGraphPanel visualGraphPanel;
+    private JButton playButton, reverseButton;
+    private JComboBox<String> speedComboBox;
+    private JSlider stepSlider;
+    private JLabel stepLabel;
+    private Timer frameTimer;
+
+    private boolean playing, reverse, sliderUpdating, atEndShown;
+    private long lastFrameNanos;
+    private double stepCarry;
+    private int graphSize;
+
+    /**
+     * Runs the viewer with the trace file after "--replay" in the provided
+     * arguments. The trace is loaded before the window is shown; if it cannot be
+     * loaded, then an error is printed and nothing is shown.
+     *
+     * @param args the String arguments from the command-line
+     */
+    public static void main(String[] args) {
+        String filePath = null;
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--replay")) {
+                filePath = args[i + 1];
+            }
+        }
+        if (filePath == null) {
+            System.err.printf("ERROR: --replay requires the path to a trace file.\n");
+            return;
+        }
+
+        TraceReplayViewer viewer = new TraceReplayViewer();
+        viewer.replay = new TraceReplay(filePath, viewer);
+        long start = System.nanoTime();
+        if (!viewer.replay.load()) {
+            return;
+        }
+        System.out.printf("Loaded %d accesses in %.2f s (%d keyframes, one every %d accesses).\n",
+                viewer.replay.getStepAmount(), (System.nanoTime() - start) / 1e9,
+                viewer.replay.getKeyframeAmount(), viewer.replay.getKeyframeInterval());
+
+        String title = filePath;
+        SwingUtilities.invokeLater(() -> viewer.startViewer(title));
+    }
+
+    /**
+     * Builds and shows the window and starts the frame timer.
+     *
+     * @param filePath the String path to the trace file (the title of the window)
+     */
+    private void startViewer(String filePath) {
+        frame = new JFrame("Replay: " + filePath);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setLayout(new BorderLayout());
+
+        visualGraphPanel = new VisualGraphPanel();
+        visualGraphPanel.setPreferredSize(new Dimension(1000, 600));
+        visualGraphPanel.setInput(replay.getGroup());
+        visualGraphPanel.togglePainting(true);
+        graphSize = replay.getGroup().size();
+        frame.add(visualGraphPanel, BorderLayout.CENTER);
+
+        // >>> CONTROLS
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+
+        playButton = new JButton("Play");
+        playButton.addActionListener(event -> setPlaying(!playing));
+        controlPanel.add(playButton);
+
+        reverseButton = new JButton("Reverse");
+        reverseButton.addActionListener(event -> {
+            reverse = !reverse;
+            reverseButton.setText(reverse ? "Forward" : "Reverse");
+        });
+        controlPanel.add(reverseButton);
+
+        controlPanel.add(new JLabel("Accesses per second:"));
+        speedComboBox = new JComboBox<>(SPEED_LIST.toArray(new String[0]));
+        speedComboBox.setSelectedItem(SPEED_DEFAULT);
+        controlPanel.add(speedComboBox);
+
+        stepSlider = new JSlider(0, SLIDER_POSITIONS, 0);
+        stepSlider.setPreferredSize(new Dimension(400, stepSlider.getPreferredSize().height));
+        stepSlider.addChangeListener(event -> {
+            // Only the user scrubs; the frames move the slider with sliderUpdating set.
+            if (!sliderUpdating) {
+                replay.seek(stepSlider.getValue() * replay.getStepAmount() / SLIDER_POSITIONS);
+                refresh();
+            }
+        });
+        controlPanel.add(stepSlider);
+
+        stepLabel = new JLabel();
+        controlPanel.add(stepLabel);
+        frame.add(controlPanel, BorderLayout.SOUTH);
+
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent event) {
+                frameTimer.stop();
+                replay.close();
+            }
+        });
+
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+
+        frameTimer = new Timer(FRAME_MS, event -> frameUpdate());
+        frameTimer.start();
+        refresh();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // PLAYING
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Starts or pauses the replay. Playing from the last step (or from the first
+     * step in reverse) starts over from the other end.
+     *
+     * @param enabled true to play and false to pause
+     */
+    private void setPlaying(boolean enabled) {
+        if (enabled && !reverse && replay.isAtEnd()) {
+            replay.seek(0);
+        } else if (enabled && reverse && replay.getStep() == 0) {
+            replay.seek(replay.getStepAmount());
+        }
+        playing = enabled;
+        lastFrameNanos = System.nanoTime();
+        stepCarry = 0;
+        playButton.setText(playing ? "Pause" : "Play");
+        refresh();
+    }
+
+    /**
+     * Called by the frame timer: advances the replay by the accesses of the time
+     * since the last frame at the chosen speed, then repaints.
+     */
+    private void frameUpdate() {
+        if (!playing) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        stepCarry += Long.parseLong((String) speedComboBox.getSelectedItem()) * (now - lastFrameNanos) / 1e9;
+        lastFrameNanos = now;
+
+        long amount = (long) stepCarry;
+        stepCarry -= amount;
+        if (amount > 0) {
+            boolean moved = reverse ? replay.seek(replay.getStep() - amount) : replay.play(amount);
+            if (!moved) {
+                setPlaying(false);
+            }
+        }
+
+        if (reverse ? replay.getStep() == 0 : replay.isAtEnd()) {
+            setPlaying(false);
+        }
+        refresh();
+    }
+
+    /**
+     * Updates the graph, the slider, and the step label to the current step of
+     * the replay and repaints the graph.
+     */
+    private void refresh() {
+        // The bars are resized when the trace adds, removes, or hides arrays.
+        if (replay.getGroup().size() != graphSize) {
+            graphSize = replay.getGroup().size();
+            visualGraphPanel.setInput(replay.getGroup());
+        }
+        if (replay.isAtEnd() != atEndShown) {
+            atEndShown = replay.isAtEnd();
+            visualGraphPanel.toggleDisplaySorted(atEndShown);
+        }
+
+        sliderUpdating = true;
+        stepSlider.setValue(replay.getStepAmount() == 0 ? 0
+                : (int) (replay.getStep() * SLIDER_POSITIONS / replay.getStepAmount()));
+        sliderUpdating = false;
+
+        stepLabel.setText(String.format("%d / %d", replay.getStep(), replay.getStepAmount()));
+        visualGraphPanel.repaint();
+    }
+
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+    // SORT LISTENER
+    // = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = = =
+
+    /**
+     * Not used: the frame timer repaints the graph, since the group of the replay
+     * never reports its accesses.
+     */
+    @Override
+    public void testCaseArrayUpdated() {
+    }
+
+    /**
+     * Not used: a replay never calls algorithmFinished().
+     */
+    @Override
+    public void testCaseFinished() {
+    }
+}
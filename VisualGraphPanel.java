@@ -8,10 +8,32 @@
  *                  to help demonstrate the sorting behavior and efficiently of
  *                  a sorting algorithm. It also has additional methods for
  *                  customizing the font and colors of the graph.
+ *                  The bars are kept in an offscreen image, and each frame only
+ *                  redraws the bars whose elements were set since the last frame
+ *                  (the dirty indices of the group) and the bars whose get/set
+ *                  highlight moved. The whole image is only redrawn when the panel
+ *                  is resized, the minimum or maximum changes, or the group asks for
+ *                  it (see AnalyzedArrayGroup.drainDirtyIndices()). By default, the
+ *                  bars are written straight into the int pixels of the image (the
+ *                  raster renderer) instead of through Graphics, which is too slow
+ *                  for thousands of bars per frame with the software pipeline.
+ *                  If the group has more elements than the graph has room for bars,
+ *                  then each pixel column is drawn as the envelope from the minimum
+ *                  to the maximum of its elements with a bar up to their mean (see
+ *                  ColumnAggregates), and the columns with the last get/set are still
+ *                  colored.
+ *                  Each frame is painted from a GroupSnapshot of the group (copied
+ *                  without blocking the sorting thread), so the bars, min, max, and
+ *                  highlights of a frame are all from the same moment of the sort.
  */
 
 import javax.swing.JPanel;
 
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import java.util.Arrays;
+
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -20,6 +42,17 @@ import java.awt.FontMetrics;
 import java.awt.Font;
 
 public class VisualGraphPanel extends JPanel {
+    // The smallest graph width that the aggregated pixel columns are drawn in.
+    private static final int GRAPH_WIDTH_MINIMUM = 50;
+
+    // The pixels on each side of a highlighted aggregated column that are also
+    // colored, so that a single pixel column can be seen.
+    private static final int HIGHLIGHT_COLUMN_RADIUS = 1;
+
+    // The narrowest rectangle that the raster renderer fills row by row instead of
+    // column by column.
+    private static final int RASTER_FILL_WIDTH_MINIMUM = 4;
+
     // THE MAIN INPUT OF THE GRAPH
     private AnalyzedArrayGroup group;
 
@@ -38,14 +71,31 @@ public class VisualGraphPanel extends JPanel {
     // Pixel measurements for the sorted status message.
     private int sortedMessageCornerDist, sortedMessageEdgeDist;
 
-    // The width of each bar and the x-values and y-values of the corners of an
-    // individual bar as a polygon.
+    // The width of each bar with and without the gap after it.
     private double singleBarWidthWithGap, singleBarWidthWithoutGap;
-    private int[] barPolygonX, barPolygonY;
+
+    // The offscreen image of the background and bars, which covers the background
+    // rectangle, and what it was drawn with (to find out when it must be fully
+    // redrawn).
+    private BufferedImage barImage;
+    private int[] barImagePixels;
+    private int barImageWidth, barImageHeight;
+    private boolean barImageValid, barImageDrawn, rasterEnabled;
+    private int barImageMinVal, barImageMaxVal, barImageIndexLastGet, barImageIndexLastSet;
+    private int[] dirtyIndexBuffer;
+
+    // The state of the group that the current frame is painted from.
+    private GroupSnapshot snapshot;
+
+    // If true, the elements are drawn as aggregated pixel columns, and the buffers
+    // the aggregates of each column are copied into.
+    private boolean aggregateEnabled;
+    private int[] columnMinBuffer, columnMaxBuffer;
+    private double[] columnMeanBuffer;
 
     // Fonts and colors of the graph.
     private Color colorBackground, colorMessageBackground, colorMessageText,
-            colorBarRegular, colorBarSet, colorBarGet;
+            colorBarRegular, colorBarSet, colorBarGet, colorBarEnvelope;
     private Font fontMessage;
 
     // Other states of the graph and the sorted status of the input AnalyzedArray.
@@ -59,10 +109,13 @@ public class VisualGraphPanel extends JPanel {
         edgeDistGraph = 60;
         graphOffsetY = 20;
 
-        // Initialize int arrays for Graphics to draw the bars of the bar graph as
-        // polygons (more efficient and straightforward than using a Polygon object).
-        barPolygonX = new int[4];
-        barPolygonY = new int[4];
+        barImage = null;
+        barImagePixels = null;
+        barImageValid = false;
+        barImageDrawn = false;
+        rasterEnabled = true;
+        dirtyIndexBuffer = new int[AnalyzedArrayGroup.DIRTY_INDEX_CAPACITY];
+        snapshot = new GroupSnapshot();
 
         // Set the default colors for the bar graph.
         setColors(
@@ -96,6 +149,18 @@ public class VisualGraphPanel extends JPanel {
         paintingEnabled = enabled;
     }
 
+    /**
+     * If the provided boolean is true, then the bars are written straight into the
+     * pixels of the offscreen image; if false, then they are drawn with Graphics
+     * (the Java2D renderer). Both draw the same pixels.
+     * 
+     * @param enabled if true, then the raster renderer is used
+     */
+    public void toggleRasterRendering(boolean enabled) {
+        rasterEnabled = enabled;
+        barImageValid = false;
+    }
+
     /**
      * Set the input of the graph as the provided AnalyzedArrayGroup.
      * Once set, the panel is re-adjusted and the graph is ready to be rendered
@@ -109,6 +174,7 @@ public class VisualGraphPanel extends JPanel {
         }
         this.group = group;
         inputReady = true;
+        barImageValid = false;
         panelResized();
 
     }
@@ -131,7 +197,14 @@ public class VisualGraphPanel extends JPanel {
         colorBarSet = barSet;
         colorBarGet = barGet;
         colorMessageBackground = messageBackground;
+
+        // The envelope of an aggregated column is halfway between a bar and the
+        // background.
+        colorBarEnvelope = new Color((barRegular.getRed() + graphBackground.getRed()) / 2,
+                (barRegular.getGreen() + graphBackground.getGreen()) / 2,
+                (barRegular.getBlue() + graphBackground.getBlue()) / 2);
         colorMessageText = messageText;
+        barImageValid = false;
     }
 
     /**
@@ -144,6 +217,27 @@ public class VisualGraphPanel extends JPanel {
         fontMessage = new Font(fontName, Font.BOLD, fontSize);
     }
 
+    /**
+     * Update the pixels between the edges of the panel and the background, and
+     * between the edges of the panel and the graph area, so that a small panel
+     * (such as a lane of a race) is not mostly margins. If any distance is
+     * negative, then nothing happens.
+     *
+     * @param background the int pixels between the panel and the background
+     * @param graph      the int pixels between the panel and the graph area
+     * @param offsetY    the int pixels that the graph area is shifted downward
+     */
+    public void setEdgeDistances(int background, int graph, int offsetY) {
+        if (background < 0 || graph < 0 || offsetY < 0) {
+            return;
+        }
+        edgeDistBackground = background;
+        edgeDistGraph = graph;
+        graphOffsetY = offsetY;
+        barImageValid = false;
+        panelResized();
+    }
+
     /**
      * If the provided boolean is true, then the graph is allowed to render the
      * message that indicates whether or not the "input" array of the
@@ -194,11 +288,6 @@ public class VisualGraphPanel extends JPanel {
         graphWidth = graphRightX - graphLeftX;
         graphHeight = graphBottomY - graphTopY;
 
-        // While the bars may change in height, they will always have the same lower Y
-        // values, so they can be set in advance.
-        barPolygonY[0] = graphBottomY;
-        barPolygonY[3] = graphBottomY;
-
         // >>> UPDATE THE BACKGROUND BOUNDS
         // For the X, offset the farthest values inward by the edge distance.
         // For the Y, use the entire panel height that is offset inward by the edge
@@ -219,12 +308,29 @@ public class VisualGraphPanel extends JPanel {
         // The minimum width of the graph needed to ensure that each bar (which
         // represents each element in the array group) is at least one pixel wide.
         graphWidthMinimumNeeded = (int) ((group.size() * 10) / 9.0);
+
+        // Without room for one bar per element, every pixel column of the graph
+        // aggregates the elements that fall into it.
+        aggregateEnabled = graphWidth < graphWidthMinimumNeeded && graphWidth >= GRAPH_WIDTH_MINIMUM;
+        if (aggregateEnabled) {
+            group.setColumnAmount(graphWidth);
+            columnMinBuffer = new int[graphWidth];
+            columnMaxBuffer = new int[graphWidth];
+            columnMeanBuffer = new double[graphWidth];
+        } else {
+            group.setColumnAmount(0);
+        }
+
+        // The offscreen image has the size of the background, so it is made again.
+        barImage = null;
+        barImagePixels = null;
+        barImageValid = false;
     }
 
     /**
      * If the pixel width of the graph is less than the minimum width required to be
-     * able to properly display the bars, then display the message warning the user
-     * and indicating the current, inadequate pixel width.
+     * able to display even the aggregated pixel columns, then display the message
+     * warning the user and indicating the current, inadequate pixel width.
      * If the AnalyzedArrayGroup input has not been set yet or painting is not
      * enabled, then nothing happens.
      * 
@@ -235,7 +341,7 @@ public class VisualGraphPanel extends JPanel {
             return;
         }
 
-        if (graphWidth < graphWidthMinimumNeeded) {
+        if (graphWidth < GRAPH_WIDTH_MINIMUM) {
             // Get the Graphics2D object and use anti-aliasing for smooth edges.
             Graphics2D g2D = (Graphics2D) graphics;
             g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -248,7 +354,7 @@ public class VisualGraphPanel extends JPanel {
             String messageStringMain = "The window size is too small for the graph, please make it larger.";
             String messageStringPixels = String.format(
                     "Current Graph Width = %d Pixels, Minimum Graph Width Needed = %d Pixels", graphWidth,
-                    graphWidthMinimumNeeded);
+                    GRAPH_WIDTH_MINIMUM);
 
             // Measure the pixel width of the messages based on their font.
             int messageMainWidth = metrics.stringWidth(messageStringMain);
@@ -329,70 +435,358 @@ public class VisualGraphPanel extends JPanel {
 
     /**
      * Paints the bars of the graph if the graph pixel width is greater than the
-     * minimum width.
+     * minimum width (or the aggregated pixel columns if there is not enough room
+     * for the bars).
+     * The bars are drawn into the offscreen image first: every bar if the image is
+     * not valid (or everything is dirty), or otherwise only the bars of the dirty
+     * indices and of the previous and current get/set indices. The image is then
+     * copied to the panel. If no consistent snapshot of the group could be copied,
+     * then the previous image is shown again and fully redrawn next frame.
      * If the AnalyzedArrayGroup input has not been set yet or painting is not
      * enabled, then nothing happens.
      * 
      * @param graphics the Graphics object to paint to
      */
     private void drawGraph(Graphics graphics) {
-        if (!paintingEnabled || !inputReady || graphWidth < graphWidthMinimumNeeded) {
+        if (!paintingEnabled || !inputReady || graphWidth < GRAPH_WIDTH_MINIMUM) {
+            return;
+        }
+        if (graphWidth < graphWidthMinimumNeeded) {
+            drawAggregatedGraph(graphics);
+            return;
+        }
+
+        if (barImage == null) {
+            createBarImage();
+        }
+
+        // The dirty indices are drained before the snapshot is copied, so an element
+        // that is set in between is in the snapshot and redrawn again next frame.
+        int dirtyAmount = group.drainDirtyIndices(dirtyIndexBuffer);
+        if (!group.copySnapshot(snapshot, true)) {
+            drawPreviousImage(graphics);
+            return;
+        }
+        int minVal = snapshot.getMin();
+        int maxVal = snapshot.getMax();
+        int indexLastGet = snapshot.getIndexLastGet();
+        int indexLastSet = snapshot.getIndexLastSet();
+
+        // The height of every bar depends on the min and max.
+        if (minVal != barImageMinVal || maxVal != barImageMaxVal || dirtyAmount < 0) {
+            barImageValid = false;
+        }
+
+        Graphics imageGraphics = getBarImageGraphics();
+
+        if (!barImageValid) {
+            // Draw the background of the graph.
+            fillImageRect(imageGraphics, colorBackground, bgLeftX, bgTopY, bgRightX - bgLeftX, bgBottomY - bgTopY);
+
+            for (int i = 0; i < snapshot.size(); i++) {
+                drawBar(imageGraphics, i, minVal, maxVal, indexLastGet, indexLastSet);
+            }
+            barImageValid = true;
+        } else {
+            for (int i = 0; i < dirtyAmount; i++) {
+                redrawBar(imageGraphics, dirtyIndexBuffer[i], minVal, maxVal, indexLastGet, indexLastSet);
+            }
+
+            // The highlighted bars change color even if their elements did not change.
+            redrawBar(imageGraphics, barImageIndexLastGet, minVal, maxVal, indexLastGet, indexLastSet);
+            redrawBar(imageGraphics, barImageIndexLastSet, minVal, maxVal, indexLastGet, indexLastSet);
+            redrawBar(imageGraphics, indexLastGet, minVal, maxVal, indexLastGet, indexLastSet);
+            redrawBar(imageGraphics, indexLastSet, minVal, maxVal, indexLastGet, indexLastSet);
+        }
+        if (imageGraphics != null) {
+            imageGraphics.dispose();
+        }
+        barImageDrawn = true;
+
+        barImageMinVal = minVal;
+        barImageMaxVal = maxVal;
+        barImageIndexLastGet = indexLastGet;
+        barImageIndexLastSet = indexLastSet;
+
+        graphics.drawImage(barImage, bgLeftX, bgTopY, null);
+    }
+
+    /**
+     * Paints the graph as one aggregated column per pixel of the graph width: an
+     * envelope from the minimum to the maximum of the elements of the column and
+     * a bar up to their mean. The columns with the last get or set are colored
+     * like their bars would be. Every column is drawn each frame, which costs
+     * O(graph width) and not O(N) since the aggregates are kept up to date as the
+     * elements are set.
+     * 
+     * @param graphics the Graphics object to paint to
+     */
+    private void drawAggregatedGraph(Graphics graphics) {
+        ColumnAggregates aggregates = group.getColumnAggregates();
+        if (!aggregateEnabled || aggregates == null || aggregates.getColumnAmount() != graphWidth) {
+            return;
+        }
+
+        if (barImage == null) {
+            createBarImage();
+        }
+        // The offscreen image is fully redrawn, so it must be redrawn again if the
+        // graph stops being aggregated.
+        barImageValid = false;
+
+        // The dirty indices are already part of the aggregates, which are copied under
+        // their own lock, so only the min, max, and get/set indices are in the snapshot.
+        group.drainDirtyIndices(dirtyIndexBuffer);
+        if (!group.copySnapshot(snapshot, false)) {
+            drawPreviousImage(graphics);
+            return;
+        }
+        int minVal = snapshot.getMin();
+        int maxVal = snapshot.getMax();
+        int indexLastGet = snapshot.getIndexLastGet();
+        int indexLastSet = snapshot.getIndexLastSet();
+        aggregates.copyColumns(columnMinBuffer, columnMaxBuffer, columnMeanBuffer);
+
+        Graphics imageGraphics = getBarImageGraphics();
+        fillImageRect(imageGraphics, colorBackground, bgLeftX, bgTopY, bgRightX - bgLeftX, bgBottomY - bgTopY);
+
+        for (int column = 0; column < graphWidth; column++) {
+            // A column without elements has a minimum greater than its maximum.
+            if (columnMinBuffer[column] > columnMaxBuffer[column]) {
+                continue;
+            }
+            int columnX = graphLeftX + column;
+            int maxTopY = getValueTopY(columnMaxBuffer[column], minVal, maxVal);
+            int minTopY = getValueTopY(columnMinBuffer[column], minVal, maxVal);
+            int meanTopY = getValueTopY(columnMeanBuffer[column], minVal, maxVal);
+
+            fillImageRect(imageGraphics, colorBarEnvelope, columnX, maxTopY, 1, minTopY - maxTopY + 1);
+            fillImageRect(imageGraphics, colorBarRegular, columnX, meanTopY, 1, graphBottomY - meanTopY);
+        }
+
+        // The set is colored first so that the get is on top, like the bars.
+        drawAggregatedHighlight(imageGraphics, aggregates, indexLastSet, colorBarSet, minVal, maxVal);
+        drawAggregatedHighlight(imageGraphics, aggregates, indexLastGet, colorBarGet, minVal, maxVal);
+        if (imageGraphics != null) {
+            imageGraphics.dispose();
+        }
+        barImageDrawn = true;
+
+        graphics.drawImage(barImage, bgLeftX, bgTopY, null);
+    }
+
+    /**
+     * Colors the aggregated column of the element at the provided index (and the
+     * columns right next to it) from the bottom of the graph up to the maximum of
+     * the column. If the index is not in the group (such as -1 for no get/set),
+     * then nothing happens.
+     * 
+     * @param graphics   the Graphics object of the offscreen image (null for the
+     *                   raster renderer)
+     * @param aggregates the ColumnAggregates of the group
+     * @param index      the int global index of the highlighted element
+     * @param color      the Color of the highlight
+     * @param minVal     the int minimum value of the group
+     * @param maxVal     the int maximum value of the group
+     */
+    private void drawAggregatedHighlight(Graphics graphics, ColumnAggregates aggregates, int index, Color color,
+            int minVal, int maxVal) {
+        if (index < 0 || index >= snapshot.size()) {
+            return;
+        }
+
+        int column = aggregates.getColumn(index);
+        int leftColumn = Math.max(0, column - HIGHLIGHT_COLUMN_RADIUS);
+        int rightColumn = Math.min(graphWidth - 1, column + HIGHLIGHT_COLUMN_RADIUS);
+        int topY = getValueTopY(columnMaxBuffer[column], minVal, maxVal);
+
+        fillImageRect(graphics, color, graphLeftX + leftColumn, topY, rightColumn - leftColumn + 1,
+                graphBottomY - topY);
+    }
+
+    /**
+     * Returns the topmost pixel of a bar of the provided value, with the same
+     * scaling as the bars of drawBar().
+     * 
+     * @param value  the double value of the bar
+     * @param minVal the int minimum value of the group
+     * @param maxVal the int maximum value of the group
+     * @return the int topmost pixel, within the graph
+     */
+    private int getValueTopY(double value, int minVal, int maxVal) {
+        double valueRatio = (value - minVal + 1) / (double) (maxVal - minVal + 1);
+        int topY = (int) (graphBottomY - graphHeight * valueRatio);
+        return Math.max(graphTopY, Math.min(graphBottomY, topY));
+    }
+
+    /**
+     * Clears the column of the bar of the element at the provided index (the bar
+     * and the gap after it) to the background color and draws the bar again.
+     * If the index is not in the group (such as -1 for no get/set), then nothing
+     * happens.
+     * 
+     * @param graphics     the Graphics object of the offscreen image (null for the
+     *                     raster renderer)
+     * @param index        the int global index of the element
+     * @param minVal       the int minimum value of the group
+     * @param maxVal       the int maximum value of the group
+     * @param indexLastGet the int global index of the last get
+     * @param indexLastSet the int global index of the last set
+     */
+    private void redrawBar(Graphics graphics, int index, int minVal, int maxVal, int indexLastGet,
+            int indexLastSet) {
+        if (index < 0 || index >= snapshot.size()) {
+            return;
+        }
+
+        int columnLeftX = (int) (graphLeftX + singleBarWidthWithGap * index);
+        int columnRightX = (int) (graphLeftX + singleBarWidthWithGap * (index + 1));
+        fillImageRect(graphics, colorBackground, columnLeftX, graphTopY, Math.max(1, columnRightX - columnLeftX),
+                graphBottomY - graphTopY + 1);
+
+        drawBar(graphics, index, minVal, maxVal, indexLastGet, indexLastSet);
+    }
+
+    /**
+     * Draws the bar of the element at the provided index, colored if it was the
+     * last element to be get or set.
+     * 
+     * @param graphics     the Graphics object of the offscreen image (null for the
+     *                     raster renderer)
+     * @param index        the int global index of the element
+     * @param minVal       the int minimum value of the group
+     * @param maxVal       the int maximum value of the group
+     * @param indexLastGet the int global index of the last get
+     * @param indexLastSet the int global index of the last set
+     */
+    private void drawBar(Graphics graphics, int index, int minVal, int maxVal, int indexLastGet, int indexLastSet) {
+        // Determine the leftmost and rightmost pixel of the bar on the panel.
+        int barLeftX = (int) (graphLeftX + singleBarWidthWithGap * index);
+        int barRightX = (int) (barLeftX + singleBarWidthWithoutGap);
+
+        // Determine the topmost pixel of the bar, which filters the element value with
+        // the range of element values in the group and multiplies it by the graph
+        // height.
+        // To ensure that an element with the minimum value is not subtracted to 0 and
+        // appears as a flat, invisible bar, the "+1" was added to the numerator and
+        // denominator.
+        double valueRatio = (snapshot.getValue(index) - minVal + 1) / (double) (maxVal - minVal + 1);
+        int barTopY = (int) (graphBottomY - graphHeight * valueRatio);
+
+        // The snapshot keeps every element within its min and max, but in case
+        // something went wrong with the math in calculating the bar's height, prevent
+        // it from being drawn.
+        if (barTopY <= graphBottomY && barTopY >= graphTopY) {
+            // If the bar represents an element that was the last element to be get or set
+            // by an array in the group, then color it accordingly.
+            Color color;
+            if (index == indexLastGet) {
+                color = colorBarGet;
+            } else if (index == indexLastSet) {
+                color = colorBarSet;
+            } else {
+                color = colorBarRegular;
+            }
+
+            // Actually draw the bar as a rectangle from its top down to the bottom of the
+            // graph.
+            fillImageRect(graphics, color, barLeftX, barTopY, barRightX - barLeftX, graphBottomY - barTopY);
+        }
+    }
+
+    /**
+     * Copies the offscreen image of the previous frame to the panel again (if it
+     * was drawn) when a frame could not be painted from a consistent snapshot, and
+     * marks it to be fully redrawn, since the dirty indices of the frame were
+     * already drained. Another frame is requested right away.
+     * 
+     * @param graphics the Graphics object to paint to
+     */
+    private void drawPreviousImage(Graphics graphics) {
+        if (barImageDrawn) {
+            graphics.drawImage(barImage, bgLeftX, bgTopY, null);
+        }
+        barImageValid = false;
+        repaint();
+    }
+
+    /**
+     * Creates the offscreen image with the size of the background and, for the
+     * raster renderer, takes its int array of pixels (one RGB int per pixel, row
+     * by row).
+     */
+    private void createBarImage() {
+        barImageWidth = Math.max(1, bgRightX - bgLeftX);
+        barImageHeight = Math.max(1, bgBottomY - bgTopY);
+        barImage = new BufferedImage(barImageWidth, barImageHeight, BufferedImage.TYPE_INT_RGB);
+        barImagePixels = ((DataBufferInt) barImage.getRaster().getDataBuffer()).getData();
+        barImageValid = false;
+        barImageDrawn = false;
+    }
+
+    /**
+     * Returns the Graphics object of the offscreen image, translated so that it
+     * is drawn to with the coordinates of the panel, or null if the raster
+     * renderer is used (which does not need one).
+     * 
+     * @return the Graphics object or null
+     */
+    private Graphics getBarImageGraphics() {
+        if (rasterEnabled) {
+            return null;
+        }
+        Graphics imageGraphics = barImage.getGraphics();
+        // The image starts at the top left corner of the background.
+        imageGraphics.translate(-bgLeftX, -bgTopY);
+        return imageGraphics;
+    }
+
+    /**
+     * Fills a rectangle of the offscreen image with the provided color, given in
+     * the coordinates of the panel. The raster renderer writes the pixels (clipped
+     * to the image) with a tight loop down each pixel column of a narrow bar, or
+     * with Arrays.fill() on each row of a wide rectangle. The Java2D renderer
+     * uses Graphics.fillRect(), which fills the same pixels.
+     * 
+     * @param graphics the Graphics object of the offscreen image (null for the
+     *                 raster renderer)
+     * @param color    the Color of the rectangle
+     * @param x        the int leftmost pixel of the rectangle
+     * @param y        the int topmost pixel of the rectangle
+     * @param width    the int width of the rectangle
+     * @param height   the int height of the rectangle
+     */
+    private void fillImageRect(Graphics graphics, Color color, int x, int y, int width, int height) {
+        if (graphics != null) {
+            graphics.setColor(color);
+            graphics.fillRect(x, y, width, height);
+            return;
+        }
+
+        int left = Math.max(0, x - bgLeftX);
+        int right = Math.min(barImageWidth, x - bgLeftX + width);
+        int top = Math.max(0, y - bgTopY);
+        int bottom = Math.min(barImageHeight, y - bgTopY + height);
+        if (left >= right) {
+            return;
+        }
+
+        int rgb = color.getRGB();
+        if (right - left >= RASTER_FILL_WIDTH_MINIMUM) {
+            for (int row = top; row < bottom; row++) {
+                int rowStart = row * barImageWidth;
+                Arrays.fill(barImagePixels, rowStart + left, rowStart + right, rgb);
+            }
             return;
         }
 
-        // Draw the background of the graph.
-        graphics.setColor(colorBackground);
-        graphics.fillRect(bgLeftX, bgTopY, bgRightX - bgLeftX, bgBottomY - bgTopY);
-
-        // Update the helper variables for defining the boundaries of each bar.
-        int barLeftX;
-        int barRightX;
-        int barTopY;
-        double valueRatio;
-
-        // Initialize the min and max for scaling the bars to be within the panel.
-        int minVal = group.getMin();
-        int maxVal = group.getMax();
-
-        for (int i = 0; i < group.size(); i++) {
-            // Determine the leftmost and rightmost pixel of the bar on the panel.
-            barLeftX = (int) (graphLeftX + singleBarWidthWithGap * i);
-            barRightX = (int) (barLeftX + singleBarWidthWithoutGap);
-
-            // Determine the topmost pixel of the bar, which filters the element value with
-            // the range of element values in the group and multiplies it by the graph
-            // height.
-            // To ensure that an element with the minimum value is not subtracted to 0 and
-            // appears as a flat, invisible bar, the "+1" was added to the numerator and
-            // denominator.
-            valueRatio = (group.getExternal(i) - minVal + 1) / (double) (maxVal - minVal + 1);
-            barTopY = (int) (graphBottomY - graphHeight * valueRatio);
-
-            // In case something went wrong with the math in calculating the bar's height,
-            // prevent it from being drawn.
-            if (barTopY <= graphBottomY && barTopY >= graphTopY) {
-                // Update the X and Y integer arrays to represent a polygon (rectangle) so the
-                // bar can be drawn by Graphics.
-                barPolygonX[0] = barLeftX;
-                barPolygonX[1] = barLeftX;
-                barPolygonX[2] = barRightX;
-                barPolygonX[3] = barRightX;
-
-                barPolygonY[1] = barTopY;
-                barPolygonY[2] = barTopY;
-
-                // If the bar represents an element that was the last element to be get or set
-                // by an array in the group, then color it accordingly.
-                if (i == group.getIndexLastGet()) {
-                    graphics.setColor(colorBarGet);
-                } else if (i == group.getIndexLastSet()) {
-                    graphics.setColor(colorBarSet);
-                } else {
-                    graphics.setColor(colorBarRegular);
-                }
-
-                // Actually draw the bar as a rectangle (polygon with 4 points) with Graphics.
-                graphics.fillPolygon(barPolygonX, barPolygonY, 4);
+        // A narrow bar is written one pixel column at a time, down the rows.
+        int[] pixels = barImagePixels;
+        int stride = barImageWidth;
+        for (int column = left; column < right; column++) {
+            int end = bottom * stride + column;
+            for (int pixel = top * stride + column; pixel < end; pixel += stride) {
+                pixels[pixel] = rgb;
             }
         }
     }